@@ -0,0 +1,112 @@
+package org.dynamisengine.physics.api.body;
+
+import org.dynamisengine.vectrix.core.Quaternionf;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+/**
+ * Caller-owned, reusable struct-of-arrays target for bulk body-state readback.
+ *
+ * <p>Entry {@code i} occupies {@code positions[i * 3 .. i * 3 + 2]},
+ * {@code orientations[i * 4 .. i * 4 + 3]} (x, y, z, w),
+ * {@code linearVelocities[i * 3 ..]}, {@code angularVelocities[i * 3 ..]} and {@code sleeping[i]}.
+ * Backends write into the arrays directly and never allocate per body.
+ */
+public final class BodyStateBuffer {
+    public static final int POSITION_STRIDE = 3;
+    public static final int ORIENTATION_STRIDE = 4;
+    public static final int VELOCITY_STRIDE = 3;
+
+    private final int capacity;
+    private final float[] positions;
+    private final float[] orientations;
+    private final float[] linearVelocities;
+    private final float[] angularVelocities;
+    private final boolean[] sleeping;
+    private int count;
+
+    public BodyStateBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.positions = new float[capacity * POSITION_STRIDE];
+        this.orientations = new float[capacity * ORIENTATION_STRIDE];
+        this.linearVelocities = new float[capacity * VELOCITY_STRIDE];
+        this.angularVelocities = new float[capacity * VELOCITY_STRIDE];
+        this.sleeping = new boolean[capacity];
+    }
+
+    public int capacity() { return capacity; }
+    public int count() { return count; }
+    public float[] positions() { return positions; }
+    public float[] orientations() { return orientations; }
+    public float[] linearVelocities() { return linearVelocities; }
+    public float[] angularVelocities() { return angularVelocities; }
+    public boolean[] sleeping() { return sleeping; }
+
+    public void setCount(int count) {
+        if (count < 0 || count > capacity) {
+            throw new IllegalArgumentException("count out of range [0, " + capacity + "]: " + count);
+        }
+        this.count = count;
+    }
+
+    public void setPosition(int index, float x, float y, float z) {
+        int base = index * POSITION_STRIDE;
+        positions[base] = x;
+        positions[base + 1] = y;
+        positions[base + 2] = z;
+    }
+
+    public void setOrientation(int index, float x, float y, float z, float w) {
+        int base = index * ORIENTATION_STRIDE;
+        orientations[base] = x;
+        orientations[base + 1] = y;
+        orientations[base + 2] = z;
+        orientations[base + 3] = w;
+    }
+
+    public void setLinearVelocity(int index, float x, float y, float z) {
+        int base = index * VELOCITY_STRIDE;
+        linearVelocities[base] = x;
+        linearVelocities[base + 1] = y;
+        linearVelocities[base + 2] = z;
+    }
+
+    public void setAngularVelocity(int index, float x, float y, float z) {
+        int base = index * VELOCITY_STRIDE;
+        angularVelocities[base] = x;
+        angularVelocities[base + 1] = y;
+        angularVelocities[base + 2] = z;
+    }
+
+    public void setSleeping(int index, boolean value) {
+        sleeping[index] = value;
+    }
+
+    public void set(int index, BodyState state) {
+        Vector3f p = state.position();
+        Quaternionf q = state.orientation();
+        Vector3f lv = state.linearVelocity();
+        Vector3f av = state.angularVelocity();
+        setPosition(index, p.x(), p.y(), p.z());
+        setOrientation(index, q.x(), q.y(), q.z(), q.w());
+        setLinearVelocity(index, lv.x(), lv.y(), lv.z());
+        setAngularVelocity(index, av.x(), av.y(), av.z());
+        setSleeping(index, state.sleeping());
+    }
+
+    /** Allocating convenience view of one entry; not intended for per-frame hot paths. */
+    public BodyState toBodyState(int index) {
+        int p = index * POSITION_STRIDE;
+        int o = index * ORIENTATION_STRIDE;
+        int v = index * VELOCITY_STRIDE;
+        return new BodyState(
+            new Vector3f(positions[p], positions[p + 1], positions[p + 2]),
+            new Quaternionf(orientations[o], orientations[o + 1], orientations[o + 2], orientations[o + 3]),
+            new Vector3f(linearVelocities[v], linearVelocities[v + 1], linearVelocities[v + 2]),
+            new Vector3f(angularVelocities[v], angularVelocities[v + 1], angularVelocities[v + 2]),
+            sleeping[index]
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package org.dynamisengine.physics.api.body;
+
+/**
+ * Layer/mask rules shared by the backends.
+ *
+ * <p>{@link RigidBodyConfig#layer()} is a layer index in {@code [0, 31]} and
+ * {@link RigidBodyConfig#collidesWith()} is a bit mask of layer indices ({@link #ALL} by default).
+ * Two bodies collide only when each one's mask contains the other's layer.
+ */
+public final class CollisionLayers {
+    public static final int ALL = -1;
+
+    private CollisionLayers() {}
+
+    public static int bit(int layer) {
+        return 1 << (layer & 31);
+    }
+
+    public static boolean matches(int layer, int mask) {
+        return (mask & bit(layer)) != 0;
+    }
+
+    public static boolean collides(int layerA, int collidesWithA, int layerB, int collidesWithB) {
+        return matches(layerB, collidesWithA) && matches(layerA, collidesWithB);
+    }
+}
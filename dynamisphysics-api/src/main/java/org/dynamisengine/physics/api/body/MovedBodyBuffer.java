@@ -0,0 +1,50 @@
+package org.dynamisengine.physics.api.body;
+
+/**
+ * Caller-owned, reusable target for {@code PhysicsWorld.drainMovedBodies}.
+ *
+ * <p>Entry {@code i} is the stable body id {@code bodyIds[i]} (see {@link StableRigidBodyId})
+ * with its world transform packed at {@code transforms[i * 7 .. i * 7 + 6]}
+ * as position x, y, z followed by orientation x, y, z, w.
+ */
+public final class MovedBodyBuffer {
+    public static final int TRANSFORM_STRIDE = 7;
+
+    private final int capacity;
+    private final int[] bodyIds;
+    private final float[] transforms;
+    private int count;
+
+    public MovedBodyBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.bodyIds = new int[capacity];
+        this.transforms = new float[capacity * TRANSFORM_STRIDE];
+    }
+
+    public int capacity() { return capacity; }
+    public int count() { return count; }
+    public int[] bodyIds() { return bodyIds; }
+    public float[] transforms() { return transforms; }
+
+    public void setCount(int count) {
+        if (count < 0 || count > capacity) {
+            throw new IllegalArgumentException("count out of range [0, " + capacity + "]: " + count);
+        }
+        this.count = count;
+    }
+
+    public void set(int index, int bodyId, float px, float py, float pz, float qx, float qy, float qz, float qw) {
+        bodyIds[index] = bodyId;
+        int base = index * TRANSFORM_STRIDE;
+        transforms[base] = px;
+        transforms[base + 1] = py;
+        transforms[base + 2] = pz;
+        transforms[base + 3] = qx;
+        transforms[base + 4] = qy;
+        transforms[base + 5] = qz;
+        transforms[base + 6] = qw;
+    }
+}
@@ -2,5 +2,10 @@ package org.dynamisengine.physics.api.config;
 
 public enum BroadphaseType {
     SAP,
-    BVH
+    BVH,
+    /**
+     * Pure-Java dynamic AABB tree for the ODE4J dynamic space, which re-inserts only geoms that leave their fattened
+     * bounds. Opt-in: {@link #BVH} keeps ODE's hash space there. Jolt treats this like {@link #BVH}.
+     */
+    AABB_TREE
 }
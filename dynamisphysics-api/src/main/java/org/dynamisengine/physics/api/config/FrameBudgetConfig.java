@@ -0,0 +1,41 @@
+package org.dynamisengine.physics.api.config;
+
+/**
+ * Bounds for {@code FrameBudgetGovernor}. The governor degrades once {@code overBudgetSteps} consecutive steps
+ * exceed {@code targetStepMs}, and recovers once {@code underBudgetSteps} consecutive steps stay below
+ * {@code recoverFraction * targetStepMs}; steps in between reset both counters.
+ */
+public record FrameBudgetConfig(
+    float targetStepMs,
+    int minSolverIterations,
+    int maxSolverIterations,
+    int minSubSteps,
+    int maxSubSteps,
+    float recoverFraction,
+    int overBudgetSteps,
+    int underBudgetSteps
+) {
+    public FrameBudgetConfig {
+        if (!(targetStepMs > 0f) || Float.isInfinite(targetStepMs)) {
+            throw new IllegalArgumentException("targetStepMs must be > 0 and finite, got " + targetStepMs);
+        }
+        if (minSolverIterations < 1 || maxSolverIterations < minSolverIterations) {
+            throw new IllegalArgumentException(
+                "solver iterations must satisfy 1 <= min <= max, got " + minSolverIterations + ".." + maxSolverIterations);
+        }
+        if (minSubSteps < 1 || maxSubSteps < minSubSteps) {
+            throw new IllegalArgumentException(
+                "substeps must satisfy 1 <= min <= max, got " + minSubSteps + ".." + maxSubSteps);
+        }
+        if (!(recoverFraction > 0f && recoverFraction < 1f)) {
+            throw new IllegalArgumentException("recoverFraction must be in (0, 1), got " + recoverFraction);
+        }
+        if (overBudgetSteps < 1 || underBudgetSteps < 1) {
+            throw new IllegalArgumentException("step counts must be >= 1");
+        }
+    }
+
+    public static FrameBudgetConfig defaults(float targetStepMs) {
+        return new FrameBudgetConfig(targetStepMs, 4, 16, 1, 4, 0.6f, 3, 30);
+    }
+}
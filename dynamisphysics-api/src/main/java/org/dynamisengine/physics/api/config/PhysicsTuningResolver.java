@@ -86,7 +86,10 @@ public final class PhysicsTuningResolver {
             }
             threads = clamp(resolved, 1, MAX_THREADS, "jolt.threads");
         } else {
-            threads = 1;
+            // ODE4J solves islands in parallel only when tuning asks for it, and never in deterministic mode.
+            threads = values.deterministic || tuning.threads() == null
+                ? 1
+                : clamp(tuning.threads(), 1, MAX_THREADS, "threads");
         }
 
         AllocatorMode allocatorMode = values.allocatorMode;
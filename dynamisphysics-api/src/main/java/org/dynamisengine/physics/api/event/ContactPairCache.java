@@ -0,0 +1,196 @@
+package org.dynamisengine.physics.api.event;
+
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+
+import java.util.Arrays;
+
+/**
+ * Persistent set of touching body pairs, keyed by the pair's two stable body ids, used by backends to turn raw
+ * per-substep contacts into begin/persist/end transitions. {@link #touch} marks a pair as touching in the current
+ * step and tells whether it just began; {@link #endStep} reports pairs that were not touched, in ascending key order,
+ * and forgets them. Storage is linear-probing open addressing over primitive arrays that double when half full;
+ * removal shifts entries back instead of rehashing, so steady-state steps do not allocate.
+ *
+ * <p>Not thread-safe.
+ */
+public final class ContactPairCache {
+    /** Decides whether an untouched pair is merely asleep and should be kept instead of ended. */
+    @FunctionalInterface
+    public interface Dormancy {
+        boolean dormant(RigidBodyHandle a, RigidBodyHandle b);
+    }
+
+    /** Receives ended pairs from {@link #endStep}. */
+    @FunctionalInterface
+    public interface EndSink {
+        void ended(RigidBodyHandle a, RigidBodyHandle b, ContactReportingLevel level);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final ContactReportingLevel[] LEVELS = ContactReportingLevel.values();
+
+    private long[] keys;
+    private int[] stamps;
+    private byte[] levels;
+    private RigidBodyHandle[] handlesA;
+    private RigidBodyHandle[] handlesB;
+    private int size;
+    private int stamp = 1;
+    private long[] ended = new long[64];
+
+    public ContactPairCache() {
+        this(256);
+    }
+
+    public ContactPairCache(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /** Packs two stable body ids into a pair key; order the ids consistently before calling. */
+    public static long key(int bodyIdA, int bodyIdB) {
+        return ((long) bodyIdA << 32) | (bodyIdB & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Marks the pair as touching in the current step. Returns {@code true} if it was not touching at the end of
+     * the previous step and has not been touched earlier in this one.
+     */
+    public boolean touch(long key, RigidBodyHandle a, RigidBodyHandle b, ContactReportingLevel level) {
+        if (size * 2 >= keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                stamps[slot] = stamp;
+                levels[slot] = (byte) level.ordinal();
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        stamps[slot] = stamp;
+        levels[slot] = (byte) level.ordinal();
+        handlesA[slot] = a;
+        handlesB[slot] = b;
+        size++;
+        return true;
+    }
+
+    /**
+     * Closes the current step: every pair not touched since the previous call is passed to {@code sink} in
+     * ascending key order and removed, unless {@code dormancy} keeps it. Returns the number of ended pairs.
+     */
+    public int endStep(Dormancy dormancy, EndSink sink) {
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY || stamps[i] == stamp) {
+                continue;
+            }
+            if (dormancy != null && dormancy.dormant(handlesA[i], handlesB[i])) {
+                continue;
+            }
+            if (count == ended.length) {
+                ended = Arrays.copyOf(ended, count * 2);
+            }
+            ended[count++] = keys[i];
+        }
+        if (count > 0) {
+            Arrays.sort(ended, 0, count);
+            int mask = keys.length - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = find(ended[i], mask);
+                sink.ended(handlesA[slot], handlesB[slot], LEVELS[levels[slot]]);
+                remove(slot, mask);
+            }
+        }
+        stamp++;
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Forgets every pair without reporting them, e.g. after a snapshot restore. */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(handlesA, null);
+        Arrays.fill(handlesB, null);
+        size = 0;
+    }
+
+    private int find(long key, int mask) {
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** Backward-shift deletion: pulls later entries of the probe chain into the hole. */
+    private void remove(int hole, int mask) {
+        int next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY) {
+                break;
+            }
+            int home = slot(keys[next], mask);
+            boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            keys[hole] = keys[next];
+            stamps[hole] = stamps[next];
+            levels[hole] = levels[next];
+            handlesA[hole] = handlesA[next];
+            handlesB[hole] = handlesB[next];
+            hole = next;
+        }
+        keys[hole] = EMPTY;
+        handlesA[hole] = null;
+        handlesB[hole] = null;
+        size--;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        stamps = new int[capacity];
+        levels = new byte[capacity];
+        handlesA = new RigidBodyHandle[capacity];
+        handlesB = new RigidBodyHandle[capacity];
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldStamps = stamps;
+        byte[] oldLevels = levels;
+        RigidBodyHandle[] oldA = handlesA;
+        RigidBodyHandle[] oldB = handlesB;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = slot(oldKeys[i], mask);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            stamps[slot] = oldStamps[i];
+            levels[slot] = oldLevels[i];
+            handlesA[slot] = oldA[i];
+            handlesB[slot] = oldB[i];
+        }
+    }
+}
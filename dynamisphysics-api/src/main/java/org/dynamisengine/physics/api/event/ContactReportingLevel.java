@@ -0,0 +1,43 @@
+package org.dynamisengine.physics.api.event;
+
+/**
+ * How much contact traffic a world or body reports. Levels are ordered from quietest to most verbose.
+ */
+public enum ContactReportingLevel {
+    /** No contact or separation events; narrowphase still runs but builds no event payloads. */
+    NONE,
+    /** One {@link ContactEvent} when a body pair starts touching. */
+    BEGIN_ONLY,
+    /** One {@link ContactEvent} on begin and one {@link SeparationEvent} when the pair stops touching. */
+    BEGIN_AND_END,
+    /** A {@link ContactEvent} for every touching pair on every substep, plus {@link SeparationEvent} on end. */
+    ALL;
+
+    public boolean reportsBegin() {
+        return this != NONE;
+    }
+
+    public boolean reportsPersist() {
+        return this == ALL;
+    }
+
+    public boolean reportsEnd() {
+        return this == BEGIN_AND_END || this == ALL;
+    }
+
+    /** The more verbose of the two levels. */
+    public static ContactReportingLevel max(ContactReportingLevel a, ContactReportingLevel b) {
+        return a.ordinal() >= b.ordinal() ? a : b;
+    }
+
+    /**
+     * Level for a pair given the world level and the two bodies' overrides ({@code null} when unset): the override
+     * if only one body has one, the more verbose override if both do, otherwise the world level.
+     */
+    public static ContactReportingLevel resolve(ContactReportingLevel world, ContactReportingLevel a, ContactReportingLevel b) {
+        if (a == null) {
+            return b != null ? b : world;
+        }
+        return b != null ? max(a, b) : a;
+    }
+}
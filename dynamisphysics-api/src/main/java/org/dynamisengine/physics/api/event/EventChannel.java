@@ -0,0 +1,180 @@
+package org.dynamisengine.physics.api.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for one {@link PhysicsEvent} type. Every event carries the sequence number it was published with, so
+ * channels of different types can be merged back into publication order.
+ *
+ * <p>Readers take a {@link Cursor} and walk the ring in place. Open cursors pin what they have not read yet: the
+ * ring doubles instead of overwriting unread events. Without open cursors, the oldest events are overwritten once
+ * the ring is full. Subscribers share one internal cursor that {@link #dispatch()} advances.
+ *
+ * <p>Not thread-safe; publish, read and dispatch from the thread that steps the world.
+ */
+public final class EventChannel<E extends PhysicsEvent> {
+    private final Class<E> type;
+    private Object[] events;
+    private long[] sequences;
+    private int mask;
+    private long written;
+    private long floor;
+    private final List<Cursor<E>> cursors = new ArrayList<>(2);
+    private final List<Consumer<? super E>> subscribers = new ArrayList<>(2);
+    private Cursor<E> subscriberCursor;
+
+    EventChannel(Class<E> type, int initialCapacity) {
+        this.type = type;
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+        this.events = new Object[capacity];
+        this.sequences = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public Class<E> type() {
+        return type;
+    }
+
+    void publish(E event, long sequence) {
+        if (!cursors.isEmpty() && written - oldestUnread() == events.length) {
+            grow();
+        }
+        int slot = (int) (written & mask);
+        events[slot] = event;
+        sequences[slot] = sequence;
+        written++;
+    }
+
+    /** Opens a cursor at the oldest event still in the ring. Close it when done so the ring stops growing for it. */
+    public Cursor<E> cursor() {
+        Cursor<E> cursor = new Cursor<>(this, oldestRetained());
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    /** Registers {@code subscriber} for events published from now on, delivered by {@link #dispatch()}. */
+    public void subscribe(Consumer<? super E> subscriber) {
+        if (subscriberCursor == null) {
+            subscriberCursor = new Cursor<>(this, written);
+            cursors.add(subscriberCursor);
+        }
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<? super E> subscriber) {
+        subscribers.remove(subscriber);
+        if (subscribers.isEmpty() && subscriberCursor != null) {
+            subscriberCursor.close();
+            subscriberCursor = null;
+        }
+    }
+
+    /** Delivers events published since the last dispatch to every subscriber, in order. Returns the event count. */
+    public int dispatch() {
+        if (subscriberCursor == null) {
+            return 0;
+        }
+        int n = 0;
+        while (subscriberCursor.hasNext()) {
+            E event = subscriberCursor.next();
+            for (int i = 0; i < subscribers.size(); i++) {
+                subscribers.get(i).accept(event);
+            }
+            n++;
+        }
+        return n;
+    }
+
+    /** Events published since creation. */
+    public long publishedCount() {
+        return written;
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    /** Drops unread events for every cursor and releases the ring's references to them. */
+    public void clear() {
+        Arrays.fill(events, null);
+        floor = written;
+        for (int i = 0; i < cursors.size(); i++) {
+            cursors.get(i).position = written;
+        }
+    }
+
+    private long oldestRetained() {
+        return Math.max(floor, written - events.length);
+    }
+
+    private long oldestUnread() {
+        long oldest = written;
+        for (int i = 0; i < cursors.size(); i++) {
+            oldest = Math.min(oldest, cursors.get(i).position);
+        }
+        return oldest;
+    }
+
+    private void grow() {
+        int capacity = events.length * 2;
+        Object[] newEvents = new Object[capacity];
+        long[] newSequences = new long[capacity];
+        int newMask = capacity - 1;
+        for (long s = oldestRetained(); s < written; s++) {
+            newEvents[(int) (s & newMask)] = events[(int) (s & mask)];
+            newSequences[(int) (s & newMask)] = sequences[(int) (s & mask)];
+        }
+        events = newEvents;
+        sequences = newSequences;
+        mask = newMask;
+    }
+
+    /** Read position in one channel. */
+    public static final class Cursor<E extends PhysicsEvent> {
+        private final EventChannel<E> channel;
+        private long position;
+        private boolean closed;
+
+        private Cursor(EventChannel<E> channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        public boolean hasNext() {
+            return position < channel.written;
+        }
+
+        /** Next unread event; call only after {@link #hasNext()} returned {@code true}. */
+        @SuppressWarnings("unchecked")
+        public E next() {
+            E event = (E) channel.events[(int) (position & channel.mask)];
+            position++;
+            return event;
+        }
+
+        /** Publication sequence of the next unread event, or {@link Long#MAX_VALUE} when caught up. */
+        public long nextSequence() {
+            return hasNext() ? channel.sequences[(int) (position & channel.mask)] : Long.MAX_VALUE;
+        }
+
+        /** Passes every unread event to {@code action} and returns how many were read. */
+        public int forEach(Consumer<? super E> action) {
+            int n = 0;
+            while (hasNext()) {
+                action.accept(next());
+                n++;
+            }
+            return n;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                channel.cursors.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.dynamisengine.physics.api.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One {@link EventChannel} per {@link PhysicsEvent} type, fed by a backend in publication order. Consumers read a
+ * single type through {@link #channel(Class)} without touching the others; {@link #drainAll()} merges all channels
+ * back into one list in publication order for the {@code drainEvents()} contract.
+ *
+ * <p>The {@code drainEvents()} view holds a cursor per channel from construction on, so every event is kept until
+ * it is drained, as the old event list did. Consumers that only use cursors or subscribers should call
+ * {@link #disableLegacyDrain()}; otherwise the undrained events pin every ring and it grows without bound.
+ *
+ * <p>Not thread-safe; see {@link EventChannel}.
+ */
+public final class PhysicsEventChannels {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final EventChannel<ContactEvent> contacts = new EventChannel<>(ContactEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<SeparationEvent> separations = new EventChannel<>(SeparationEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<TriggerEnterEvent> triggerEnters = new EventChannel<>(TriggerEnterEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<TriggerExitEvent> triggerExits = new EventChannel<>(TriggerExitEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<SleepEvent> sleeps = new EventChannel<>(SleepEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<WakeEvent> wakes = new EventChannel<>(WakeEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<ConstraintBreakEvent> constraintBreaks = new EventChannel<>(ConstraintBreakEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<FractureEvent> fractures = new EventChannel<>(FractureEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<SplashEvent> splashes = new EventChannel<>(SplashEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<WheelSlipEvent> wheelSlips = new EventChannel<>(WheelSlipEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<FootContactEvent> footContacts = new EventChannel<>(FootContactEvent.class, INITIAL_CAPACITY);
+    private final EventChannel<VehicleAirborneEvent> airborne = new EventChannel<>(VehicleAirborneEvent.class, INITIAL_CAPACITY);
+
+    private final EventChannel<?>[] all = {
+        contacts, separations, triggerEnters, triggerExits, sleeps, wakes,
+        constraintBreaks, fractures, splashes, wheelSlips, footContacts, airborne
+    };
+
+    private EventChannel.Cursor<?>[] legacyCursors = new EventChannel.Cursor<?>[all.length];
+    private long nextSequence;
+
+    public PhysicsEventChannels() {
+        for (int i = 0; i < all.length; i++) {
+            legacyCursors[i] = all[i].cursor();
+        }
+    }
+
+    public void publish(PhysicsEvent event) {
+        long sequence = nextSequence++;
+        switch (event) {
+            case ContactEvent e -> contacts.publish(e, sequence);
+            case SeparationEvent e -> separations.publish(e, sequence);
+            case TriggerEnterEvent e -> triggerEnters.publish(e, sequence);
+            case TriggerExitEvent e -> triggerExits.publish(e, sequence);
+            case SleepEvent e -> sleeps.publish(e, sequence);
+            case WakeEvent e -> wakes.publish(e, sequence);
+            case ConstraintBreakEvent e -> constraintBreaks.publish(e, sequence);
+            case FractureEvent e -> fractures.publish(e, sequence);
+            case SplashEvent e -> splashes.publish(e, sequence);
+            case WheelSlipEvent e -> wheelSlips.publish(e, sequence);
+            case FootContactEvent e -> footContacts.publish(e, sequence);
+            case VehicleAirborneEvent e -> airborne.publish(e, sequence);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends PhysicsEvent> EventChannel<E> channel(Class<E> type) {
+        for (EventChannel<?> channel : all) {
+            if (channel.type() == type) {
+                return (EventChannel<E>) channel;
+            }
+        }
+        throw new IllegalArgumentException("No event channel for " + type.getName());
+    }
+
+    public EventChannel<ContactEvent> contacts() {
+        return contacts;
+    }
+
+    public EventChannel<SeparationEvent> separations() {
+        return separations;
+    }
+
+    public EventChannel<ConstraintBreakEvent> constraintBreaks() {
+        return constraintBreaks;
+    }
+
+    public EventChannel<WheelSlipEvent> wheelSlips() {
+        return wheelSlips;
+    }
+
+    /** Runs {@link EventChannel#dispatch()} on every channel. Returns the number of events delivered. */
+    public int dispatch() {
+        int n = 0;
+        for (EventChannel<?> channel : all) {
+            n += channel.dispatch();
+        }
+        return n;
+    }
+
+    /**
+     * Closes the cursors behind {@link #drainAll()}, so only cursors and subscribers pin events from now on.
+     * Afterwards {@link #drainAll()} always returns an empty list.
+     */
+    public void disableLegacyDrain() {
+        if (legacyCursors == null) {
+            return;
+        }
+        for (EventChannel.Cursor<?> cursor : legacyCursors) {
+            cursor.close();
+        }
+        legacyCursors = null;
+    }
+
+    public boolean legacyDrainEnabled() {
+        return legacyCursors != null;
+    }
+
+    /** Everything published since the previous call (or since construction), across all channels, in publication order. */
+    public List<PhysicsEvent> drainAll() {
+        if (legacyCursors == null) {
+            return List.of();
+        }
+        List<PhysicsEvent> out = null;
+        while (true) {
+            EventChannel.Cursor<?> earliest = null;
+            long earliestSequence = Long.MAX_VALUE;
+            for (EventChannel.Cursor<?> cursor : legacyCursors) {
+                long sequence = cursor.nextSequence();
+                if (sequence < earliestSequence) {
+                    earliestSequence = sequence;
+                    earliest = cursor;
+                }
+            }
+            if (earliest == null) {
+                break;
+            }
+            if (out == null) {
+                out = new ArrayList<>();
+            }
+            out.add(earliest.next());
+        }
+        return out == null ? List.of() : Collections.unmodifiableList(out);
+    }
+
+    /** Discards unread events in every channel. */
+    public void clear() {
+        for (EventChannel<?> channel : all) {
+            channel.clear();
+        }
+    }
+}
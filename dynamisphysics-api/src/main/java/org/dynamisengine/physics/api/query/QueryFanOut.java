@@ -0,0 +1,89 @@
+package org.dynamisengine.physics.api.query;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits a batch query into contiguous index ranges and runs them on an {@link Executor}, with the
+ * first range on the calling thread. Ranges the executor rejects also run on the calling thread.
+ * Returns only once every range has finished, even if the calling thread is interrupted, so no worker
+ * writes into the caller's buffers afterwards.
+ */
+public final class QueryFanOut {
+    @FunctionalInterface
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private QueryFanOut() {}
+
+    public static void run(Executor executor, int count, int chunkSize, RangeTask task) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be > 0, got " + chunkSize);
+        }
+        if (executor == null || count <= chunkSize) {
+            task.run(0, count);
+            return;
+        }
+        int chunks = (count + chunkSize - 1) / chunkSize;
+        CountDownLatch done = new CountDownLatch(chunks - 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int c = 1;
+        for (; c < chunks; c++) {
+            int from = c * chunkSize;
+            int to = Math.min(count, from + chunkSize);
+            try {
+                executor.execute(() -> runRange(task, from, to, failure, done));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        for (; c < chunks; c++) {
+            int from = c * chunkSize;
+            runRange(task, from, Math.min(count, from + chunkSize), failure, done);
+        }
+        try {
+            task.run(0, Math.min(count, chunkSize));
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+        awaitUninterruptibly(done);
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t instanceof Error err) {
+            throw err;
+        }
+        if (t != null) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static void runRange(RangeTask task, int from, int to, AtomicReference<Throwable> failure, CountDownLatch done) {
+        try {
+            task.run(from, to);
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            done.countDown();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch done) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,1244 @@
+package org.dynamisengine.physics.api.query;
+
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable copy of a world's collision geometry taken at the end of a step. Any number of threads may
+ * query it without locking while the world steps on; a newer snapshot replaces it rather than mutating it.
+ *
+ * <p>Entries are flat arrays indexed by a compact BVH (median split, up to {@value #LEAF_SIZE} entries per
+ * leaf). Spheres, boxes, capsules and cylinders (axis along local Y), planes and {@link QueryTriangles}
+ * (meshes, convex hulls, heightfields) are tested exactly; {@link Builder#addBounds} entries are represented by
+ * their world AABB, so rays hit the box rather than the shape. {@link #overlapAabb} treats boxes, capsules,
+ * cylinders and triangle sets by their AABB too. A ray that starts inside a solid shape hits it at fraction 0
+ * with the normal opposing the ray; triangle sets are surfaces and never report that.
+ *
+ * <p>Handles are the world's live handles: only their immutable properties are safe to read off-thread.
+ */
+public final class QuerySnapshot {
+    public static final int LEAF_SIZE = 4;
+    public static final QuerySnapshot EMPTY = new Builder().build(0L);
+
+    private static final byte SPHERE = 0;
+    private static final byte BOX = 1;
+    private static final byte CAPSULE = 2;
+    private static final byte PLANE = 3;
+    private static final byte BOUNDS = 4;
+    private static final byte CYLINDER = 5;
+    private static final byte TRIANGLES = 6;
+    private static final int STACK_SIZE = 64;
+    private static final double EPSILON = 1e-12;
+
+    private final long sequence;
+    private final int entryCount;
+    private final int bodyCount;
+    private final RigidBodyHandle[] bodies;
+    private final int[] bodyIndex;
+    private final int[] layers;
+    private final PhysicsMaterial[] materials;
+    private final byte[] kinds;
+    private final float[] positions;
+    private final float[] rotations;
+    private final float[] params;
+    private final float[] bounds;
+    private final QueryTriangles[] meshes;
+    private final int[] unbounded;
+
+    private final int[] order;
+    private final float[] nodeBounds;
+    private final int[] nodeFirst;
+    private final int[] nodeSecond;
+    private final int[] nodeSize;
+    private final int nodeCount;
+
+    private QuerySnapshot(Builder b, long sequence) {
+        this.sequence = sequence;
+        this.entryCount = b.count;
+        this.bodyCount = b.bodyCount;
+        this.bodies = Arrays.copyOf(b.bodies, b.count);
+        this.bodyIndex = Arrays.copyOf(b.bodyIndex, b.count);
+        this.layers = Arrays.copyOf(b.layers, b.count);
+        this.materials = Arrays.copyOf(b.materials, b.count);
+        this.kinds = Arrays.copyOf(b.kinds, b.count);
+        this.positions = Arrays.copyOf(b.positions, b.count * 3);
+        this.rotations = Arrays.copyOf(b.rotations, b.count * 9);
+        this.params = Arrays.copyOf(b.params, b.count * 4);
+        this.bounds = Arrays.copyOf(b.bounds, b.count * 6);
+        this.meshes = Arrays.copyOf(b.meshes, b.count);
+
+        int bounded = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (kinds[i] != PLANE) {
+                bounded++;
+            }
+        }
+        this.order = new int[bounded];
+        this.unbounded = new int[entryCount - bounded];
+        for (int i = 0, o = 0, u = 0; i < entryCount; i++) {
+            if (kinds[i] == PLANE) {
+                unbounded[u++] = i;
+            } else {
+                order[o++] = i;
+            }
+        }
+        int maxNodes = Math.max(1, 2 * bounded);
+        this.nodeBounds = new float[maxNodes * 6];
+        this.nodeFirst = new int[maxNodes];
+        this.nodeSecond = new int[maxNodes];
+        this.nodeSize = new int[maxNodes];
+        this.nodeCount = bounded == 0 ? 0 : new TreeBuilder().build(0, bounded);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Value passed to {@link Builder#build}; backends use their step count. */
+    public long sequence() {
+        return sequence;
+    }
+
+    public int entryCount() {
+        return entryCount;
+    }
+
+    public int bodyCount() {
+        return bodyCount;
+    }
+
+    public Optional<RaycastResult> raycastClosest(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        Ray ray = Ray.of(origin, dir, maxDist);
+        if (ray == null) {
+            return Optional.empty();
+        }
+        Hit best = new Hit();
+        best.t = maxDist;
+        best.entry = -1;
+        Hit candidate = new Hit();
+        for (int e : unbounded) {
+            if (accepts(e, layerMask) && intersect(e, ray, best.t, candidate)) {
+                best.copyFrom(candidate);
+            }
+        }
+        if (nodeCount > 0) {
+            int[] stack = new int[STACK_SIZE];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (!ray.hitsBox(nodeBounds, node * 6, best.t)) {
+                    continue;
+                }
+                if (nodeSize[node] > 0) {
+                    for (int i = nodeFirst[node], end = i + nodeSize[node]; i < end; i++) {
+                        int e = order[i];
+                        if (accepts(e, layerMask) && intersect(e, ray, best.t, candidate)) {
+                            best.copyFrom(candidate);
+                        }
+                    }
+                    continue;
+                }
+                stack = push(stack, top++, nodeFirst[node]);
+                stack = push(stack, top++, nodeSecond[node]);
+            }
+        }
+        return best.entry < 0 ? Optional.empty() : Optional.of(toResult(ray, best));
+    }
+
+    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        Ray ray = Ray.of(origin, dir, maxDist);
+        if (ray == null) {
+            return List.of();
+        }
+        List<RaycastResult> results = new ArrayList<>();
+        Hit hit = new Hit();
+        for (int e : unbounded) {
+            if (accepts(e, layerMask) && intersect(e, ray, maxDist, hit)) {
+                results.add(toResult(ray, hit));
+            }
+        }
+        if (nodeCount > 0) {
+            int[] stack = new int[STACK_SIZE];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (!ray.hitsBox(nodeBounds, node * 6, maxDist)) {
+                    continue;
+                }
+                if (nodeSize[node] > 0) {
+                    for (int i = nodeFirst[node], end = i + nodeSize[node]; i < end; i++) {
+                        int e = order[i];
+                        if (accepts(e, layerMask) && intersect(e, ray, maxDist, hit)) {
+                            results.add(toResult(ray, hit));
+                        }
+                    }
+                    continue;
+                }
+                stack = push(stack, top++, nodeFirst[node]);
+                stack = push(stack, top++, nodeSecond[node]);
+            }
+        }
+        results.sort((a, b) -> Float.compare(a.fraction(), b.fraction()));
+        return results;
+    }
+
+    /** Adds each body with a shape overlapping the sphere to {@code out} once. Returns the number added. */
+    public int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        if (radius <= 0f) {
+            return 0;
+        }
+        float cx = centre.x();
+        float cy = centre.y();
+        float cz = centre.z();
+        return overlap(cx - radius, cy - radius, cz - radius, cx + radius, cy + radius, cz + radius,
+            cx, cy, cz, radius, layerMask, out);
+    }
+
+    /** Box counterpart of {@link #overlapSphere}. */
+    public int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        if (max.x() < min.x() || max.y() < min.y() || max.z() < min.z()) {
+            return 0;
+        }
+        return overlap(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), 0f, 0f, 0f, -1f, layerMask, out);
+    }
+
+    private int overlap(
+        float x0, float y0, float z0, float x1, float y1, float z1,
+        float cx, float cy, float cz, float radius,
+        int layerMask, Collection<? super RigidBodyHandle> out
+    ) {
+        BitSet seen = bodyCount < entryCount ? new BitSet(bodyCount) : null;
+        int found = 0;
+        for (int e : unbounded) {
+            if (accepts(e, layerMask) && overlaps(e, x0, y0, z0, x1, y1, z1, cx, cy, cz, radius)
+                && firstVisit(seen, e)) {
+                out.add(bodies[e]);
+                found++;
+            }
+        }
+        if (nodeCount == 0) {
+            return found;
+        }
+        int[] stack = new int[STACK_SIZE];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!boxesOverlap(nodeBounds, node * 6, x0, y0, z0, x1, y1, z1)) {
+                continue;
+            }
+            if (nodeSize[node] > 0) {
+                for (int i = nodeFirst[node], end = i + nodeSize[node]; i < end; i++) {
+                    int e = order[i];
+                    if (accepts(e, layerMask) && boxesOverlap(bounds, e * 6, x0, y0, z0, x1, y1, z1)
+                        && overlaps(e, x0, y0, z0, x1, y1, z1, cx, cy, cz, radius) && firstVisit(seen, e)) {
+                        out.add(bodies[e]);
+                        found++;
+                    }
+                }
+                continue;
+            }
+            stack = push(stack, top++, nodeFirst[node]);
+            stack = push(stack, top++, nodeSecond[node]);
+        }
+        return found;
+    }
+
+    private boolean firstVisit(BitSet seen, int entry) {
+        if (seen == null) {
+            return true;
+        }
+        int body = bodyIndex[entry];
+        if (seen.get(body)) {
+            return false;
+        }
+        seen.set(body);
+        return true;
+    }
+
+    private boolean accepts(int entry, int layerMask) {
+        return CollisionLayers.matches(layers[entry], layerMask);
+    }
+
+    /** {@code radius < 0} means the query volume is the box itself. */
+    private boolean overlaps(
+        int e,
+        float x0, float y0, float z0, float x1, float y1, float z1,
+        float cx, float cy, float cz, float radius
+    ) {
+        boolean sphereQuery = radius >= 0f;
+        int p = e * 3;
+        int q = e * 4;
+        switch (kinds[e]) {
+            case SPHERE -> {
+                float r = params[q];
+                if (sphereQuery) {
+                    return distanceSq(positions[p], positions[p + 1], positions[p + 2], cx, cy, cz) <= (r + radius) * (r + radius);
+                }
+                return boxPointDistanceSq(x0, y0, z0, x1, y1, z1, positions[p], positions[p + 1], positions[p + 2]) <= r * r;
+            }
+            case BOX -> {
+                if (!sphereQuery) {
+                    return true;
+                }
+                int m = e * 9;
+                double lx = cx - positions[p];
+                double ly = cy - positions[p + 1];
+                double lz = cz - positions[p + 2];
+                double ux = rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz;
+                double uy = rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz;
+                double uz = rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz;
+                double dx = ux - clamp(ux, -params[q], params[q]);
+                double dy = uy - clamp(uy, -params[q + 1], params[q + 1]);
+                double dz = uz - clamp(uz, -params[q + 2], params[q + 2]);
+                return dx * dx + dy * dy + dz * dz <= (double) radius * radius;
+            }
+            case CAPSULE -> {
+                if (!sphereQuery) {
+                    return true;
+                }
+                float r = params[q] + radius;
+                return segmentDistanceSq(e, cx, cy, cz) <= (double) r * r;
+            }
+            case CYLINDER -> {
+                if (!sphereQuery) {
+                    return true;
+                }
+                int m = e * 9;
+                double lx = cx - positions[p];
+                double ly = cy - positions[p + 1];
+                double lz = cz - positions[p + 2];
+                double ux = rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz;
+                double uy = rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz;
+                double uz = rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz;
+                double dr = Math.max(Math.sqrt(ux * ux + uz * uz) - params[q], 0.0);
+                double dy = Math.max(Math.abs(uy) - params[q + 1], 0.0);
+                return dr * dr + dy * dy <= (double) radius * radius;
+            }
+            case TRIANGLES -> {
+                return !sphereQuery || sphereTouchesTriangles(e, cx, cy, cz, radius);
+            }
+            case PLANE -> {
+                float nx = params[q];
+                float ny = params[q + 1];
+                float nz = params[q + 2];
+                float d = params[q + 3];
+                if (sphereQuery) {
+                    return nx * cx + ny * cy + nz * cz - d <= radius;
+                }
+                float sx = nx >= 0f ? x0 : x1;
+                float sy = ny >= 0f ? y0 : y1;
+                float sz = nz >= 0f ? z0 : z1;
+                return nx * sx + ny * sy + nz * sz - d <= 0f;
+            }
+            default -> {
+                if (!sphereQuery) {
+                    return true;
+                }
+                int b = e * 6;
+                return boxPointDistanceSq(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5],
+                    cx, cy, cz) <= radius * radius;
+            }
+        }
+    }
+
+    private boolean intersect(int e, Ray ray, double tMax, Hit out) {
+        return switch (kinds[e]) {
+            case SPHERE -> intersectSphere(e, ray, tMax, out);
+            case BOX -> intersectBox(e, ray, tMax, out);
+            case CAPSULE -> intersectCapsule(e, ray, tMax, out);
+            case CYLINDER -> intersectCylinder(e, ray, tMax, out);
+            case TRIANGLES -> intersectTriangles(e, ray, tMax, out);
+            case PLANE -> intersectPlane(e, ray, tMax, out);
+            default -> intersectBounds(e, ray, tMax, out);
+        };
+    }
+
+    private boolean intersectSphere(int e, Ray ray, double tMax, Hit out) {
+        int p = e * 3;
+        double ocx = ray.ox - positions[p];
+        double ocy = ray.oy - positions[p + 1];
+        double ocz = ray.oz - positions[p + 2];
+        double r = params[e * 4];
+        double b = ocx * ray.dx + ocy * ray.dy + ocz * ray.dz;
+        double c = ocx * ocx + ocy * ocy + ocz * ocz - r * r;
+        if (c <= 0.0) {
+            return out.inside(e, ray);
+        }
+        double disc = b * b - c;
+        if (b > 0.0 || disc < 0.0) {
+            return false;
+        }
+        double t = -b - Math.sqrt(disc);
+        if (t > tMax) {
+            return false;
+        }
+        return out.set(e, t, (ocx + ray.dx * t) / r, (ocy + ray.dy * t) / r, (ocz + ray.dz * t) / r);
+    }
+
+    private boolean intersectBox(int e, Ray ray, double tMax, Hit out) {
+        int p = e * 3;
+        int m = e * 9;
+        int q = e * 4;
+        double lx = ray.ox - positions[p];
+        double ly = ray.oy - positions[p + 1];
+        double lz = ray.oz - positions[p + 2];
+        double ox = rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz;
+        double oy = rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz;
+        double oz = rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz;
+        double dx = rotations[m] * ray.dx + rotations[m + 3] * ray.dy + rotations[m + 6] * ray.dz;
+        double dy = rotations[m + 1] * ray.dx + rotations[m + 4] * ray.dy + rotations[m + 7] * ray.dz;
+        double dz = rotations[m + 2] * ray.dx + rotations[m + 5] * ray.dy + rotations[m + 8] * ray.dz;
+        Slab slab = out.slab;
+        if (!slab.clip(ox, oy, oz, dx, dy, dz,
+            -params[q], -params[q + 1], -params[q + 2], params[q], params[q + 1], params[q + 2], tMax)) {
+            return false;
+        }
+        if (slab.axis < 0) {
+            return out.inside(e, ray);
+        }
+        // Local face normal mapped back to world space: column {@code axis} of the rotation.
+        double s = slab.sign;
+        return out.set(e, slab.tEnter,
+            rotations[m + slab.axis] * s, rotations[m + 3 + slab.axis] * s, rotations[m + 6 + slab.axis] * s);
+    }
+
+    private boolean intersectBounds(int e, Ray ray, double tMax, Hit out) {
+        int b = e * 6;
+        Slab slab = out.slab;
+        if (!slab.clip(ray.ox, ray.oy, ray.oz, ray.dx, ray.dy, ray.dz,
+            bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5], tMax)) {
+            return false;
+        }
+        if (slab.axis < 0) {
+            return out.inside(e, ray);
+        }
+        return out.set(e, slab.tEnter,
+            slab.axis == 0 ? slab.sign : 0.0, slab.axis == 1 ? slab.sign : 0.0, slab.axis == 2 ? slab.sign : 0.0);
+    }
+
+    private boolean intersectCapsule(int e, Ray ray, double tMax, Hit out) {
+        int p = e * 3;
+        int m = e * 9;
+        double r = params[e * 4];
+        double h = params[e * 4 + 1];
+        double ax = rotations[m + 1] * h;
+        double ay = rotations[m + 4] * h;
+        double az = rotations[m + 7] * h;
+        double x0 = positions[p] - ax;
+        double y0 = positions[p + 1] - ay;
+        double z0 = positions[p + 2] - az;
+        if (segmentDistanceSq(e, ray.ox, ray.oy, ray.oz) <= r * r) {
+            return out.inside(e, ray);
+        }
+        double bax = 2.0 * ax;
+        double bay = 2.0 * ay;
+        double baz = 2.0 * az;
+        double oax = ray.ox - x0;
+        double oay = ray.oy - y0;
+        double oaz = ray.oz - z0;
+        double baba = bax * bax + bay * bay + baz * baz;
+        double bard = bax * ray.dx + bay * ray.dy + baz * ray.dz;
+        double baoa = bax * oax + bay * oay + baz * oaz;
+        double rdoa = ray.dx * oax + ray.dy * oay + ray.dz * oaz;
+        double oaoa = oax * oax + oay * oay + oaz * oaz;
+        double best = Double.POSITIVE_INFINITY;
+        double a = baba - bard * bard;
+        if (a > EPSILON) {
+            double b = baba * rdoa - baoa * bard;
+            double c = baba * oaoa - baoa * baoa - r * r * baba;
+            double disc = b * b - a * c;
+            if (disc >= 0.0) {
+                double t = (-b - Math.sqrt(disc)) / a;
+                double y = baoa + t * bard;
+                if (t >= 0.0 && y > 0.0 && y < baba) {
+                    best = t;
+                }
+            }
+        }
+        if (best == Double.POSITIVE_INFINITY) {
+            best = Math.min(
+                raySphere(ray, x0, y0, z0, r),
+                raySphere(ray, x0 + bax, y0 + bay, z0 + baz, r));
+        }
+        if (best > tMax) {
+            return false;
+        }
+        double hx = ray.ox + ray.dx * best;
+        double hy = ray.oy + ray.dy * best;
+        double hz = ray.oz + ray.dz * best;
+        double s = baba > EPSILON ? clamp(((hx - x0) * bax + (hy - y0) * bay + (hz - z0) * baz) / baba, 0.0, 1.0) : 0.0;
+        double nx = hx - (x0 + bax * s);
+        double ny = hy - (y0 + bay * s);
+        double nz = hz - (z0 + baz * s);
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (len < EPSILON) {
+            return out.set(e, best, -ray.dx, -ray.dy, -ray.dz);
+        }
+        return out.set(e, best, nx / len, ny / len, nz / len);
+    }
+
+    private boolean intersectCylinder(int e, Ray ray, double tMax, Hit out) {
+        int p = e * 3;
+        int m = e * 9;
+        double r = params[e * 4];
+        double h = params[e * 4 + 1];
+        double lx = ray.ox - positions[p];
+        double ly = ray.oy - positions[p + 1];
+        double lz = ray.oz - positions[p + 2];
+        double ox = rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz;
+        double oy = rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz;
+        double oz = rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz;
+        double dx = rotations[m] * ray.dx + rotations[m + 3] * ray.dy + rotations[m + 6] * ray.dz;
+        double dy = rotations[m + 1] * ray.dx + rotations[m + 4] * ray.dy + rotations[m + 7] * ray.dz;
+        double dz = rotations[m + 2] * ray.dx + rotations[m + 5] * ray.dy + rotations[m + 8] * ray.dz;
+        if (ox * ox + oz * oz <= r * r && Math.abs(oy) <= h) {
+            return out.inside(e, ray);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        double nx = 0.0;
+        double ny = 0.0;
+        double nz = 0.0;
+        double a = dx * dx + dz * dz;
+        if (a > EPSILON) {
+            double b = ox * dx + oz * dz;
+            double disc = b * b - a * (ox * ox + oz * oz - r * r);
+            if (disc >= 0.0) {
+                double t = (-b - Math.sqrt(disc)) / a;
+                if (t >= 0.0 && Math.abs(oy + dy * t) <= h) {
+                    best = t;
+                    nx = (ox + dx * t) / r;
+                    nz = (oz + dz * t) / r;
+                }
+            }
+        }
+        if (Math.abs(dy) > EPSILON && Math.abs(oy) > h && oy * dy < 0.0) {
+            double cap = Math.copySign(h, oy);
+            double t = (cap - oy) / dy;
+            double hx = ox + dx * t;
+            double hz = oz + dz * t;
+            if (t < best && hx * hx + hz * hz <= r * r) {
+                best = t;
+                nx = 0.0;
+                ny = Math.signum(oy);
+                nz = 0.0;
+            }
+        }
+        if (best > tMax) {
+            return false;
+        }
+        return out.set(e, best,
+            rotations[m] * nx + rotations[m + 1] * ny + rotations[m + 2] * nz,
+            rotations[m + 3] * nx + rotations[m + 4] * ny + rotations[m + 5] * nz,
+            rotations[m + 6] * nx + rotations[m + 7] * ny + rotations[m + 8] * nz);
+    }
+
+    private boolean intersectTriangles(int e, Ray ray, double tMax, Hit out) {
+        QueryTriangles mesh = meshes[e];
+        if (mesh.nodeCount == 0) {
+            return false;
+        }
+        int p = e * 3;
+        int m = e * 9;
+        double lx = ray.ox - positions[p];
+        double ly = ray.oy - positions[p + 1];
+        double lz = ray.oz - positions[p + 2];
+        double ox = rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz;
+        double oy = rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz;
+        double oz = rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz;
+        double dx = rotations[m] * ray.dx + rotations[m + 3] * ray.dy + rotations[m + 6] * ray.dz;
+        double dy = rotations[m + 1] * ray.dx + rotations[m + 4] * ray.dy + rotations[m + 7] * ray.dz;
+        double dz = rotations[m + 2] * ray.dx + rotations[m + 5] * ray.dy + rotations[m + 8] * ray.dz;
+        double invX = dx == 0.0 ? 1e30 : 1.0 / dx;
+        double invY = dy == 0.0 ? 1e30 : 1.0 / dy;
+        double invZ = dz == 0.0 ? 1e30 : 1.0 / dz;
+        float[] tris = mesh.triangles;
+        double best = tMax;
+        int hit = -1;
+        int[] stack = new int[STACK_SIZE];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!slabHit(mesh.nodeBounds, node * 6, ox, oy, oz, invX, invY, invZ, best)) {
+                continue;
+            }
+            if (mesh.nodeSize[node] > 0) {
+                for (int i = mesh.nodeFirst[node], end = i + mesh.nodeSize[node]; i < end; i++) {
+                    double t = rayTriangle(tris, i * 9, ox, oy, oz, dx, dy, dz);
+                    if (t <= best) {
+                        best = t;
+                        hit = i;
+                    }
+                }
+                continue;
+            }
+            stack = push(stack, top++, mesh.nodeFirst[node]);
+            stack = push(stack, top++, mesh.nodeSecond[node]);
+        }
+        if (hit < 0) {
+            return false;
+        }
+        int v = hit * 9;
+        double e1x = tris[v + 3] - tris[v], e1y = tris[v + 4] - tris[v + 1], e1z = tris[v + 5] - tris[v + 2];
+        double e2x = tris[v + 6] - tris[v], e2y = tris[v + 7] - tris[v + 1], e2z = tris[v + 8] - tris[v + 2];
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        // Two-sided: the reported normal always faces back along the ray.
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        double scale = (nx * dx + ny * dy + nz * dz > 0.0 ? -1.0 : 1.0) / len;
+        nx *= scale;
+        ny *= scale;
+        nz *= scale;
+        return out.set(e, best,
+            rotations[m] * nx + rotations[m + 1] * ny + rotations[m + 2] * nz,
+            rotations[m + 3] * nx + rotations[m + 4] * ny + rotations[m + 5] * nz,
+            rotations[m + 6] * nx + rotations[m + 7] * ny + rotations[m + 8] * nz);
+    }
+
+    private boolean sphereTouchesTriangles(int e, float cx, float cy, float cz, float radius) {
+        QueryTriangles mesh = meshes[e];
+        if (mesh.nodeCount == 0) {
+            return false;
+        }
+        int p = e * 3;
+        int m = e * 9;
+        double lx = cx - positions[p];
+        double ly = cy - positions[p + 1];
+        double lz = cz - positions[p + 2];
+        float ux = (float) (rotations[m] * lx + rotations[m + 3] * ly + rotations[m + 6] * lz);
+        float uy = (float) (rotations[m + 1] * lx + rotations[m + 4] * ly + rotations[m + 7] * lz);
+        float uz = (float) (rotations[m + 2] * lx + rotations[m + 5] * ly + rotations[m + 8] * lz);
+        float r2 = radius * radius;
+        float[] nb = mesh.nodeBounds;
+        int[] stack = new int[STACK_SIZE];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = node * 6;
+            if (boxPointDistanceSq(nb[o], nb[o + 1], nb[o + 2], nb[o + 3], nb[o + 4], nb[o + 5], ux, uy, uz) > r2) {
+                continue;
+            }
+            if (mesh.nodeSize[node] > 0) {
+                for (int i = mesh.nodeFirst[node], end = i + mesh.nodeSize[node]; i < end; i++) {
+                    if (pointTriangleDistanceSq(mesh.triangles, i * 9, ux, uy, uz) <= r2) {
+                        return true;
+                    }
+                }
+                continue;
+            }
+            stack = push(stack, top++, mesh.nodeFirst[node]);
+            stack = push(stack, top++, mesh.nodeSecond[node]);
+        }
+        return false;
+    }
+
+    private boolean intersectPlane(int e, Ray ray, double tMax, Hit out) {
+        int q = e * 4;
+        double nx = params[q];
+        double ny = params[q + 1];
+        double nz = params[q + 2];
+        double dist = nx * ray.ox + ny * ray.oy + nz * ray.oz - params[q + 3];
+        if (dist <= 0.0) {
+            return out.inside(e, ray);
+        }
+        double denom = nx * ray.dx + ny * ray.dy + nz * ray.dz;
+        if (denom >= -EPSILON) {
+            return false;
+        }
+        double t = -dist / denom;
+        if (t > tMax) {
+            return false;
+        }
+        return out.set(e, t, nx, ny, nz);
+    }
+
+    private double segmentDistanceSq(int e, double px, double py, double pz) {
+        int p = e * 3;
+        int m = e * 9;
+        double h = params[e * 4 + 1];
+        double ax = rotations[m + 1];
+        double ay = rotations[m + 4];
+        double az = rotations[m + 7];
+        double lx = px - positions[p];
+        double ly = py - positions[p + 1];
+        double lz = pz - positions[p + 2];
+        double s = clamp(lx * ax + ly * ay + lz * az, -h, h);
+        double dx = lx - ax * s;
+        double dy = ly - ay * s;
+        double dz = lz - az * s;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private RaycastResult toResult(Ray ray, Hit hit) {
+        int e = hit.entry;
+        return new RaycastResult(
+            bodies[e],
+            new Vector3f((float) (ray.ox + ray.dx * hit.t), (float) (ray.oy + ray.dy * hit.t), (float) (ray.oz + ray.dz * hit.t)),
+            new Vector3f((float) hit.nx, (float) hit.ny, (float) hit.nz),
+            (float) (hit.t / ray.maxDist),
+            materials[e],
+            layers[e]
+        );
+    }
+
+    private static double raySphere(Ray ray, double cx, double cy, double cz, double r) {
+        double ocx = ray.ox - cx;
+        double ocy = ray.oy - cy;
+        double ocz = ray.oz - cz;
+        double b = ocx * ray.dx + ocy * ray.dy + ocz * ray.dz;
+        double c = ocx * ocx + ocy * ocy + ocz * ocz - r * r;
+        double disc = b * b - c;
+        if (disc < 0.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double t = -b - Math.sqrt(disc);
+        return t >= 0.0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    /** Möller-Trumbore; distance along the unit ray, or infinity on a miss or a hit behind the origin. */
+    private static double rayTriangle(float[] tris, int v, double ox, double oy, double oz, double dx, double dy, double dz) {
+        double e1x = tris[v + 3] - tris[v], e1y = tris[v + 4] - tris[v + 1], e1z = tris[v + 5] - tris[v + 2];
+        double e2x = tris[v + 6] - tris[v], e2y = tris[v + 7] - tris[v + 1], e2z = tris[v + 8] - tris[v + 2];
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (Math.abs(det) < EPSILON) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double inv = 1.0 / det;
+        double sx = ox - tris[v];
+        double sy = oy - tris[v + 1];
+        double sz = oz - tris[v + 2];
+        double u = (sx * px + sy * py + sz * pz) * inv;
+        if (u < 0.0 || u > 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double w = (dx * qx + dy * qy + dz * qz) * inv;
+        if (w < 0.0 || u + w > 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double t = (e2x * qx + e2y * qy + e2z * qz) * inv;
+        return t >= 0.0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    /** Squared distance from a point to a triangle, by the region tests of Ericson's closest-point routine. */
+    private static float pointTriangleDistanceSq(float[] tris, int v, float px, float py, float pz) {
+        float ax = tris[v], ay = tris[v + 1], az = tris[v + 2];
+        float abx = tris[v + 3] - ax, aby = tris[v + 4] - ay, abz = tris[v + 5] - az;
+        float acx = tris[v + 6] - ax, acy = tris[v + 7] - ay, acz = tris[v + 8] - az;
+        float apx = px - ax, apy = py - ay, apz = pz - az;
+        float d1 = abx * apx + aby * apy + abz * apz;
+        float d2 = acx * apx + acy * apy + acz * apz;
+        if (d1 <= 0f && d2 <= 0f) {
+            return apx * apx + apy * apy + apz * apz;
+        }
+        float bpx = apx - abx, bpy = apy - aby, bpz = apz - abz;
+        float d3 = abx * bpx + aby * bpy + abz * bpz;
+        float d4 = acx * bpx + acy * bpy + acz * bpz;
+        if (d3 >= 0f && d4 <= d3) {
+            return bpx * bpx + bpy * bpy + bpz * bpz;
+        }
+        float cpx = apx - acx, cpy = apy - acy, cpz = apz - acz;
+        float d5 = abx * cpx + aby * cpy + abz * cpz;
+        float d6 = acx * cpx + acy * cpy + acz * cpz;
+        if (d6 >= 0f && d5 <= d6) {
+            return cpx * cpx + cpy * cpy + cpz * cpz;
+        }
+        float s;
+        float t;
+        float vc = d1 * d4 - d3 * d2;
+        float vb = d5 * d2 - d1 * d6;
+        float va = d3 * d6 - d5 * d4;
+        if (vc <= 0f && d1 >= 0f && d3 <= 0f) {
+            s = d1 / (d1 - d3);
+            t = 0f;
+        } else if (vb <= 0f && d2 >= 0f && d6 <= 0f) {
+            s = 0f;
+            t = d2 / (d2 - d6);
+        } else if (va <= 0f && d4 - d3 >= 0f && d5 - d6 >= 0f) {
+            t = (d4 - d3) / ((d4 - d3) + (d5 - d6));
+            s = 1f - t;
+        } else {
+            float denom = 1f / (va + vb + vc);
+            s = vb * denom;
+            t = vc * denom;
+        }
+        float dx = apx - abx * s - acx * t;
+        float dy = apy - aby * s - acy * t;
+        float dz = apz - abz * s - acz * t;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static boolean slabHit(
+        float[] box, int o, double ox, double oy, double oz, double invX, double invY, double invZ, double tMax
+    ) {
+        double t0 = 0.0;
+        double t1 = tMax;
+        double a = (box[o] - ox) * invX;
+        double b = (box[o + 3] - ox) * invX;
+        t0 = Math.max(t0, Math.min(a, b));
+        t1 = Math.min(t1, Math.max(a, b));
+        a = (box[o + 1] - oy) * invY;
+        b = (box[o + 4] - oy) * invY;
+        t0 = Math.max(t0, Math.min(a, b));
+        t1 = Math.min(t1, Math.max(a, b));
+        a = (box[o + 2] - oz) * invZ;
+        b = (box[o + 5] - oz) * invZ;
+        t0 = Math.max(t0, Math.min(a, b));
+        t1 = Math.min(t1, Math.max(a, b));
+        return t0 <= t1;
+    }
+
+    private static boolean boxesOverlap(float[] box, int o, float x0, float y0, float z0, float x1, float y1, float z1) {
+        return box[o] <= x1 && box[o + 3] >= x0
+            && box[o + 1] <= y1 && box[o + 4] >= y0
+            && box[o + 2] <= z1 && box[o + 5] >= z0;
+    }
+
+    private static float boxPointDistanceSq(float x0, float y0, float z0, float x1, float y1, float z1, float px, float py, float pz) {
+        float dx = px - Math.max(x0, Math.min(px, x1));
+        float dy = py - Math.max(y0, Math.min(py, y1));
+        float dz = pz - Math.max(z0, Math.min(pz, z1));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static float distanceSq(float ax, float ay, float az, float bx, float by, float bz) {
+        float dx = ax - bx;
+        float dy = ay - by;
+        float dz = az - bz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double clamp(double v, double lo, double hi) {
+        return v < lo ? lo : Math.min(v, hi);
+    }
+
+    private static int[] push(int[] stack, int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return stack;
+    }
+
+    /** Ray with a unit direction. */
+    private static final class Ray {
+        final double ox, oy, oz, dx, dy, dz, maxDist;
+        final double invX, invY, invZ;
+
+        private Ray(double ox, double oy, double oz, double dx, double dy, double dz, double maxDist) {
+            this.ox = ox;
+            this.oy = oy;
+            this.oz = oz;
+            this.dx = dx;
+            this.dy = dy;
+            this.dz = dz;
+            this.maxDist = maxDist;
+            // A large finite stand-in keeps (bound - origin) * inv away from 0 * Infinity = NaN.
+            this.invX = dx == 0.0 ? 1e30 : 1.0 / dx;
+            this.invY = dy == 0.0 ? 1e30 : 1.0 / dy;
+            this.invZ = dz == 0.0 ? 1e30 : 1.0 / dz;
+        }
+
+        static Ray of(Vector3f origin, Vector3f dir, float maxDist) {
+            double len = Math.sqrt(dir.x() * dir.x() + dir.y() * dir.y() + dir.z() * dir.z());
+            if (len < 1e-6 || !(maxDist > 0f)) {
+                return null;
+            }
+            return new Ray(origin.x(), origin.y(), origin.z(), dir.x() / len, dir.y() / len, dir.z() / len, maxDist);
+        }
+
+        boolean hitsBox(float[] box, int o, double tMax) {
+            return slabHit(box, o, ox, oy, oz, invX, invY, invZ, tMax);
+        }
+    }
+
+    /**
+     * Slab clip, one axis at a time without scratch arrays; {@code axis < 0} after a successful clip means the
+     * origin is inside the box. One instance per {@link Hit}, reused for every entry a query tests.
+     */
+    private static final class Slab {
+        double tEnter;
+        double tExit;
+        int axis;
+        double sign;
+
+        boolean clip(
+            double ox, double oy, double oz, double dx, double dy, double dz,
+            double x0, double y0, double z0, double x1, double y1, double z1,
+            double tMax
+        ) {
+            tEnter = Double.NEGATIVE_INFINITY;
+            tExit = Double.POSITIVE_INFINITY;
+            axis = -1;
+            if (!clipAxis(0, ox, dx, x0, x1) || !clipAxis(1, oy, dy, y0, y1) || !clipAxis(2, oz, dz, z0, z1)) {
+                return false;
+            }
+            if (tEnter > tExit || tExit < 0.0 || tEnter > tMax) {
+                return false;
+            }
+            if (tEnter < 0.0) {
+                axis = -1;
+            }
+            return true;
+        }
+
+        private boolean clipAxis(int i, double o, double d, double lo, double hi) {
+            if (Math.abs(d) < EPSILON) {
+                return o >= lo && o <= hi;
+            }
+            double a = (lo - o) / d;
+            double b = (hi - o) / d;
+            double near = Math.min(a, b);
+            if (near > tEnter) {
+                tEnter = near;
+                axis = i;
+                sign = d > 0.0 ? -1.0 : 1.0;
+            }
+            tExit = Math.min(tExit, Math.max(a, b));
+            return true;
+        }
+    }
+
+    private static final class Hit {
+        final Slab slab = new Slab();
+        int entry;
+        double t;
+        double nx, ny, nz;
+
+        boolean set(int entry, double t, double nx, double ny, double nz) {
+            this.entry = entry;
+            this.t = t;
+            this.nx = nx;
+            this.ny = ny;
+            this.nz = nz;
+            return true;
+        }
+
+        boolean inside(int entry, Ray ray) {
+            return set(entry, 0.0, -ray.dx, -ray.dy, -ray.dz);
+        }
+
+        void copyFrom(Hit other) {
+            set(other.entry, other.t, other.nx, other.ny, other.nz);
+        }
+    }
+
+    /** Top-down median split over entry centroids; nodes are laid out depth-first from index 0. */
+    private final class TreeBuilder {
+        private int next;
+
+        int build(int from, int to) {
+            next = 0;
+            buildNode(from, to);
+            return next;
+        }
+
+        private int buildNode(int from, int to) {
+            int node = next++;
+            int o = node * 6;
+            float cx0 = Float.POSITIVE_INFINITY, cy0 = Float.POSITIVE_INFINITY, cz0 = Float.POSITIVE_INFINITY;
+            float cx1 = Float.NEGATIVE_INFINITY, cy1 = Float.NEGATIVE_INFINITY, cz1 = Float.NEGATIVE_INFINITY;
+            nodeBounds[o] = nodeBounds[o + 1] = nodeBounds[o + 2] = Float.POSITIVE_INFINITY;
+            nodeBounds[o + 3] = nodeBounds[o + 4] = nodeBounds[o + 5] = Float.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                int b = order[i] * 6;
+                for (int k = 0; k < 3; k++) {
+                    nodeBounds[o + k] = Math.min(nodeBounds[o + k], bounds[b + k]);
+                    nodeBounds[o + 3 + k] = Math.max(nodeBounds[o + 3 + k], bounds[b + 3 + k]);
+                }
+                float x = centroid(order[i], 0);
+                float y = centroid(order[i], 1);
+                float z = centroid(order[i], 2);
+                cx0 = Math.min(cx0, x);
+                cy0 = Math.min(cy0, y);
+                cz0 = Math.min(cz0, z);
+                cx1 = Math.max(cx1, x);
+                cy1 = Math.max(cy1, y);
+                cz1 = Math.max(cz1, z);
+            }
+            if (to - from <= LEAF_SIZE) {
+                nodeFirst[node] = from;
+                nodeSize[node] = to - from;
+                return node;
+            }
+            float ex = cx1 - cx0;
+            float ey = cy1 - cy0;
+            float ez = cz1 - cz0;
+            int axis = ex >= ey && ex >= ez ? 0 : (ey >= ez ? 1 : 2);
+            int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, axis);
+            nodeSize[node] = 0;
+            nodeFirst[node] = buildNode(from, mid);
+            nodeSecond[node] = buildNode(mid, to);
+            return node;
+        }
+
+        private float centroid(int entry, int axis) {
+            return (bounds[entry * 6 + axis] + bounds[entry * 6 + 3 + axis]) * 0.5f;
+        }
+
+        /** Quickselect: places the {@code k}-th smallest centroid at {@code k}, smaller ones before it. */
+        private void select(int lo, int hi, int k, int axis) {
+            while (lo < hi) {
+                float pivot = centroid(order[(lo + hi) >>> 1], axis);
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (centroid(order[i], axis) < pivot) {
+                        i++;
+                    }
+                    while (centroid(order[j], axis) > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int tmp = order[i];
+                        order[i] = order[j];
+                        order[j] = tmp;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects entries for one snapshot. Reusable: {@link #reset()} keeps the grown arrays. Entries of the
+     * same body must be added consecutively. Quaternions are {@code (x, y, z, w)} and need not be normalized.
+     */
+    public static final class Builder {
+        private int count;
+        private int bodyCount;
+        private RigidBodyHandle[] bodies = new RigidBodyHandle[16];
+        private int[] bodyIndex = new int[16];
+        private int[] layers = new int[16];
+        private PhysicsMaterial[] materials = new PhysicsMaterial[16];
+        private byte[] kinds = new byte[16];
+        private float[] positions = new float[16 * 3];
+        private float[] rotations = new float[16 * 9];
+        private float[] params = new float[16 * 4];
+        private float[] bounds = new float[16 * 6];
+        private QueryTriangles[] meshes = new QueryTriangles[16];
+
+        private Builder() {}
+
+        public Builder reset() {
+            Arrays.fill(bodies, 0, count, null);
+            Arrays.fill(materials, 0, count, null);
+            Arrays.fill(meshes, 0, count, null);
+            count = 0;
+            bodyCount = 0;
+            return this;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public Builder addSphere(RigidBodyHandle body, int layer, PhysicsMaterial material, float x, float y, float z, float radius) {
+            int e = add(body, layer, material, SPHERE, x, y, z, 0f, 0f, 0f, 1f);
+            params[e * 4] = radius;
+            setBounds(e, x - radius, y - radius, z - radius, x + radius, y + radius, z + radius);
+            return this;
+        }
+
+        public Builder addBox(
+            RigidBodyHandle body, int layer, PhysicsMaterial material,
+            float x, float y, float z, float qx, float qy, float qz, float qw,
+            float halfX, float halfY, float halfZ
+        ) {
+            int e = add(body, layer, material, BOX, x, y, z, qx, qy, qz, qw);
+            params[e * 4] = halfX;
+            params[e * 4 + 1] = halfY;
+            params[e * 4 + 2] = halfZ;
+            int m = e * 9;
+            float ex = Math.abs(rotations[m]) * halfX + Math.abs(rotations[m + 1]) * halfY + Math.abs(rotations[m + 2]) * halfZ;
+            float ey = Math.abs(rotations[m + 3]) * halfX + Math.abs(rotations[m + 4]) * halfY + Math.abs(rotations[m + 5]) * halfZ;
+            float ez = Math.abs(rotations[m + 6]) * halfX + Math.abs(rotations[m + 7]) * halfY + Math.abs(rotations[m + 8]) * halfZ;
+            setBounds(e, x - ex, y - ey, z - ez, x + ex, y + ey, z + ez);
+            return this;
+        }
+
+        /** {@code halfHeight} is half the length of the cylindrical section, along the rotated local Y axis. */
+        public Builder addCapsule(
+            RigidBodyHandle body, int layer, PhysicsMaterial material,
+            float x, float y, float z, float qx, float qy, float qz, float qw,
+            float radius, float halfHeight
+        ) {
+            int e = add(body, layer, material, CAPSULE, x, y, z, qx, qy, qz, qw);
+            params[e * 4] = radius;
+            params[e * 4 + 1] = halfHeight;
+            int m = e * 9;
+            float ex = Math.abs(rotations[m + 1]) * halfHeight + radius;
+            float ey = Math.abs(rotations[m + 4]) * halfHeight + radius;
+            float ez = Math.abs(rotations[m + 7]) * halfHeight + radius;
+            setBounds(e, x - ex, y - ey, z - ez, x + ex, y + ey, z + ez);
+            return this;
+        }
+
+        /** {@code halfHeight} is half the cylinder's length, along the rotated local Y axis. */
+        public Builder addCylinder(
+            RigidBodyHandle body, int layer, PhysicsMaterial material,
+            float x, float y, float z, float qx, float qy, float qz, float qw,
+            float radius, float halfHeight
+        ) {
+            int e = add(body, layer, material, CYLINDER, x, y, z, qx, qy, qz, qw);
+            params[e * 4] = radius;
+            params[e * 4 + 1] = halfHeight;
+            int m = e * 9;
+            float ex = Math.abs(rotations[m + 1]) * halfHeight + radius;
+            float ey = Math.abs(rotations[m + 4]) * halfHeight + radius;
+            float ez = Math.abs(rotations[m + 7]) * halfHeight + radius;
+            setBounds(e, x - ex, y - ey, z - ez, x + ex, y + ey, z + ez);
+            return this;
+        }
+
+        /** Places a shared, prebuilt triangle set; nothing is copied. */
+        public Builder addTriangles(
+            RigidBodyHandle body, int layer, PhysicsMaterial material,
+            float x, float y, float z, float qx, float qy, float qz, float qw,
+            QueryTriangles triangles
+        ) {
+            int e = add(body, layer, material, TRIANGLES, x, y, z, qx, qy, qz, qw);
+            meshes[e] = triangles;
+            float[] local = triangles.nodeBounds;
+            if (triangles.nodeCount == 0) {
+                setBounds(e, x, y, z, x, y, z);
+                return this;
+            }
+            float lcx = (local[0] + local[3]) * 0.5f;
+            float lcy = (local[1] + local[4]) * 0.5f;
+            float lcz = (local[2] + local[5]) * 0.5f;
+            float hx = (local[3] - local[0]) * 0.5f;
+            float hy = (local[4] - local[1]) * 0.5f;
+            float hz = (local[5] - local[2]) * 0.5f;
+            int m = e * 9;
+            float cx = x + rotations[m] * lcx + rotations[m + 1] * lcy + rotations[m + 2] * lcz;
+            float cy = y + rotations[m + 3] * lcx + rotations[m + 4] * lcy + rotations[m + 5] * lcz;
+            float cz = z + rotations[m + 6] * lcx + rotations[m + 7] * lcy + rotations[m + 8] * lcz;
+            float ex = Math.abs(rotations[m]) * hx + Math.abs(rotations[m + 1]) * hy + Math.abs(rotations[m + 2]) * hz;
+            float ey = Math.abs(rotations[m + 3]) * hx + Math.abs(rotations[m + 4]) * hy + Math.abs(rotations[m + 5]) * hz;
+            float ez = Math.abs(rotations[m + 6]) * hx + Math.abs(rotations[m + 7]) * hy + Math.abs(rotations[m + 8]) * hz;
+            setBounds(e, cx - ex, cy - ey, cz - ez, cx + ex, cy + ey, cz + ez);
+            return this;
+        }
+
+        /** Half-space {@code n . p <= distance}; {@code n} must be unit length. */
+        public Builder addPlane(RigidBodyHandle body, int layer, PhysicsMaterial material, float nx, float ny, float nz, float distance) {
+            int e = add(body, layer, material, PLANE, 0f, 0f, 0f, 0f, 0f, 0f, 1f);
+            params[e * 4] = nx;
+            params[e * 4 + 1] = ny;
+            params[e * 4 + 2] = nz;
+            params[e * 4 + 3] = distance;
+            setBounds(e, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY,
+                Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+            return this;
+        }
+
+        /** Any shape without an exact form above, represented by its world AABB; rays hit the box itself. */
+        public Builder addBounds(
+            RigidBodyHandle body, int layer, PhysicsMaterial material,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ
+        ) {
+            int e = add(body, layer, material, BOUNDS, 0f, 0f, 0f, 0f, 0f, 0f, 1f);
+            setBounds(e, minX, minY, minZ, maxX, maxY, maxZ);
+            return this;
+        }
+
+        /** Copies the collected entries into a new snapshot; the builder can be reset and reused afterwards. */
+        public QuerySnapshot build(long sequence) {
+            return new QuerySnapshot(this, sequence);
+        }
+
+        private int add(
+            RigidBodyHandle body, int layer, PhysicsMaterial material, byte kind,
+            float x, float y, float z, float qx, float qy, float qz, float qw
+        ) {
+            if (count == bodies.length) {
+                grow(count * 2);
+            }
+            int e = count++;
+            if (e == 0 || bodies[e - 1] != body) {
+                bodyCount++;
+            }
+            bodies[e] = body;
+            bodyIndex[e] = bodyCount - 1;
+            layers[e] = layer;
+            materials[e] = material != null ? material : PhysicsMaterial.DEFAULT;
+            kinds[e] = kind;
+            positions[e * 3] = x;
+            positions[e * 3 + 1] = y;
+            positions[e * 3 + 2] = z;
+            Arrays.fill(params, e * 4, e * 4 + 4, 0f);
+            setRotation(e * 9, qx, qy, qz, qw);
+            return e;
+        }
+
+        /** Row-major rotation matrix, so column {@code i} is the world direction of local axis {@code i}. */
+        private void setRotation(int m, float qx, float qy, float qz, float qw) {
+            float n = qx * qx + qy * qy + qz * qz + qw * qw;
+            float s = n > 0f ? 2f / n : 0f;
+            float xx = qx * qx * s, yy = qy * qy * s, zz = qz * qz * s;
+            float xy = qx * qy * s, xz = qx * qz * s, yz = qy * qz * s;
+            float wx = qw * qx * s, wy = qw * qy * s, wz = qw * qz * s;
+            rotations[m] = 1f - (yy + zz);
+            rotations[m + 1] = xy - wz;
+            rotations[m + 2] = xz + wy;
+            rotations[m + 3] = xy + wz;
+            rotations[m + 4] = 1f - (xx + zz);
+            rotations[m + 5] = yz - wx;
+            rotations[m + 6] = xz - wy;
+            rotations[m + 7] = yz + wx;
+            rotations[m + 8] = 1f - (xx + yy);
+        }
+
+        private void setBounds(int e, float x0, float y0, float z0, float x1, float y1, float z1) {
+            int b = e * 6;
+            bounds[b] = x0;
+            bounds[b + 1] = y0;
+            bounds[b + 2] = z0;
+            bounds[b + 3] = x1;
+            bounds[b + 4] = y1;
+            bounds[b + 5] = z1;
+        }
+
+        private void grow(int capacity) {
+            bodies = Arrays.copyOf(bodies, capacity);
+            bodyIndex = Arrays.copyOf(bodyIndex, capacity);
+            layers = Arrays.copyOf(layers, capacity);
+            materials = Arrays.copyOf(materials, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            positions = Arrays.copyOf(positions, capacity * 3);
+            rotations = Arrays.copyOf(rotations, capacity * 9);
+            params = Arrays.copyOf(params, capacity * 4);
+            bounds = Arrays.copyOf(bounds, capacity * 6);
+            meshes = Arrays.copyOf(meshes, capacity);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.dynamisengine.physics.api.query;
+
+/**
+ * Local-space triangles with their own BVH (median split, up to {@value #LEAF_SIZE} triangles per leaf), placed
+ * into a {@link QuerySnapshot} by {@link QuerySnapshot.Builder#addTriangles}. Immutable: build one per mesh or
+ * heightfield shape and share it across snapshots and threads. Triangles are two-sided.
+ */
+public final class QueryTriangles {
+    public static final int LEAF_SIZE = 4;
+
+    /** Nine coordinates per triangle, in BVH order. */
+    final float[] triangles;
+    final float[] nodeBounds;
+    final int[] nodeFirst;
+    final int[] nodeSecond;
+    final int[] nodeSize;
+    final int nodeCount;
+    private final int triangleCount;
+
+    private QueryTriangles(float[] source, int triangleCount) {
+        this.triangleCount = triangleCount;
+        int maxNodes = Math.max(1, 2 * triangleCount);
+        this.nodeBounds = new float[maxNodes * 6];
+        this.nodeFirst = new int[maxNodes];
+        this.nodeSecond = new int[maxNodes];
+        this.nodeSize = new int[maxNodes];
+        int[] order = new int[triangleCount];
+        float[] centroids = new float[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++) {
+            order[t] = t;
+            for (int k = 0; k < 3; k++) {
+                centroids[t * 3 + k] = (source[t * 9 + k] + source[t * 9 + 3 + k] + source[t * 9 + 6 + k]) / 3f;
+            }
+        }
+        this.nodeCount = triangleCount == 0 ? 0 : new TreeBuilder(source, centroids, order).build();
+        this.triangles = new float[triangleCount * 9];
+        for (int i = 0; i < triangleCount; i++) {
+            System.arraycopy(source, order[i] * 9, triangles, i * 9, 9);
+        }
+    }
+
+    /** Indexed triangle list, three indices per triangle into {@code vertices} ({@code x, y, z} per vertex). */
+    public static QueryTriangles of(float[] vertices, int[] indices) {
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("indices must hold whole triangles, got " + indices.length);
+        }
+        int count = indices.length / 3;
+        float[] source = new float[count * 9];
+        for (int i = 0; i < indices.length; i++) {
+            int v = indices[i] * 3;
+            if (v < 0 || v + 2 >= vertices.length) {
+                throw new IllegalArgumentException("index " + indices[i] + " out of range at " + i);
+            }
+            source[i * 3] = vertices[v];
+            source[i * 3 + 1] = vertices[v + 1];
+            source[i * 3 + 2] = vertices[v + 2];
+        }
+        return new QueryTriangles(source, count);
+    }
+
+    /**
+     * Height grid centred on the origin with heights along local Y: sample {@code (i, j)} sits at
+     * {@code x = i * worldWidth / (widthSamples - 1) - worldWidth / 2}, {@code z} likewise over the depth, with
+     * height {@code heights[j * widthSamples + i]}. Each cell is split along its {@code (i + 1, j)}-{@code (i, j + 1)}
+     * diagonal, as ODE does.
+     */
+    public static QueryTriangles heightfield(float[] heights, int widthSamples, int depthSamples, float worldWidth, float worldDepth) {
+        if (widthSamples < 2 || depthSamples < 2 || heights.length < widthSamples * depthSamples) {
+            throw new IllegalArgumentException("heightfield needs >= 2x2 samples and " + widthSamples * depthSamples
+                + " heights, got " + widthSamples + "x" + depthSamples + " and " + heights.length);
+        }
+        float stepX = worldWidth / (widthSamples - 1);
+        float stepZ = worldDepth / (depthSamples - 1);
+        float x0 = -worldWidth * 0.5f;
+        float z0 = -worldDepth * 0.5f;
+        int count = (widthSamples - 1) * (depthSamples - 1) * 2;
+        float[] source = new float[count * 9];
+        int o = 0;
+        for (int j = 0; j < depthSamples - 1; j++) {
+            for (int i = 0; i < widthSamples - 1; i++) {
+                float xa = x0 + i * stepX;
+                float xb = xa + stepX;
+                float za = z0 + j * stepZ;
+                float zb = za + stepZ;
+                float a = heights[j * widthSamples + i];
+                float b = heights[j * widthSamples + i + 1];
+                float c = heights[(j + 1) * widthSamples + i];
+                float d = heights[(j + 1) * widthSamples + i + 1];
+                o = put(source, o, xa, a, za, xa, c, zb, xb, b, za);
+                o = put(source, o, xb, b, za, xa, c, zb, xb, d, zb);
+            }
+        }
+        return new QueryTriangles(source, count);
+    }
+
+    public int triangleCount() {
+        return triangleCount;
+    }
+
+    private static int put(float[] out, int o, float... coordinates) {
+        System.arraycopy(coordinates, 0, out, o, 9);
+        return o + 9;
+    }
+
+    /** Top-down median split over triangle centroids; nodes are laid out depth-first from index 0. */
+    private final class TreeBuilder {
+        private final float[] source;
+        private final float[] centroids;
+        private final int[] order;
+        private int next;
+
+        TreeBuilder(float[] source, float[] centroids, int[] order) {
+            this.source = source;
+            this.centroids = centroids;
+            this.order = order;
+        }
+
+        int build() {
+            buildNode(0, order.length);
+            return next;
+        }
+
+        private int buildNode(int from, int to) {
+            int node = next++;
+            int o = node * 6;
+            float cx0 = Float.POSITIVE_INFINITY, cy0 = Float.POSITIVE_INFINITY, cz0 = Float.POSITIVE_INFINITY;
+            float cx1 = Float.NEGATIVE_INFINITY, cy1 = Float.NEGATIVE_INFINITY, cz1 = Float.NEGATIVE_INFINITY;
+            nodeBounds[o] = nodeBounds[o + 1] = nodeBounds[o + 2] = Float.POSITIVE_INFINITY;
+            nodeBounds[o + 3] = nodeBounds[o + 4] = nodeBounds[o + 5] = Float.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                int t = order[i] * 9;
+                for (int v = 0; v < 9; v += 3) {
+                    for (int k = 0; k < 3; k++) {
+                        nodeBounds[o + k] = Math.min(nodeBounds[o + k], source[t + v + k]);
+                        nodeBounds[o + 3 + k] = Math.max(nodeBounds[o + 3 + k], source[t + v + k]);
+                    }
+                }
+                int c = order[i] * 3;
+                cx0 = Math.min(cx0, centroids[c]);
+                cy0 = Math.min(cy0, centroids[c + 1]);
+                cz0 = Math.min(cz0, centroids[c + 2]);
+                cx1 = Math.max(cx1, centroids[c]);
+                cy1 = Math.max(cy1, centroids[c + 1]);
+                cz1 = Math.max(cz1, centroids[c + 2]);
+            }
+            if (to - from <= LEAF_SIZE) {
+                nodeFirst[node] = from;
+                nodeSize[node] = to - from;
+                return node;
+            }
+            float ex = cx1 - cx0;
+            float ey = cy1 - cy0;
+            float ez = cz1 - cz0;
+            int axis = ex >= ey && ex >= ez ? 0 : (ey >= ez ? 1 : 2);
+            int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, axis);
+            nodeSize[node] = 0;
+            nodeFirst[node] = buildNode(from, mid);
+            nodeSecond[node] = buildNode(mid, to);
+            return node;
+        }
+
+        /** Quickselect: places the {@code k}-th smallest centroid at {@code k}, smaller ones before it. */
+        private void select(int lo, int hi, int k, int axis) {
+            while (lo < hi) {
+                float pivot = centroids[order[(lo + hi) >>> 1] * 3 + axis];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (centroids[order[i] * 3 + axis] < pivot) {
+                        i++;
+                    }
+                    while (centroids[order[j] * 3 + axis] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int tmp = order[i];
+                        order[i] = order[j];
+                        order[j] = tmp;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+}
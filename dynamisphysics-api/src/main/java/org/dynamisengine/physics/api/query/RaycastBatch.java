@@ -0,0 +1,70 @@
+package org.dynamisengine.physics.api.query;
+
+import org.dynamisengine.physics.api.body.CollisionLayers;
+
+import java.util.Objects;
+
+/**
+ * Caller-owned, reusable input for {@code PhysicsWorld.raycastBatch}.
+ *
+ * <p>Ray {@code i} starts at {@code origins[i * 3 .. i * 3 + 2]}, points along
+ * {@code directions[i * 3 ..]} (need not be normalized) and is {@code maxDistances[i]} long.
+ * All rays in a batch share one layer mask.
+ */
+public final class RaycastBatch {
+    public static final int VECTOR_STRIDE = 3;
+
+    private final int capacity;
+    private final float[] origins;
+    private final float[] directions;
+    private final float[] maxDistances;
+    private int count;
+    private int layerMask = CollisionLayers.ALL;
+
+    public RaycastBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.origins = new float[capacity * VECTOR_STRIDE];
+        this.directions = new float[capacity * VECTOR_STRIDE];
+        this.maxDistances = new float[capacity];
+    }
+
+    public int capacity() { return capacity; }
+    public int count() { return count; }
+    public int layerMask() { return layerMask; }
+    public float[] origins() { return origins; }
+    public float[] directions() { return directions; }
+    public float[] maxDistances() { return maxDistances; }
+
+    public void setCount(int count) {
+        if (count < 0 || count > capacity) {
+            throw new IllegalArgumentException("count out of range [0, " + capacity + "]: " + count);
+        }
+        this.count = count;
+    }
+
+    public void setLayerMask(int layerMask) {
+        this.layerMask = layerMask;
+    }
+
+    public void set(int index, float ox, float oy, float oz, float dx, float dy, float dz, float maxDistance) {
+        int base = index * VECTOR_STRIDE;
+        origins[base] = ox;
+        origins[base + 1] = oy;
+        origins[base + 2] = oz;
+        directions[base] = dx;
+        directions[base + 1] = dy;
+        directions[base + 2] = dz;
+        maxDistances[index] = maxDistance;
+    }
+
+    /** Throws if {@code out} cannot hold one result per ray. */
+    public void checkTarget(RaycastHitBuffer out) {
+        Objects.requireNonNull(out, "out");
+        if (count > out.capacity()) {
+            throw new IllegalArgumentException("ray count " + count + " exceeds buffer capacity " + out.capacity());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.dynamisengine.physics.api.query;
+
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+
+/**
+ * Caller-owned, reusable struct-of-arrays target for {@code PhysicsWorld.raycastBatch}.
+ *
+ * <p>Entry {@code i} holds the closest hit of ray {@code i}: {@code hits[i]} is false for a miss,
+ * otherwise {@code bodies[i]}, {@code fractions[i]}, {@code layers[i]}, {@code positions[i * 3 ..]}
+ * and {@code normals[i * 3 ..]} describe the hit. Entries may be written from several worker threads;
+ * each index is written by exactly one.
+ */
+public final class RaycastHitBuffer {
+    public static final int VECTOR_STRIDE = 3;
+
+    private final int capacity;
+    private final boolean[] hits;
+    private final RigidBodyHandle[] bodies;
+    private final float[] fractions;
+    private final int[] layers;
+    private final float[] positions;
+    private final float[] normals;
+    private int count;
+
+    public RaycastHitBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.hits = new boolean[capacity];
+        this.bodies = new RigidBodyHandle[capacity];
+        this.fractions = new float[capacity];
+        this.layers = new int[capacity];
+        this.positions = new float[capacity * VECTOR_STRIDE];
+        this.normals = new float[capacity * VECTOR_STRIDE];
+    }
+
+    public int capacity() { return capacity; }
+    public int count() { return count; }
+    public boolean[] hits() { return hits; }
+    public RigidBodyHandle[] bodies() { return bodies; }
+    public float[] fractions() { return fractions; }
+    public int[] layers() { return layers; }
+    public float[] positions() { return positions; }
+    public float[] normals() { return normals; }
+
+    public void setCount(int count) {
+        if (count < 0 || count > capacity) {
+            throw new IllegalArgumentException("count out of range [0, " + capacity + "]: " + count);
+        }
+        this.count = count;
+    }
+
+    public void set(
+        int index,
+        RigidBodyHandle body,
+        float fraction,
+        int layer,
+        float px, float py, float pz,
+        float nx, float ny, float nz
+    ) {
+        hits[index] = true;
+        bodies[index] = body;
+        fractions[index] = fraction;
+        layers[index] = layer;
+        int base = index * VECTOR_STRIDE;
+        positions[base] = px;
+        positions[base + 1] = py;
+        positions[base + 2] = pz;
+        normals[base] = nx;
+        normals[base + 1] = ny;
+        normals[base + 2] = nz;
+    }
+
+    public void set(int index, RaycastResult result) {
+        set(index, result.body(), result.fraction(), result.layer(),
+            result.position().x(), result.position().y(), result.position().z(),
+            result.normal().x(), result.normal().y(), result.normal().z());
+    }
+
+    public void clear(int index) {
+        hits[index] = false;
+        bodies[index] = null;
+    }
+}
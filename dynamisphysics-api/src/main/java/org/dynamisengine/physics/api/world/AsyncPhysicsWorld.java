@@ -0,0 +1,707 @@
+package org.dynamisengine.physics.api.world;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.AnimisPose;
+import org.dynamisengine.physics.api.CharacterDescriptor;
+import org.dynamisengine.physics.api.CharacterHandle;
+import org.dynamisengine.physics.api.RagdollDescriptor;
+import org.dynamisengine.physics.api.RagdollHandle;
+import org.dynamisengine.physics.api.VehicleDescriptor;
+import org.dynamisengine.physics.api.VehicleHandle;
+import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.constraint.ConstraintDesc;
+import org.dynamisengine.physics.api.constraint.ConstraintHandle;
+import org.dynamisengine.physics.api.event.ContactListener;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
+import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
+import org.dynamisengine.physics.api.query.RaycastResult;
+import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.vectrix.core.Quaternionf;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a {@link PhysicsWorld} on a dedicated physics thread. {@link #stepAsync} returns immediately;
+ * meanwhile reads are served from a front buffer that the physics thread publishes at the end of every step:
+ *
+ * <ul>
+ *   <li>Body, vehicle and character state and {@link #getStats()} come from the front buffer.</li>
+ *   <li>Ray and overlap queries run against the published {@link QuerySnapshot}.</li>
+ *   <li>Void commands (forces, velocities, teleports, destroys, controller input, gravity, ...) are queued in
+ *       call order and applied on the physics thread at the next step boundary.</li>
+ *   <li>Calls that return a new handle or need the live world (spawns, constraints, events, snapshots,
+ *       shapecasts, batches) run on the physics thread after the in-flight step and block until done.</li>
+ * </ul>
+ *
+ * <p>Queued commands are applied only at step boundaries. Blocking calls do not flush them, so they see the world
+ * as of the last step plus earlier blocking calls; a teleport queued before {@link #snapshot()} is not in the
+ * snapshot. {@link #restore} is the one exception: it applies the queue first, because those commands target the
+ * world being replaced.
+ *
+ * <p>Two front buffers alternate, so publishing allocates nothing while the set of tracked bodies, vehicles and
+ * characters is unchanged. A reader that still holds the older buffer when the physics thread starts rewriting it
+ * notices through the buffer's sequence number and reads the new front instead.
+ *
+ * <p>Use the wrapper exclusively once created; bodies spawned on the delegate directly are not tracked.
+ * {@link #restore} re-tracks the delegate's restored bodies; look them up again through {@link #rigidBodies()}.
+ * Contact listeners run on the physics thread, the only thread that may use {@link #eventChannels()}.
+ */
+public final class AsyncPhysicsWorld implements PhysicsWorld {
+    private final PhysicsWorld delegate;
+    private final ExecutorService physicsThread;
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Map<RigidBodyHandle, BodyState> spawnedSincePublish = new ConcurrentHashMap<>();
+    private final boolean snapshotQueries;
+    private volatile Thread physicsThreadRef;
+    private volatile boolean destroyed;
+
+    // Owned by the physics thread.
+    private final List<RigidBodyHandle> bodies = new ArrayList<>();
+    private final IdentityHashMap<RigidBodyHandle, Integer> bodySlots = new IdentityHashMap<>();
+    private final List<VehicleHandle> vehicles = new ArrayList<>();
+    private final List<CharacterHandle> characters = new ArrayList<>();
+    /** Bumped whenever a body, vehicle or character starts or stops being tracked. */
+    private int trackedVersion;
+    private int publishedVersion = -1;
+    private RigidBodyHandle[] publishedHandles = new RigidBodyHandle[0];
+    private IdentityHashMap<RigidBodyHandle, Integer> publishedSlots = new IdentityHashMap<>();
+
+    private final FrontBuffer bufferA = new FrontBuffer();
+    private final FrontBuffer bufferB = new FrontBuffer();
+    private volatile FrontBuffer front;
+
+    /** Slot map and state array of one front buffer. The map is shared by both buffers and never modified. */
+    private record Bodies(IdentityHashMap<RigidBodyHandle, Integer> slots, BodyStateBuffer states) {
+        static final Bodies EMPTY = new Bodies(new IdentityHashMap<>(), new BodyStateBuffer(0));
+    }
+
+    /**
+     * Published state of one completed step, rewritten in place two steps later. The maps are replaced rather than
+     * restructured when the tracked set changes, so a lookup never sees a map being resized.
+     */
+    private static final class FrontBuffer {
+        /** Odd while the physics thread rewrites this buffer. */
+        private volatile long sequence;
+        private volatile Bodies bodies = Bodies.EMPTY;
+        private volatile IdentityHashMap<VehicleHandle, VehicleState> vehicleStates = new IdentityHashMap<>();
+        private volatile IdentityHashMap<CharacterHandle, CharacterState> characterStates = new IdentityHashMap<>();
+        private volatile PhysicsStats stats;
+        private volatile QuerySnapshot query = QuerySnapshot.EMPTY;
+        /** {@code trackedVersion} the maps were built for. Physics thread only. */
+        private int trackedVersion = -1;
+
+        void beginWrite() {
+            sequence++;
+            VarHandle.storeStoreFence();
+        }
+
+        void endWrite() {
+            sequence++;
+        }
+
+        /** Whether reads made after observing {@code seq} saw no concurrent rewrite. */
+        boolean unchangedSince(long seq) {
+            VarHandle.loadLoadFence();
+            return (seq & 1) == 0 && sequence == seq;
+        }
+    }
+
+    private AsyncPhysicsWorld(PhysicsWorld delegate) {
+        this.delegate = delegate;
+        this.physicsThread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "dynamis-physics");
+            t.setDaemon(true);
+            physicsThreadRef = t;
+            return t;
+        });
+        boolean snapshots;
+        try {
+            delegate.setQuerySnapshotEnabled(true);
+            snapshots = true;
+        } catch (UnsupportedOperationException e) {
+            snapshots = false;
+        }
+        this.snapshotQueries = snapshots;
+        bufferA.stats = delegate.getStats();
+        bufferA.query = snapshots ? delegate.querySnapshot() : QuerySnapshot.EMPTY;
+        this.front = bufferA;
+    }
+
+    /** Wraps {@code delegate}, which must not be stepped or mutated directly afterwards. */
+    public static AsyncPhysicsWorld wrap(PhysicsWorld delegate) {
+        return new AsyncPhysicsWorld(delegate);
+    }
+
+    public CompletableFuture<Void> stepAsync(float deltaSeconds) {
+        ensureNotDestroyed();
+        return CompletableFuture.runAsync(() -> stepNow(deltaSeconds, -1), physicsThread);
+    }
+
+    public CompletableFuture<Void> stepAsync(float deltaSeconds, int subSteps) {
+        ensureNotDestroyed();
+        return CompletableFuture.runAsync(() -> stepNow(deltaSeconds, subSteps), physicsThread);
+    }
+
+    /** Blocks until every step submitted so far has completed. Commands queued since the last step stay queued. */
+    public void awaitIdle() {
+        onPhysicsThread(() -> null);
+    }
+
+    @Override
+    public void step(float deltaSeconds) {
+        onPhysicsThread(() -> {
+            stepNow(deltaSeconds, -1);
+            return null;
+        });
+    }
+
+    @Override
+    public void step(float deltaSeconds, int subSteps) {
+        onPhysicsThread(() -> {
+            stepNow(deltaSeconds, subSteps);
+            return null;
+        });
+    }
+
+    @Override public void pause() { enqueue(delegate::pause); }
+    @Override public void resume() { enqueue(delegate::resume); }
+
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        try {
+            onPhysicsThread(() -> {
+                delegate.destroy();
+                return null;
+            });
+        } finally {
+            destroyed = true;
+            physicsThread.shutdown();
+        }
+    }
+
+    @Override
+    public RigidBodyHandle spawnRigidBody(RigidBodyConfig config) {
+        return onPhysicsThread(() -> {
+            RigidBodyHandle handle = delegate.spawnRigidBody(config);
+            bodySlots.put(handle, bodies.size());
+            bodies.add(handle);
+            trackedVersion++;
+            spawnedSincePublish.put(handle, delegate.getBodyState(handle));
+            return handle;
+        });
+    }
+
+    @Override
+    public void destroyRigidBody(RigidBodyHandle handle) {
+        enqueue(() -> {
+            delegate.destroyRigidBody(handle);
+            untrack(handle);
+        });
+    }
+
+    @Override
+    public BodyState getBodyState(RigidBodyHandle handle) {
+        FrontBuffer f = front;
+        BodyState state = publishedState(handle);
+        if (state != null) {
+            return state;
+        }
+        BodyState spawned = spawnedSincePublish.get(handle);
+        if (spawned != null) {
+            return spawned;
+        }
+        if (front != f && (state = publishedState(handle)) != null) {
+            return state;
+        }
+        return BodyState.ZERO;
+    }
+
+    @Override
+    public int readBodyStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        BulkReads.checkRange(handles, offset, count, out);
+        while (true) {
+            FrontBuffer f = front;
+            long seq = f.sequence;
+            Bodies published = f.bodies;
+            BodyStateBuffer states = published.states();
+            for (int i = 0; i < count; i++) {
+                Integer slot = published.slots().get(handles[offset + i]);
+                if (slot == null) {
+                    out.set(i, getBodyState(handles[offset + i]));
+                    continue;
+                }
+                int s = slot;
+                System.arraycopy(states.positions(), s * BodyStateBuffer.POSITION_STRIDE,
+                    out.positions(), i * BodyStateBuffer.POSITION_STRIDE, BodyStateBuffer.POSITION_STRIDE);
+                System.arraycopy(states.orientations(), s * BodyStateBuffer.ORIENTATION_STRIDE,
+                    out.orientations(), i * BodyStateBuffer.ORIENTATION_STRIDE, BodyStateBuffer.ORIENTATION_STRIDE);
+                System.arraycopy(states.linearVelocities(), s * BodyStateBuffer.VELOCITY_STRIDE,
+                    out.linearVelocities(), i * BodyStateBuffer.VELOCITY_STRIDE, BodyStateBuffer.VELOCITY_STRIDE);
+                System.arraycopy(states.angularVelocities(), s * BodyStateBuffer.VELOCITY_STRIDE,
+                    out.angularVelocities(), i * BodyStateBuffer.VELOCITY_STRIDE, BodyStateBuffer.VELOCITY_STRIDE);
+                out.setSleeping(i, states.sleeping()[s]);
+            }
+            if (f.unchangedSince(seq)) {
+                out.setCount(count);
+                return count;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** State of {@code handle} in the current front buffer, or {@code null} when it is not tracked there. */
+    private BodyState publishedState(RigidBodyHandle handle) {
+        while (true) {
+            FrontBuffer f = front;
+            long seq = f.sequence;
+            Bodies published = f.bodies;
+            Integer slot = published.slots().get(handle);
+            BodyState state = slot == null ? null : published.states().toBodyState(slot);
+            if (f.unchangedSince(seq)) {
+                return state;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** {@code read} applied to the current front buffer, retried until no rewrite overlapped it. */
+    private <T> T readFront(Function<FrontBuffer, T> read) {
+        while (true) {
+            FrontBuffer f = front;
+            long seq = f.sequence;
+            T value = read.apply(f);
+            if (f.unchangedSince(seq)) {
+                return value;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void setBodyState(RigidBodyHandle handle, BodyState state) {
+        enqueue(() -> delegate.setBodyState(handle, state));
+    }
+
+    @Override
+    public List<RigidBodyHandle> rigidBodies() {
+        return onPhysicsThread(delegate::rigidBodies);
+    }
+
+    @Override
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        return onPhysicsThread(() -> delegate.drainMovedBodies(out));
+    }
+
+    @Override
+    public void setTransformStream(MemorySegment segment) {
+        onPhysicsThread(() -> {
+            delegate.setTransformStream(segment);
+            return null;
+        });
+    }
+
+    @Override
+    public void applyImpulse(RigidBodyHandle h, Vector3f impulse, Vector3f worldPoint) {
+        enqueue(() -> delegate.applyImpulse(h, impulse, worldPoint));
+    }
+
+    @Override
+    public void applyForce(RigidBodyHandle h, Vector3f force, Vector3f worldPoint) {
+        enqueue(() -> delegate.applyForce(h, force, worldPoint));
+    }
+
+    @Override
+    public void applyTorque(RigidBodyHandle h, Vector3f torque) {
+        enqueue(() -> delegate.applyTorque(h, torque));
+    }
+
+    @Override
+    public void setVelocity(RigidBodyHandle h, Vector3f linear, Vector3f angular) {
+        enqueue(() -> delegate.setVelocity(h, linear, angular));
+    }
+
+    @Override
+    public void teleport(RigidBodyHandle h, Vector3f position, Quaternionf orientation) {
+        enqueue(() -> delegate.teleport(h, position, orientation));
+    }
+
+    /** The delegate's queue; it is drained on the physics thread. */
+    @Override
+    public PhysicsCommandQueue commandQueue() {
+        return delegate.commandQueue();
+    }
+
+    @Override
+    public ConstraintHandle addConstraint(ConstraintDesc desc) {
+        return onPhysicsThread(() -> delegate.addConstraint(desc));
+    }
+
+    @Override
+    public void removeConstraint(ConstraintHandle handle) {
+        enqueue(() -> delegate.removeConstraint(handle));
+    }
+
+    @Override
+    public void setConstraintEnabled(ConstraintHandle h, boolean enabled) {
+        enqueue(() -> delegate.setConstraintEnabled(h, enabled));
+    }
+
+    @Override
+    public void setMotorTarget(ConstraintHandle h, float targetVelocityOrPosition) {
+        enqueue(() -> delegate.setMotorTarget(h, targetVelocityOrPosition));
+    }
+
+    @Override
+    public VehicleHandle spawnVehicle(VehicleDescriptor desc) {
+        return onPhysicsThread(() -> {
+            VehicleHandle handle = delegate.spawnVehicle(desc);
+            vehicles.add(handle);
+            trackedVersion++;
+            return handle;
+        });
+    }
+
+    @Override
+    public void destroyVehicle(VehicleHandle handle) {
+        enqueue(() -> {
+            delegate.destroyVehicle(handle);
+            if (vehicles.remove(handle)) {
+                trackedVersion++;
+            }
+        });
+    }
+
+    @Override public void applyThrottle(VehicleHandle h, float throttle) { enqueue(() -> delegate.applyThrottle(h, throttle)); }
+    @Override public void applyBrake(VehicleHandle h, float brake) { enqueue(() -> delegate.applyBrake(h, brake)); }
+    @Override public void applySteering(VehicleHandle h, float steeringAngle) { enqueue(() -> delegate.applySteering(h, steeringAngle)); }
+    @Override public void applyHandbrake(VehicleHandle h, boolean engaged) { enqueue(() -> delegate.applyHandbrake(h, engaged)); }
+
+    /** State at the last published step; {@code null} for vehicles spawned since. */
+    @Override
+    public VehicleState getVehicleState(VehicleHandle h) {
+        return readFront(f -> f.vehicleStates.get(h));
+    }
+
+    @Override
+    public CharacterHandle spawnCharacter(CharacterDescriptor desc) {
+        return onPhysicsThread(() -> {
+            CharacterHandle handle = delegate.spawnCharacter(desc);
+            characters.add(handle);
+            trackedVersion++;
+            return handle;
+        });
+    }
+
+    @Override
+    public void destroyCharacter(CharacterHandle handle) {
+        enqueue(() -> {
+            delegate.destroyCharacter(handle);
+            if (characters.remove(handle)) {
+                trackedVersion++;
+            }
+        });
+    }
+
+    @Override public void moveCharacter(CharacterHandle h, Vector3f velocity) { enqueue(() -> delegate.moveCharacter(h, velocity)); }
+    @Override public void jumpCharacter(CharacterHandle h, float impulse) { enqueue(() -> delegate.jumpCharacter(h, impulse)); }
+
+    /** State at the last published step; {@code null} for characters spawned since. */
+    @Override
+    public CharacterState getCharacterState(CharacterHandle h) {
+        return readFront(f -> f.characterStates.get(h));
+    }
+
+    @Override
+    public RagdollHandle spawnRagdoll(RagdollDescriptor desc, AnimisPose initialPose) {
+        return onPhysicsThread(() -> delegate.spawnRagdoll(desc, initialPose));
+    }
+
+    @Override public void destroyRagdoll(RagdollHandle handle) { enqueue(() -> delegate.destroyRagdoll(handle)); }
+    @Override public void activateRagdoll(RagdollHandle h, float blendInSeconds) { enqueue(() -> delegate.activateRagdoll(h, blendInSeconds)); }
+    @Override public void deactivateRagdoll(RagdollHandle h) { enqueue(() -> delegate.deactivateRagdoll(h)); }
+
+    @Override
+    public void setRagdollBlendTarget(RagdollHandle h, AnimisPose pose, float alpha) {
+        enqueue(() -> delegate.setRagdollBlendTarget(h, pose, alpha));
+    }
+
+    @Override
+    public Optional<RaycastResult> raycastClosest(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        if (snapshotQueries) {
+            return front.query.raycastClosest(origin, dir, maxDist, layerMask);
+        }
+        return onPhysicsThread(() -> delegate.raycastClosest(origin, dir, maxDist, layerMask));
+    }
+
+    @Override
+    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        if (snapshotQueries) {
+            return front.query.raycastAll(origin, dir, maxDist, layerMask);
+        }
+        return onPhysicsThread(() -> delegate.raycastAll(origin, dir, maxDist, layerMask));
+    }
+
+    @Override
+    public List<RigidBodyHandle> overlapSphere(Vector3f centre, float radius, int layerMask) {
+        List<RigidBodyHandle> out = new ArrayList<>();
+        overlapSphere(centre, radius, layerMask, out);
+        return out;
+    }
+
+    @Override
+    public List<RigidBodyHandle> overlapAabb(Vector3f min, Vector3f max, int layerMask) {
+        List<RigidBodyHandle> out = new ArrayList<>();
+        overlapAabb(min, max, layerMask, out);
+        return out;
+    }
+
+    @Override
+    public int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        if (snapshotQueries) {
+            return front.query.overlapSphere(centre, radius, layerMask, out);
+        }
+        return onPhysicsThread(() -> delegate.overlapSphere(centre, radius, layerMask, out));
+    }
+
+    @Override
+    public int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        if (snapshotQueries) {
+            return front.query.overlapAabb(min, max, layerMask, out);
+        }
+        return onPhysicsThread(() -> delegate.overlapAabb(min, max, layerMask, out));
+    }
+
+    @Override
+    public int raycastBatch(RaycastBatch rays, RaycastHitBuffer out) {
+        return onPhysicsThread(() -> delegate.raycastBatch(rays, out));
+    }
+
+    @Override
+    public void setQueryExecutor(Executor executor) {
+        onPhysicsThread(() -> {
+            delegate.setQueryExecutor(executor);
+            return null;
+        });
+    }
+
+    /** Always on: the front buffer is built from the delegate's snapshots. */
+    @Override
+    public void setQuerySnapshotEnabled(boolean enabled) {
+        if (!enabled) {
+            throw new IllegalArgumentException("AsyncPhysicsWorld relies on query snapshots");
+        }
+    }
+
+    @Override
+    public QuerySnapshot querySnapshot() {
+        return front.query;
+    }
+
+    @Override
+    public Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask) {
+        return onPhysicsThread(() -> delegate.shapecast(shape, from, to, layerMask));
+    }
+
+    @Override public void addContactListener(ContactListener listener) { enqueue(() -> delegate.addContactListener(listener)); }
+    @Override public void removeContactListener(ContactListener listener) { enqueue(() -> delegate.removeContactListener(listener)); }
+
+    @Override
+    public List<PhysicsEvent> drainEvents() {
+        return onPhysicsThread(delegate::drainEvents);
+    }
+
+    /**
+     * The delegate's channels. They are not thread-safe, so they are only handed out on the physics thread, for
+     * example inside a contact listener or a channel subscriber; other threads use {@link #drainEvents()}.
+     *
+     * @throws IllegalStateException when called from any other thread
+     */
+    @Override
+    public PhysicsEventChannels eventChannels() {
+        ensureNotDestroyed();
+        if (Thread.currentThread() != physicsThreadRef) {
+            throw new IllegalStateException("eventChannels is only available on the physics thread; use drainEvents");
+        }
+        return delegate.eventChannels();
+    }
+
+    @Override
+    public byte[] snapshot() {
+        return onPhysicsThread(delegate::snapshot);
+    }
+
+    @Override
+    public void restore(byte[] snapshot) {
+        onPhysicsThread(() -> {
+            // Queued commands target the world being replaced, so they go first.
+            applyCommands();
+            delegate.restore(snapshot);
+            retrack();
+            publish();
+            return null;
+        });
+    }
+
+    @Override public void setGravity(Vector3f gravity) { enqueue(() -> delegate.setGravity(gravity)); }
+    @Override public void setTimeScale(float scale) { enqueue(() -> delegate.setTimeScale(scale)); }
+    @Override public void setSolverIterations(int iterations) { enqueue(() -> delegate.setSolverIterations(iterations)); }
+    @Override public void setAdaptiveSubSteps(int maxSubSteps) { enqueue(() -> delegate.setAdaptiveSubSteps(maxSubSteps)); }
+    @Override public void setContactReportingLevel(ContactReportingLevel level) { enqueue(() -> delegate.setContactReportingLevel(level)); }
+
+    @Override
+    public void setContactReportingLevel(RigidBodyHandle body, ContactReportingLevel level) {
+        enqueue(() -> delegate.setContactReportingLevel(body, level));
+    }
+
+    /** Stats of the last published step. */
+    @Override
+    public PhysicsStats getStats() {
+        return front.stats;
+    }
+
+    private void stepNow(float deltaSeconds, int subSteps) {
+        applyCommands();
+        if (subSteps < 0) {
+            delegate.step(deltaSeconds);
+        } else {
+            delegate.step(deltaSeconds, subSteps);
+        }
+        publish();
+    }
+
+    private void applyCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * Rewrites the back buffer from the delegate and swaps it in as the new front. Maps and the state array are
+     * reallocated only when the tracked set changed since that buffer was last written. Physics thread only.
+     */
+    private void publish() {
+        if (publishedVersion != trackedVersion) {
+            publishedHandles = bodies.toArray(new RigidBodyHandle[0]);
+            publishedSlots = new IdentityHashMap<>(bodySlots);
+            publishedVersion = trackedVersion;
+        }
+        int n = publishedHandles.length;
+        FrontBuffer back = front == bufferA ? bufferB : bufferA;
+        boolean rebuild = back.trackedVersion != trackedVersion;
+        back.beginWrite();
+        if (rebuild) {
+            BodyStateBuffer states = back.bodies.states();
+            back.bodies = new Bodies(publishedSlots, states.capacity() >= n ? states : new BodyStateBuffer(n));
+            back.trackedVersion = trackedVersion;
+        }
+        delegate.readBodyStates(publishedHandles, 0, n, back.bodies.states());
+        IdentityHashMap<VehicleHandle, VehicleState> vehicleStates =
+            rebuild ? new IdentityHashMap<>(vehicles.size()) : back.vehicleStates;
+        for (VehicleHandle v : vehicles) {
+            vehicleStates.put(v, delegate.getVehicleState(v));
+        }
+        back.vehicleStates = vehicleStates;
+        IdentityHashMap<CharacterHandle, CharacterState> characterStates =
+            rebuild ? new IdentityHashMap<>(characters.size()) : back.characterStates;
+        for (CharacterHandle c : characters) {
+            characterStates.put(c, delegate.getCharacterState(c));
+        }
+        back.characterStates = characterStates;
+        back.stats = delegate.getStats();
+        back.query = snapshotQueries ? delegate.querySnapshot() : QuerySnapshot.EMPTY;
+        back.endWrite();
+        front = back;
+        spawnedSincePublish.clear();
+    }
+
+    /**
+     * Rebuilds the tracked sets after a restore, which replaces the delegate's bodies with new handles and may drop
+     * vehicles and characters. Physics thread only.
+     */
+    private void retrack() {
+        bodies.clear();
+        bodySlots.clear();
+        for (RigidBodyHandle handle : delegate.rigidBodies()) {
+            bodySlots.put(handle, bodies.size());
+            bodies.add(handle);
+        }
+        vehicles.removeIf(v -> !v.isAlive());
+        characters.removeIf(c -> !c.isAlive());
+        spawnedSincePublish.clear();
+        trackedVersion++;
+    }
+
+    private void untrack(RigidBodyHandle handle) {
+        Integer slot = bodySlots.remove(handle);
+        if (slot == null) {
+            return;
+        }
+        int last = bodies.size() - 1;
+        RigidBodyHandle moved = bodies.remove(last);
+        if (slot != last) {
+            bodies.set(slot, moved);
+            bodySlots.put(moved, slot);
+        }
+        trackedVersion++;
+        spawnedSincePublish.remove(handle);
+    }
+
+    private void enqueue(Runnable command) {
+        ensureNotDestroyed();
+        commands.add(command);
+    }
+
+    /** Runs {@code task} on the physics thread after pending steps and waits for it. Queued commands are left queued. */
+    private <T> T onPhysicsThread(Supplier<T> task) {
+        ensureNotDestroyed();
+        if (Thread.currentThread() == physicsThreadRef) {
+            return task.get();
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, physicsThread).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private void ensureNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("AsyncPhysicsWorld has been destroyed");
+        }
+    }
+}
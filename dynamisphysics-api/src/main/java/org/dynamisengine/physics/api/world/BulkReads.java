@@ -0,0 +1,25 @@
+package org.dynamisengine.physics.api.world;
+
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+
+import java.util.Objects;
+
+/**
+ * Shared argument validation for the bulk readback entry points on {@link PhysicsWorld}.
+ */
+public final class BulkReads {
+    private BulkReads() {}
+
+    public static void checkRange(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        Objects.requireNonNull(handles, "handles");
+        Objects.requireNonNull(out, "out");
+        if (offset < 0 || count < 0 || offset > handles.length - count) {
+            throw new IndexOutOfBoundsException(
+                "offset=" + offset + " count=" + count + " handles.length=" + handles.length);
+        }
+        if (count > out.capacity()) {
+            throw new IllegalArgumentException("count " + count + " exceeds buffer capacity " + out.capacity());
+        }
+    }
+}
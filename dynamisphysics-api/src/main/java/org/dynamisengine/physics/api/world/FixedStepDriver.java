@@ -0,0 +1,194 @@
+package org.dynamisengine.physics.api.world;
+
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+
+import java.util.Arrays;
+
+/**
+ * Drives a {@link PhysicsWorld} at a fixed tick from variable frame times. {@link #advance} accumulates real time
+ * and runs whole ticks of {@code step(fixedTimeStep, 1)}, at most {@code maxTicksPerFrame} per frame; time beyond
+ * the cap is dropped so a slow frame cannot snowball. Simulation results therefore depend only on the tick count,
+ * not on how frame times are split.
+ *
+ * <p>For the bodies passed to {@link #track}, the driver keeps the states before and after the last tick in two
+ * bulk buffers; {@link #alpha()} is the fraction of a tick left in the accumulator, and {@link #interpolate}
+ * blends the two buffers for rendering without querying each body twice.
+ */
+public final class FixedStepDriver {
+    private final PhysicsWorld world;
+    private final float fixedTimeStep;
+    private final int maxTicksPerFrame;
+
+    private RigidBodyHandle[] bodies = new RigidBodyHandle[0];
+    private int bodyCount;
+    private BodyStateBuffer previous = new BodyStateBuffer(0);
+    private BodyStateBuffer current = new BodyStateBuffer(0);
+    private float accumulator;
+    private float droppedSeconds;
+    private int lastTicks;
+    private long totalTicks;
+
+    public FixedStepDriver(PhysicsWorld world, float fixedTimeStep, int maxTicksPerFrame) {
+        if (!(fixedTimeStep > 0f) || Float.isInfinite(fixedTimeStep)) {
+            throw new IllegalArgumentException("fixedTimeStep must be > 0 and finite, got " + fixedTimeStep);
+        }
+        if (maxTicksPerFrame <= 0) {
+            throw new IllegalArgumentException("maxTicksPerFrame must be > 0, got " + maxTicksPerFrame);
+        }
+        this.world = world;
+        this.fixedTimeStep = fixedTimeStep;
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /** Uses {@link PhysicsWorldConfig#fixedTimeStep()} as the tick and {@link PhysicsWorldConfig#maxSubSteps()} as the cap. */
+    public static FixedStepDriver of(PhysicsWorld world, PhysicsWorldConfig config) {
+        return new FixedStepDriver(world, config.fixedTimeStep(), config.maxSubSteps());
+    }
+
+    /**
+     * Sets the bodies whose previous/current states are captured, in buffer order. Both buffers are filled with
+     * the bodies' present state, so {@link #interpolate} is valid immediately.
+     */
+    public void track(RigidBodyHandle[] handles, int count) {
+        if (count < 0 || count > handles.length) {
+            throw new IndexOutOfBoundsException("count=" + count + " handles.length=" + handles.length);
+        }
+        if (bodies.length < count) {
+            bodies = new RigidBodyHandle[count];
+        } else {
+            Arrays.fill(bodies, count, bodyCount, null);
+        }
+        System.arraycopy(handles, 0, bodies, 0, count);
+        bodyCount = count;
+        if (current.capacity() < count) {
+            previous = new BodyStateBuffer(count);
+            current = new BodyStateBuffer(count);
+        }
+        world.readBodyStates(bodies, 0, count, current);
+        world.readBodyStates(bodies, 0, count, previous);
+    }
+
+    /** Adds {@code frameSeconds} of real time, runs the due ticks and returns how many ran. */
+    public int advance(float frameSeconds) {
+        if (!(frameSeconds >= 0f) || Float.isInfinite(frameSeconds)) {
+            throw new IllegalArgumentException("frameSeconds must be >= 0 and finite, got " + frameSeconds);
+        }
+        accumulator += frameSeconds;
+        int ticks = (int) (accumulator / fixedTimeStep);
+        if (ticks > maxTicksPerFrame) {
+            float excess = accumulator - maxTicksPerFrame * fixedTimeStep;
+            // Keep the fractional remainder so alpha stays continuous; drop whole ticks only.
+            float kept = excess % fixedTimeStep;
+            droppedSeconds += excess - kept;
+            accumulator = maxTicksPerFrame * fixedTimeStep + kept;
+            ticks = maxTicksPerFrame;
+        }
+        for (int i = 0; i < ticks; i++) {
+            if (i == ticks - 1) {
+                capturePrevious(ticks);
+            }
+            world.step(fixedTimeStep, 1);
+            accumulator -= fixedTimeStep;
+        }
+        if (ticks > 0 && bodyCount > 0) {
+            world.readBodyStates(bodies, 0, bodyCount, current);
+        }
+        if (accumulator < 0f) {
+            accumulator = 0f;
+        }
+        lastTicks = ticks;
+        totalTicks += ticks;
+        return ticks;
+    }
+
+    /** Fraction of a tick accumulated but not yet simulated, in {@code [0, 1)}. */
+    public float alpha() {
+        return Math.min(accumulator / fixedTimeStep, 1f);
+    }
+
+    /** States before the last tick, one entry per tracked body. */
+    public BodyStateBuffer previous() {
+        return previous;
+    }
+
+    /** States after the last tick, one entry per tracked body. */
+    public BodyStateBuffer current() {
+        return current;
+    }
+
+    /**
+     * Writes positions and orientations blended by {@link #alpha()} into {@code out} (linear for positions,
+     * normalized lerp along the shorter arc for orientations); velocities and sleep flags come from the current
+     * state. Returns the number of entries written.
+     */
+    public int interpolate(BodyStateBuffer out) {
+        if (out.capacity() < bodyCount) {
+            throw new IllegalArgumentException("out capacity " + out.capacity() + " < tracked bodies " + bodyCount);
+        }
+        float a = alpha();
+        float b = 1f - a;
+        float[] p0 = previous.positions();
+        float[] p1 = current.positions();
+        float[] po = out.positions();
+        for (int i = 0, n = bodyCount * BodyStateBuffer.POSITION_STRIDE; i < n; i++) {
+            po[i] = p0[i] * b + p1[i] * a;
+        }
+        float[] q0 = previous.orientations();
+        float[] q1 = current.orientations();
+        for (int i = 0; i < bodyCount; i++) {
+            int o = i * BodyStateBuffer.ORIENTATION_STRIDE;
+            float dot = q0[o] * q1[o] + q0[o + 1] * q1[o + 1] + q0[o + 2] * q1[o + 2] + q0[o + 3] * q1[o + 3];
+            float s = dot < 0f ? -a : a;
+            float x = q0[o] * b + q1[o] * s;
+            float y = q0[o + 1] * b + q1[o + 1] * s;
+            float z = q0[o + 2] * b + q1[o + 2] * s;
+            float w = q0[o + 3] * b + q1[o + 3] * s;
+            float len = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            float inv = len > 0f ? 1f / len : 0f;
+            out.setOrientation(i, x * inv, y * inv, z * inv, len > 0f ? w * inv : 1f);
+        }
+        int v = bodyCount * BodyStateBuffer.VELOCITY_STRIDE;
+        System.arraycopy(current.linearVelocities(), 0, out.linearVelocities(), 0, v);
+        System.arraycopy(current.angularVelocities(), 0, out.angularVelocities(), 0, v);
+        System.arraycopy(current.sleeping(), 0, out.sleeping(), 0, bodyCount);
+        out.setCount(bodyCount);
+        return bodyCount;
+    }
+
+    public float fixedTimeStep() {
+        return fixedTimeStep;
+    }
+
+    /** Ticks run by the last {@link #advance} call. */
+    public int lastTicks() {
+        return lastTicks;
+    }
+
+    public long totalTicks() {
+        return totalTicks;
+    }
+
+    /** Simulation time discarded by the per-frame tick cap since creation. */
+    public float droppedSeconds() {
+        return droppedSeconds;
+    }
+
+    /**
+     * Before the final tick of a frame: if it is also the first, the last frame's current states are still valid
+     * and the buffers just swap; otherwise the intermediate state is read.
+     */
+    private void capturePrevious(int ticks) {
+        if (bodyCount == 0) {
+            return;
+        }
+        if (ticks == 1) {
+            BodyStateBuffer swap = previous;
+            previous = current;
+            current = swap;
+        } else {
+            world.readBodyStates(bodies, 0, bodyCount, previous);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.dynamisengine.physics.api.world;
+
+import org.dynamisengine.physics.api.config.FrameBudgetConfig;
+import org.dynamisengine.physics.api.config.PhysicsTuningProfile;
+import org.dynamisengine.physics.api.config.PhysicsTuningResolver;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.config.ResolvedTuning;
+
+/**
+ * Opt-in controller that keeps {@link PhysicsStats#stepTimeMs()} near a budget by trading solver iterations and
+ * substeps. Over budget it first lowers iterations, then substeps; with headroom it restores substeps first, then
+ * iterations. Changes require a run of consecutive steps on one side of the hysteresis band, see
+ * {@link FrameBudgetConfig}.
+ *
+ * <p>When the resolved tuning is deterministic, either through the {@link PhysicsTuningProfile#DETERMINISTIC}
+ * profile or the deterministic flag (which {@link PhysicsWorldConfig#defaults} sets), the governor never adjusts
+ * anything: it steps with the configured substeps and leaves the resolved solver iterations alone.
+ */
+public final class FrameBudgetGovernor {
+    private static final int ITERATION_STEP = 2;
+
+    private final PhysicsWorld world;
+    private final FrameBudgetConfig budget;
+    private final boolean enabled;
+
+    private int solverIterations;
+    private int subSteps;
+    private int overCount;
+    private int underCount;
+    private int adjustments;
+
+    public FrameBudgetGovernor(PhysicsWorld world, PhysicsWorldConfig worldConfig, FrameBudgetConfig budget) {
+        this.world = world;
+        this.budget = budget;
+        ResolvedTuning resolved = PhysicsTuningResolver.resolve(worldConfig);
+        this.enabled = !resolved.deterministic() && resolved.profile() != PhysicsTuningProfile.DETERMINISTIC;
+        if (enabled) {
+            this.solverIterations = clamp(resolved.solverIterations(), budget.minSolverIterations(), budget.maxSolverIterations());
+            this.subSteps = clamp(worldConfig.maxSubSteps(), budget.minSubSteps(), budget.maxSubSteps());
+            world.setSolverIterations(solverIterations);
+        } else {
+            this.solverIterations = resolved.solverIterations();
+            this.subSteps = worldConfig.maxSubSteps();
+        }
+    }
+
+    /** Steps the world with the current substep count and adapts to the measured step time. */
+    public void step(float deltaSeconds) {
+        world.step(deltaSeconds, subSteps);
+        if (enabled) {
+            observe(world.getStats().stepTimeMs());
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public int solverIterations() {
+        return solverIterations;
+    }
+
+    public int subSteps() {
+        return subSteps;
+    }
+
+    /** Number of iteration or substep changes made so far. */
+    public int adjustments() {
+        return adjustments;
+    }
+
+    private void observe(float stepMs) {
+        if (stepMs > budget.targetStepMs()) {
+            underCount = 0;
+            if (++overCount >= budget.overBudgetSteps()) {
+                overCount = 0;
+                degrade();
+            }
+        } else if (stepMs < budget.targetStepMs() * budget.recoverFraction()) {
+            overCount = 0;
+            if (++underCount >= budget.underBudgetSteps()) {
+                underCount = 0;
+                recover();
+            }
+        } else {
+            overCount = 0;
+            underCount = 0;
+        }
+    }
+
+    private void degrade() {
+        if (solverIterations > budget.minSolverIterations()) {
+            setIterations(Math.max(budget.minSolverIterations(), solverIterations - ITERATION_STEP));
+        } else if (subSteps > budget.minSubSteps()) {
+            subSteps--;
+            adjustments++;
+        }
+    }
+
+    private void recover() {
+        if (subSteps < budget.maxSubSteps()) {
+            subSteps++;
+            adjustments++;
+        } else if (solverIterations < budget.maxSolverIterations()) {
+            setIterations(Math.min(budget.maxSolverIterations(), solverIterations + ITERATION_STEP));
+        }
+    }
+
+    private void setIterations(int iterations) {
+        solverIterations = iterations;
+        world.setSolverIterations(iterations);
+        adjustments++;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
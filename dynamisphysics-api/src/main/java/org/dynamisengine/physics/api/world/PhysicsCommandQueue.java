@@ -0,0 +1,169 @@
+package org.dynamisengine.physics.api.world;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue of body and vehicle commands.
+ *
+ * <p>Any number of threads may submit; each command is encoded into preallocated primitive slots keyed by
+ * {@link org.dynamisengine.physics.api.body.StableRigidBodyId#bodyId() stable body id} (vehicle commands
+ * use the chassis body id), so submission never allocates. The world drains the queue on its stepping
+ * thread at the start of every substep and applies commands in submission order. Submit methods return
+ * {@code false} when the queue is full; commands for bodies that no longer exist are dropped on drain.
+ */
+public final class PhysicsCommandQueue {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    public static final int ARG_STRIDE = 6;
+
+    public static final int IMPULSE = 0;
+    public static final int FORCE = 1;
+    public static final int TORQUE = 2;
+    public static final int VELOCITY = 3;
+    public static final int THROTTLE = 4;
+    public static final int BRAKE = 5;
+    public static final int STEERING = 6;
+    public static final int HANDBRAKE = 7;
+
+    /** Receives drained commands on the stepping thread. */
+    public interface Sink {
+        void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz);
+        void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz);
+        void applyTorque(int bodyId, float tx, float ty, float tz);
+        void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az);
+        void applyThrottle(int chassisBodyId, float throttle);
+        void applyBrake(int chassisBodyId, float brake);
+        void applySteering(int chassisBodyId, float steeringAngle);
+        void applyHandbrake(int chassisBodyId, boolean engaged);
+    }
+
+    private final int mask;
+    private final int[] ops;
+    private final int[] ids;
+    private final float[] args;
+    // Per-slot sequence: equals the claiming position while free, position + 1 once published.
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    public PhysicsCommandQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PhysicsCommandQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a positive power of two, got " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.ops = new int[capacity];
+        this.ids = new int[capacity];
+        this.args = new float[capacity * ARG_STRIDE];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Approximate number of queued commands. */
+    public int size() {
+        return (int) Math.max(0L, Math.min(tail.get() - head, capacity()));
+    }
+
+    public boolean applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+        return offer(IMPULSE, bodyId, ix, iy, iz, px, py, pz);
+    }
+
+    public boolean applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) {
+        return offer(FORCE, bodyId, fx, fy, fz, px, py, pz);
+    }
+
+    public boolean applyTorque(int bodyId, float tx, float ty, float tz) {
+        return offer(TORQUE, bodyId, tx, ty, tz, 0f, 0f, 0f);
+    }
+
+    public boolean setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) {
+        return offer(VELOCITY, bodyId, lx, ly, lz, ax, ay, az);
+    }
+
+    public boolean applyThrottle(int chassisBodyId, float throttle) {
+        return offer(THROTTLE, chassisBodyId, throttle, 0f, 0f, 0f, 0f, 0f);
+    }
+
+    public boolean applyBrake(int chassisBodyId, float brake) {
+        return offer(BRAKE, chassisBodyId, brake, 0f, 0f, 0f, 0f, 0f);
+    }
+
+    public boolean applySteering(int chassisBodyId, float steeringAngle) {
+        return offer(STEERING, chassisBodyId, steeringAngle, 0f, 0f, 0f, 0f, 0f);
+    }
+
+    public boolean applyHandbrake(int chassisBodyId, boolean engaged) {
+        return offer(HANDBRAKE, chassisBodyId, engaged ? 1f : 0f, 0f, 0f, 0f, 0f, 0f);
+    }
+
+    /**
+     * Hands every published command to {@code sink} in submission order and returns how many were drained.
+     * Single consumer: only the stepping thread may call this.
+     */
+    public int drain(Sink sink) {
+        int drained = 0;
+        while (true) {
+            long pos = head;
+            int slot = (int) pos & mask;
+            if (sequences.get(slot) != pos + 1) {
+                return drained;
+            }
+            dispatch(sink, ops[slot], ids[slot], slot * ARG_STRIDE);
+            sequences.set(slot, pos + mask + 1);
+            head = pos + 1;
+            drained++;
+        }
+    }
+
+    private boolean offer(int op, int id, float a0, float a1, float a2, float a3, float a4, float a5) {
+        long pos;
+        int slot;
+        while (true) {
+            pos = tail.get();
+            slot = (int) pos & mask;
+            long seq = sequences.get(slot);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (seq < pos) {
+                return false;
+            }
+        }
+        ops[slot] = op;
+        ids[slot] = id;
+        int base = slot * ARG_STRIDE;
+        args[base] = a0;
+        args[base + 1] = a1;
+        args[base + 2] = a2;
+        args[base + 3] = a3;
+        args[base + 4] = a4;
+        args[base + 5] = a5;
+        sequences.set(slot, pos + 1);
+        return true;
+    }
+
+    private void dispatch(Sink sink, int op, int id, int base) {
+        float[] a = args;
+        switch (op) {
+            case IMPULSE -> sink.applyImpulse(id, a[base], a[base + 1], a[base + 2], a[base + 3], a[base + 4], a[base + 5]);
+            case FORCE -> sink.applyForce(id, a[base], a[base + 1], a[base + 2], a[base + 3], a[base + 4], a[base + 5]);
+            case TORQUE -> sink.applyTorque(id, a[base], a[base + 1], a[base + 2]);
+            case VELOCITY -> sink.setVelocity(id, a[base], a[base + 1], a[base + 2], a[base + 3], a[base + 4], a[base + 5]);
+            case THROTTLE -> sink.applyThrottle(id, a[base]);
+            case BRAKE -> sink.applyBrake(id, a[base]);
+            case STEERING -> sink.applySteering(id, a[base]);
+            case HANDBRAKE -> sink.applyHandbrake(id, a[base] != 0f);
+            default -> throw new IllegalStateException("Unknown command op " + op);
+        }
+    }
+}
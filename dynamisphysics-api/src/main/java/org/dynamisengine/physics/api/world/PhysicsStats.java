@@ -10,7 +10,24 @@ public record PhysicsStats(
     float broadPhaseMs,
     float narrowPhaseMs,
     float constraintSolveMs,
-    float integrationMs
+    float integrationMs,
+    int subSteps
 ) {
-    public static final PhysicsStats ZERO = new PhysicsStats(0f, 0, 0, 0, 0, 0, 0f, 0f, 0f, 0f);
+    public static final PhysicsStats ZERO = new PhysicsStats(0f, 0, 0, 0, 0, 0, 0f, 0f, 0f, 0f, 0);
+
+    public PhysicsStats(
+        float stepTimeMs,
+        int bodyCount,
+        int activeBodyCount,
+        int sleepingBodyCount,
+        int constraintCount,
+        int islandCount,
+        float broadPhaseMs,
+        float narrowPhaseMs,
+        float constraintSolveMs,
+        float integrationMs
+    ) {
+        this(stepTimeMs, bodyCount, activeBodyCount, sleepingBodyCount, constraintCount, islandCount,
+            broadPhaseMs, narrowPhaseMs, constraintSolveMs, integrationMs, 0);
+    }
 }
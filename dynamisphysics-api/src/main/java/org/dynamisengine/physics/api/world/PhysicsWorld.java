@@ -9,19 +9,29 @@ import org.dynamisengine.physics.api.RagdollHandle;
 import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.VehicleHandle;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.constraint.ConstraintDesc;
 import org.dynamisengine.physics.api.constraint.ConstraintHandle;
 import org.dynamisengine.physics.api.event.ContactListener;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.query.ShapecastResult;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public interface PhysicsWorld {
     void step(float deltaSeconds);
@@ -35,12 +45,53 @@ public interface PhysicsWorld {
     BodyState getBodyState(RigidBodyHandle handle);
     void setBodyState(RigidBodyHandle handle, BodyState state);
 
+    /**
+     * Live rigid bodies in stable body id order. {@link #restore} replaces every body, so handles obtained before a
+     * restore are dead afterwards; look the restored bodies up here.
+     */
+    List<RigidBodyHandle> rigidBodies();
+
+    /**
+     * Reads {@code count} body states starting at {@code handles[offset]} into {@code out} entries
+     * {@code 0 .. count - 1}. Unknown or destroyed handles read as {@link BodyState#ZERO}.
+     * Backends override this with an implementation that does not allocate per body.
+     */
+    default int readBodyStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        BulkReads.checkRange(handles, offset, count, out);
+        for (int i = 0; i < count; i++) {
+            out.set(i, getBodyState(handles[offset + i]));
+        }
+        out.setCount(count);
+        return count;
+    }
+
+    /**
+     * Drains bodies whose transform changed since the previous drain (spawned, teleported, active,
+     * or put to sleep by the last step) into {@code out}, ordered by stable body id. Entries that do
+     * not fit stay queued for the next call. Returns the number of entries written.
+     */
+    int drainMovedBodies(MovedBodyBuffer out);
+
+    /**
+     * Publishes body transforms into {@code segment} at the end of every step, one
+     * {@link TransformStream#STRIDE_BYTES}-byte slot per stable body id. Binding clears the segment and
+     * writes all live bodies; later steps only rewrite slots of bodies that changed. {@code null} stops
+     * publishing. The segment must be accessible from the stepping thread.
+     */
+    void setTransformStream(MemorySegment segment);
+
     void applyImpulse(RigidBodyHandle h, Vector3f impulse, Vector3f worldPoint);
     void applyForce(RigidBodyHandle h, Vector3f force, Vector3f worldPoint);
     void applyTorque(RigidBodyHandle h, Vector3f torque);
     void setVelocity(RigidBodyHandle h, Vector3f linear, Vector3f angular);
     void teleport(RigidBodyHandle h, Vector3f position, Quaternionf orientation);
 
+    /**
+     * Thread-safe submission path for forces, velocities and vehicle input. Commands are keyed by stable body
+     * id and applied on the stepping thread at the start of every substep.
+     */
+    PhysicsCommandQueue commandQueue();
+
     ConstraintHandle addConstraint(ConstraintDesc desc);
     void removeConstraint(ConstraintHandle handle);
     void setConstraintEnabled(ConstraintHandle h, boolean enabled);
@@ -70,16 +121,114 @@ public interface PhysicsWorld {
     List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask);
     List<RigidBodyHandle> overlapSphere(Vector3f centre, float radius, int layerMask);
     List<RigidBodyHandle> overlapAabb(Vector3f min, Vector3f max, int layerMask);
+
+    /**
+     * Adds every body whose shape overlaps the sphere and whose layer is in {@code layerMask} to {@code out}
+     * (each body once, in no particular order). Returns the number added. Backends override this so
+     * repeated queries do not allocate.
+     */
+    default int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        List<RigidBodyHandle> hits = overlapSphere(centre, radius, layerMask);
+        out.addAll(hits);
+        return hits.size();
+    }
+
+    /** Box counterpart of {@link #overlapSphere(Vector3f, float, int, Collection)}. */
+    default int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        List<RigidBodyHandle> hits = overlapAabb(min, max, layerMask);
+        out.addAll(hits);
+        return hits.size();
+    }
+
+    /**
+     * Casts every ray in {@code rays} and writes its closest hit (or a miss) to the same index of {@code out}.
+     * Returns the number of hits. Backends override this to reuse query state across rays and to fan the
+     * batch out over the {@link #setQueryExecutor query executor}. Call between steps.
+     */
+    default int raycastBatch(RaycastBatch rays, RaycastHitBuffer out) {
+        rays.checkTarget(out);
+        int count = rays.count();
+        float[] o = rays.origins();
+        float[] d = rays.directions();
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            int base = i * RaycastBatch.VECTOR_STRIDE;
+            Optional<RaycastResult> hit = raycastClosest(
+                new Vector3f(o[base], o[base + 1], o[base + 2]),
+                new Vector3f(d[base], d[base + 1], d[base + 2]),
+                rays.maxDistances()[i],
+                rays.layerMask());
+            if (hit.isPresent()) {
+                out.set(i, hit.get());
+                hits++;
+            } else {
+                out.clear(i);
+            }
+        }
+        out.setCount(count);
+        return hits;
+    }
+
+    /**
+     * Executor used to split {@link #raycastBatch} across threads; {@code null} (the default) keeps batches
+     * on the calling thread. The world never shuts the executor down.
+     */
+    void setQueryExecutor(Executor executor);
+
+    /**
+     * Starts or stops building a {@link QuerySnapshot} at the end of every step. Off by default: the build
+     * copies every body's collision geometry and costs O(n log n) per step.
+     */
+    void setQuerySnapshotEnabled(boolean enabled);
+
+    /**
+     * Snapshot published by the last completed step, or {@link QuerySnapshot#EMPTY} before the first one.
+     * Safe to call and to query from any thread, including while {@code step} runs.
+     */
+    QuerySnapshot querySnapshot();
+
     Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask);
 
     void addContactListener(ContactListener listener);
     void removeContactListener(ContactListener listener);
+    /** Everything emitted since the previous call, in emission order; a merged view over {@link #eventChannels()}. */
     List<PhysicsEvent> drainEvents();
 
+    /**
+     * Typed per-event channels. Read one type with a cursor or subscribe to it; subscribers are called on the
+     * stepping thread at the end of every step. Not safe to use from other threads. Callers that never use
+     * {@link #drainEvents()} should call {@link PhysicsEventChannels#disableLegacyDrain()} so undrained events are
+     * not retained.
+     */
+    PhysicsEventChannels eventChannels();
+
+    /**
+     * Sets how contacts are reported for pairs where neither body has its own level. Defaults to
+     * {@link ContactReportingLevel#ALL}. Begin and end are tracked per body pair across steps; a pair that stops
+     * touching because both bodies fell asleep is not ended.
+     */
+    void setContactReportingLevel(ContactReportingLevel level);
+
+    /**
+     * Per-body override of the world level; {@code null} clears it. A pair where both bodies override uses the more
+     * verbose of the two levels.
+     */
+    void setContactReportingLevel(RigidBodyHandle body, ContactReportingLevel level);
+
     byte[] snapshot();
     void restore(byte[] snapshot);
 
     void setGravity(Vector3f gravity);
     void setTimeScale(float scale);
+
+    /**
+     * Lets every step choose its own substep count in {@code [1, maxSubSteps]} from the fastest awake body's speed
+     * relative to its size, ignoring the count passed to {@code step}. {@code 0} restores fixed substeps. The count
+     * used by the last step is reported in {@link PhysicsStats#subSteps()}.
+     */
+    void setAdaptiveSubSteps(int maxSubSteps);
+
+    /** Overrides the solver iteration count resolved from the tuning profile; takes effect from the next step. */
+    void setSolverIterations(int iterations);
     PhysicsStats getStats();
 }
@@ -0,0 +1,75 @@
+package org.dynamisengine.physics.api.world;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+
+/**
+ * Slot layout for {@link PhysicsWorld#setTransformStream}.
+ *
+ * <p>Body {@code id} (see {@code StableRigidBodyId}) owns bytes
+ * {@code [id * STRIDE_BYTES, (id + 1) * STRIDE_BYTES)}: position x, y, z as floats, an int flag word,
+ * then orientation x, y, z, w as floats, all in native byte order. Slots of unknown or destroyed
+ * bodies have a flag word of zero. Bodies whose slot lies past the end of the segment are not published.
+ */
+public final class TransformStream {
+    public static final int STRIDE_BYTES = 32;
+    public static final long POSITION_X_OFFSET = 0L;
+    public static final long POSITION_Y_OFFSET = 4L;
+    public static final long POSITION_Z_OFFSET = 8L;
+    public static final long FLAGS_OFFSET = 12L;
+    public static final long ORIENTATION_X_OFFSET = 16L;
+    public static final long ORIENTATION_Y_OFFSET = 20L;
+    public static final long ORIENTATION_Z_OFFSET = 24L;
+    public static final long ORIENTATION_W_OFFSET = 28L;
+
+    public static final int FLAG_PRESENT = 1;
+    public static final int FLAG_SLEEPING = 1 << 1;
+
+    private TransformStream() {}
+
+    public static long slotOffset(int bodyId) {
+        return (long) bodyId * STRIDE_BYTES;
+    }
+
+    public static boolean fits(MemorySegment segment, int bodyId) {
+        return bodyId >= 0 && slotOffset(bodyId) + STRIDE_BYTES <= segment.byteSize();
+    }
+
+    public static void checkWritable(MemorySegment segment) {
+        Objects.requireNonNull(segment, "segment");
+        if (segment.isReadOnly()) {
+            throw new IllegalArgumentException("transform stream segment is read-only");
+        }
+        if (segment.address() % Float.BYTES != 0) {
+            throw new IllegalArgumentException("transform stream segment must be 4-byte aligned");
+        }
+    }
+
+    public static void write(
+        MemorySegment segment,
+        int bodyId,
+        float px, float py, float pz,
+        float qx, float qy, float qz, float qw,
+        boolean sleeping
+    ) {
+        if (!fits(segment, bodyId)) {
+            return;
+        }
+        long base = slotOffset(bodyId);
+        segment.set(ValueLayout.JAVA_FLOAT, base + POSITION_X_OFFSET, px);
+        segment.set(ValueLayout.JAVA_FLOAT, base + POSITION_Y_OFFSET, py);
+        segment.set(ValueLayout.JAVA_FLOAT, base + POSITION_Z_OFFSET, pz);
+        segment.set(ValueLayout.JAVA_INT, base + FLAGS_OFFSET, sleeping ? FLAG_PRESENT | FLAG_SLEEPING : FLAG_PRESENT);
+        segment.set(ValueLayout.JAVA_FLOAT, base + ORIENTATION_X_OFFSET, qx);
+        segment.set(ValueLayout.JAVA_FLOAT, base + ORIENTATION_Y_OFFSET, qy);
+        segment.set(ValueLayout.JAVA_FLOAT, base + ORIENTATION_Z_OFFSET, qz);
+        segment.set(ValueLayout.JAVA_FLOAT, base + ORIENTATION_W_OFFSET, qw);
+    }
+
+    public static void clear(MemorySegment segment, int bodyId) {
+        if (fits(segment, bodyId)) {
+            segment.asSlice(slotOffset(bodyId), STRIDE_BYTES).fill((byte) 0);
+        }
+    }
+}
@@ -130,6 +130,27 @@ class ProfileResolutionTest {
         assertEquals(6, a.threads());
     }
 
+    @Test
+    void ode4jThreadsComeOnlyFromExplicitNonDeterministicTuning() {
+        System.setProperty("jolt.threads", "8");
+        PhysicsWorldConfig base = PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J);
+        assertEquals(1, PhysicsTuningResolver.resolve(base).threads());
+
+        PhysicsWorldConfig perf = new PhysicsWorldConfig(
+            PhysicsBackend.ODE4J, base.gravity(), base.fixedTimeStep(), base.maxSubSteps(), base.solverIterations(),
+            base.maxBodies(), base.maxConstraints(), base.broadphase(), false,
+            new PhysicsTuning(PhysicsTuningProfile.PERF, null, 4, null, null, null)
+        );
+        assertEquals(4, PhysicsTuningResolver.resolve(perf).threads());
+
+        PhysicsWorldConfig deterministic = new PhysicsWorldConfig(
+            PhysicsBackend.ODE4J, base.gravity(), base.fixedTimeStep(), base.maxSubSteps(), base.solverIterations(),
+            base.maxBodies(), base.maxConstraints(), base.broadphase(), false,
+            new PhysicsTuning(PhysicsTuningProfile.DETERMINISTIC, true, 4, null, null, null)
+        );
+        assertEquals(1, PhysicsTuningResolver.resolve(deterministic).threads());
+    }
+
     private static void clear(String name) {
         System.clearProperty(name);
     }
@@ -0,0 +1,68 @@
+package org.dynamisengine.physics.api.event;
+
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContactPairCacheTest {
+    private record Body(int id, boolean asleep) implements RigidBodyHandle {
+        @Override public boolean isAlive() { return true; }
+        @Override public int layer() { return 0; }
+        @Override public Object userData() { return null; }
+        @Override public BodyMode mode() { return BodyMode.DYNAMIC; }
+    }
+
+    private static final ContactPairCache.Dormancy BOTH_ASLEEP =
+        (a, b) -> ((Body) a).asleep() && ((Body) b).asleep();
+
+    @Test
+    void reportsBeginOncePerPairAndEndsUntouchedPairsInKeyOrder() {
+        ContactPairCache cache = new ContactPairCache(16);
+        Body a = new Body(1, false);
+        Body b = new Body(2, false);
+        Body c = new Body(3, false);
+        List<String> ended = new ArrayList<>();
+        ContactPairCache.EndSink sink = (x, y, level) -> ended.add(((Body) x).id() + "-" + ((Body) y).id() + " " + level);
+
+        assertTrue(cache.touch(ContactPairCache.key(2, 3), b, c, ContactReportingLevel.BEGIN_AND_END));
+        assertTrue(cache.touch(ContactPairCache.key(1, 2), a, b, ContactReportingLevel.ALL));
+        assertFalse(cache.touch(ContactPairCache.key(1, 2), a, b, ContactReportingLevel.ALL));
+        assertEquals(0, cache.endStep(BOTH_ASLEEP, sink));
+
+        assertFalse(cache.touch(ContactPairCache.key(1, 2), a, b, ContactReportingLevel.ALL));
+        assertEquals(1, cache.endStep(BOTH_ASLEEP, sink));
+        assertEquals(List.of("2-3 BEGIN_AND_END"), ended);
+
+        assertEquals(1, cache.endStep(BOTH_ASLEEP, sink));
+        assertEquals(List.of("2-3 BEGIN_AND_END", "1-2 ALL"), ended);
+        assertEquals(0, cache.size());
+        assertTrue(cache.touch(ContactPairCache.key(1, 2), a, b, ContactReportingLevel.ALL));
+    }
+
+    @Test
+    void keepsDormantPairsAndSurvivesGrowthAndRemoval() {
+        ContactPairCache cache = new ContactPairCache(16);
+        Body sleeper = new Body(0, true);
+        for (int i = 1; i <= 500; i++) {
+            cache.touch(ContactPairCache.key(0, i), sleeper, new Body(i, (i & 1) == 0), ContactReportingLevel.ALL);
+        }
+        List<Integer> ended = new ArrayList<>();
+        assertEquals(0, cache.endStep(BOTH_ASLEEP, (x, y, level) -> ended.add(-1)));
+        assertEquals(250, cache.endStep(BOTH_ASLEEP, (x, y, level) -> ended.add(((Body) y).id())));
+        for (int i = 0; i < ended.size(); i++) {
+            assertEquals(2 * i + 1, ended.get(i));
+        }
+        assertEquals(250, cache.size());
+        for (int i = 2; i <= 500; i += 2) {
+            assertFalse(cache.touch(ContactPairCache.key(0, i), sleeper, new Body(i, true), ContactReportingLevel.ALL));
+        }
+        assertEquals(250, cache.size());
+    }
+}
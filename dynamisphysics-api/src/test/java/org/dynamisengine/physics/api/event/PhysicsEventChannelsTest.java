@@ -0,0 +1,96 @@
+package org.dynamisengine.physics.api.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhysicsEventChannelsTest {
+    @Test
+    void drainAllMergesChannelsInPublicationOrder() {
+        PhysicsEventChannels channels = new PhysicsEventChannels();
+        List<PhysicsEvent> published = List.of(
+            new SleepEvent(null),
+            new ConstraintBreakEvent(null, 1f),
+            new SeparationEvent(null, null),
+            new SleepEvent(null),
+            new WakeEvent(null)
+        );
+        published.forEach(channels::publish);
+
+        assertEquals(published, channels.drainAll());
+        assertTrue(channels.drainAll().isEmpty());
+
+        channels.publish(new ConstraintBreakEvent(null, 2f));
+        assertEquals(List.of(new ConstraintBreakEvent(null, 2f)), channels.drainAll());
+    }
+
+    @Test
+    void cursorsReadOneTypeInPlaceAndPinUnreadEvents() {
+        PhysicsEventChannels channels = new PhysicsEventChannels();
+        EventChannel<ConstraintBreakEvent> breaks = channels.constraintBreaks();
+        assertSame(breaks, channels.channel(ConstraintBreakEvent.class));
+        EventChannel.Cursor<ConstraintBreakEvent> cursor = breaks.cursor();
+        int initialCapacity = breaks.capacity();
+        for (int i = 0; i < initialCapacity * 3; i++) {
+            channels.publish(new ConstraintBreakEvent(null, i));
+            channels.publish(new SleepEvent(null));
+        }
+        assertTrue(breaks.capacity() >= initialCapacity * 3);
+
+        List<Float> forces = new ArrayList<>();
+        assertEquals(initialCapacity * 3, cursor.forEach(e -> forces.add(e.breakForce())));
+        for (int i = 0; i < forces.size(); i++) {
+            assertEquals(i, forces.get(i), 0f);
+        }
+        assertFalse(cursor.hasNext());
+        cursor.close();
+
+        // Without open cursors the ring overwrites instead of growing.
+        channels.disableLegacyDrain();
+        assertTrue(channels.drainAll().isEmpty());
+        int capacity = breaks.capacity();
+        for (int i = 0; i < capacity * 2; i++) {
+            channels.publish(new ConstraintBreakEvent(null, i));
+        }
+        assertEquals(capacity, breaks.capacity());
+    }
+
+    @Test
+    void drainAllKeepsEveryEventPublishedBeforeTheFirstDrain() {
+        PhysicsEventChannels channels = new PhysicsEventChannels();
+        int initialCapacity = channels.contacts().capacity();
+        int count = initialCapacity * 4 + 3;
+        for (int i = 0; i < count; i++) {
+            channels.publish(new ConstraintBreakEvent(null, i));
+            channels.publish(new SleepEvent(null));
+        }
+
+        List<PhysicsEvent> drained = channels.drainAll();
+        assertEquals(count * 2, drained.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, ((ConstraintBreakEvent) drained.get(i * 2)).breakForce(), 0f);
+            assertTrue(drained.get(i * 2 + 1) instanceof SleepEvent);
+        }
+        assertTrue(channels.drainAll().isEmpty());
+    }
+
+    @Test
+    void subscribersReceiveOnlyNewEventsOnDispatch() {
+        PhysicsEventChannels channels = new PhysicsEventChannels();
+        channels.publish(new SeparationEvent(null, null));
+        List<SeparationEvent> seen = new ArrayList<>();
+        channels.separations().subscribe(seen::add);
+        channels.publish(new SeparationEvent(null, null));
+        channels.publish(new SleepEvent(null));
+
+        assertEquals(1, channels.dispatch());
+        assertEquals(1, seen.size());
+        assertEquals(0, channels.dispatch());
+    }
+}
@@ -0,0 +1,49 @@
+package org.dynamisengine.physics.api.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryFanOutTest {
+
+    @Test
+    void rejectedRangesRunInlineAndAcceptedRangesFinishBeforeReturn() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger submissions = new AtomicInteger();
+            AtomicIntegerArray covered = new AtomicIntegerArray(80);
+            QueryFanOut.run(task -> {
+                if (submissions.getAndIncrement() >= 2) {
+                    throw new RejectedExecutionException("saturated");
+                }
+                pool.execute(task);
+            }, covered.length(), 8, (from, to) -> {
+                if (from >= 8 && from < 24) {
+                    sleep(50);
+                }
+                for (int i = from; i < to; i++) {
+                    covered.incrementAndGet(i);
+                }
+            });
+            for (int i = 0; i < covered.length(); i++) {
+                assertEquals(1, covered.get(i), "index " + i);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
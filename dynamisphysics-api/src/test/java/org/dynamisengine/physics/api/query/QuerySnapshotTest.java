@@ -0,0 +1,169 @@
+package org.dynamisengine.physics.api.query;
+
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuerySnapshotTest {
+    private static final Vector3f DOWN = new Vector3f(0f, -1f, 0f);
+    private static final float SIN_45 = (float) Math.sqrt(0.5);
+
+    private record Body(int layer) implements RigidBodyHandle {
+        @Override public boolean isAlive() { return true; }
+        @Override public Object userData() { return null; }
+        @Override public BodyMode mode() { return BodyMode.DYNAMIC; }
+    }
+
+    @Test
+    void raysHitPrimitivesExactlyAndRespectLayerMask() {
+        Body ground = new Body(0);
+        Body crate = new Body(1);
+        Body pill = new Body(2);
+        QuerySnapshot snapshot = QuerySnapshot.builder()
+            .addPlane(ground, 0, PhysicsMaterial.DEFAULT, 0f, 1f, 0f, 0f)
+            // Rotated 90 degrees about Z: local half extents (2, 0.5, 0.5) stand upright.
+            .addBox(crate, 1, PhysicsMaterial.DEFAULT, 0f, 0f, 0f, 0f, 0f, SIN_45, SIN_45, 2f, 0.5f, 0.5f)
+            .addCapsule(pill, 2, PhysicsMaterial.DEFAULT, 5f, 1f, 0f, 0f, 0f, 0f, 1f, 0.5f, 1f)
+            .build(7L);
+
+        assertEquals(7L, snapshot.sequence());
+        RaycastResult top = snapshot.raycastClosest(new Vector3f(0f, 10f, 0f), DOWN, 20f, CollisionLayers.ALL).orElseThrow();
+        assertEquals(crate, top.body());
+        assertEquals(2f, top.position().y(), 1e-4f);
+        assertEquals(1f, top.normal().y(), 1e-4f);
+        assertEquals(0.4f, top.fraction(), 1e-5f);
+
+        RaycastResult floor = snapshot.raycastClosest(new Vector3f(0f, 10f, 0f), DOWN, 20f, CollisionLayers.bit(0)).orElseThrow();
+        assertEquals(ground, floor.body());
+        assertEquals(0f, floor.position().y(), 1e-4f);
+
+        RaycastResult cap = snapshot.raycastClosest(new Vector3f(5f, 10f, 0f), DOWN, 20f, CollisionLayers.ALL).orElseThrow();
+        assertEquals(pill, cap.body());
+        assertEquals(2.5f, cap.position().y(), 1e-4f);
+        RaycastResult side = snapshot.raycastClosest(new Vector3f(0f, 1.2f, 0f), new Vector3f(1f, 0f, 0f), 20f,
+            CollisionLayers.bit(2)).orElseThrow();
+        assertEquals(4.5f, side.position().x(), 1e-4f);
+        assertEquals(-1f, side.normal().x(), 1e-4f);
+
+        assertEquals(List.of(crate, ground), snapshot.raycastAll(new Vector3f(0f, 10f, 0f), DOWN, 20f, CollisionLayers.ALL)
+            .stream().map(RaycastResult::body).toList());
+        assertTrue(snapshot.raycastClosest(new Vector3f(0f, 10f, 0f), DOWN, 5f, CollisionLayers.ALL).isEmpty());
+    }
+
+    @Test
+    void bvhQueriesMatchBruteForce() {
+        Random random = new Random(42L);
+        int n = 2000;
+        float[] xyz = new float[n * 3];
+        Body[] bodies = new Body[n];
+        QuerySnapshot.Builder builder = QuerySnapshot.builder();
+        for (int i = 0; i < n; i++) {
+            xyz[i * 3] = random.nextFloat() * 200f - 100f;
+            xyz[i * 3 + 1] = random.nextFloat() * 20f;
+            xyz[i * 3 + 2] = random.nextFloat() * 200f - 100f;
+            bodies[i] = new Body(i % 4);
+            builder.addSphere(bodies[i], i % 4, null, xyz[i * 3], xyz[i * 3 + 1], xyz[i * 3 + 2], 0.5f);
+        }
+        QuerySnapshot snapshot = builder.build(1L);
+
+        for (int q = 0; q < 50; q++) {
+            Vector3f centre = new Vector3f(random.nextFloat() * 200f - 100f, 10f, random.nextFloat() * 200f - 100f);
+            float radius = 2f + random.nextFloat() * 10f;
+            int mask = CollisionLayers.bit(q % 4) | CollisionLayers.bit((q + 1) % 4);
+            List<RigidBodyHandle> found = new ArrayList<>();
+            int count = snapshot.overlapSphere(centre, radius, mask, found);
+            int expected = 0;
+            for (int i = 0; i < n; i++) {
+                float dx = xyz[i * 3] - centre.x();
+                float dy = xyz[i * 3 + 1] - centre.y();
+                float dz = xyz[i * 3 + 2] - centre.z();
+                if (CollisionLayers.matches(i % 4, mask) && dx * dx + dy * dy + dz * dz <= (radius + 0.5f) * (radius + 0.5f)) {
+                    expected++;
+                    assertTrue(found.contains(bodies[i]));
+                }
+            }
+            assertEquals(expected, count);
+            assertEquals(expected, found.size());
+        }
+    }
+
+    @Test
+    void multiEntryBodiesAreReportedOnceByOverlaps() {
+        Body compound = new Body(0);
+        QuerySnapshot snapshot = QuerySnapshot.builder()
+            .addSphere(compound, 0, null, 0f, 0f, 0f, 1f)
+            .addBounds(compound, 0, null, 1f, -1f, -1f, 3f, 1f, 1f)
+            .build(1L);
+        assertEquals(1, snapshot.bodyCount());
+        List<RigidBodyHandle> out = new ArrayList<>();
+        assertEquals(1, snapshot.overlapAabb(new Vector3f(-2f, -2f, -2f), new Vector3f(4f, 2f, 2f), CollisionLayers.ALL, out));
+        assertEquals(List.of(compound), out);
+        assertEquals(0, QuerySnapshot.EMPTY.overlapSphere(new Vector3f(), 10f, CollisionLayers.ALL, out));
+    }
+
+    @Test
+    void heightfieldAndMeshRaysHitTheSurfaceNotTheBounds() {
+        Body terrain = new Body(0);
+        Body ramp = new Body(1);
+        // Heights rise by one per sample along X; samples sit two units apart, so the surface is y = x / 2 + 2.
+        int width = 5;
+        int depth = 3;
+        float[] heights = new float[width * depth];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = i % width;
+        }
+        QueryTriangles field = QueryTriangles.heightfield(heights, width, depth, 8f, 4f);
+        // A single upright triangle, turned 90 degrees about Y so it faces along X.
+        QueryTriangles wall = QueryTriangles.of(new float[] {-1f, 0f, 0f, 1f, 0f, 0f, 0f, 2f, 0f}, new int[] {0, 1, 2});
+        QuerySnapshot snapshot = QuerySnapshot.builder()
+            .addTriangles(terrain, 0, null, 0f, 0f, 0f, 0f, 0f, 0f, 1f, field)
+            .addTriangles(ramp, 1, null, 20f, 0f, 0f, 0f, SIN_45, 0f, SIN_45, wall)
+            .build(1L);
+
+        RaycastResult ground = snapshot.raycastClosest(new Vector3f(-3f, 10f, 0.5f), DOWN, 20f, CollisionLayers.ALL).orElseThrow();
+        assertEquals(terrain, ground.body());
+        assertEquals(0.5f, ground.position().y(), 1e-4f);
+        assertTrue(ground.normal().y() > 0.8f && ground.normal().x() < 0f);
+        // Above the low end of the slope but under the heightfield's AABB top: the ray must pass.
+        assertTrue(snapshot.raycastClosest(new Vector3f(-20f, 1f, 0f), new Vector3f(1f, 0f, 0f), 17f, CollisionLayers.bit(0))
+            .isEmpty());
+
+        RaycastResult face = snapshot.raycastClosest(new Vector3f(10f, 0.5f, 0f), new Vector3f(1f, 0f, 0f), 20f,
+            CollisionLayers.bit(1)).orElseThrow();
+        assertEquals(20f, face.position().x(), 1e-4f);
+        assertEquals(-1f, face.normal().x(), 1e-4f);
+        assertTrue(snapshot.raycastClosest(new Vector3f(10f, 1.9f, 0.8f), new Vector3f(1f, 0f, 0f), 20f,
+            CollisionLayers.bit(1)).isEmpty());
+
+        List<RigidBodyHandle> out = new ArrayList<>();
+        assertEquals(0, snapshot.overlapSphere(new Vector3f(-3f, 1f, 0f), 0.4f, CollisionLayers.bit(0), out));
+        assertEquals(1, snapshot.overlapSphere(new Vector3f(-3f, 1f, 0f), 0.6f, CollisionLayers.bit(0), out));
+    }
+
+    @Test
+    void cylindersAreHitOnSidesAndCaps() {
+        Body drum = new Body(0);
+        QuerySnapshot snapshot = QuerySnapshot.builder()
+            .addCylinder(drum, 0, null, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0.5f, 1f)
+            .build(1L);
+        RaycastResult cap = snapshot.raycastClosest(new Vector3f(0.45f, 10f, 0f), DOWN, 20f, CollisionLayers.ALL).orElseThrow();
+        assertEquals(2f, cap.position().y(), 1e-4f);
+        assertEquals(1f, cap.normal().y(), 1e-4f);
+        RaycastResult side = snapshot.raycastClosest(new Vector3f(-5f, 1.9f, 0f), new Vector3f(1f, 0f, 0f), 20f,
+            CollisionLayers.ALL).orElseThrow();
+        assertEquals(-0.5f, side.position().x(), 1e-4f);
+        assertEquals(-1f, side.normal().x(), 1e-4f);
+        // Through the corner region a capsule or AABB would catch, but the cylinder does not.
+        assertTrue(snapshot.raycastClosest(new Vector3f(0.45f, 10f, 0.45f), DOWN, 20f, CollisionLayers.ALL).isEmpty());
+    }
+}
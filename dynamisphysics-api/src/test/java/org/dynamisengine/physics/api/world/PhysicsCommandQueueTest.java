@@ -0,0 +1,89 @@
+package org.dynamisengine.physics.api.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhysicsCommandQueueTest {
+    private static final class Recorder implements PhysicsCommandQueue.Sink {
+        final List<String> commands = new ArrayList<>();
+        final int[] lastSeen = new int[8];
+        boolean ordered = true;
+
+        @Override
+        public void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+            commands.add("impulse " + bodyId + " " + ix + " " + pz);
+            int seq = (int) ix;
+            if (seq <= lastSeen[bodyId]) {
+                ordered = false;
+            }
+            lastSeen[bodyId] = seq;
+        }
+
+        @Override public void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) { commands.add("force " + bodyId); }
+        @Override public void applyTorque(int bodyId, float tx, float ty, float tz) { commands.add("torque " + bodyId + " " + tz); }
+        @Override public void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) { commands.add("velocity " + bodyId + " " + ly); }
+        @Override public void applyThrottle(int chassisBodyId, float throttle) { commands.add("throttle " + chassisBodyId + " " + throttle); }
+        @Override public void applyBrake(int chassisBodyId, float brake) { commands.add("brake " + chassisBodyId); }
+        @Override public void applySteering(int chassisBodyId, float steeringAngle) { commands.add("steering " + chassisBodyId); }
+        @Override public void applyHandbrake(int chassisBodyId, boolean engaged) { commands.add("handbrake " + chassisBodyId + " " + engaged); }
+    }
+
+    @Test
+    void drainsInSubmissionOrderAndRejectsWhenFull() {
+        PhysicsCommandQueue queue = new PhysicsCommandQueue(4);
+        assertTrue(queue.applyImpulse(1, 2f, 0f, 0f, 0f, 0f, 3f));
+        assertTrue(queue.setVelocity(2, 0f, 5f, 0f, 0f, 0f, 0f));
+        assertTrue(queue.applyThrottle(7, 0.5f));
+        assertTrue(queue.applyHandbrake(7, true));
+        assertFalse(queue.applyTorque(1, 0f, 0f, 1f));
+        assertEquals(4, queue.size());
+
+        Recorder sink = new Recorder();
+        assertEquals(4, queue.drain(sink));
+        assertEquals(List.of("impulse 1 2.0 3.0", "velocity 2 5.0", "throttle 7 0.5", "handbrake 7 true"), sink.commands);
+
+        assertTrue(queue.applyTorque(1, 0f, 0f, 1f));
+        assertEquals(1, queue.drain(sink));
+        assertEquals("torque 1 1.0", sink.commands.get(4));
+        assertEquals(0, queue.drain(sink));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        PhysicsCommandQueue queue = new PhysicsCommandQueue(256);
+        Recorder sink = new Recorder();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int bodyId = p;
+            Thread t = new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    while (!queue.applyImpulse(bodyId, i, 0f, 0f, 0f, 0f, 0f)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        int drained = 0;
+        while (drained < producers * perProducer) {
+            drained += queue.drain(sink);
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(producers * perProducer, sink.commands.size());
+        assertTrue(sink.ordered);
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, sink.lastSeen[p]);
+        }
+    }
+}
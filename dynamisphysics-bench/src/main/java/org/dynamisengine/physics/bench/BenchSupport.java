@@ -10,6 +10,7 @@ import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.BroadphaseType;
 import org.dynamisengine.physics.api.config.PhysicsBackend;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
 import org.dynamisengine.physics.api.constraint.ConstraintDesc;
@@ -57,6 +58,10 @@ final class BenchSupport {
     }
 
     static PhysicsWorld createWorld(PhysicsBackend backend, boolean deterministic) {
+        return createWorld(backend, deterministic, PhysicsWorldConfig.defaults(backend).broadphase());
+    }
+
+    static PhysicsWorld createWorld(PhysicsBackend backend, boolean deterministic, BroadphaseType broadphase) {
         ensureBackendsRegistered();
         PhysicsWorldConfig cfg = new PhysicsWorldConfig(
             backend,
@@ -66,7 +71,7 @@ final class BenchSupport {
             10,
             100_000,
             20_000,
-            PhysicsWorldConfig.defaults(backend).broadphase(),
+            broadphase,
             deterministic
         );
         return PhysicsWorldFactory.create(cfg);
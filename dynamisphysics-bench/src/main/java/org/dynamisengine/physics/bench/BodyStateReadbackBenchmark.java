@@ -0,0 +1,84 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-body {@code getBodyState} versus bulk {@code readBodyStates}.
+ * Run with {@code -prof gc}; the bulk case should report ~0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class BodyStateReadbackBenchmark {
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"ODE4J", "JOLT"})
+        public String backend;
+
+        @Param({"1000", "10000"})
+        public int bodyCount;
+
+        PhysicsWorld world;
+        RigidBodyHandle[] handles;
+        BodyStateBuffer buffer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            PhysicsBackend selected = PhysicsBackend.valueOf(backend);
+            world = BenchSupport.createWorld(selected, true);
+            BenchSupport.spawnGround(world);
+            List<RigidBodyHandle> spawned = BenchSupport.spawnSphereGrid(world, bodyCount, 0.25f);
+            handles = spawned.toArray(new RigidBodyHandle[0]);
+            buffer = new BodyStateBuffer(handles.length);
+            BenchSupport.warmStart(world, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @Benchmark
+    public void perBodyGetState(BenchState state, Blackhole bh) {
+        for (RigidBodyHandle handle : state.handles) {
+            BodyState s = state.world.getBodyState(handle);
+            bh.consume(s.position().y());
+        }
+    }
+
+    @Benchmark
+    public void bulkReadStates(BenchState state, Blackhole bh) {
+        int n = state.world.readBodyStates(state.handles, 0, state.handles.length, state.buffer);
+        float[] positions = state.buffer.positions();
+        for (int i = 0; i < n; i++) {
+            bh.consume(positions[i * BodyStateBuffer.POSITION_STRIDE + 1]);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-body force and torque submission followed by one step, against a plain step as baseline.
+ * Run with {@code -prof gc}; {@code applyForcesAndStep} should allocate no more per op than {@code stepOnly}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class ForceAccumulationBenchmark {
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"ODE4J"})
+        public String backend;
+
+        @Param({"1000", "5000"})
+        public int bodyCount;
+
+        PhysicsWorld world;
+        RigidBodyHandle[] handles;
+        final Vector3f thrust = new Vector3f(0f, 12f, 0f);
+        final Vector3f spin = new Vector3f(0f, 0.5f, 0f);
+        final Vector3f point = new Vector3f();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            world = BenchSupport.createWorld(PhysicsBackend.valueOf(backend), true);
+            BenchSupport.spawnGround(world);
+            List<RigidBodyHandle> spawned = BenchSupport.spawnSphereGrid(world, bodyCount, 0.25f);
+            handles = spawned.toArray(new RigidBodyHandle[0]);
+            BenchSupport.warmStart(world, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @Benchmark
+    public void applyForcesAndStep(BenchState state) {
+        for (RigidBodyHandle handle : state.handles) {
+            state.world.applyForce(handle, state.thrust, state.point);
+            state.world.applyTorque(handle, state.spin);
+        }
+        state.world.step(1f / 60f, 1);
+    }
+
+    @Benchmark
+    public void stepOnly(BenchState state) {
+        state.world.step(1f / 60f, 1);
+    }
+}
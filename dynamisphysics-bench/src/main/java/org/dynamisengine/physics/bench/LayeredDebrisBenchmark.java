@@ -0,0 +1,106 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Densely packed debris that only collides with the ground when {@code layered} is set.
+ * The {@code narrowphasePairs} / {@code layerRejectedPairs} counters show the pair count drop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class LayeredDebrisBenchmark {
+    private static final int GROUND_LAYER = 0;
+    private static final int DEBRIS_LAYER = 2;
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"false", "true"})
+        public boolean layered;
+
+        @Param({"1000"})
+        public int debrisCount;
+
+        Ode4jPhysicsWorld world;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            world = (Ode4jPhysicsWorld) BenchSupport.createWorld(PhysicsBackend.ODE4J, true);
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(200f, 1f, 200f), 0f)
+                .mode(BodyMode.STATIC)
+                .layer(GROUND_LAYER)
+                .material(PhysicsMaterial.ASPHALT)
+                .worldTransform(new Matrix4f().translation(0f, -1f, 0f))
+                .build());
+
+            int side = (int) java.lang.Math.ceil(java.lang.Math.cbrt(debrisCount));
+            for (int i = 0; i < debrisCount; i++) {
+                int x = i % side;
+                int y = (i / side) % side;
+                int z = i / (side * side);
+                RigidBodyConfig.Builder debris = RigidBodyConfig.builder(CollisionShape.sphere(0.2f), 0.5f)
+                    .worldTransform(new Matrix4f().translation((x - side * 0.5f) * 0.35f, 0.3f + y * 0.35f, (z - side * 0.5f) * 0.35f))
+                    .material(PhysicsMaterial.DEFAULT);
+                if (layered) {
+                    debris.layer(DEBRIS_LAYER).collidesWith(CollisionLayers.bit(GROUND_LAYER));
+                }
+                world.spawnRigidBody(debris.build());
+            }
+            BenchSupport.warmStart(world, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class PairCounters {
+        public long narrowphasePairs;
+        public long layerRejectedPairs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            narrowphasePairs = 0L;
+            layerRejectedPairs = 0L;
+        }
+    }
+
+    @Benchmark
+    public void stepDebris(BenchState state, PairCounters counters) {
+        long queued = state.world.debugQueuedPairCount();
+        long rejected = state.world.debugLayerRejectedPairCount();
+        state.world.step(1f / 60f, 1);
+        counters.narrowphasePairs += state.world.debugQueuedPairCount() - queued;
+        counters.layerRejectedPairs += state.world.debugLayerRejectedPairCount() - rejected;
+    }
+}
@@ -0,0 +1,93 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class OverlapQueryBenchmark {
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"ODE4J"})
+        public String backend;
+
+        @Param({"1", "100", "1000"})
+        public int queriesPerOp;
+
+        PhysicsWorld world;
+        Vector3f[] centres;
+        Vector3f[] mins;
+        Vector3f[] maxs;
+        final List<RigidBodyHandle> hits = new ArrayList<>(64);
+
+        @Setup(Level.Trial)
+        public void setup() {
+            PhysicsBackend selected = PhysicsBackend.valueOf(backend);
+            world = BenchSupport.createWorld(selected, true);
+            BenchSupport.spawnGround(world);
+            BenchSupport.spawnRaycastTargets(world, 2500);
+
+            centres = new Vector3f[queriesPerOp];
+            mins = new Vector3f[queriesPerOp];
+            maxs = new Vector3f[queriesPerOp];
+            int side = (int) java.lang.Math.ceil(java.lang.Math.sqrt(queriesPerOp));
+            for (int i = 0; i < queriesPerOp; i++) {
+                int x = i % side;
+                int z = i / side;
+                Vector3f c = new Vector3f((x - side / 2f) * 2f, 1f, (z - side / 2f) * 2f);
+                centres[i] = c;
+                mins[i] = new Vector3f(c.x() - 1.5f, 0f, c.z() - 1.5f);
+                maxs[i] = new Vector3f(c.x() + 1.5f, 2f, c.z() + 1.5f);
+            }
+
+            BenchSupport.warmStart(world, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @Benchmark
+    public void overlapSphereBatch(BenchState state, Blackhole bh) {
+        for (int i = 0; i < state.centres.length; i++) {
+            state.hits.clear();
+            bh.consume(state.world.overlapSphere(state.centres[i], 1.5f, -1, state.hits));
+        }
+    }
+
+    @Benchmark
+    public void overlapAabbBatch(BenchState state, Blackhole bh) {
+        for (int i = 0; i < state.mins.length; i++) {
+            state.hits.clear();
+            bh.consume(state.world.overlapAabb(state.mins[i], state.maxs[i], -1, state.hits));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.dynamisengine.physics.bench;
 
 import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -20,6 +22,8 @@ import org.openjdk.jmh.infra.Blackhole;
 import org.dynamisengine.vectrix.core.Vector3f;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 @BenchmarkMode(Mode.Throughput)
@@ -37,9 +41,16 @@ public class RaycastBenchmark {
         @Param({"1", "100", "1000"})
         public int raysPerOp;
 
+        /** Worker threads for {@code raycastBatch}; 0 runs batches on the benchmark thread. */
+        @Param({"0", "4"})
+        public int batchThreads;
+
         PhysicsWorld world;
         Vector3f[] origins;
         Vector3f down = new Vector3f(0f, -1f, 0f);
+        RaycastBatch batch;
+        RaycastHitBuffer hits;
+        ExecutorService pool;
 
         @Setup(Level.Trial)
         public void setup() {
@@ -56,6 +67,21 @@ public class RaycastBenchmark {
                 origins[i] = new Vector3f((x - side / 2f) * 2f, 50f, (z - side / 2f) * 2f);
             }
 
+            batch = new RaycastBatch(raysPerOp);
+            for (int i = 0; i < raysPerOp; i++) {
+                batch.set(i, origins[i].x(), origins[i].y(), origins[i].z(), 0f, -1f, 0f, 100f);
+            }
+            batch.setCount(raysPerOp);
+            hits = new RaycastHitBuffer(raysPerOp);
+            if (batchThreads > 0) {
+                pool = Executors.newFixedThreadPool(batchThreads, r -> {
+                    Thread t = new Thread(r, "raycast-batch");
+                    t.setDaemon(true);
+                    return t;
+                });
+                world.setQueryExecutor(pool);
+            }
+
             BenchSupport.warmStart(world, 5);
         }
 
@@ -64,6 +90,9 @@ public class RaycastBenchmark {
             if (world != null) {
                 world.destroy();
             }
+            if (pool != null) {
+                pool.shutdownNow();
+            }
         }
     }
 
@@ -77,4 +106,11 @@ public class RaycastBenchmark {
             }
         }
     }
+
+    @Benchmark
+    public void raycastBatchApi(BenchState state, Blackhole bh) {
+        int hitCount = state.world.raycastBatch(state.batch, state.hits);
+        bh.consume(hitCount);
+        bh.consume(state.hits.fractions());
+    }
 }
@@ -2,6 +2,7 @@ package org.dynamisengine.physics.bench;
 
 import org.dynamisengine.physics.api.body.BodyState;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.BroadphaseType;
 import org.dynamisengine.physics.api.config.PhysicsBackend;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -37,13 +38,16 @@ public class RigidBodyStepBenchmark {
         @Param({"1000", "10000", "50000"})
         public int bodyCount;
 
+        @Param({"SAP", "BVH", "AABB_TREE"})
+        public String broadphase;
+
         PhysicsWorld world;
         List<RigidBodyHandle> bodies;
 
         @Setup(Level.Trial)
         public void setup() {
             PhysicsBackend selected = PhysicsBackend.valueOf(backend);
-            world = BenchSupport.createWorld(selected, false);
+            world = BenchSupport.createWorld(selected, false, BroadphaseType.valueOf(broadphase));
             BenchSupport.spawnGround(world);
             bodies = BenchSupport.spawnSphereGrid(world, bodyCount, 0.25f);
             BenchSupport.warmStart(world, 30);
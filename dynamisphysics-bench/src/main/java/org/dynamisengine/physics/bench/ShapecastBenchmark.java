@@ -0,0 +1,93 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class ShapecastBenchmark {
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"ODE4J", "JOLT"})
+        public String backend;
+
+        @Param({"SPHERE", "CAPSULE", "BOX"})
+        public String shape;
+
+        @Param({"1", "100"})
+        public int castsPerOp;
+
+        PhysicsWorld world;
+        CollisionShape castShape;
+        Vector3f[] froms;
+        Vector3f[] tos;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            PhysicsBackend selected = PhysicsBackend.valueOf(backend);
+            world = BenchSupport.createWorld(selected, true);
+            BenchSupport.spawnGround(world);
+            BenchSupport.spawnRaycastTargets(world, 2500);
+            castShape = switch (shape) {
+                case "CAPSULE" -> CollisionShape.capsule(0.3f, 1.0f);
+                case "BOX" -> CollisionShape.box(0.3f, 0.3f, 0.3f);
+                default -> CollisionShape.sphere(0.3f);
+            };
+
+            froms = new Vector3f[castsPerOp];
+            tos = new Vector3f[castsPerOp];
+            int side = (int) java.lang.Math.ceil(java.lang.Math.sqrt(castsPerOp));
+            for (int i = 0; i < castsPerOp; i++) {
+                int x = i % side;
+                int z = i / side;
+                float px = (x - side / 2f) * 2f;
+                float pz = (z - side / 2f) * 2f;
+                froms[i] = new Vector3f(px, 10f, pz);
+                tos[i] = new Vector3f(px + 1f, -1f, pz);
+            }
+
+            BenchSupport.warmStart(world, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @Benchmark
+    public void shapecastBatch(BenchState state, Blackhole bh) {
+        for (int i = 0; i < state.froms.length; i++) {
+            Optional<ShapecastResult> hit = state.world.shapecast(state.castShape, state.froms[i], state.tos[i], -1);
+            if (hit.isPresent()) {
+                bh.consume(hit.get().hitFraction());
+            }
+        }
+    }
+}
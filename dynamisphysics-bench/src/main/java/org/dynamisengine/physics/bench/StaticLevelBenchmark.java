@@ -0,0 +1,92 @@
+package org.dynamisengine.physics.bench;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A tiled static level with a small set of falling bodies. The {@code broadPhaseMs} counter
+ * accumulates {@code PhysicsStats.broadPhaseMs()} so static-geometry cost is visible on its own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(1)
+public class StaticLevelBenchmark {
+
+    @State(Scope.Thread)
+    public static class BenchState {
+        @Param({"ODE4J", "JOLT"})
+        public String backend;
+
+        @Param({"5000"})
+        public int staticCount;
+
+        @Param({"500"})
+        public int dynamicCount;
+
+        PhysicsWorld world;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            world = BenchSupport.createWorld(PhysicsBackend.valueOf(backend), true);
+            int side = (int) java.lang.Math.ceil(java.lang.Math.sqrt(staticCount));
+            for (int i = 0; i < staticCount; i++) {
+                float px = (i % side - side * 0.5f) * 1.0f;
+                float pz = (i / side - side * 0.5f) * 1.0f;
+                world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 0.5f, 0.5f), 0f)
+                    .mode(BodyMode.STATIC)
+                    .material(PhysicsMaterial.ASPHALT)
+                    .worldTransform(new Matrix4f().translation(px, -0.5f, pz))
+                    .build());
+            }
+            BenchSupport.spawnSphereGrid(world, dynamicCount, 0.25f);
+            BenchSupport.warmStart(world, 10);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            if (world != null) {
+                world.destroy();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class PhaseCounters {
+        public double broadPhaseMs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            broadPhaseMs = 0.0;
+        }
+    }
+
+    @Benchmark
+    public void stepLevel(BenchState state, PhaseCounters counters) {
+        state.world.step(1f / 60f, 1);
+        counters.broadPhaseMs += state.world.getStats().broadPhaseMs();
+    }
+}
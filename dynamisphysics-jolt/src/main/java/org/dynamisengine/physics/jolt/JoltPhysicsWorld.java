@@ -1,11 +1,9 @@
 package org.dynamisengine.physics.jolt;
 
-import com.github.stephengold.joltjni.BroadPhaseLayerInterfaceTable;
 import com.github.stephengold.joltjni.Jolt;
 import com.github.stephengold.joltjni.JobSystemThreadPool;
 import com.github.stephengold.joltjni.NarrowPhaseQuery;
-import com.github.stephengold.joltjni.ObjectLayerPairFilterTable;
-import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilterTable;
+import com.github.stephengold.joltjni.PhysicsSettings;
 import com.github.stephengold.joltjni.PhysicsSystem;
 import com.github.stephengold.joltjni.TempAllocator;
 import com.github.stephengold.joltjni.TempAllocatorImpl;
@@ -20,6 +18,8 @@ import org.dynamisengine.physics.api.RagdollHandle;
 import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.VehicleHandle;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
@@ -30,38 +30,51 @@ import org.dynamisengine.physics.api.constraint.ConstraintDesc;
 import org.dynamisengine.physics.api.constraint.ConstraintHandle;
 import org.dynamisengine.physics.api.event.ContactEvent;
 import org.dynamisengine.physics.api.event.ContactListener;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.physics.api.world.BulkReads;
 import org.dynamisengine.physics.api.world.CharacterState;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
 import org.dynamisengine.physics.api.world.PhysicsStats;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.dynamisengine.physics.api.world.VehicleState;
 import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
 import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.body.JoltObjectLayers;
 import org.dynamisengine.physics.jolt.character.JoltCharacterController;
 import org.dynamisengine.physics.jolt.constraint.JoltConstraintRegistry;
 import org.dynamisengine.physics.jolt.constraint.JoltMechanicalConstraintController;
 import org.dynamisengine.physics.jolt.event.JoltContactListener;
 import org.dynamisengine.physics.jolt.event.JoltEventBuffer;
+import org.dynamisengine.physics.jolt.query.JoltQuerySnapshotWriter;
 import org.dynamisengine.physics.jolt.query.JoltRaycastExecutor;
+import org.dynamisengine.physics.jolt.query.JoltShapecastExecutor;
 import org.dynamisengine.physics.jolt.ragdoll.JoltRagdollSystem;
 import org.dynamisengine.physics.jolt.snapshot.JoltSnapshot;
 import org.dynamisengine.physics.jolt.vehicle.JoltVehicleSystem;
+import org.dynamisengine.physics.jolt.world.JoltAdaptiveSubsteps;
+import org.dynamisengine.physics.jolt.world.JoltCommandSink;
 import org.dynamisengine.vectrix.core.Matrix4f;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toRVec3;
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toVec3;
 
 public final class JoltPhysicsWorld implements PhysicsWorld {
-    private static final int NUM_OBJECT_LAYERS = 256;
-    private static final int NUM_BROAD_PHASE_LAYERS = 1;
     private static final boolean TRACE_STEP = Boolean.getBoolean("jolt.trace");
 
     private final PhysicsWorldConfig config;
@@ -71,14 +84,23 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
     private final JobSystemThreadPool jobs;
     private final JoltBodyRegistry bodyRegistry;
     private final JoltEventBuffer eventBuffer;
+    private final JoltContactListener contactListener;
     private final JoltRaycastExecutor raycastExecutor;
+    private final JoltShapecastExecutor shapecastExecutor;
     private final JoltConstraintRegistry constraintRegistry;
     private final JoltMechanicalConstraintController mechanicalConstraintController;
     private final JoltVehicleSystem vehicleSystem;
     private final JoltCharacterController characterController;
     private final JoltRagdollSystem ragdollSystem;
     private final List<ContactListener> contactListeners = new ArrayList<>();
+    private final PhysicsCommandQueue commandQueue = new PhysicsCommandQueue();
+    private final JoltCommandSink commandSink;
     private Vector3f gravity;
+    private Executor queryExecutor;
+    private JoltQuerySnapshotWriter querySnapshotWriter;
+    private volatile QuerySnapshot querySnapshot = QuerySnapshot.EMPTY;
+    private JoltAdaptiveSubsteps adaptiveSubsteps;
+    private int adaptiveMaxSubSteps;
 
     private int stepCount;
     private boolean paused;
@@ -87,6 +109,7 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
     private float lastStepMs;
     private float lastSolverMs;
     private float lastIntegrationMs;
+    private int lastSubSteps;
 
     private JoltPhysicsWorld(
         PhysicsWorldConfig config,
@@ -96,7 +119,9 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         JobSystemThreadPool jobs,
         JoltBodyRegistry bodyRegistry,
         JoltEventBuffer eventBuffer,
+        JoltContactListener contactListener,
         JoltRaycastExecutor raycastExecutor,
+        JoltShapecastExecutor shapecastExecutor,
         JoltConstraintRegistry constraintRegistry,
         JoltMechanicalConstraintController mechanicalConstraintController,
         JoltVehicleSystem vehicleSystem,
@@ -110,12 +135,15 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         this.jobs = jobs;
         this.bodyRegistry = bodyRegistry;
         this.eventBuffer = eventBuffer;
+        this.contactListener = contactListener;
         this.raycastExecutor = raycastExecutor;
+        this.shapecastExecutor = shapecastExecutor;
         this.constraintRegistry = constraintRegistry;
         this.mechanicalConstraintController = mechanicalConstraintController;
         this.vehicleSystem = vehicleSystem;
         this.characterController = characterController;
         this.ragdollSystem = ragdollSystem;
+        this.commandSink = new JoltCommandSink(bodyRegistry, vehicleSystem);
         this.gravity = new Vector3f(config.gravity());
     }
 
@@ -124,29 +152,16 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         JoltNativeLoader.ensureRuntimeInitialized();
 
         PhysicsSystem physics = new PhysicsSystem();
-        BroadPhaseLayerInterfaceTable broad = new BroadPhaseLayerInterfaceTable(NUM_OBJECT_LAYERS, NUM_BROAD_PHASE_LAYERS);
-        for (int i = 0; i < NUM_OBJECT_LAYERS; i++) {
-            broad.mapObjectToBroadPhaseLayer(i, 0);
-        }
-
-        ObjectLayerPairFilterTable pair = new ObjectLayerPairFilterTable(NUM_OBJECT_LAYERS);
-        for (int i = 0; i < NUM_OBJECT_LAYERS; i++) {
-            for (int j = 0; j < NUM_OBJECT_LAYERS; j++) {
-                pair.enableCollision(i, j);
-            }
-        }
-
-        ObjectVsBroadPhaseLayerFilterTable objectVsBroad =
-            new ObjectVsBroadPhaseLayerFilterTable(broad, NUM_OBJECT_LAYERS, pair, NUM_BROAD_PHASE_LAYERS);
+        JoltObjectLayers objectLayers = new JoltObjectLayers();
 
         physics.init(
             config.maxBodies(),
             0,
             config.maxConstraints(),
             config.maxConstraints(),
-            broad,
-            objectVsBroad,
-            pair
+            objectLayers.broadPhaseLayers(),
+            objectLayers.objectVsBroadPhase(),
+            objectLayers.pairFilter()
         );
         physics.setGravity(config.gravity().x(), config.gravity().y(), config.gravity().z());
 
@@ -169,21 +184,24 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
             + " allocatorBytes=" + resolved.allocatorBytes()
             + " solverIterations=" + resolved.solverIterations());
 
-        JoltBodyRegistry bodyRegistry = new JoltBodyRegistry(physics.getBodyInterface());
+        JoltBodyRegistry bodyRegistry = new JoltBodyRegistry(physics.getBodyInterface(), objectLayers);
         JoltEventBuffer eventBuffer = new JoltEventBuffer();
-        physics.setContactListener(new JoltContactListener(bodyRegistry, eventBuffer));
+        JoltContactListener contactListener = new JoltContactListener(bodyRegistry, eventBuffer);
+        physics.setContactListener(contactListener);
         NarrowPhaseQuery query = (NarrowPhaseQuery) physics.getNarrowPhaseQuery();
-        JoltRaycastExecutor raycastExecutor = new JoltRaycastExecutor(query, physics.getBodyInterface(), bodyRegistry);
+        JoltRaycastExecutor raycastExecutor = new JoltRaycastExecutor(physics, bodyRegistry, objectLayers);
+        JoltShapecastExecutor shapecastExecutor = new JoltShapecastExecutor(query, bodyRegistry);
         JoltConstraintRegistry constraintRegistry = new JoltConstraintRegistry(physics, bodyRegistry);
         JoltMechanicalConstraintController mechanicalConstraintController =
             new JoltMechanicalConstraintController(physics.getBodyInterface(), bodyRegistry, constraintRegistry);
         JoltVehicleSystem vehicleSystem = new JoltVehicleSystem(physics, bodyRegistry, eventBuffer);
         JoltCharacterController characterController =
-            new JoltCharacterController(physics, bodyRegistry, raycastExecutor, eventBuffer, allocator);
+            new JoltCharacterController(physics, bodyRegistry, objectLayers, raycastExecutor, eventBuffer, allocator);
         JoltRagdollSystem ragdollSystem = new JoltRagdollSystem(physics, bodyRegistry);
 
         return new JoltPhysicsWorld(
-            config, resolved, physics, allocator, jobs, bodyRegistry, eventBuffer, raycastExecutor, constraintRegistry,
+            config, resolved, physics, allocator, jobs, bodyRegistry, eventBuffer, contactListener, raycastExecutor, shapecastExecutor,
+            constraintRegistry,
             mechanicalConstraintController,
             vehicleSystem, characterController, ragdollSystem
         );
@@ -207,12 +225,16 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
             throw new IllegalArgumentException("subSteps must be > 0, got " + subSteps);
         }
         validateInitialized();
-        int clamped = subSteps;
+        int clamped = adaptiveSubsteps != null
+            ? adaptiveSubsteps.choose(deltaSeconds * timeScale, adaptiveMaxSubSteps)
+            : subSteps;
+        lastSubSteps = clamped;
         long start = System.nanoTime();
         trace("step.enter dt=" + deltaSeconds + " subSteps=" + subSteps + " timeScale=" + timeScale);
 
         // Controllers (integration phase)
         long integStart = System.nanoTime();
+        commandQueue.drain(commandSink);
         vehicleSystem.stepAll(deltaSeconds * timeScale);
         characterController.stepAll(deltaSeconds * timeScale, gravity);
         lastIntegrationMs = (System.nanoTime() - integStart) / 1_000_000f;
@@ -223,15 +245,24 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         physicsSystem.update(deltaSeconds * timeScale, clamped, allocator, jobs);
         lastSolverMs = (System.nanoTime() - solverStart) / 1_000_000f;
         trace("step.after-update");
+        eventBuffer.publish();
+        contactListener.endStep(physicsSystem.getBodyInterface());
 
         // Post-solve
         long postStart = System.nanoTime();
         mechanicalConstraintController.postSolve(deltaSeconds * timeScale);
         ragdollSystem.stepAll(deltaSeconds * timeScale);
+        bodyRegistry.collectMovedBodies(physicsSystem);
+        bodyRegistry.publishTransformStream();
         lastIntegrationMs += (System.nanoTime() - postStart) / 1_000_000f;
 
         lastStepMs = (System.nanoTime() - start) / 1_000_000f;
         stepCount++;
+        if (querySnapshotWriter != null) {
+            querySnapshot = querySnapshotWriter.write(stepCount);
+        }
+        eventBuffer.publish();
+        eventBuffer.channels().dispatch();
         trace("step.exit stepCount=" + stepCount);
     }
 
@@ -284,6 +315,31 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         bodyRegistry.setState(handle, state);
     }
 
+    @Override
+    public List<RigidBodyHandle> rigidBodies() {
+        ensureNotDestroyed();
+        return List.copyOf(bodyRegistry.bodiesInIdOrder());
+    }
+
+    @Override
+    public int readBodyStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        ensureNotDestroyed();
+        BulkReads.checkRange(handles, offset, count, out);
+        return bodyRegistry.readStates(handles, offset, count, out);
+    }
+
+    @Override
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        ensureNotDestroyed();
+        return bodyRegistry.drainMovedBodies(Objects.requireNonNull(out, "out"));
+    }
+
+    @Override
+    public void setTransformStream(MemorySegment segment) {
+        ensureNotDestroyed();
+        bodyRegistry.setTransformStream(segment);
+    }
+
     @Override
     public void applyImpulse(RigidBodyHandle h, Vector3f impulse, Vector3f worldPoint) {
         ensureNotDestroyed();
@@ -308,6 +364,12 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         bodyRegistry.setVelocity(h, toVec3(linear), toVec3(angular));
     }
 
+    @Override
+    public PhysicsCommandQueue commandQueue() {
+        ensureNotDestroyed();
+        return commandQueue;
+    }
+
     @Override
     public void teleport(RigidBodyHandle h, Vector3f position, Quaternionf orientation) {
         ensureNotDestroyed();
@@ -452,6 +514,34 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         return raycastExecutor.raycastAll(origin, dir, maxDist, layerMask);
     }
 
+    @Override
+    public int raycastBatch(RaycastBatch rays, RaycastHitBuffer out) {
+        ensureNotDestroyed();
+        return raycastExecutor.raycastBatch(rays, out, queryExecutor);
+    }
+
+    @Override
+    public void setQueryExecutor(Executor executor) {
+        ensureNotDestroyed();
+        this.queryExecutor = executor;
+    }
+
+    @Override
+    public void setQuerySnapshotEnabled(boolean enabled) {
+        ensureNotDestroyed();
+        if (!enabled) {
+            querySnapshotWriter = null;
+            querySnapshot = QuerySnapshot.EMPTY;
+        } else if (querySnapshotWriter == null) {
+            querySnapshotWriter = new JoltQuerySnapshotWriter(physicsSystem, bodyRegistry);
+        }
+    }
+
+    @Override
+    public QuerySnapshot querySnapshot() {
+        return querySnapshot;
+    }
+
     @Override
     public List<RigidBodyHandle> overlapSphere(Vector3f centre, float radius, int layerMask) {
         return List.of();
@@ -464,7 +554,8 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
 
     @Override
     public Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask) {
-        return Optional.empty();
+        ensureNotDestroyed();
+        return shapecastExecutor.shapecast(shape, from, to, layerMask);
     }
 
     @Override
@@ -481,13 +572,24 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
     public List<PhysicsEvent> drainEvents() {
         ensureNotDestroyed();
         List<PhysicsEvent> events = eventBuffer.drain();
-        events.stream()
-            .filter(e -> e instanceof ContactEvent)
-            .map(e -> (ContactEvent) e)
-            .forEach(e -> contactListeners.forEach(l -> l.onContact(e)));
+        if (!contactListeners.isEmpty()) {
+            for (PhysicsEvent e : events) {
+                if (e instanceof ContactEvent c) {
+                    for (ContactListener l : contactListeners) {
+                        l.onContact(c);
+                    }
+                }
+            }
+        }
         return events;
     }
 
+    @Override
+    public PhysicsEventChannels eventChannels() {
+        ensureNotDestroyed();
+        return eventBuffer.channels();
+    }
+
     @Override
     public byte[] snapshot() {
         ensureNotDestroyed();
@@ -503,6 +605,7 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         ensureNotDestroyed();
         JoltSnapshot.RestoredState restored = JoltSnapshot.read(snapshot);
         bodyRegistry.clearAllBodies();
+        contactListener.resetTouchingPairs();
         physicsSystem.setGravity(restored.gravity().x(), restored.gravity().y(), restored.gravity().z());
 
         restored.bodies().stream()
@@ -544,6 +647,41 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
         this.timeScale = scale;
     }
 
+    @Override
+    public void setContactReportingLevel(ContactReportingLevel level) {
+        ensureNotDestroyed();
+        contactListener.setReportingLevel(Objects.requireNonNull(level, "level"));
+    }
+
+    @Override
+    public void setContactReportingLevel(RigidBodyHandle body, ContactReportingLevel level) {
+        ensureNotDestroyed();
+        JoltBodyHandle jh = bodyRegistry.getByHandle(body);
+        if (jh != null) {
+            jh.setContactReporting(level);
+        }
+    }
+
+    /** Chooses Jolt's collision step count per frame; see {@link JoltAdaptiveSubsteps}. */
+    @Override
+    public void setAdaptiveSubSteps(int maxSubSteps) {
+        ensureNotDestroyed();
+        if (maxSubSteps < 0) {
+            throw new IllegalArgumentException("maxSubSteps must be >= 0, got " + maxSubSteps);
+        }
+        adaptiveSubsteps = maxSubSteps > 0 ? new JoltAdaptiveSubsteps(bodyRegistry, physicsSystem.getBodyInterface()) : null;
+        adaptiveMaxSubSteps = maxSubSteps;
+    }
+
+    /** Maps to Jolt's velocity steps; position steps keep their default. */
+    @Override
+    public void setSolverIterations(int iterations) {
+        ensureNotDestroyed();
+        PhysicsSettings settings = physicsSystem.getPhysicsSettings();
+        settings.setNumVelocitySteps(Math.max(iterations, 1));
+        physicsSystem.setPhysicsSettings(settings);
+    }
+
     @Override
     public PhysicsStats getStats() {
         ensureNotDestroyed();
@@ -556,7 +694,8 @@ public final class JoltPhysicsWorld implements PhysicsWorld {
             0f, // broadPhase (combined with solver in Jolt)
             0f, // narrowPhase (combined with solver in Jolt)
             lastSolverMs,
-            lastIntegrationMs);
+            lastIntegrationMs,
+            lastSubSteps);
     }
 
     private static CollisionShape fromShapeSnapshot(JoltSnapshot.ShapeSnapshot shape) {
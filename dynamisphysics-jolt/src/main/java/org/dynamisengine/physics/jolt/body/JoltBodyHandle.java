@@ -1,15 +1,28 @@
 package org.dynamisengine.physics.jolt.body;
 
+import org.dynamisengine.collision.shapes.BoxCollisionShape;
+import org.dynamisengine.collision.shapes.CapsuleCollisionShape;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.collision.shapes.CompoundCollisionShape;
+import org.dynamisengine.collision.shapes.ConvexHullCollisionShape;
+import org.dynamisengine.collision.shapes.CylinderCollisionShape;
+import org.dynamisengine.collision.shapes.SphereCollisionShape;
+import org.dynamisengine.collision.shapes.TriangleMeshCollisionShape;
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.body.StableRigidBodyId;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 
 public final class JoltBodyHandle implements RigidBodyHandle, StableRigidBodyId {
+    private static final float MIN_EXTENT = 1e-3f;
+
     private final int bodyId;
     private final int joltBodyId;
     private final RigidBodyConfig config;
     private boolean alive = true;
+    private volatile ContactReportingLevel contactReporting;
+    private float minExtent = -1f;
 
     public JoltBodyHandle(int bodyId, int joltBodyId, RigidBodyConfig config) {
         this.bodyId = bodyId;
@@ -29,6 +42,23 @@ public final class JoltBodyHandle implements RigidBodyHandle, StableRigidBodyId
         return config;
     }
 
+    /** Per-body contact reporting override; {@code null} defers to the world level. Read from job threads. */
+    public ContactReportingLevel contactReporting() {
+        return contactReporting;
+    }
+
+    public void setContactReporting(ContactReportingLevel level) {
+        contactReporting = level;
+    }
+
+    /** Smallest half-extent of the body's shape, computed on first use from the shape's dimensions. */
+    public float minExtent() {
+        if (minExtent < 0f) {
+            minExtent = Math.max(halfExtent(config.shape()), MIN_EXTENT);
+        }
+        return minExtent;
+    }
+
     public void kill() {
         alive = false;
     }
@@ -52,4 +82,46 @@ public final class JoltBodyHandle implements RigidBodyHandle, StableRigidBodyId
     public BodyMode mode() {
         return config.mode();
     }
+
+    private static float halfExtent(CollisionShape shape) {
+        return switch (shape.shapeType()) {
+            case SPHERE -> ((SphereCollisionShape) shape).radius();
+            case BOX -> {
+                BoxCollisionShape box = (BoxCollisionShape) shape;
+                yield Math.min(box.halfExtentX(), Math.min(box.halfExtentY(), box.halfExtentZ()));
+            }
+            case CAPSULE -> ((CapsuleCollisionShape) shape).radius();
+            case CYLINDER -> {
+                CylinderCollisionShape cylinder = (CylinderCollisionShape) shape;
+                yield Math.min(cylinder.radius(), cylinder.height() * 0.5f);
+            }
+            case COMPOUND -> {
+                float min = Float.MAX_VALUE;
+                for (CollisionShape child : ((CompoundCollisionShape) shape).children()) {
+                    min = Math.min(min, halfExtent(child));
+                }
+                yield min == Float.MAX_VALUE ? 0f : min;
+            }
+            case CONVEX_HULL -> boundsHalfExtent(((ConvexHullCollisionShape) shape).vertices());
+            case TRIANGLE_MESH -> boundsHalfExtent(((TriangleMeshCollisionShape) shape).vertices());
+            default -> 0f;
+        };
+    }
+
+    private static float boundsHalfExtent(float[] vertices) {
+        if (vertices.length < 3) {
+            return 0f;
+        }
+        float minX = vertices[0], minY = vertices[1], minZ = vertices[2];
+        float maxX = minX, maxY = minY, maxZ = minZ;
+        for (int i = 3; i + 2 < vertices.length; i += 3) {
+            minX = Math.min(minX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            minZ = Math.min(minZ, vertices[i + 2]);
+            maxX = Math.max(maxX, vertices[i]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+            maxZ = Math.max(maxZ, vertices[i + 2]);
+        }
+        return Math.min(maxX - minX, Math.min(maxY - minY, maxZ - minZ)) * 0.5f;
+    }
 }
@@ -1,21 +1,28 @@
 package org.dynamisengine.physics.jolt.body;
 
 import com.github.stephengold.joltjni.BodyCreationSettings;
+import com.github.stephengold.joltjni.BodyIdVector;
 import com.github.stephengold.joltjni.BodyInterface;
 import com.github.stephengold.joltjni.Quat;
 import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.PhysicsSystem;
 import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.enumerate.EBodyType;
 import com.github.stephengold.joltjni.enumerate.EActivation;
 import com.github.stephengold.joltjni.enumerate.EMotionType;
 import com.github.stephengold.joltjni.readonly.ConstShape;
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.world.TransformStream;
 import org.dynamisengine.physics.jolt.shape.JoltShapeAdapter;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,6 +31,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toQuat;
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toRVec3;
@@ -32,16 +40,27 @@ import static org.dynamisengine.physics.jolt.world.JoltConversions.toVector3f;
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toQuaternionf;
 
 public final class JoltBodyRegistry {
-    private static final int MAX_OBJECT_LAYERS = 256;
-
     private final BodyInterface bodyInterface;
+    private final JoltObjectLayers objectLayers;
     private final Map<RigidBodyHandle, JoltBodyHandle> byHandle = new LinkedHashMap<>();
     private final Map<Integer, JoltBodyHandle> byStableId = new LinkedHashMap<>();
     private final Map<Integer, JoltBodyHandle> byJoltId = new HashMap<>();
+    // Scratch targets for bulk readback; the registry is only touched from the stepping thread.
+    private final RVec3 scratchPosition = new RVec3();
+    private final Quat scratchRotation = new Quat();
+    private final Vec3 scratchLinear = new Vec3();
+    private final Vec3 scratchAngular = new Vec3();
+    private final BodyIdVector activeBodyIds = new BodyIdVector();
+    private final JoltMovedBodySet movedBodies = new JoltMovedBodySet();
+    private final JoltMovedBodySet.TransformWriter movedWriter = this::writeMovedTransform;
+    private final JoltMovedBodySet streamBodies = new JoltMovedBodySet();
+    private final IntConsumer streamWriter = this::writeStreamSlot;
+    private MemorySegment transformStream;
     private int nextBodyId = 1;
 
-    public JoltBodyRegistry(BodyInterface bodyInterface) {
+    public JoltBodyRegistry(BodyInterface bodyInterface, JoltObjectLayers objectLayers) {
         this.bodyInterface = bodyInterface;
+        this.objectLayers = objectLayers;
     }
 
     public JoltBodyHandle spawn(RigidBodyConfig config) {
@@ -57,7 +76,7 @@ public final class JoltBodyRegistry {
             toRVec3(extractPosition(config)),
             toQuat(extractOrientation(config)),
             toMotionType(config.mode()),
-            normalizeLayer(config.layer())
+            objectLayers.objectLayerFor(config.layer(), config.collidesWith(), config.mode() == BodyMode.STATIC)
         );
         settings.setLinearVelocity(toVec3(config.linearVelocity()));
         settings.setAngularVelocity(toVec3(config.angularVelocity()));
@@ -74,6 +93,7 @@ public final class JoltBodyRegistry {
         byHandle.put(handle, handle);
         byStableId.put(stableBodyId, handle);
         byJoltId.put(joltId, handle);
+        markMoved(stableBodyId);
         return handle;
     }
 
@@ -87,6 +107,7 @@ public final class JoltBodyRegistry {
         bodyInterface.removeBody(jh.joltBodyId());
         bodyInterface.destroyBody(jh.joltBodyId());
         jh.kill();
+        markMoved(jh.bodyId());
     }
 
     public BodyState getState(RigidBodyHandle handle) {
@@ -110,6 +131,30 @@ public final class JoltBodyRegistry {
         );
     }
 
+    public int readStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        for (int i = 0; i < count; i++) {
+            JoltBodyHandle jh = byHandle.get(handles[offset + i]);
+            if (jh == null || !jh.isAlive()) {
+                out.setPosition(i, 0f, 0f, 0f);
+                out.setOrientation(i, 0f, 0f, 0f, 1f);
+                out.setLinearVelocity(i, 0f, 0f, 0f);
+                out.setAngularVelocity(i, 0f, 0f, 0f);
+                out.setSleeping(i, false);
+                continue;
+            }
+            int bodyId = jh.joltBodyId();
+            bodyInterface.getPositionAndRotation(bodyId, scratchPosition, scratchRotation);
+            bodyInterface.getLinearAndAngularVelocity(bodyId, scratchLinear, scratchAngular);
+            out.setPosition(i, (float) scratchPosition.xx(), (float) scratchPosition.yy(), (float) scratchPosition.zz());
+            out.setOrientation(i, scratchRotation.getX(), scratchRotation.getY(), scratchRotation.getZ(), scratchRotation.getW());
+            out.setLinearVelocity(i, scratchLinear.getX(), scratchLinear.getY(), scratchLinear.getZ());
+            out.setAngularVelocity(i, scratchAngular.getX(), scratchAngular.getY(), scratchAngular.getZ());
+            out.setSleeping(i, !bodyInterface.isActive(bodyId));
+        }
+        out.setCount(count);
+        return count;
+    }
+
     public void setState(RigidBodyHandle handle, BodyState state) {
         JoltBodyHandle jh = byHandle.get(handle);
         if (jh == null || !jh.isAlive()) {
@@ -118,6 +163,90 @@ public final class JoltBodyRegistry {
         int bodyId = jh.joltBodyId();
         bodyInterface.setPositionAndRotation(bodyId, toRVec3(state.position()), toQuat(state.orientation()), EActivation.Activate);
         bodyInterface.setLinearAndAngularVelocity(bodyId, toVec3(state.linearVelocity()), toVec3(state.angularVelocity()));
+        markMoved(jh.bodyId());
+    }
+
+    /** Post-update scan over Jolt's active rigid-body list; cost follows the active set, not the body count. */
+    public void collectMovedBodies(PhysicsSystem physicsSystem) {
+        boolean streaming = transformStream != null;
+        movedBodies.beginActiveScan();
+        if (streaming) {
+            streamBodies.beginActiveScan();
+        }
+        physicsSystem.getActiveBodies(EBodyType.RigidBody, activeBodyIds);
+        for (int i = 0, n = activeBodyIds.size(); i < n; i++) {
+            JoltBodyHandle jh = byJoltId.get(activeBodyIds.get(i));
+            if (jh != null) {
+                movedBodies.markActive(jh.bodyId());
+                if (streaming) {
+                    streamBodies.markActive(jh.bodyId());
+                }
+            }
+        }
+        movedBodies.endActiveScan();
+        if (streaming) {
+            streamBodies.endActiveScan();
+        }
+    }
+
+    /** Binds (or with {@code null} unbinds) the transform stream; binding clears it and writes every live body. */
+    public void setTransformStream(MemorySegment segment) {
+        if (segment != null) {
+            TransformStream.checkWritable(segment);
+        }
+        transformStream = segment;
+        streamBodies.clear();
+        if (segment == null) {
+            return;
+        }
+        segment.fill((byte) 0);
+        for (JoltBodyHandle jh : byStableId.values()) {
+            writeStreamSlot(jh.bodyId());
+        }
+    }
+
+    /** Writes slots for bodies changed since the previous publish; called at the end of each step. */
+    public void publishTransformStream() {
+        if (transformStream != null) {
+            streamBodies.drainAll(streamWriter);
+        }
+    }
+
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        return movedBodies.drain(out, movedWriter);
+    }
+
+    private void markMoved(int stableBodyId) {
+        movedBodies.mark(stableBodyId);
+        if (transformStream != null) {
+            streamBodies.mark(stableBodyId);
+        }
+    }
+
+    private void writeStreamSlot(int stableBodyId) {
+        JoltBodyHandle jh = byStableId.get(stableBodyId);
+        if (jh == null || !jh.isAlive()) {
+            TransformStream.clear(transformStream, stableBodyId);
+            return;
+        }
+        int joltId = jh.joltBodyId();
+        bodyInterface.getPositionAndRotation(joltId, scratchPosition, scratchRotation);
+        TransformStream.write(transformStream, stableBodyId,
+            (float) scratchPosition.xx(), (float) scratchPosition.yy(), (float) scratchPosition.zz(),
+            scratchRotation.getX(), scratchRotation.getY(), scratchRotation.getZ(), scratchRotation.getW(),
+            !bodyInterface.isActive(joltId));
+    }
+
+    private boolean writeMovedTransform(int stableBodyId, MovedBodyBuffer out, int index) {
+        JoltBodyHandle jh = byStableId.get(stableBodyId);
+        if (jh == null || !jh.isAlive()) {
+            return false;
+        }
+        bodyInterface.getPositionAndRotation(jh.joltBodyId(), scratchPosition, scratchRotation);
+        out.set(index, stableBodyId,
+            (float) scratchPosition.xx(), (float) scratchPosition.yy(), (float) scratchPosition.zz(),
+            scratchRotation.getX(), scratchRotation.getY(), scratchRotation.getZ(), scratchRotation.getW());
+        return true;
     }
 
     public void applyImpulse(RigidBodyHandle handle, Vec3 impulse, RVec3 atPoint) {
@@ -181,10 +310,6 @@ public final class JoltBodyRegistry {
         }
     }
 
-    private static int normalizeLayer(int layer) {
-        return Math.floorMod(layer, MAX_OBJECT_LAYERS);
-    }
-
     private static Vector3f extractPosition(RigidBodyConfig config) {
         Vector3f out = new Vector3f();
         config.worldTransform().getTranslation(out);
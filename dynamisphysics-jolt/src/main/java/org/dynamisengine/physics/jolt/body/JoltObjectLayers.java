@@ -0,0 +1,169 @@
+package org.dynamisengine.physics.jolt.body;
+
+import com.github.stephengold.joltjni.BroadPhaseLayerInterfaceTable;
+import com.github.stephengold.joltjni.ObjectLayerPairFilterTable;
+import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilterTable;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Jolt layer tables derived from body layers and {@code collidesWith} masks.
+ *
+ * <p>Object layers are handed out lazily, one per distinct (static, layer, mask) combination:
+ * {@code [0, 128)} map to the non-moving broadphase layer and {@code [128, 256)} to the moving one.
+ * Pair entries follow {@link CollisionLayers#collides}, and static-vs-static is never enabled.
+ * Once a range is full, further combinations share its last layer, which collides with everything
+ * (except static-vs-static) and so loses mask filtering.
+ *
+ * <p>Query layers ({@link #queryLayerFor}) come from a separate range {@code [256, 256 + 32)} that is never
+ * assigned to bodies, so distinct query masks cannot exhaust body layers. They let scene queries filter by
+ * layer mask natively through Jolt's default object/broadphase layer filters.
+ */
+public final class JoltObjectLayers {
+    public static final int NUM_BODY_LAYERS = 256;
+    public static final int NUM_QUERY_LAYERS = 32;
+    public static final int NUM_OBJECT_LAYERS = NUM_BODY_LAYERS + NUM_QUERY_LAYERS;
+    public static final int NUM_BROAD_PHASE_LAYERS = 2;
+    public static final int BP_NON_MOVING = 0;
+    public static final int BP_MOVING = 1;
+
+    private static final int RANGE = NUM_BODY_LAYERS / 2;
+    private static final int STATIC_FALLBACK = RANGE - 1;
+    private static final int MOVING_FALLBACK = NUM_BODY_LAYERS - 1;
+
+    private final BroadPhaseLayerInterfaceTable broadPhaseLayers;
+    private final ObjectLayerPairFilterTable pairFilter;
+    private final ObjectVsBroadPhaseLayerFilterTable objectVsBroadPhase;
+    private final Map<Long, Integer> byKey = new HashMap<>();
+    private final Map<Integer, Integer> queryByMask = new HashMap<>();
+    private final boolean[] query = new boolean[NUM_OBJECT_LAYERS];
+    private final int[] layers = new int[NUM_OBJECT_LAYERS];
+    private final int[] masks = new int[NUM_OBJECT_LAYERS];
+    private final int[] allocated = new int[NUM_OBJECT_LAYERS];
+    private int allocatedCount;
+    private int nextStatic;
+    private int nextMoving = RANGE;
+    private int nextQuery = NUM_BODY_LAYERS;
+
+    public JoltObjectLayers() {
+        broadPhaseLayers = new BroadPhaseLayerInterfaceTable(NUM_OBJECT_LAYERS, NUM_BROAD_PHASE_LAYERS);
+        pairFilter = new ObjectLayerPairFilterTable(NUM_OBJECT_LAYERS);
+        // One representative pair per (object layer, broadphase layer) is enough for the object-vs-broadphase
+        // table to come out permissive; the pair entries are then cleared and narrowed as layers are allocated.
+        // Query layers sit on the moving broadphase layer, so they also see both broadphase layers.
+        for (int i = 0; i < NUM_OBJECT_LAYERS; i++) {
+            broadPhaseLayers.mapObjectToBroadPhaseLayer(i, isStatic(i) ? BP_NON_MOVING : BP_MOVING);
+            pairFilter.enableCollision(i, MOVING_FALLBACK);
+            if (!isStatic(i)) {
+                pairFilter.enableCollision(i, STATIC_FALLBACK);
+            }
+        }
+        objectVsBroadPhase = new ObjectVsBroadPhaseLayerFilterTable(
+            broadPhaseLayers, NUM_BROAD_PHASE_LAYERS, pairFilter, NUM_OBJECT_LAYERS);
+        for (int i = 0; i < NUM_OBJECT_LAYERS; i++) {
+            pairFilter.disableCollision(i, MOVING_FALLBACK);
+            pairFilter.disableCollision(i, STATIC_FALLBACK);
+        }
+        register(STATIC_FALLBACK, 0, CollisionLayers.ALL);
+        register(MOVING_FALLBACK, 0, CollisionLayers.ALL);
+    }
+
+    public BroadPhaseLayerInterfaceTable broadPhaseLayers() {
+        return broadPhaseLayers;
+    }
+
+    public ObjectLayerPairFilterTable pairFilter() {
+        return pairFilter;
+    }
+
+    public ObjectVsBroadPhaseLayerFilterTable objectVsBroadPhase() {
+        return objectVsBroadPhase;
+    }
+
+    /** Returns the object layer for a body, allocating one on first use. Not thread-safe; call between steps. */
+    public int objectLayerFor(int layer, int collidesWith, boolean isStatic) {
+        long key = ((long) collidesWith << 32) | ((long) (layer & 31) << 1) | (isStatic ? 1L : 0L);
+        Integer existing = byKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int objectLayer;
+        if (isStatic && nextStatic < STATIC_FALLBACK) {
+            objectLayer = nextStatic++;
+        } else if (!isStatic && nextMoving < MOVING_FALLBACK) {
+            objectLayer = nextMoving++;
+        } else {
+            return isStatic ? STATIC_FALLBACK : MOVING_FALLBACK;
+        }
+        register(objectLayer, layer, collidesWith);
+        byKey.put(key, objectLayer);
+        return objectLayer;
+    }
+
+    /**
+     * Returns an object layer that pairs with exactly the body layers in {@code layerMask} (plus the
+     * catch-all layers), or {@code -1} for {@link CollisionLayers#ALL} and once the query range is full;
+     * callers then accept every layer and filter hits themselves. Not thread-safe; call between steps.
+     */
+    public int queryLayerFor(int layerMask) {
+        if (layerMask == CollisionLayers.ALL) {
+            return -1;
+        }
+        Integer existing = queryByMask.get(layerMask);
+        if (existing != null) {
+            return existing;
+        }
+        if (nextQuery >= NUM_OBJECT_LAYERS) {
+            return -1;
+        }
+        int objectLayer = nextQuery++;
+        query[objectLayer] = true;
+        register(objectLayer, 0, layerMask);
+        queryByMask.put(layerMask, objectLayer);
+        return objectLayer;
+    }
+
+    public int allocatedCount() {
+        return allocatedCount;
+    }
+
+    private void register(int objectLayer, int layer, int collidesWith) {
+        layers[objectLayer] = layer;
+        masks[objectLayer] = collidesWith;
+        allocated[allocatedCount++] = objectLayer;
+        for (int i = 0; i < allocatedCount; i++) {
+            int other = allocated[i];
+            if (shouldCollide(objectLayer, other)) {
+                pairFilter.enableCollision(objectLayer, other);
+            }
+        }
+    }
+
+    private boolean shouldCollide(int a, int b) {
+        if (query[a] || query[b]) {
+            if (query[a] && query[b]) {
+                return false;
+            }
+            int q = query[a] ? a : b;
+            int other = q == a ? b : a;
+            return isFallback(other) || CollisionLayers.matches(layers[other], masks[q]);
+        }
+        if (isStatic(a) && isStatic(b)) {
+            return false;
+        }
+        if (isFallback(a) || isFallback(b)) {
+            return true;
+        }
+        return CollisionLayers.collides(layers[a], masks[a], layers[b], masks[b]);
+    }
+
+    private static boolean isStatic(int objectLayer) {
+        return objectLayer < RANGE;
+    }
+
+    private static boolean isFallback(int objectLayer) {
+        return objectLayer == STATIC_FALLBACK || objectLayer == MOVING_FALLBACK;
+    }
+}
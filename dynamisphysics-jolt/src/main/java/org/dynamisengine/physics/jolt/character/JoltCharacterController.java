@@ -22,6 +22,7 @@ import org.dynamisengine.physics.api.world.CharacterState;
 import org.dynamisengine.physics.api.world.FootContactHint;
 import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
 import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.body.JoltObjectLayers;
 import org.dynamisengine.physics.jolt.event.JoltEventBuffer;
 import org.dynamisengine.physics.jolt.query.JoltRaycastExecutor;
 import org.dynamisengine.vectrix.core.Vector3f;
@@ -36,10 +37,10 @@ import static org.dynamisengine.physics.jolt.world.JoltConversions.toVector3f;
 
 public final class JoltCharacterController {
     private static final Vector3f UP = new Vector3f(0f, 1f, 0f);
-    private static final int MAX_OBJECT_LAYERS = 256;
 
     private final PhysicsSystem physicsSystem;
     private final JoltBodyRegistry bodyRegistry;
+    private final JoltObjectLayers objectLayers;
     private final JoltRaycastExecutor raycastExecutor;
     private final JoltEventBuffer eventBuffer;
     private final TempAllocator allocator;
@@ -54,12 +55,14 @@ public final class JoltCharacterController {
     public JoltCharacterController(
         PhysicsSystem physicsSystem,
         JoltBodyRegistry bodyRegistry,
+        JoltObjectLayers objectLayers,
         JoltRaycastExecutor raycastExecutor,
         JoltEventBuffer eventBuffer,
         TempAllocator allocator
     ) {
         this.physicsSystem = physicsSystem;
         this.bodyRegistry = bodyRegistry;
+        this.objectLayers = objectLayers;
         this.raycastExecutor = raycastExecutor;
         this.eventBuffer = eventBuffer;
         this.allocator = allocator;
@@ -77,7 +80,7 @@ public final class JoltCharacterController {
         settings.setCharacterPadding(org.dynamisengine.vectrix.core.Math.max(0.01f, descriptor.skinWidth()));
         settings.setMass(org.dynamisengine.vectrix.core.Math.max(1f, descriptor.mass()));
         settings.setMaxStrength(org.dynamisengine.vectrix.core.Math.max(1f, descriptor.pushForce()));
-        settings.setInnerBodyLayer(normalizeLayer(descriptor.layer()));
+        settings.setInnerBodyLayer(objectLayers.objectLayerFor(descriptor.layer(), descriptor.collidesWith(), false));
 
         float startY = descriptor.height() * 0.5f + descriptor.stepHeight() + 0.2f;
         RVec3 startPosition = new RVec3(0d, startY, 0d);
@@ -256,10 +259,6 @@ public final class JoltCharacterController {
         return c;
     }
 
-    private static int normalizeLayer(int layer) {
-        return Math.floorMod(layer, MAX_OBJECT_LAYERS);
-    }
-
     private record GroundHit(
         boolean hit,
         Vector3f normal,
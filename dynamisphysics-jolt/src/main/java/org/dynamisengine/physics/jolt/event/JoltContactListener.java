@@ -1,11 +1,17 @@
 package org.dynamisengine.physics.jolt.event;
 
 import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyInterface;
 import com.github.stephengold.joltjni.ContactManifold;
 import com.github.stephengold.joltjni.CustomContactListener;
 import com.github.stephengold.joltjni.enumerate.ValidateResult;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.ContactPairCache;
 import org.dynamisengine.physics.api.event.ContactPoint;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
+import org.dynamisengine.physics.api.event.SeparationEvent;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
 import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
 import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
@@ -16,10 +22,34 @@ import java.util.List;
 public final class JoltContactListener extends CustomContactListener {
     private final JoltBodyRegistry bodyRegistry;
     private final JoltEventBuffer eventBuffer;
+    // Touched only on the stepping thread, while JoltEventBuffer merges the job threads' contact records.
+    private final ContactPairCache touchingPairs = new ContactPairCache();
+    private final ContactPairCache.EndSink separations = this::separated;
+    private volatile ContactReportingLevel reportingLevel = ContactReportingLevel.ALL;
 
     public JoltContactListener(JoltBodyRegistry bodyRegistry, JoltEventBuffer eventBuffer) {
         this.bodyRegistry = bodyRegistry;
         this.eventBuffer = eventBuffer;
+        eventBuffer.setContactResolver(this::resolve);
+    }
+
+    /** World-wide reporting level, used for pairs where neither body has an override. */
+    public void setReportingLevel(ContactReportingLevel level) {
+        this.reportingLevel = level;
+    }
+
+    /**
+     * Closes the step after {@code PhysicsSystem.update}: pairs that got neither an added nor a persisted callback
+     * are reported as separated, unless both bodies are asleep or static (Jolt skips callbacks for those). The
+     * event buffer must have been published first so this step's contacts have touched their pairs.
+     */
+    public void endStep(BodyInterface bodyInterface) {
+        touchingPairs.endStep((a, b) -> asleep(bodyInterface, a) && asleep(bodyInterface, b), separations);
+    }
+
+    /** Forgets all touching pairs without reporting them, e.g. after the bodies were rebuilt by a restore. */
+    public void resetTouchingPairs() {
+        touchingPairs.clear();
     }
 
     @Override
@@ -40,7 +70,7 @@ public final class JoltContactListener extends CustomContactListener {
 
     @Override
     public void onContactRemoved(long subShapePairVa) {
-        // No-op for step 11.
+        // Removal is per sub-shape pair; body-pair ends are derived in endStep instead.
     }
 
     private void emitContact(long body1Va, long body2Va, long manifoldVa) {
@@ -54,24 +84,77 @@ public final class JoltContactListener extends CustomContactListener {
 
         int stableA = hA != null ? hA.bodyId() : Integer.MAX_VALUE;
         int stableB = hB != null ? hB.bodyId() : Integer.MAX_VALUE;
-        JoltBodyHandle first = stableA <= stableB ? hA : hB;
-        JoltBodyHandle second = stableA <= stableB ? hB : hA;
+        if (!levelFor(hA, hB).reportsBegin()) {
+            return;
+        }
 
         ContactManifold manifold = new ContactManifold(manifoldVa);
-        Vector3f normal = new Vector3f(manifold.getWorldSpaceNormal().getX(), manifold.getWorldSpaceNormal().getY(),
-            manifold.getWorldSpaceNormal().getZ());
-        Vector3f point = new Vector3f((float) manifold.getBaseOffset().xx(), (float) manifold.getBaseOffset().yy(),
-            (float) manifold.getBaseOffset().zz());
-        float depth = manifold.getPenetrationDepth();
+        boolean ordered = stableA <= stableB;
+        int subShape1 = manifold.getSubShapeId1();
+        int subShape2 = manifold.getSubShapeId2();
+        eventBuffer.addContact(
+            ordered ? hA : hB,
+            ordered ? hB : hA,
+            ordered ? stableA : stableB,
+            ordered ? stableB : stableA,
+            ordered ? subShape1 : subShape2,
+            ordered ? subShape2 : subShape1,
+            (float) manifold.getBaseOffset().xx(),
+            (float) manifold.getBaseOffset().yy(),
+            (float) manifold.getBaseOffset().zz(),
+            manifold.getWorldSpaceNormal().getX(),
+            manifold.getWorldSpaceNormal().getY(),
+            manifold.getWorldSpaceNormal().getZ(),
+            manifold.getPenetrationDepth()
+        );
+    }
 
-        eventBuffer.add(new ContactEvent(
+    /** Runs on the stepping thread for each merged contact record, in sorted order. */
+    private ContactEvent resolve(
+        JoltBodyHandle first, JoltBodyHandle second, int bodyIdA, int bodyIdB,
+        float px, float py, float pz, float nx, float ny, float nz, float depth
+    ) {
+        ContactReportingLevel level = levelFor(first, second);
+        if (!level.reportsBegin()) {
+            return null;
+        }
+        boolean began = touchingPairs.touch(ContactPairCache.key(bodyIdA, bodyIdB), first, second, level);
+        if (!began && !level.reportsPersist()) {
+            return null;
+        }
+        return new ContactEvent(
             first,
             second,
-            List.of(new ContactPoint(point, normal, depth, 0f)),
+            List.of(new ContactPoint(new Vector3f(px, py, pz), new Vector3f(nx, ny, nz), depth, 0f)),
             0f,
             new Vector3f(),
             first != null ? first.config().material() : PhysicsMaterial.DEFAULT,
             second != null ? second.config().material() : PhysicsMaterial.DEFAULT
-        ));
+        );
+    }
+
+    private ContactReportingLevel levelFor(JoltBodyHandle a, JoltBodyHandle b) {
+        return ContactReportingLevel.resolve(
+            reportingLevel,
+            a != null ? a.contactReporting() : null,
+            b != null ? b.contactReporting() : null
+        );
+    }
+
+    private void separated(RigidBodyHandle a, RigidBodyHandle b, ContactReportingLevel level) {
+        if (level.reportsEnd()) {
+            eventBuffer.add(new SeparationEvent(a, b), stableId(a), stableId(b));
+        }
+    }
+
+    private static int stableId(RigidBodyHandle h) {
+        return h instanceof JoltBodyHandle jh ? jh.bodyId() : Integer.MAX_VALUE;
+    }
+
+    private static boolean asleep(BodyInterface bodyInterface, RigidBodyHandle h) {
+        if (!(h instanceof JoltBodyHandle jh)) {
+            return true;
+        }
+        return jh.isAlive() && (jh.mode() == BodyMode.STATIC || !bodyInterface.isActive(jh.joltBodyId()));
     }
 }
@@ -1,61 +1,311 @@
 package org.dynamisengine.physics.jolt.event;
 
-import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.event.ConstraintBreakEvent;
 import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.FootContactEvent;
+import org.dynamisengine.physics.api.event.FractureEvent;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.event.SeparationEvent;
+import org.dynamisengine.physics.api.event.SleepEvent;
+import org.dynamisengine.physics.api.event.SplashEvent;
+import org.dynamisengine.physics.api.event.TriggerEnterEvent;
+import org.dynamisengine.physics.api.event.TriggerExitEvent;
+import org.dynamisengine.physics.api.event.VehicleAirborneEvent;
+import org.dynamisengine.physics.api.event.WakeEvent;
+import org.dynamisengine.physics.api.event.WheelSlipEvent;
 import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Collects events without locking: every thread that reports (Jolt's job threads during
+ * {@code PhysicsSystem.update}, the stepping thread otherwise) appends to its own buffer. {@link #publish()} runs on
+ * the stepping thread once the producers are idle. It merges the buffers and stable-sorts them on primitive keys:
+ * event type, then stable body ids A and B, then the two sub-shape ids. The result goes to the typed channels in
+ * the same order no matter which thread reported what.
+ *
+ * <p>A buffer belongs to its thread until the thread dies; {@link #publish()} then drops it from the merge and keeps it
+ * for the next new thread, so thread churn (short-lived threads, re-attached native workers, pooled steppers) does
+ * not grow the set of buffers beyond the threads alive at once.
+ *
+ * <p>Contacts are recorded as primitives and only turned into {@link ContactEvent}s during the merge, by the
+ * {@link ContactResolver}. That step also does the pair tracking that needs a single thread.
+ */
 public final class JoltEventBuffer {
-    private final List<PhysicsEvent> buffer = new ArrayList<>(256);
+    /** Turns a merged contact record into an event, or {@code null} when the reporting level drops it. */
+    @FunctionalInterface
+    public interface ContactResolver {
+        ContactEvent resolve(
+            JoltBodyHandle first, JoltBodyHandle second, int bodyIdA, int bodyIdB,
+            float px, float py, float pz, float nx, float ny, float nz, float depth
+        );
+    }
+
+    private static final int CONTACT_RANK = 1;
+
+    private final CopyOnWriteArrayList<Records> threadBuffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Records> local = ThreadLocal.withInitial(this::register);
+    // Buffers of dead threads, guarded by itself.
+    private final ArrayDeque<Records> recycled = new ArrayDeque<>();
+    private final Records merged = new Records();
+    private final PhysicsEventChannels channels = new PhysicsEventChannels();
+    private ContactResolver contactResolver;
+    private int[] order = new int[256];
+    private int[] scratch = new int[256];
 
+    public void setContactResolver(ContactResolver resolver) {
+        this.contactResolver = resolver;
+    }
+
+    /** Adds an event with no body keys; events of one type keep the order in which one thread added them. */
     public void add(PhysicsEvent event) {
-        synchronized (buffer) {
-            buffer.add(event);
+        local.get().add(rank(event), 0, 0, 0, 0, event, null, null);
+    }
+
+    /** Adds an event ordered by the given stable body ids within its type. */
+    public void add(PhysicsEvent event, int bodyIdA, int bodyIdB) {
+        local.get().add(rank(event), bodyIdA, bodyIdB, 0, 0, event, null, null);
+    }
+
+    /** Records a contact manifold; {@code bodyIdA <= bodyIdB} and the sub-shape ids follow the same order. */
+    public void addContact(
+        JoltBodyHandle first, JoltBodyHandle second, int bodyIdA, int bodyIdB, int subShapeA, int subShapeB,
+        float px, float py, float pz, float nx, float ny, float nz, float depth
+    ) {
+        Records r = local.get();
+        int slot = r.add(CONTACT_RANK, bodyIdA, bodyIdB, subShapeA, subShapeB, null, first, second);
+        int o = slot * Records.CONTACT_STRIDE;
+        float[] d = r.contactData;
+        d[o] = px;
+        d[o + 1] = py;
+        d[o + 2] = pz;
+        d[o + 3] = nx;
+        d[o + 4] = ny;
+        d[o + 5] = nz;
+        d[o + 6] = depth;
+    }
+
+    /**
+     * Merges every thread's records, sorts them and publishes them to {@link #channels()}. Call from the stepping
+     * thread, never while {@code PhysicsSystem.update} runs.
+     */
+    public void publish() {
+        merged.clear();
+        for (Records r : threadBuffers) {
+            // Check liveness first: once the owner is seen dead, all its appends are visible to the move.
+            boolean dead = !r.owner.isAlive();
+            r.moveTo(merged);
+            if (dead) {
+                release(r);
+            }
         }
+        int n = merged.count;
+        if (n == 0) {
+            return;
+        }
+        sort(n);
+        float[] d = merged.contactData;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            PhysicsEvent event = merged.events[i];
+            if (event == null) {
+                if (contactResolver == null) {
+                    continue;
+                }
+                int o = i * Records.CONTACT_STRIDE;
+                event = contactResolver.resolve(
+                    merged.first[i], merged.second[i],
+                    (int) merged.key1[i], (int) (merged.key2[i] >>> 32),
+                    d[o], d[o + 1], d[o + 2], d[o + 3], d[o + 4], d[o + 5], d[o + 6]
+                );
+                if (event == null) {
+                    continue;
+                }
+            }
+            channels.publish(event);
+        }
+        merged.clear();
     }
 
     public List<PhysicsEvent> drain() {
-        synchronized (buffer) {
-            if (buffer.isEmpty()) {
-                return List.of();
+        publish();
+        return channels.drainAll();
+    }
+
+    public void clear() {
+        for (Records r : threadBuffers) {
+            r.clear();
+        }
+        channels.clear();
+    }
+
+    public PhysicsEventChannels channels() {
+        return channels;
+    }
+
+    /** Buffers held for live threads plus recycled ones; bounded by the number of threads alive at once. */
+    int retainedBufferCount() {
+        synchronized (recycled) {
+            return threadBuffers.size() + recycled.size();
+        }
+    }
+
+    private Records register() {
+        Records r;
+        synchronized (recycled) {
+            r = recycled.poll();
+        }
+        if (r == null) {
+            r = new Records();
+        }
+        r.owner = Thread.currentThread();
+        threadBuffers.add(r);
+        return r;
+    }
+
+    /** Called after the dead owner's records were moved out; nothing can append to it any more. */
+    private void release(Records r) {
+        threadBuffers.remove(r);
+        r.owner = null;
+        synchronized (recycled) {
+            recycled.push(r);
+        }
+    }
+
+    /** Stable bottom-up merge sort of {@code [0, n)} into {@link #order}. */
+    private void sort(int n) {
+        if (order.length < n) {
+            int capacity = Math.max(n, order.length * 2);
+            order = new int[capacity];
+            scratch = new int[capacity];
+        }
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] src = order;
+        int[] dst = scratch;
+        for (int width = 1; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + (width << 1), n);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+                }
+                while (i < mid) {
+                    dst[k++] = src[i++];
+                }
+                while (j < hi) {
+                    dst[k++] = src[j++];
+                }
             }
-            List<PhysicsEvent> copy = new ArrayList<>(buffer);
-            copy.sort(EVENT_ORDER);
-            buffer.clear();
-            return List.copyOf(copy);
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, n);
         }
     }
 
-    public void clear() {
-        synchronized (buffer) {
-            buffer.clear();
+    private int compare(int a, int b) {
+        int c = Long.compare(merged.key1[a], merged.key1[b]);
+        if (c != 0) {
+            return c;
         }
+        c = Long.compare(merged.key2[a], merged.key2[b]);
+        return c != 0 ? c : Integer.compareUnsigned(merged.key3[a], merged.key3[b]);
+    }
+
+    /** Type order used for merging; alphabetical by simple name, as the previous class-name comparator was. */
+    private static int rank(PhysicsEvent event) {
+        return switch (event) {
+            case ConstraintBreakEvent e -> 0;
+            case ContactEvent e -> CONTACT_RANK;
+            case FootContactEvent e -> 2;
+            case FractureEvent e -> 3;
+            case SeparationEvent e -> 4;
+            case SleepEvent e -> 5;
+            case SplashEvent e -> 6;
+            case TriggerEnterEvent e -> 7;
+            case TriggerExitEvent e -> 8;
+            case VehicleAirborneEvent e -> 9;
+            case WakeEvent e -> 10;
+            case WheelSlipEvent e -> 11;
+        };
     }
 
-    private static final Comparator<PhysicsEvent> EVENT_ORDER = (a, b) -> {
-        int byType = a.getClass().getName().compareTo(b.getClass().getName());
-        if (byType != 0) {
-            return byType;
+    /** Append-only records as parallel arrays; one instance per producing thread plus one for the merge. */
+    private static final class Records {
+        static final int CONTACT_STRIDE = 7;
+
+        Thread owner;
+        int count;
+        // key1 = rank << 32 | bodyIdA, key2 = bodyIdB << 32 | subShapeA (unsigned), key3 = subShapeB.
+        long[] key1 = new long[64];
+        long[] key2 = new long[64];
+        int[] key3 = new int[64];
+        PhysicsEvent[] events = new PhysicsEvent[64];
+        JoltBodyHandle[] first = new JoltBodyHandle[64];
+        JoltBodyHandle[] second = new JoltBodyHandle[64];
+        float[] contactData = new float[64 * CONTACT_STRIDE];
+
+        int add(int rank, int bodyIdA, int bodyIdB, int subShapeA, int subShapeB,
+            PhysicsEvent event, JoltBodyHandle a, JoltBodyHandle b) {
+            if (count == key1.length) {
+                grow(count * 2);
+            }
+            int slot = count++;
+            key1[slot] = ((long) rank << 32) | (bodyIdA & 0xFFFF_FFFFL);
+            key2[slot] = ((long) bodyIdB << 32) | (subShapeA & 0xFFFF_FFFFL);
+            key3[slot] = subShapeB;
+            events[slot] = event;
+            first[slot] = a;
+            second[slot] = b;
+            return slot;
         }
-        if (a instanceof ContactEvent ca && b instanceof ContactEvent cb) {
-            int cmpA = Integer.compare(bodyId(ca.bodyA()), bodyId(cb.bodyA()));
-            if (cmpA != 0) {
-                return cmpA;
+
+        /** Appends every record to {@code dst} and empties this buffer. */
+        void moveTo(Records dst) {
+            if (count == 0) {
+                return;
             }
-            int cmpB = Integer.compare(bodyId(ca.bodyB()), bodyId(cb.bodyB()));
-            if (cmpB != 0) {
-                return cmpB;
+            int need = dst.count + count;
+            if (need > dst.key1.length) {
+                dst.grow(Math.max(need, dst.key1.length * 2));
             }
-            return Integer.compare(ca.points().size(), cb.points().size());
+            System.arraycopy(key1, 0, dst.key1, dst.count, count);
+            System.arraycopy(key2, 0, dst.key2, dst.count, count);
+            System.arraycopy(key3, 0, dst.key3, dst.count, count);
+            System.arraycopy(events, 0, dst.events, dst.count, count);
+            System.arraycopy(first, 0, dst.first, dst.count, count);
+            System.arraycopy(second, 0, dst.second, dst.count, count);
+            System.arraycopy(contactData, 0, dst.contactData, dst.count * CONTACT_STRIDE, count * CONTACT_STRIDE);
+            dst.count = need;
+            clear();
         }
-        return 0;
-    };
 
-    private static int bodyId(RigidBodyHandle handle) {
-        return handle instanceof JoltBodyHandle jh ? jh.bodyId() : Integer.MAX_VALUE;
+        void clear() {
+            Arrays.fill(events, 0, count, null);
+            Arrays.fill(first, 0, count, null);
+            Arrays.fill(second, 0, count, null);
+            count = 0;
+        }
+
+        private void grow(int capacity) {
+            key1 = Arrays.copyOf(key1, capacity);
+            key2 = Arrays.copyOf(key2, capacity);
+            key3 = Arrays.copyOf(key3, capacity);
+            events = Arrays.copyOf(events, capacity);
+            first = Arrays.copyOf(first, capacity);
+            second = Arrays.copyOf(second, capacity);
+            contactData = Arrays.copyOf(contactData, capacity * CONTACT_STRIDE);
+        }
     }
 }
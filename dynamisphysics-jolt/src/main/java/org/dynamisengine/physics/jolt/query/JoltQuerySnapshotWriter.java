@@ -0,0 +1,191 @@
+package org.dynamisengine.physics.jolt.query;
+
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BodyLockRead;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Quat;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import org.dynamisengine.collision.shapes.BoxCollisionShape;
+import org.dynamisengine.collision.shapes.CapsuleCollisionShape;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.collision.shapes.CompoundCollisionShape;
+import org.dynamisengine.collision.shapes.ConvexHullCollisionShape;
+import org.dynamisengine.collision.shapes.CylinderCollisionShape;
+import org.dynamisengine.collision.shapes.PlaneCollisionShape;
+import org.dynamisengine.collision.shapes.SphereCollisionShape;
+import org.dynamisengine.collision.shapes.TriangleMeshCollisionShape;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.QueryTriangles;
+import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
+import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.shape.JoltCompoundMassProperties;
+import org.dynamisengine.vectrix.affine.Transformf;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Copies every live body into a {@link QuerySnapshot}. Primitives come from the body config plus the
+ * current transform (Jolt capsules and cylinders already run along local Y); meshes and convex hulls become
+ * {@link QueryTriangles} built once per shape, and compounds are expanded child by child. Only shapes with none of
+ * those forms fall back to Jolt's world bounds. Call from the stepping thread.
+ */
+public final class JoltQuerySnapshotWriter {
+    private final PhysicsSystem physicsSystem;
+    private final BodyInterface bodyInterface;
+    private final JoltBodyRegistry bodyRegistry;
+    private final QuerySnapshot.Builder builder = QuerySnapshot.builder();
+    private final RVec3 position = new RVec3();
+    private final Quat rotation = new Quat();
+    private final Map<CollisionShape, QueryTriangles> trianglesByShape = new WeakHashMap<>();
+    private final Map<CollisionShape, Vector3f> compoundCentres = new WeakHashMap<>();
+
+    public JoltQuerySnapshotWriter(PhysicsSystem physicsSystem, JoltBodyRegistry bodyRegistry) {
+        this.physicsSystem = physicsSystem;
+        this.bodyInterface = physicsSystem.getBodyInterface();
+        this.bodyRegistry = bodyRegistry;
+    }
+
+    public QuerySnapshot write(long sequence) {
+        builder.reset();
+        for (JoltBodyHandle handle : bodyRegistry.allHandles()) {
+            if (handle.isAlive()) {
+                add(handle);
+            }
+        }
+        return builder.build(sequence);
+    }
+
+    private void add(JoltBodyHandle handle) {
+        int layer = handle.layer();
+        PhysicsMaterial material = handle.config().material();
+        CollisionShape shape = handle.config().shape();
+        bodyInterface.getPositionAndRotation(handle.joltBodyId(), position, rotation);
+        float x = (float) position.xx();
+        float y = (float) position.yy();
+        float z = (float) position.zz();
+        float qx = rotation.getX();
+        float qy = rotation.getY();
+        float qz = rotation.getZ();
+        float qw = rotation.getW();
+        if (!addShape(handle, layer, material, shape, x, y, z, qx, qy, qz, qw)) {
+            addBounds(handle, layer, material);
+        }
+    }
+
+    /** Adds {@code shape} placed at {@code (x, y, z)} with rotation {@code q}; false if it has no exact form. */
+    private boolean addShape(
+        JoltBodyHandle handle, int layer, PhysicsMaterial material, CollisionShape shape,
+        float x, float y, float z, float qx, float qy, float qz, float qw
+    ) {
+        switch (shape.shapeType()) {
+            case SPHERE -> builder.addSphere(handle, layer, material, x, y, z, ((SphereCollisionShape) shape).radius());
+            case BOX -> {
+                BoxCollisionShape box = (BoxCollisionShape) shape;
+                builder.addBox(handle, layer, material, x, y, z, qx, qy, qz, qw,
+                    box.halfExtentX(), box.halfExtentY(), box.halfExtentZ());
+            }
+            case CAPSULE -> {
+                CapsuleCollisionShape capsule = (CapsuleCollisionShape) shape;
+                builder.addCapsule(handle, layer, material, x, y, z, qx, qy, qz, qw,
+                    capsule.radius(), capsule.height() * 0.5f);
+            }
+            case CYLINDER -> {
+                CylinderCollisionShape cylinder = (CylinderCollisionShape) shape;
+                builder.addCylinder(handle, layer, material, x, y, z, qx, qy, qz, qw,
+                    cylinder.radius(), cylinder.height() * 0.5f);
+            }
+            case PLANE -> {
+                // Jolt planes are n . p + c = 0 in body space; rotate n and fold the body origin into the offset.
+                PlaneCollisionShape plane = (PlaneCollisionShape) shape;
+                float nx = rotate(qx, qy, qz, qw, plane.normalX(), plane.normalY(), plane.normalZ(), 0);
+                float ny = rotate(qx, qy, qz, qw, plane.normalX(), plane.normalY(), plane.normalZ(), 1);
+                float nz = rotate(qx, qy, qz, qw, plane.normalX(), plane.normalY(), plane.normalZ(), 2);
+                builder.addPlane(handle, layer, material, nx, ny, nz, nx * x + ny * y + nz * z - plane.distance());
+            }
+            case TRIANGLE_MESH, CONVEX_HULL -> {
+                QueryTriangles triangles = trianglesByShape.computeIfAbsent(shape, JoltQuerySnapshotWriter::toTriangles);
+                if (triangles == null) {
+                    return false;
+                }
+                builder.addTriangles(handle, layer, material, x, y, z, qx, qy, qz, qw, triangles);
+            }
+            case COMPOUND -> {
+                return addCompound(handle, layer, material, (CompoundCollisionShape) shape, x, y, z, qx, qy, qz, qw);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Children sit at their local transform minus the compound's centre of mass, as the shape adapter built them. */
+    private boolean addCompound(
+        JoltBodyHandle handle, int layer, PhysicsMaterial material, CompoundCollisionShape compound,
+        float x, float y, float z, float qx, float qy, float qz, float qw
+    ) {
+        Vector3f com = compoundCentres.computeIfAbsent(compound,
+            ignored -> JoltCompoundMassProperties.computeCenterOfMass(compound));
+        boolean exact = true;
+        for (int i = 0; i < compound.childCount(); i++) {
+            Transformf t = compound.localTransforms().get(i);
+            float lx = t.translation.x() - com.x();
+            float ly = t.translation.y() - com.y();
+            float lz = t.translation.z() - com.z();
+            float rx = t.rotation.x();
+            float ry = t.rotation.y();
+            float rz = t.rotation.z();
+            float rw = t.rotation.w();
+            exact &= addShape(handle, layer, material, compound.children().get(i),
+                x + rotate(qx, qy, qz, qw, lx, ly, lz, 0),
+                y + rotate(qx, qy, qz, qw, lx, ly, lz, 1),
+                z + rotate(qx, qy, qz, qw, lx, ly, lz, 2),
+                qw * rx + qx * rw + qy * rz - qz * ry,
+                qw * ry - qx * rz + qy * rw + qz * rx,
+                qw * rz + qx * ry - qy * rx + qz * rw,
+                qw * rw - qx * rx - qy * ry - qz * rz);
+        }
+        return exact;
+    }
+
+    private static QueryTriangles toTriangles(CollisionShape shape) {
+        return switch (shape) {
+            case TriangleMeshCollisionShape mesh -> QueryTriangles.of(mesh.vertices(), mesh.indices());
+            case ConvexHullCollisionShape hull -> QueryTriangles.of(hull.vertices(), hull.indices());
+            default -> null;
+        };
+    }
+
+    private void addBounds(JoltBodyHandle handle, int layer, PhysicsMaterial material) {
+        BodyLockRead lock = new BodyLockRead(physicsSystem.getBodyLockInterface(), handle.joltBodyId());
+        try {
+            if (!lock.succeeded()) {
+                return;
+            }
+            ConstAaBox box = lock.getBody().getWorldSpaceBounds();
+            Vec3 min = box.getMin();
+            Vec3 max = box.getMax();
+            builder.addBounds(handle, layer, material, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+        } finally {
+            lock.releaseLock();
+        }
+    }
+
+    /** Component {@code axis} of {@code (vx, vy, vz)} rotated by the unit quaternion {@code (qx, qy, qz, qw)}. */
+    private static float rotate(float qx, float qy, float qz, float qw, float vx, float vy, float vz, int axis) {
+        // v' = v + 2w (q x v) + 2 q x (q x v)
+        float tx = 2f * (qy * vz - qz * vy);
+        float ty = 2f * (qz * vx - qx * vz);
+        float tz = 2f * (qx * vy - qy * vx);
+        return switch (axis) {
+            case 0 -> vx + qw * tx + (qy * tz - qz * ty);
+            case 1 -> vy + qw * ty + (qz * tx - qx * tz);
+            default -> vz + qw * tz + (qx * ty - qy * tx);
+        };
+    }
+}
@@ -1,63 +1,249 @@
 package org.dynamisengine.physics.jolt.query;
 
-import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.AllHitCastRayCollector;
+import com.github.stephengold.joltjni.BodyFilter;
+import com.github.stephengold.joltjni.BodyLockRead;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.DefaultBroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.DefaultObjectLayerFilter;
 import com.github.stephengold.joltjni.NarrowPhaseQuery;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
 import com.github.stephengold.joltjni.RRayCast;
 import com.github.stephengold.joltjni.RVec3;
 import com.github.stephengold.joltjni.RayCastResult;
+import com.github.stephengold.joltjni.RayCastSettings;
+import com.github.stephengold.joltjni.ShapeFilter;
 import com.github.stephengold.joltjni.Vec3;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.query.QueryFanOut;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
 import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.body.JoltObjectLayers;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 import static org.dynamisengine.physics.jolt.world.JoltConversions.toVector3f;
 
+/**
+ * Ray queries against the Jolt narrow phase. Layer masks map to a query object layer so Jolt rejects
+ * masked bodies during traversal; hits are re-checked against the mask to cover catch-all layers and masks
+ * that got no query layer. {@link CollisionLayers#ALL} skips layer filtering entirely.
+ */
 public final class JoltRaycastExecutor {
+    private record LayerFilters(BroadPhaseLayerFilter broadPhase, ObjectLayerFilter object) {}
+
+    private static final int BATCH_CHUNK_SIZE = 64;
+    private static final LayerFilters ACCEPT_ALL = new LayerFilters(new BroadPhaseLayerFilter(), new ObjectLayerFilter());
+
+    private final PhysicsSystem physicsSystem;
     private final NarrowPhaseQuery query;
-    private final BodyInterface bodyInterface;
     private final JoltBodyRegistry bodyRegistry;
+    private final JoltObjectLayers objectLayers;
+    private final Map<Integer, LayerFilters> filtersByMask = new HashMap<>();
+    private final RayCastSettings settings = new RayCastSettings();
+    private final BodyFilter bodyFilter = new BodyFilter();
+    private final ShapeFilter shapeFilter = new ShapeFilter();
+    private final ConcurrentLinkedQueue<BatchContext> idleContexts = new ConcurrentLinkedQueue<>();
 
-    public JoltRaycastExecutor(NarrowPhaseQuery query, BodyInterface bodyInterface, JoltBodyRegistry bodyRegistry) {
-        this.query = query;
-        this.bodyInterface = bodyInterface;
+    public JoltRaycastExecutor(PhysicsSystem physicsSystem, JoltBodyRegistry bodyRegistry, JoltObjectLayers objectLayers) {
+        this.physicsSystem = physicsSystem;
+        this.query = (NarrowPhaseQuery) physicsSystem.getNarrowPhaseQuery();
         this.bodyRegistry = bodyRegistry;
+        this.objectLayers = objectLayers;
     }
 
     public Optional<RaycastResult> raycastClosest(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
-        Vec3 direction = new Vec3(dir.x(), dir.y(), dir.z());
-        if (direction.lengthSq() < 1e-12f) {
+        RRayCast ray = toRay(origin, dir, maxDist);
+        if (ray == null) {
             return Optional.empty();
         }
-        direction.normalizeInPlace();
-        direction.scaleInPlace(maxDist);
-
-        RRayCast ray = new RRayCast(new RVec3(origin.x(), origin.y(), origin.z()), direction);
+        LayerFilters filters = filtersFor(layerMask);
         RayCastResult hit = new RayCastResult();
-        if (!query.castRay(ray, hit)) {
+        if (!query.castRay(ray, hit, filters.broadPhase(), filters.object(), bodyFilter)) {
             return Optional.empty();
         }
+        JoltBodyHandle handle = bodyRegistry.getByJoltId(hit.getBodyId());
+        if (handle != null && !CollisionLayers.matches(handle.layer(), layerMask)) {
+            // Only reachable through a catch-all layer; fall back to the filtered multi-hit path.
+            List<RaycastResult> all = collectAll(ray, filters, layerMask);
+            return all.isEmpty() ? Optional.empty() : Optional.of(all.get(0));
+        }
+        return Optional.of(toResult(ray, hit, handle));
+    }
 
-        float fraction = hit.getFraction();
-        Vector3f point = toVector3f(ray.getPointOnRay(fraction));
-        int joltBodyId = hit.getBodyId();
-        JoltBodyHandle handle = bodyRegistry.getByJoltId(joltBodyId);
-        Vector3f normal = new Vector3f(0f, 1f, 0f);
+    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        RRayCast ray = toRay(origin, dir, maxDist);
+        if (ray == null) {
+            return List.of();
+        }
+        return collectAll(ray, filtersFor(layerMask), layerMask);
+    }
+
+    /**
+     * Closest hit per ray of {@code rays} into {@code out}. Layer filters are resolved once on the calling
+     * thread; the casts themselves only read the narrow phase, so ranges of rays run on {@code executor}
+     * ({@code null} keeps the batch on the calling thread). Each range borrows a {@link BatchContext} from a pool,
+     * so steady-state batches allocate no ray or result objects. Call between steps.
+     */
+    public int raycastBatch(RaycastBatch rays, RaycastHitBuffer out, Executor executor) {
+        rays.checkTarget(out);
+        int count = rays.count();
+        out.setCount(count);
+        LayerFilters filters = filtersFor(rays.layerMask());
+        QueryFanOut.run(executor, count, BATCH_CHUNK_SIZE, (from, to) -> castRange(rays, out, filters, from, to));
+        int hits = 0;
+        boolean[] hitFlags = out.hits();
+        for (int i = 0; i < count; i++) {
+            if (hitFlags[i]) {
+                hits++;
+            }
+        }
+        return hits;
+    }
 
-        return Optional.of(new RaycastResult(
+    private void castRange(RaycastBatch rays, RaycastHitBuffer out, LayerFilters filters, int from, int to) {
+        BatchContext context = idleContexts.poll();
+        if (context == null) {
+            context = new BatchContext();
+        }
+        try {
+            context.castRange(rays, out, filters, from, to);
+        } finally {
+            idleContexts.offer(context);
+        }
+    }
+
+    /** Per-worker ray, result and collector objects, reset for every ray. */
+    private final class BatchContext {
+        final RVec3 origin = new RVec3();
+        final Vec3 direction = new Vec3();
+        final RRayCast ray = new RRayCast(origin, direction);
+        final RayCastResult hit = new RayCastResult();
+        final AllHitCastRayCollector collector = new AllHitCastRayCollector();
+
+        void castRange(RaycastBatch rays, RaycastHitBuffer out, LayerFilters filters, int from, int to) {
+            float[] origins = rays.origins();
+            float[] directions = rays.directions();
+            float[] maxDistances = rays.maxDistances();
+            int layerMask = rays.layerMask();
+            for (int i = from; i < to; i++) {
+                int base = i * RaycastBatch.VECTOR_STRIDE;
+                direction.set(directions[base], directions[base + 1], directions[base + 2]);
+                if (direction.lengthSq() < 1e-12f || !(maxDistances[i] > 0f)) {
+                    out.clear(i);
+                    continue;
+                }
+                direction.normalizeInPlace();
+                direction.scaleInPlace(maxDistances[i]);
+                origin.set(origins[base], origins[base + 1], origins[base + 2]);
+                ray.setOrigin(origin);
+                ray.setDirection(direction);
+                hit.reset();
+                if (!query.castRay(ray, hit, filters.broadPhase(), filters.object(), bodyFilter)) {
+                    out.clear(i);
+                    continue;
+                }
+                JoltBodyHandle handle = bodyRegistry.getByJoltId(hit.getBodyId());
+                if (handle != null && !CollisionLayers.matches(handle.layer(), layerMask)) {
+                    collector.reset();
+                    List<RaycastResult> all = collectAll(ray, filters, layerMask, collector);
+                    if (all.isEmpty()) {
+                        out.clear(i);
+                    } else {
+                        out.set(i, all.get(0));
+                    }
+                    continue;
+                }
+                RVec3 point = ray.getPointOnRay(hit.getFraction());
+                Vector3f normal = surfaceNormal(hit, point);
+                out.set(i, handle, hit.getFraction(), handle != null ? handle.layer() : 0,
+                    (float) point.xx(), (float) point.yy(), (float) point.zz(), normal.x(), normal.y(), normal.z());
+            }
+        }
+    }
+
+    private List<RaycastResult> collectAll(RRayCast ray, LayerFilters filters, int layerMask) {
+        return collectAll(ray, filters, layerMask, new AllHitCastRayCollector());
+    }
+
+    private List<RaycastResult> collectAll(RRayCast ray, LayerFilters filters, int layerMask,
+        AllHitCastRayCollector collector) {
+        query.castRay(ray, settings, collector, filters.broadPhase(), filters.object(), bodyFilter, shapeFilter);
+        List<RaycastResult> results = new ArrayList<>();
+        for (RayCastResult hit : collector.getHits()) {
+            JoltBodyHandle handle = bodyRegistry.getByJoltId(hit.getBodyId());
+            if (handle != null && !CollisionLayers.matches(handle.layer(), layerMask)) {
+                continue;
+            }
+            results.add(toResult(ray, hit, handle));
+        }
+        results.sort((a, b) -> Float.compare(a.fraction(), b.fraction()));
+        return results;
+    }
+
+    private RaycastResult toResult(RRayCast ray, RayCastResult hit, JoltBodyHandle handle) {
+        float fraction = hit.getFraction();
+        RVec3 point = ray.getPointOnRay(fraction);
+        return new RaycastResult(
             handle,
-            point,
-            normal,
+            toVector3f(point),
+            surfaceNormal(hit, point),
             fraction,
-            handle != null ? handle.config().material() : org.dynamisengine.physics.api.material.PhysicsMaterial.DEFAULT,
+            handle != null ? handle.config().material() : PhysicsMaterial.DEFAULT,
             handle != null ? handle.layer() : 0
-        ));
+        );
     }
 
-    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
-        return raycastClosest(origin, dir, maxDist, layerMask).stream().toList();
+    /** Normal of the hit sub-shape at {@code point}; falls back to +Y if the body cannot be locked. */
+    private Vector3f surfaceNormal(RayCastResult hit, RVec3 point) {
+        BodyLockRead lock = new BodyLockRead(physicsSystem.getBodyLockInterface(), hit.getBodyId());
+        try {
+            if (!lock.succeeded()) {
+                return new Vector3f(0f, 1f, 0f);
+            }
+            return toVector3f(lock.getBody().getWorldSpaceSurfaceNormal(hit.getSubShapeId2(), point));
+        } finally {
+            lock.releaseLock();
+        }
+    }
+
+    private LayerFilters filtersFor(int layerMask) {
+        if (layerMask == CollisionLayers.ALL) {
+            return ACCEPT_ALL;
+        }
+        LayerFilters filters = filtersByMask.get(layerMask);
+        if (filters != null) {
+            return filters;
+        }
+        int queryLayer = objectLayers.queryLayerFor(layerMask);
+        filters = queryLayer < 0
+            ? ACCEPT_ALL
+            : new LayerFilters(
+                new DefaultBroadPhaseLayerFilter(objectLayers.objectVsBroadPhase(), queryLayer),
+                new DefaultObjectLayerFilter(objectLayers.pairFilter(), queryLayer));
+        filtersByMask.put(layerMask, filters);
+        return filters;
+    }
+
+    private static RRayCast toRay(Vector3f origin, Vector3f dir, float maxDist) {
+        Vec3 direction = new Vec3(dir.x(), dir.y(), dir.z());
+        if (direction.lengthSq() < 1e-12f) {
+            return null;
+        }
+        direction.normalizeInPlace();
+        direction.scaleInPlace(maxDist);
+        return new RRayCast(new RVec3(origin.x(), origin.y(), origin.z()), direction);
     }
 }
@@ -0,0 +1,78 @@
+package org.dynamisengine.physics.jolt.query;
+
+import com.github.stephengold.joltjni.AllHitCastShapeCollector;
+import com.github.stephengold.joltjni.NarrowPhaseQuery;
+import com.github.stephengold.joltjni.RMat44;
+import com.github.stephengold.joltjni.RShapeCast;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.ShapeCastResult;
+import com.github.stephengold.joltjni.ShapeCastSettings;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
+import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.shape.JoltShapeAdapter;
+import org.dynamisengine.vectrix.core.Vector3f;
+
+import java.util.Optional;
+
+/** Swept-shape queries through {@code NarrowPhaseQuery.castShape}; the closest hit within {@code layerMask} wins. */
+public final class JoltShapecastExecutor {
+    private static final Vec3 UNIT_SCALE = new Vec3(1f, 1f, 1f);
+
+    private final NarrowPhaseQuery query;
+    private final JoltBodyRegistry bodyRegistry;
+    private final ShapeCastSettings settings = new ShapeCastSettings();
+    private final RVec3 baseOffset = new RVec3();
+
+    public JoltShapecastExecutor(NarrowPhaseQuery query, JoltBodyRegistry bodyRegistry) {
+        this.query = query;
+        this.bodyRegistry = bodyRegistry;
+    }
+
+    public Optional<org.dynamisengine.physics.api.query.ShapecastResult> shapecast(
+        CollisionShape shape,
+        Vector3f from,
+        Vector3f to,
+        int layerMask
+    ) {
+        ConstShape joltShape = JoltShapeAdapter.toJoltShape(shape);
+        RMat44 start = RMat44.sTranslation(new RVec3(from.x(), from.y(), from.z()));
+        Vec3 direction = new Vec3(to.x() - from.x(), to.y() - from.y(), to.z() - from.z());
+        RShapeCast cast = new RShapeCast(joltShape, UNIT_SCALE, start, direction);
+
+        AllHitCastShapeCollector collector = new AllHitCastShapeCollector();
+        query.castShape(cast, settings, baseOffset, collector);
+
+        ShapeCastResult best = null;
+        JoltBodyHandle bestHandle = null;
+        for (ShapeCastResult hit : collector.getHits()) {
+            JoltBodyHandle handle = bodyRegistry.getByJoltId(hit.getBodyId2());
+            if (handle == null || !CollisionLayers.matches(handle.layer(), layerMask)) {
+                continue;
+            }
+            if (best == null || hit.getFraction() < best.getFraction()) {
+                best = hit;
+                bestHandle = handle;
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+
+        // The penetration axis points from the cast shape into the hit body; report the surface normal.
+        Vec3 axis = best.getPenetrationAxis();
+        float len = axis.length();
+        Vector3f normal = len > 1e-6f
+            ? new Vector3f(-axis.getX() / len, -axis.getY() / len, -axis.getZ() / len)
+            : new Vector3f(0f, 1f, 0f);
+        return Optional.of(new org.dynamisengine.physics.api.query.ShapecastResult(
+            bestHandle,
+            best.getFraction(),
+            normal,
+            best.getPenetrationDepth()
+        ));
+    }
+}
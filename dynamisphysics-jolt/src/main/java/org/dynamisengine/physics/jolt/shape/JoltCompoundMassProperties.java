@@ -12,10 +12,10 @@ import org.dynamisengine.vectrix.core.Vector3f;
 import java.util.ArrayList;
 import java.util.List;
 
-final class JoltCompoundMassProperties {
+public final class JoltCompoundMassProperties {
     private JoltCompoundMassProperties() {}
 
-    static Vector3f computeCenterOfMass(CompoundCollisionShape compound) {
+    public static Vector3f computeCenterOfMass(CompoundCollisionShape compound) {
         if (compound.childCount() == 0) {
             return new Vector3f();
         }
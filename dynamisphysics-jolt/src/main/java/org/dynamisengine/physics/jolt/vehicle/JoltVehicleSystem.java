@@ -16,6 +16,7 @@ import org.dynamisengine.physics.api.WheelConfig;
 import org.dynamisengine.physics.api.body.BodyState;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
 import org.dynamisengine.physics.api.event.VehicleAirborneEvent;
 import org.dynamisengine.physics.api.event.WheelSlipEvent;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
@@ -70,7 +71,7 @@ public final class JoltVehicleSystem {
         Body body = resolveBody(chassisHandle.joltBodyId());
         VehicleConstraintSettings settings = JoltVehicleAdapter.toConstraintSettings(descriptor);
         VehicleConstraint constraint = new VehicleConstraint(body, settings);
-        VehicleCollisionTester tester = new VehicleCollisionTesterRay(normalizeLayer(chassisHandle.layer()));
+        VehicleCollisionTester tester = new VehicleCollisionTesterRay(body.getObjectLayer());
         constraint.setVehicleCollisionTester(tester);
         VehicleStepListener stepListener = constraint.getStepListener();
         physicsSystem.addStepListener(stepListener);
@@ -114,6 +115,16 @@ public final class JoltVehicleSystem {
         vh(handle).handbrake = engaged;
     }
 
+    /** Vehicle whose chassis has stable body id {@code chassisBodyId}, or {@code null}. */
+    public VehicleHandle byChassisBodyId(int chassisBodyId) {
+        for (JoltVehicleHandle vehicle : vehicles.values()) {
+            if (vehicle.chassisBody() instanceof StableRigidBodyId id && id.bodyId() == chassisBodyId) {
+                return vehicle;
+            }
+        }
+        return null;
+    }
+
     public VehicleState getVehicleState(VehicleHandle handle) {
         JoltVehicleHandle vh = vh(handle);
         BodyState chassis = bodyRegistry.getState(vh.chassisBody());
@@ -246,9 +257,6 @@ public final class JoltVehicleSystem {
         }
     }
 
-    private static int normalizeLayer(int layer) {
-        return Math.floorMod(layer, 256);
-    }
 
     private void applyDriveAssist(JoltVehicleHandle vehicle, BodyState chassisState, float dt, float surfaceFriction) {
         float traction = org.dynamisengine.vectrix.core.Math.clamp(surfaceFriction, 0.05f, 1f);
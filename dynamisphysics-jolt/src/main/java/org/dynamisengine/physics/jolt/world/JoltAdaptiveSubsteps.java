@@ -0,0 +1,47 @@
+package org.dynamisengine.physics.jolt.world;
+
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.Vec3;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
+import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+
+/**
+ * Picks a per-frame collision step count so that no active dynamic body travels more than
+ * {@link #MAX_TRAVEL_FRACTION} of its smallest half-extent in one step. A CCD-flagged body over that limit forces
+ * the maximum.
+ */
+public final class JoltAdaptiveSubsteps {
+    static final float MAX_TRAVEL_FRACTION = 0.5f;
+
+    private final JoltBodyRegistry bodyRegistry;
+    private final BodyInterface bodyInterface;
+    private final Vec3 scratchLinear = new Vec3();
+    private final Vec3 scratchAngular = new Vec3();
+
+    public JoltAdaptiveSubsteps(JoltBodyRegistry bodyRegistry, BodyInterface bodyInterface) {
+        this.bodyRegistry = bodyRegistry;
+        this.bodyInterface = bodyInterface;
+    }
+
+    public int choose(float deltaSeconds, int maxSubSteps) {
+        double worst = 0.0;
+        for (JoltBodyHandle handle : bodyRegistry.allHandles()) {
+            int bodyId = handle.joltBodyId();
+            if (!handle.isAlive() || handle.mode() != BodyMode.DYNAMIC || !bodyInterface.isActive(bodyId)) {
+                continue;
+            }
+            bodyInterface.getLinearAndAngularVelocity(bodyId, scratchLinear, scratchAngular);
+            double speed = Math.sqrt(scratchLinear.getX() * scratchLinear.getX()
+                + scratchLinear.getY() * scratchLinear.getY()
+                + scratchLinear.getZ() * scratchLinear.getZ());
+            double travel = speed * deltaSeconds / handle.minExtent();
+            if (travel > MAX_TRAVEL_FRACTION && handle.config().ccd()) {
+                return maxSubSteps;
+            }
+            worst = Math.max(worst, travel);
+        }
+        int n = (int) Math.ceil(worst / MAX_TRAVEL_FRACTION);
+        return Math.max(1, Math.min(n, maxSubSteps));
+    }
+}
@@ -0,0 +1,84 @@
+package org.dynamisengine.physics.jolt.world;
+
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.Vec3;
+import org.dynamisengine.physics.api.VehicleHandle;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
+import org.dynamisengine.physics.jolt.body.JoltBodyHandle;
+import org.dynamisengine.physics.jolt.body.JoltBodyRegistry;
+import org.dynamisengine.physics.jolt.vehicle.JoltVehicleSystem;
+
+/** Applies drained {@link PhysicsCommandQueue} commands through the body registry and vehicle system. */
+public final class JoltCommandSink implements PhysicsCommandQueue.Sink {
+    private final JoltBodyRegistry bodyRegistry;
+    private final JoltVehicleSystem vehicleSystem;
+
+    public JoltCommandSink(JoltBodyRegistry bodyRegistry, JoltVehicleSystem vehicleSystem) {
+        this.bodyRegistry = bodyRegistry;
+        this.vehicleSystem = vehicleSystem;
+    }
+
+    @Override
+    public void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+        JoltBodyHandle handle = bodyRegistry.getByStableId(bodyId);
+        if (handle != null) {
+            bodyRegistry.applyImpulse(handle, new Vec3(ix, iy, iz), new RVec3(px, py, pz));
+        }
+    }
+
+    @Override
+    public void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) {
+        JoltBodyHandle handle = bodyRegistry.getByStableId(bodyId);
+        if (handle != null) {
+            bodyRegistry.applyForce(handle, new Vec3(fx, fy, fz), new RVec3(px, py, pz));
+        }
+    }
+
+    @Override
+    public void applyTorque(int bodyId, float tx, float ty, float tz) {
+        JoltBodyHandle handle = bodyRegistry.getByStableId(bodyId);
+        if (handle != null) {
+            bodyRegistry.applyTorque(handle, new Vec3(tx, ty, tz));
+        }
+    }
+
+    @Override
+    public void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) {
+        JoltBodyHandle handle = bodyRegistry.getByStableId(bodyId);
+        if (handle != null) {
+            bodyRegistry.setVelocity(handle, new Vec3(lx, ly, lz), new Vec3(ax, ay, az));
+        }
+    }
+
+    @Override
+    public void applyThrottle(int chassisBodyId, float throttle) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyThrottle(vehicle, throttle);
+        }
+    }
+
+    @Override
+    public void applyBrake(int chassisBodyId, float brake) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyBrake(vehicle, brake);
+        }
+    }
+
+    @Override
+    public void applySteering(int chassisBodyId, float steeringAngle) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applySteering(vehicle, steeringAngle);
+        }
+    }
+
+    @Override
+    public void applyHandbrake(int chassisBodyId, boolean engaged) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyHandbrake(vehicle, engaged);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.dynamisengine.physics.jolt;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.jolt.body.JoltObjectLayers;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoltLayerFilterTest {
+
+    @Test
+    void maskedBodiesSkipEachOtherButHitGround() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        try {
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(20f, 0.5f, 20f), 0f)
+                .mode(BodyMode.STATIC)
+                .layer(0)
+                .worldTransform(new Matrix4f().identity().translation(0f, -0.5f, 0f))
+                .build());
+            RigidBodyHandle a = spawnDebris(world, 0f);
+            RigidBodyHandle b = spawnDebris(world, 0.2f);
+            for (int i = 0; i < 90; i++) {
+                world.step(1f / 60f, 1);
+                for (PhysicsEvent e : world.drainEvents()) {
+                    if (e instanceof ContactEvent c) {
+                        assertTrue(!(c.bodyA() == a && c.bodyB() == b) && !(c.bodyA() == b && c.bodyB() == a),
+                            "Masked debris pair produced a contact");
+                    }
+                }
+            }
+            assertTrue(world.getBodyState(a).position().y() > 0.3f, "debris fell through ground");
+            assertTrue(world.getBodyState(b).position().y() > 0.3f, "debris fell through ground");
+        } finally {
+            world.destroy();
+        }
+    }
+
+    @Test
+    void queryMasksUseTheirOwnRangeAndAllNeedsNoLayer() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        try {
+            JoltObjectLayers layers = new JoltObjectLayers();
+            int allocated = layers.allocatedCount();
+            assertEquals(-1, layers.queryLayerFor(CollisionLayers.ALL));
+            assertEquals(allocated, layers.allocatedCount());
+            for (int mask = 1; mask <= JoltObjectLayers.NUM_QUERY_LAYERS + 8; mask++) {
+                int queryLayer = layers.queryLayerFor(mask);
+                if (mask <= JoltObjectLayers.NUM_QUERY_LAYERS) {
+                    assertTrue(queryLayer >= JoltObjectLayers.NUM_BODY_LAYERS, "query layer in body range: " + queryLayer);
+                } else {
+                    assertEquals(-1, queryLayer);
+                }
+            }
+            int moving = layers.objectLayerFor(1, CollisionLayers.bit(0), false);
+            assertEquals(JoltObjectLayers.NUM_BODY_LAYERS / 2, moving);
+        } finally {
+            world.destroy();
+        }
+    }
+
+    private static RigidBodyHandle spawnDebris(PhysicsWorld world, float x) {
+        return world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .layer(2)
+            .collidesWith(CollisionLayers.bit(0))
+            .worldTransform(new Matrix4f().identity().translation(x, 0.6f, 0f))
+            .build());
+    }
+}
@@ -0,0 +1,97 @@
+package org.dynamisengine.physics.jolt;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
+import org.dynamisengine.physics.api.query.RaycastResult;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoltRaycastTest {
+
+    @Test
+    void raycastAllReportsEveryLayerMatchedHitWithSurfaceNormals() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        try {
+            RigidBodyHandle near = spawnWall(world, 2f, 1);
+            RigidBodyHandle far = spawnWall(world, 6f, 2);
+            Vector3f origin = new Vector3f(0f, 0f, 0f);
+            Vector3f dir = new Vector3f(1f, 0f, 0f);
+
+            List<RaycastResult> all = world.raycastAll(origin, dir, 20f, CollisionLayers.ALL);
+            assertEquals(2, all.size());
+            assertEquals(near, all.get(0).body());
+            assertEquals(far, all.get(1).body());
+            assertEquals(-1f, all.get(0).normal().x(), 1e-3f);
+            assertEquals(1.5f, all.get(0).position().x(), 1e-3f);
+
+            List<RaycastResult> masked = world.raycastAll(origin, dir, 20f, CollisionLayers.bit(2));
+            assertEquals(1, masked.size());
+            assertEquals(far, masked.get(0).body());
+
+            Optional<RaycastResult> closest = world.raycastClosest(origin, dir, 20f, CollisionLayers.bit(2));
+            assertTrue(closest.isPresent());
+            assertEquals(far, closest.get().body());
+        } finally {
+            world.destroy();
+        }
+    }
+
+    @Test
+    void raycastBatchFansOutAndAppliesLayerMask() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            RigidBodyHandle near = spawnWall(world, 2f, 1);
+            RigidBodyHandle far = spawnWall(world, 6f, 2);
+            int n = 150;
+            RaycastBatch rays = new RaycastBatch(n);
+            for (int i = 0; i < n; i++) {
+                rays.set(i, 0f, (i % 10) * 0.3f - 1.5f, (i / 10) * 0.25f - 1.8f, 1f, 0f, 0f, 20f);
+            }
+            rays.setCount(n);
+            rays.setLayerMask(CollisionLayers.bit(2));
+            RaycastHitBuffer out = new RaycastHitBuffer(n);
+            world.setQueryExecutor(pool);
+
+            assertEquals(n, world.raycastBatch(rays, out));
+            for (int i = 0; i < n; i++) {
+                assertEquals(far, out.bodies()[i]);
+                assertEquals(2, out.layers()[i]);
+                assertEquals(5.5f, out.positions()[i * 3], 1e-3f);
+                assertEquals(-1f, out.normals()[i * 3], 1e-3f);
+            }
+
+            rays.setLayerMask(CollisionLayers.ALL);
+            assertEquals(n, world.raycastBatch(rays, out));
+            assertEquals(near, out.bodies()[n - 1]);
+        } finally {
+            pool.shutdownNow();
+            world.destroy();
+        }
+    }
+
+    private static RigidBodyHandle spawnWall(PhysicsWorld world, float x, int layer) {
+        return world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 2f, 2f), 0f)
+            .mode(BodyMode.STATIC)
+            .layer(layer)
+            .worldTransform(new Matrix4f().identity().translation(x, 0f, 0f))
+            .build());
+    }
+}
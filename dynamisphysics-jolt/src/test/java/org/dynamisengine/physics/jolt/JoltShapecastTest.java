@@ -0,0 +1,49 @@
+package org.dynamisengine.physics.jolt;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoltShapecastTest {
+
+    @Test
+    void sphereAndBoxCastsStopAtGround() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        try {
+            RigidBodyHandle ground = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+                .mode(BodyMode.STATIC)
+                .worldTransform(new Matrix4f().identity().translation(0f, -0.5f, 0f))
+                .build());
+            Vector3f from = new Vector3f(0f, 5f, 0f);
+            Vector3f to = new Vector3f(0f, -5f, 0f);
+
+            Optional<ShapecastResult> sphere = world.shapecast(CollisionShape.sphere(0.5f), from, to, -1);
+            assertTrue(sphere.isPresent());
+            assertEquals(ground, sphere.get().body());
+            assertEquals(0.45f, sphere.get().hitFraction(), 1e-2f);
+            assertEquals(1f, sphere.get().normal().y(), 1e-2f);
+
+            Optional<ShapecastResult> box = world.shapecast(CollisionShape.box(0.5f, 1f, 0.5f), from, to, -1);
+            assertTrue(box.isPresent());
+            assertEquals(0.4f, box.get().hitFraction(), 1e-2f);
+
+            assertTrue(world.shapecast(CollisionShape.sphere(0.5f), from, to, CollisionLayers.bit(3)).isEmpty());
+        } finally {
+            world.destroy();
+        }
+    }
+}
@@ -5,9 +5,12 @@ import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.config.PhysicsBackend;
 import org.dynamisengine.physics.api.config.PhysicsTuningResolver;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.dynamisengine.physics.test.replay.PhysicsReplayRecorder;
 import org.dynamisengine.physics.test.replay.PhysicsReplayRunner;
+import org.dynamisengine.physics.test.replay.ReplayInputFrame;
+import org.dynamisengine.physics.test.replay.ReplayOp;
 import org.dynamisengine.physics.test.replay.ReproPacket;
 import org.dynamisengine.physics.test.replay.ReplayValidationMode;
 import org.junit.jupiter.api.BeforeAll;
@@ -18,6 +21,7 @@ import org.dynamisengine.vectrix.core.Vector3f;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnabledIfSystemProperty(named = "physics.replay.tests", matches = "true")
@@ -64,4 +68,47 @@ class ReplayStrictRoundTripTest {
             world.destroy();
         }
     }
+
+    @ParameterizedTest
+    @EnumSource(PhysicsBackend.class)
+    void queuedCommandsAreRecordedInDrainOrderAndReplay(PhysicsBackend backend) {
+        PhysicsWorldConfig config = ReplayTestSupport.deterministicConfig(backend);
+        ReplayBackendAssertions.requireStrict(backend, PhysicsTuningResolver.resolve(config));
+        PhysicsWorld world = PhysicsWorldFactory.create(config);
+        try {
+            PhysicsReplayRecorder recorder = ReplayTestSupport.newRecorder(world, backend, config);
+            recorder.setCheckpointEverySteps(60);
+            List<RigidBodyHandle> spawned = ReplayTestSupport.setupSimpleScene(recorder);
+            List<Integer> ids = spawned.stream().map(ReplayTestSupport::bodyId).toList();
+            recorder.captureInitialSnapshot();
+            recorder.restore(recorder.snapshot());
+            PhysicsCommandQueue queue = recorder.commandQueue();
+
+            for (int i = 0; i < 240; i++) {
+                if (i == 10) {
+                    assertTrue(queue.applyImpulse(ids.get(0), 2f, 0f, 0f, 0f, 2f, 0f));
+                    assertTrue(queue.applyForce(ids.get(1), -1.5f, 0f, 0f, 0f, 2f, 0f));
+                    assertTrue(queue.applyTorque(ids.get(0), 0f, 0.5f, 0f));
+                }
+                recorder.step(config.fixedTimeStep());
+            }
+
+            ReproPacket packet = ReplayTestSupport.withValidationMode(recorder.buildPacket(), ReplayValidationMode.STRICT);
+            assertEquals(1, packet.inputs().size());
+            ReplayInputFrame frame = packet.inputs().getFirst();
+            assertEquals(10, frame.step());
+            assertEquals(List.of(
+                new ReplayOp.ApplyImpulseOp(ids.get(0), new ReplayOp.Vec3(2f, 0f, 0f), new ReplayOp.Vec3(0f, 2f, 0f)),
+                new ReplayOp.ApplyForceOp(ids.get(1), new ReplayOp.Vec3(-1.5f, 0f, 0f), new ReplayOp.Vec3(0f, 2f, 0f)),
+                new ReplayOp.ApplyTorqueOp(ids.get(0), new ReplayOp.Vec3(0f, 0.5f, 0f))
+            ), frame.ops());
+
+            packet = ReplayTestSupport.canonicalizeCheckpointsFromFreshRestore(backend, config, packet);
+            PhysicsReplayRunner.ReplayResult parsed = ReplayTestSupport.runPacket(
+                backend, config, ReplayTestSupport.roundTripJson(packet));
+            assertTrue(parsed.success(), parsed.message());
+        } finally {
+            world.destroy();
+        }
+    }
 }
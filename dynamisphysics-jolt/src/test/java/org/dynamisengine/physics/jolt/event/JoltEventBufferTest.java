@@ -0,0 +1,68 @@
+package org.dynamisengine.physics.jolt.event;
+
+import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.ContactPoint;
+import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.SleepEvent;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoltEventBufferTest {
+
+    @Test
+    void contactsFromSeveralThreadsMergeInKeyOrder() throws InterruptedException {
+        JoltEventBuffer buffer = new JoltEventBuffer();
+        List<Integer> resolvedBodies = new ArrayList<>();
+        buffer.setContactResolver((first, second, a, b, px, py, pz, nx, ny, nz, depth) -> {
+            resolvedBodies.add(a * 100 + b);
+            return new ContactEvent(first, second,
+                List.of(new ContactPoint(new Vector3f(px, py, pz), new Vector3f(nx, ny, nz), depth, 0f)),
+                0f, new Vector3f(), PhysicsMaterial.DEFAULT, PhysicsMaterial.DEFAULT);
+        });
+
+        Thread t1 = new Thread(() -> {
+            buffer.addContact(null, null, 3, 4, 0, 0, 0f, 0f, 0f, 0f, 1f, 0f, 0.1f);
+            buffer.addContact(null, null, 1, 2, 0, 7, 0f, 0f, 0f, 0f, 1f, 0f, 0.2f);
+        });
+        Thread t2 = new Thread(() -> {
+            buffer.addContact(null, null, 1, 2, 0, -1, 0f, 0f, 0f, 0f, 1f, 0f, 0.3f);
+            buffer.add(new SleepEvent(null), 0, 0);
+            buffer.addContact(null, null, 1, 3, 0, 0, 0f, 0f, 0f, 0f, 1f, 0f, 0.4f);
+        });
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+
+        List<PhysicsEvent> events = buffer.drain();
+        assertEquals(List.of(102, 102, 103, 304), resolvedBodies);
+        assertEquals(5, events.size());
+        // Sub-shape ids compare unsigned, so 7 sorts before -1 within the (1, 2) pair.
+        assertEquals(0.2f, ((ContactEvent) events.get(0)).points().getFirst().depth());
+        assertEquals(0.3f, ((ContactEvent) events.get(1)).points().getFirst().depth());
+        assertInstanceOf(SleepEvent.class, events.get(4));
+        assertTrue(buffer.drain().isEmpty());
+        assertTrue(buffer.retainedBufferCount() <= 2, "buffers retained: " + buffer.retainedBufferCount());
+    }
+
+    @Test
+    void buffersOfDeadThreadsAreRecycled() throws InterruptedException {
+        JoltEventBuffer buffer = new JoltEventBuffer();
+        for (int i = 0; i < 50; i++) {
+            int id = i;
+            Thread t = new Thread(() -> buffer.add(new SleepEvent(null), id, id));
+            t.start();
+            t.join();
+            assertEquals(1, buffer.drain().size());
+        }
+        assertEquals(1, buffer.retainedBufferCount());
+    }
+}
@@ -0,0 +1,51 @@
+package org.dynamisengine.physics.jolt.world;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.jolt.JoltPhysicsWorld;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JoltAdaptiveSubstepsTest {
+
+    @Test
+    void adaptiveSubstepsFollowFastestBodyAndCcdOverride() {
+        PhysicsWorld world = JoltPhysicsWorld.create(PhysicsWorldConfig.defaults(PhysicsBackend.JOLT));
+        try {
+            world.setGravity(new Vector3f());
+            var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+            world.setAdaptiveSubSteps(8);
+            world.step(1f / 60f, 4);
+            assertEquals(1, world.getStats().subSteps());
+
+            world.setVelocity(ball, new Vector3f(42f, 0f, 0f), new Vector3f());
+            world.step(1f / 60f, 4);
+            assertEquals(3, world.getStats().subSteps());
+
+            world.setVelocity(ball, new Vector3f(400f, 0f, 0f), new Vector3f());
+            world.step(1f / 60f, 4);
+            assertEquals(8, world.getStats().subSteps());
+
+            world.setVelocity(ball, new Vector3f(), new Vector3f());
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                .ccd(true)
+                .worldTransform(new Matrix4f().translation(0f, 50f, 0f))
+                .linearVelocity(new Vector3f(0f, 0f, 20f))
+                .build());
+            world.step(1f / 60f, 4);
+            assertEquals(8, world.getStats().subSteps());
+
+            world.setAdaptiveSubSteps(0);
+            world.step(1f / 60f, 2);
+            assertEquals(2, world.getStats().subSteps());
+        } finally {
+            world.destroy();
+        }
+    }
+}
@@ -10,6 +10,8 @@ import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.VehicleHandle;
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
@@ -19,29 +21,45 @@ import org.dynamisengine.physics.api.constraint.ConstraintDesc;
 import org.dynamisengine.physics.api.constraint.ConstraintHandle;
 import org.dynamisengine.physics.api.event.ContactEvent;
 import org.dynamisengine.physics.api.event.ContactListener;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.physics.api.world.BulkReads;
 import org.dynamisengine.physics.api.world.CharacterState;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
+import org.dynamisengine.physics.api.world.PhysicsDebugConfig;
 import org.dynamisengine.physics.api.world.PhysicsStats;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.dynamisengine.physics.api.world.VehicleState;
 import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
 import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
 import org.dynamisengine.physics.ode4j.body.Ode4jForceAccumulator;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
 import org.dynamisengine.physics.ode4j.character.Ode4jCharacterController;
 import org.dynamisengine.physics.ode4j.constraint.Ode4jConstraintRegistry;
 import org.dynamisengine.physics.ode4j.constraint.Ode4jMechanicalConstraintController;
 import org.dynamisengine.physics.ode4j.constraint.Ode4jSpringController;
 import org.dynamisengine.physics.ode4j.event.Ode4jContactDispatcher;
 import org.dynamisengine.physics.ode4j.event.Ode4jEventBuffer;
+import org.dynamisengine.physics.ode4j.query.Ode4jBatchRaycaster;
+import org.dynamisengine.physics.ode4j.query.Ode4jOverlapExecutor;
+import org.dynamisengine.physics.ode4j.query.Ode4jQuerySnapshotWriter;
 import org.dynamisengine.physics.ode4j.query.Ode4jRaycastExecutor;
+import org.dynamisengine.physics.ode4j.query.Ode4jShapecastExecutor;
 import org.dynamisengine.physics.ode4j.ragdoll.Ode4jRagdollSystem;
 import org.dynamisengine.physics.ode4j.snapshot.Ode4jSnapshot;
 import org.dynamisengine.physics.ode4j.vehicle.Ode4jVehicleSystem;
+import org.dynamisengine.physics.ode4j.world.Ode4jAdaptiveSubsteps;
+import org.dynamisengine.physics.ode4j.world.Ode4jCommandSink;
+import org.dynamisengine.physics.ode4j.world.Ode4jIslandBuilder;
+import org.dynamisengine.physics.ode4j.world.Ode4jIslandThreading;
 import org.dynamisengine.physics.ode4j.world.Ode4jStepLoop;
 import org.ode4j.math.DVector3;
-import org.ode4j.ode.DHashSpace;
 import org.ode4j.ode.DJointGroup;
 import org.ode4j.ode.DMisc;
 import org.ode4j.ode.DWorld;
@@ -50,15 +68,20 @@ import org.dynamisengine.vectrix.core.Matrix4f;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public final class Ode4jPhysicsWorld implements PhysicsWorld {
     private final PhysicsWorldConfig config;
     private final ResolvedTuning resolvedTuning;
     private final DWorld world;
-    private final DHashSpace space;
+    private final Ode4jIslandThreading islandThreading;
+    private final Ode4jBroadphase broadphase;
     private final DJointGroup contactGroup;
     private final Ode4jBodyRegistry bodyRegistry;
     private final Ode4jForceAccumulator forceAccumulator;
@@ -67,19 +90,26 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
     private final Ode4jContactDispatcher dispatcher;
     private final Ode4jStepLoop stepLoop;
     private final Ode4jRaycastExecutor raycastExecutor;
+    private final Ode4jOverlapExecutor overlapExecutor;
+    private final Ode4jShapecastExecutor shapecastExecutor;
+    private final Ode4jBatchRaycaster batchRaycaster;
+    private final Ode4jQuerySnapshotWriter querySnapshotWriter;
     private final Ode4jVehicleSystem vehicleSystem;
     private final Ode4jCharacterController characterController;
     private final Ode4jRagdollSystem ragdollSystem;
+    private final PhysicsCommandQueue commandQueue = new PhysicsCommandQueue();
     private final List<ContactListener> contactListeners = new ArrayList<>();
 
     private boolean paused = false;
     private float timeScale = 1f;
+    private boolean querySnapshotEnabled;
+    private volatile QuerySnapshot querySnapshot = QuerySnapshot.EMPTY;
 
     private Ode4jPhysicsWorld(
         PhysicsWorldConfig config,
         ResolvedTuning resolvedTuning,
         DWorld world,
-        DHashSpace space,
+        Ode4jBroadphase broadphase,
         DJointGroup contactGroup,
         Ode4jBodyRegistry bodyRegistry,
         Ode4jForceAccumulator forceAccumulator,
@@ -95,7 +125,7 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         this.config = config;
         this.resolvedTuning = resolvedTuning;
         this.world = world;
-        this.space = space;
+        this.broadphase = broadphase;
         this.contactGroup = contactGroup;
         this.bodyRegistry = bodyRegistry;
         this.forceAccumulator = forceAccumulator;
@@ -104,16 +134,25 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         this.dispatcher = dispatcher;
         this.stepLoop = stepLoop;
         this.raycastExecutor = raycastExecutor;
+        this.overlapExecutor = new Ode4jOverlapExecutor(broadphase);
+        this.shapecastExecutor = new Ode4jShapecastExecutor(broadphase);
+        this.batchRaycaster = new Ode4jBatchRaycaster(broadphase);
+        this.querySnapshotWriter = new Ode4jQuerySnapshotWriter(bodyRegistry);
         this.vehicleSystem = vehicleSystem;
         this.characterController = characterController;
         this.ragdollSystem = ragdollSystem;
+        stepLoop.bindCommandQueue(commandQueue, new Ode4jCommandSink(bodyRegistry, forceAccumulator, vehicleSystem));
+        // Union-find over reused arrays, cheap next to collision, so islandCount is always reported.
+        stepLoop.setIslandBuilder(new Ode4jIslandBuilder(bodyRegistry));
+        // Islands are solved on a worker pool only when the resolved tuning asks for more than one thread.
+        this.islandThreading = resolvedTuning.threads() > 1 ? Ode4jIslandThreading.attach(world, resolvedTuning.threads()) : null;
     }
 
     public static Ode4jPhysicsWorld create(PhysicsWorldConfig config) {
         ResolvedTuning resolved = PhysicsTuningResolver.resolve(config);
         OdeHelper.initODE2(0);
         DWorld world = OdeHelper.createWorld();
-        DHashSpace space = OdeHelper.createHashSpace(null);
+        Ode4jBroadphase broadphase = Ode4jBroadphase.create(config.broadphase());
         DJointGroup contactGroup = OdeHelper.createJointGroup();
 
         world.setGravity(config.gravity().x(), config.gravity().y(), config.gravity().z());
@@ -130,18 +169,18 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
 
         var eventBuffer = new Ode4jEventBuffer();
         var forceAccumulator = new Ode4jForceAccumulator();
-        var bodyRegistry = new Ode4jBodyRegistry(world, space);
+        var bodyRegistry = new Ode4jBodyRegistry(world, broadphase);
         var constraintRegistry = new Ode4jConstraintRegistry(world, bodyRegistry, eventBuffer);
         var springController = new Ode4jSpringController(constraintRegistry);
         var mechanicalController = new Ode4jMechanicalConstraintController(constraintRegistry, bodyRegistry);
         var dispatcher = new Ode4jContactDispatcher(world, contactGroup, eventBuffer);
-        var raycastExecutor = new Ode4jRaycastExecutor(space);
+        var raycastExecutor = new Ode4jRaycastExecutor(broadphase);
         var vehicleSystem = new Ode4jVehicleSystem(bodyRegistry, eventBuffer, raycastExecutor);
         var characterController = new Ode4jCharacterController(bodyRegistry, raycastExecutor, eventBuffer);
         var ragdollSystem = new Ode4jRagdollSystem(bodyRegistry, constraintRegistry);
         var stepLoop = new Ode4jStepLoop(
             world,
-            space,
+            broadphase,
             contactGroup,
             forceAccumulator,
             dispatcher,
@@ -153,20 +192,38 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
             ragdollSystem
         );
 
-        return new Ode4jPhysicsWorld(config, resolved, world, space, contactGroup, bodyRegistry, forceAccumulator,
+        return new Ode4jPhysicsWorld(config, resolved, world, broadphase, contactGroup, bodyRegistry, forceAccumulator,
             constraintRegistry,
             eventBuffer, dispatcher, stepLoop, raycastExecutor, vehicleSystem, characterController, ragdollSystem);
     }
 
     @Override public void step(float dt) { step(dt, config.maxSubSteps()); }
-    @Override public void step(float dt, int subSteps) { if (!paused) stepLoop.step(dt * timeScale, subSteps); }
+    @Override
+    public void step(float dt, int subSteps) {
+        if (!paused) {
+            stepLoop.step(dt * timeScale, subSteps);
+            bodyRegistry.collectMovedBodies();
+            bodyRegistry.publishTransformStream();
+            if (querySnapshotEnabled) {
+                querySnapshot = querySnapshotWriter.write(stepLoop.stepCount());
+            }
+            eventBuffer.channels().dispatch();
+        }
+    }
     @Override public void pause() { paused = true; }
     @Override public void resume() { paused = false; }
 
     @Override
     public void destroy() {
+        if (islandThreading != null) {
+            islandThreading.detach();
+        }
         contactGroup.destroy();
-        space.destroy();
+        overlapExecutor.destroy();
+        shapecastExecutor.destroy();
+        batchRaycaster.destroy();
+        raycastExecutor.destroy();
+        broadphase.destroy();
         world.destroy();
         OdeHelper.closeODE();
     }
@@ -175,6 +232,23 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
     @Override public void destroyRigidBody(RigidBodyHandle h) { bodyRegistry.destroy(h); }
     @Override public BodyState getBodyState(RigidBodyHandle h) { return bodyRegistry.getState(h); }
     @Override public void setBodyState(RigidBodyHandle h, BodyState s) { bodyRegistry.setState(h, s); }
+    @Override public List<RigidBodyHandle> rigidBodies() { return List.copyOf(bodyRegistry.bodiesInIdOrder()); }
+
+    @Override
+    public int readBodyStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        BulkReads.checkRange(handles, offset, count, out);
+        return bodyRegistry.readStates(handles, offset, count, out);
+    }
+
+    @Override
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        return bodyRegistry.drainMovedBodies(Objects.requireNonNull(out, "out"));
+    }
+
+    @Override
+    public void setTransformStream(MemorySegment segment) {
+        bodyRegistry.setTransformStream(segment);
+    }
 
     @Override
     public void applyImpulse(RigidBodyHandle h, Vector3f impulse, Vector3f point) {
@@ -205,6 +279,8 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         bodyRegistry.setState(h, new BodyState(pos, ori, new Vector3f(), new Vector3f(), false));
     }
 
+    @Override public PhysicsCommandQueue commandQueue() { return commandQueue; }
+
     @Override public ConstraintHandle addConstraint(ConstraintDesc d) { return constraintRegistry.add(d); }
     @Override public void removeConstraint(ConstraintHandle h) { constraintRegistry.remove(h); }
     @Override public void setConstraintEnabled(ConstraintHandle h, boolean e) { constraintRegistry.setEnabled(h, e); }
@@ -240,9 +316,57 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         return raycastExecutor.raycastAll(origin, dir, maxDist, layerMask);
     }
 
-    @Override public List<RigidBodyHandle> overlapSphere(Vector3f c, float r, int l) { return List.of(); }
-    @Override public List<RigidBodyHandle> overlapAabb(Vector3f min, Vector3f max, int l) { return List.of(); }
-    @Override public Optional<ShapecastResult> shapecast(CollisionShape s, Vector3f f, Vector3f t, int l) { return Optional.empty(); }
+    @Override
+    public List<RigidBodyHandle> overlapSphere(Vector3f centre, float radius, int layerMask) {
+        List<RigidBodyHandle> out = new ArrayList<>();
+        overlapExecutor.overlapSphere(centre, radius, layerMask, out);
+        return out;
+    }
+
+    @Override
+    public List<RigidBodyHandle> overlapAabb(Vector3f min, Vector3f max, int layerMask) {
+        List<RigidBodyHandle> out = new ArrayList<>();
+        overlapExecutor.overlapAabb(min, max, layerMask, out);
+        return out;
+    }
+
+    @Override
+    public int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        return overlapExecutor.overlapSphere(centre, radius, layerMask, Objects.requireNonNull(out, "out"));
+    }
+
+    @Override
+    public int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        return overlapExecutor.overlapAabb(min, max, layerMask, Objects.requireNonNull(out, "out"));
+    }
+
+    @Override
+    public int raycastBatch(RaycastBatch rays, RaycastHitBuffer out) {
+        return batchRaycaster.raycast(rays, out);
+    }
+
+    @Override
+    public void setQueryExecutor(Executor executor) {
+        batchRaycaster.setExecutor(executor);
+    }
+
+    @Override
+    public void setQuerySnapshotEnabled(boolean enabled) {
+        querySnapshotEnabled = enabled;
+        if (!enabled) {
+            querySnapshot = QuerySnapshot.EMPTY;
+        }
+    }
+
+    @Override
+    public QuerySnapshot querySnapshot() {
+        return querySnapshot;
+    }
+
+    @Override
+    public Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask) {
+        return shapecastExecutor.shapecast(shape, from, to, layerMask);
+    }
 
     @Override public void addContactListener(ContactListener l) { contactListeners.add(l); }
     @Override public void removeContactListener(ContactListener l) { contactListeners.remove(l); }
@@ -250,11 +374,23 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
     @Override
     public List<PhysicsEvent> drainEvents() {
         var events = eventBuffer.drain();
-        events.stream().filter(e -> e instanceof ContactEvent).map(e -> (ContactEvent) e)
-            .forEach(e -> contactListeners.forEach(l -> l.onContact(e)));
+        if (!contactListeners.isEmpty()) {
+            for (PhysicsEvent e : events) {
+                if (e instanceof ContactEvent c) {
+                    for (ContactListener l : contactListeners) {
+                        l.onContact(c);
+                    }
+                }
+            }
+        }
         return events;
     }
 
+    @Override
+    public PhysicsEventChannels eventChannels() {
+        return eventBuffer.channels();
+    }
+
     @Override
     public byte[] snapshot() {
         DVector3 g = new DVector3();
@@ -262,7 +398,7 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         return Ode4jSnapshot.write(
             stepLoop.stepCount(),
             new Vector3f((float) g.get0(), (float) g.get1(), (float) g.get2()),
-            resolvedTuning.solverIterations(),
+            world.getQuickStepNumIterations(),
             timeScale,
             bodyRegistry.bodiesInIdOrder(),
             constraintRegistry.constraintsInIdOrder()
@@ -283,6 +419,7 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         constraintRegistry.clearAllConstraints();
         bodyRegistry.clearAllBodies();
         eventBuffer.clear();
+        dispatcher.resetTouchingPairs();
         contactGroup.empty();
 
         Ode4jSnapshot.Header header = restored.header();
@@ -329,6 +466,25 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
 
     @Override public void setGravity(Vector3f g) { world.setGravity(g.x(), g.y(), g.z()); }
     @Override public void setTimeScale(float s) { timeScale = s; }
+    @Override public void setSolverIterations(int n) { world.setQuickStepNumIterations(Math.max(n, 1)); }
+
+    @Override
+    public void setContactReportingLevel(ContactReportingLevel level) {
+        dispatcher.setReportingLevel(Objects.requireNonNull(level, "level"));
+    }
+
+    @Override
+    public void setContactReportingLevel(RigidBodyHandle h, ContactReportingLevel level) {
+        ((Ode4jBodyHandle) h).setContactReporting(level);
+    }
+
+    @Override
+    public void setAdaptiveSubSteps(int maxSubSteps) {
+        if (maxSubSteps < 0) {
+            throw new IllegalArgumentException("maxSubSteps must be >= 0, got " + maxSubSteps);
+        }
+        stepLoop.setAdaptiveSubsteps(maxSubSteps > 0 ? new Ode4jAdaptiveSubsteps(bodyRegistry) : null, maxSubSteps);
+    }
 
     @Override
     public PhysicsStats getStats() {
@@ -341,11 +497,12 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
             active,
             sleeping,
             constraintRegistry.constraintCount(),
-            0, // islandCount not tracked by ODE4J
+            stepLoop.lastIslandCount(),
             stepLoop.lastBroadPhaseMs(),
             0f, // narrowPhase included in broadPhase for ODE4J
             stepLoop.lastSolverMs(),
-            stepLoop.lastIntegrationMs()
+            stepLoop.lastIntegrationMs(),
+            stepLoop.lastSubSteps()
         );
     }
 
@@ -369,10 +526,32 @@ public final class Ode4jPhysicsWorld implements PhysicsWorld {
         return constraintRegistry.constraintsInIdOrder();
     }
 
+    /**
+     * Applies the parts of {@code cfg} that need capture during stepping: contact points are recorded only when
+     * shown. {@link PhysicsStats#islandCount()} does not depend on it.
+     */
+    public void setDebugConfig(PhysicsDebugConfig cfg) {
+        dispatcher.setDebugContactCapture(cfg.showContacts());
+    }
+
+    /** Contact points captured since the last drain, oldest first; empty unless contacts are shown. */
     public List<Ode4jContactDispatcher.DebugContact> debugDrainContacts() {
         return dispatcher.drainDebugContacts();
     }
 
+    /** Points lost because nobody drained the bounded debug contact buffer in time. */
+    public long debugOverwrittenContactCount() {
+        return dispatcher.debugContacts().overwritten();
+    }
+
+    public long debugQueuedPairCount() {
+        return dispatcher.queuedPairCount();
+    }
+
+    public long debugLayerRejectedPairCount() {
+        return dispatcher.layerRejectedPairCount();
+    }
+
     ResolvedTuning resolvedTuningForTesting() {
         return resolvedTuning;
     }
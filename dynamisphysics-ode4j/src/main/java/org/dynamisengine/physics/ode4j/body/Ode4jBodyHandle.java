@@ -4,8 +4,14 @@ import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.body.StableRigidBodyId;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
+import org.ode4j.ode.DAABBC;
 import org.ode4j.ode.DBody;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DCapsule;
+import org.ode4j.ode.DCylinder;
 import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSphere;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +19,8 @@ import java.util.List;
 public final class Ode4jBodyHandle implements RigidBodyHandle, StableRigidBodyId {
     public record GeomRef(Ode4jBodyHandle handle, int geomId) {}
 
+    private static final double MIN_EXTENT = 1e-3;
+
     private final int bodyId;
     private final int geomId;
     private final DBody body;
@@ -20,6 +28,10 @@ public final class Ode4jBodyHandle implements RigidBodyHandle, StableRigidBodyId
     private final List<DGeom> ownedGeoms;
     private final RigidBodyConfig config;
     private boolean alive = true;
+    private int queryStamp;
+    private float minExtent = -1f;
+    private int islandSlot = -1;
+    private ContactReportingLevel contactReporting;
 
     public Ode4jBodyHandle(int bodyId, int geomId, DBody body, DGeom geom, RigidBodyConfig config) {
         this(bodyId, geomId, body, geom, List.of(geom), config);
@@ -55,6 +67,35 @@ public final class Ode4jBodyHandle implements RigidBodyHandle, StableRigidBodyId
     public int geomId() { return geomId; }
     public List<DGeom> ownedGeoms() { return ownedGeoms; }
 
+    /** Returns true only on the first call with a given {@code stamp}, so multi-geom bodies are reported once per query. */
+    public boolean visitQuery(int stamp) {
+        if (queryStamp == stamp) {
+            return false;
+        }
+        queryStamp = stamp;
+        return true;
+    }
+
+    /** Scratch index assigned by the island builder for the current step; {@code -1} when not a member. */
+    public int islandSlot() { return islandSlot; }
+    public void setIslandSlot(int slot) { islandSlot = slot; }
+
+    /** Per-body contact reporting override; {@code null} defers to the world level. */
+    public ContactReportingLevel contactReporting() { return contactReporting; }
+    public void setContactReporting(ContactReportingLevel level) { contactReporting = level; }
+
+    /** Smallest half-extent over the body's geoms, computed on first use from the primitive sizes. */
+    public float minExtent() {
+        if (minExtent < 0f) {
+            double min = Double.MAX_VALUE;
+            for (DGeom g : ownedGeoms) {
+                min = Math.min(min, halfExtent(g));
+            }
+            minExtent = (float) Math.max(min == Double.MAX_VALUE ? 0.0 : min, MIN_EXTENT);
+        }
+        return minExtent;
+    }
+
     public void kill() {
         alive = false;
         for (DGeom g : ownedGeoms) {
@@ -69,4 +110,21 @@ public final class Ode4jBodyHandle implements RigidBodyHandle, StableRigidBodyId
     @Override public int layer() { return config.layer(); }
     @Override public Object userData() { return config.userData(); }
     @Override public BodyMode mode() { return config.mode(); }
+
+    private static double halfExtent(DGeom g) {
+        if (g instanceof DSphere sphere) {
+            return sphere.getRadius();
+        }
+        if (g instanceof DBox box) {
+            return Math.min(box.getLengths().get0(), Math.min(box.getLengths().get1(), box.getLengths().get2())) * 0.5;
+        }
+        if (g instanceof DCapsule capsule) {
+            return capsule.getRadius();
+        }
+        if (g instanceof DCylinder cylinder) {
+            return Math.min(cylinder.getRadius(), cylinder.getLength() * 0.5);
+        }
+        DAABBC box = g.getAABB();
+        return Math.min(box.getMax0() - box.getMin0(), Math.min(box.getMax1() - box.getMin1(), box.getMax2() - box.getMin2())) * 0.5;
+    }
 }
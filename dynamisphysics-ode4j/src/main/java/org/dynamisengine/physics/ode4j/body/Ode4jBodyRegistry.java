@@ -2,9 +2,14 @@ package org.dynamisengine.physics.ode4j.body;
 
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.collision.shapes.CompoundCollisionShape;
+import org.dynamisengine.physics.api.world.TransformStream;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
 import org.dynamisengine.physics.ode4j.shape.Ode4jShapeAdapter;
 import org.ode4j.math.DQuaternionC;
 import org.ode4j.math.DVector3C;
@@ -17,6 +22,8 @@ import org.dynamisengine.vectrix.core.Matrix4f;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,21 +31,35 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 import static org.dynamisengine.physics.ode4j.world.Ode4jConversions.toOde;
 
 public final class Ode4jBodyRegistry {
     private final DWorld world;
+    private final Ode4jBroadphase broadphase;
     private final DSpace space;
     private final Map<RigidBodyHandle, Ode4jBodyHandle> handlesByHandle = new LinkedHashMap<>();
     private final Map<Integer, Ode4jBodyHandle> handlesById = new LinkedHashMap<>();
     private final Map<Integer, Ode4jBodyHandle> lookupById = new HashMap<>();
+    // Bodies with a DBody, scanned after each step; destroyed entries are compacted out lazily.
+    private final List<Ode4jBodyHandle> movingBodies = new ArrayList<>();
+    private final Ode4jMovedBodySet movedBodies = new Ode4jMovedBodySet();
+    private final Ode4jMovedBodySet.TransformWriter movedWriter = this::writeMovedTransform;
+    private final Ode4jMovedBodySet streamBodies = new Ode4jMovedBodySet();
+    private final IntConsumer streamWriter = this::writeStreamSlot;
+    private MemorySegment transformStream;
     private int nextBodyId = 1;
     private int nextGeomId = 1;
 
     public Ode4jBodyRegistry(DWorld world, DSpace space) {
+        this(world, Ode4jBroadphase.wrap(space));
+    }
+
+    public Ode4jBodyRegistry(DWorld world, Ode4jBroadphase broadphase) {
         this.world = world;
-        this.space = space;
+        this.broadphase = broadphase;
+        this.space = broadphase.space();
     }
 
     public Ode4jBodyHandle spawn(RigidBodyConfig config) {
@@ -56,6 +77,8 @@ public final class Ode4jBodyRegistry {
         DGeom geom;
         List<DGeom> ownedGeoms;
         DBody body = null;
+        boolean isStatic = config.mode() == BodyMode.STATIC;
+        DSpace target = isStatic ? broadphase.staticSpace() : space;
         boolean compoundDynamic = config.shape().shapeType() == org.dynamisengine.collision.shapes.ShapeType.COMPOUND
             && (config.mode() == BodyMode.DYNAMIC || config.mode() == BodyMode.KINEMATIC);
 
@@ -67,13 +90,13 @@ public final class Ode4jBodyRegistry {
         if (compoundDynamic) {
             CompoundCollisionShape compound = (CompoundCollisionShape) config.shape();
             Vector3f com = Ode4jCompoundMassProperties.computeCenterOfMass(compound);
-            ownedGeoms = Ode4jShapeAdapter.toCompoundChildGeoms(compound, space, com);
+            ownedGeoms = Ode4jShapeAdapter.toCompoundChildGeoms(compound, target, com);
             if (ownedGeoms.isEmpty()) {
                 throw new IllegalArgumentException("CompoundCollisionShape has no children");
             }
             geom = ownedGeoms.get(0);
         } else {
-            geom = Ode4jShapeAdapter.toGeom(config.shape(), space);
+            geom = Ode4jShapeAdapter.toGeom(config.shape(), target);
             ownedGeoms = List.of(geom);
         }
 
@@ -83,6 +106,14 @@ public final class Ode4jBodyRegistry {
             body.setKinematic();
         }
 
+        // ODE's own bit test is an OR; the dispatcher applies the stricter both-ways check.
+        long categoryBits = CollisionLayers.bit(config.layer()) & 0xFFFFFFFFL;
+        long collideBits = config.collidesWith() & 0xFFFFFFFFL;
+        for (DGeom g : ownedGeoms) {
+            g.setCategoryBits(categoryBits);
+            g.setCollideBits(collideBits);
+        }
+
         if (config.mode() == BodyMode.STATIC || body == null) {
             for (DGeom g : ownedGeoms) {
                 g.setBody(null);
@@ -107,6 +138,11 @@ public final class Ode4jBodyRegistry {
         handlesByHandle.put(handle, handle);
         handlesById.put(handle.bodyId(), handle);
         lookupById.put(handle.bodyId(), handle);
+        if (body != null) {
+            movingBodies.add(handle);
+        }
+        markMoved(bodyId);
+        invalidateBroadphase(isStatic);
         return handle;
     }
 
@@ -116,6 +152,8 @@ public final class Ode4jBodyRegistry {
             handlesById.remove(oh.bodyId());
             lookupById.remove(oh.bodyId());
             oh.kill();
+            markMoved(oh.bodyId());
+            invalidateBroadphase(oh.config().mode() == BodyMode.STATIC);
         }
     }
 
@@ -127,6 +165,19 @@ public final class Ode4jBodyRegistry {
         return readState(oh);
     }
 
+    public int readStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        for (int i = 0; i < count; i++) {
+            Ode4jBodyHandle oh = handlesByHandle.get(handles[offset + i]);
+            if (oh == null || !oh.isAlive()) {
+                writeZero(out, i);
+            } else {
+                writeState(oh, out, i);
+            }
+        }
+        out.setCount(count);
+        return count;
+    }
+
     public void setState(RigidBodyHandle h, BodyState s) {
         Ode4jBodyHandle oh = handlesByHandle.get(h);
         if (oh == null || oh.body() == null) {
@@ -136,6 +187,64 @@ public final class Ode4jBodyRegistry {
         oh.body().setQuaternion(toOde(s.orientation()));
         oh.body().setLinearVel(toOde(s.linearVelocity()));
         oh.body().setAngularVel(toOde(s.angularVelocity()));
+        markMoved(oh.bodyId());
+        broadphase.invalidate();
+    }
+
+    /** Post-step scan: queues every enabled body plus bodies that were enabled after the previous scan. */
+    public void collectMovedBodies() {
+        boolean streaming = transformStream != null;
+        movedBodies.beginActiveScan();
+        if (streaming) {
+            streamBodies.beginActiveScan();
+        }
+        for (int i = 0; i < movingBodies.size(); ) {
+            Ode4jBodyHandle h = movingBodies.get(i);
+            if (!h.isAlive()) {
+                int last = movingBodies.size() - 1;
+                movingBodies.set(i, movingBodies.get(last));
+                movingBodies.remove(last);
+                continue;
+            }
+            if (h.body().isEnabled()) {
+                movedBodies.markActive(h.bodyId());
+                if (streaming) {
+                    streamBodies.markActive(h.bodyId());
+                }
+            }
+            i++;
+        }
+        movedBodies.endActiveScan();
+        if (streaming) {
+            streamBodies.endActiveScan();
+        }
+    }
+
+    /** Binds (or with {@code null} unbinds) the transform stream; binding clears it and writes every live body. */
+    public void setTransformStream(MemorySegment segment) {
+        if (segment != null) {
+            TransformStream.checkWritable(segment);
+        }
+        transformStream = segment;
+        streamBodies.clear();
+        if (segment == null) {
+            return;
+        }
+        segment.fill((byte) 0);
+        for (Ode4jBodyHandle h : handlesById.values()) {
+            writeStreamSlot(h.bodyId());
+        }
+    }
+
+    /** Writes slots for bodies changed since the previous publish; called at the end of each step. */
+    public void publishTransformStream() {
+        if (transformStream != null) {
+            streamBodies.drainAll(streamWriter);
+        }
+    }
+
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        return movedBodies.drain(out, movedWriter);
     }
 
     public Collection<Ode4jBodyHandle> allHandles() {
@@ -202,6 +311,90 @@ public final class Ode4jBodyRegistry {
         );
     }
 
+    // Reads straight from ODE's internal vectors; must stay allocation-free.
+    private static void writeState(Ode4jBodyHandle h, BodyStateBuffer out, int i) {
+        DBody body = h.body();
+        if (body == null) {
+            DVector3C pos = h.geom().getPosition();
+            out.setPosition(i, (float) pos.get0(), (float) pos.get1(), (float) pos.get2());
+            out.setOrientation(i, 0f, 0f, 0f, 1f);
+            out.setLinearVelocity(i, 0f, 0f, 0f);
+            out.setAngularVelocity(i, 0f, 0f, 0f);
+            out.setSleeping(i, true);
+            return;
+        }
+        DVector3C pos = body.getPosition();
+        DQuaternionC q = body.getQuaternion();
+        DVector3C lv = body.getLinearVel();
+        DVector3C av = body.getAngularVel();
+        out.setPosition(i, (float) pos.get0(), (float) pos.get1(), (float) pos.get2());
+        out.setOrientation(i, (float) q.get1(), (float) q.get2(), (float) q.get3(), (float) q.get0());
+        out.setLinearVelocity(i, (float) lv.get0(), (float) lv.get1(), (float) lv.get2());
+        out.setAngularVelocity(i, (float) av.get0(), (float) av.get1(), (float) av.get2());
+        out.setSleeping(i, !body.isEnabled());
+    }
+
+    private void markMoved(int bodyId) {
+        movedBodies.mark(bodyId);
+        if (transformStream != null) {
+            streamBodies.mark(bodyId);
+        }
+    }
+
+    private void invalidateBroadphase(boolean isStatic) {
+        if (isStatic) {
+            broadphase.invalidateStatic();
+        } else {
+            broadphase.invalidate();
+        }
+    }
+
+    private void writeStreamSlot(int bodyId) {
+        Ode4jBodyHandle h = lookupById.get(bodyId);
+        if (h == null || !h.isAlive()) {
+            TransformStream.clear(transformStream, bodyId);
+            return;
+        }
+        if (h.body() == null) {
+            DVector3C pos = h.geom().getPosition();
+            TransformStream.write(transformStream, bodyId,
+                (float) pos.get0(), (float) pos.get1(), (float) pos.get2(), 0f, 0f, 0f, 1f, true);
+            return;
+        }
+        DVector3C pos = h.body().getPosition();
+        DQuaternionC q = h.body().getQuaternion();
+        TransformStream.write(transformStream, bodyId,
+            (float) pos.get0(), (float) pos.get1(), (float) pos.get2(),
+            (float) q.get1(), (float) q.get2(), (float) q.get3(), (float) q.get0(),
+            !h.body().isEnabled());
+    }
+
+    private boolean writeMovedTransform(int bodyId, MovedBodyBuffer out, int index) {
+        Ode4jBodyHandle h = lookupById.get(bodyId);
+        if (h == null || !h.isAlive()) {
+            return false;
+        }
+        if (h.body() == null) {
+            DVector3C pos = h.geom().getPosition();
+            out.set(index, bodyId, (float) pos.get0(), (float) pos.get1(), (float) pos.get2(), 0f, 0f, 0f, 1f);
+            return true;
+        }
+        DVector3C pos = h.body().getPosition();
+        DQuaternionC q = h.body().getQuaternion();
+        out.set(index, bodyId,
+            (float) pos.get0(), (float) pos.get1(), (float) pos.get2(),
+            (float) q.get1(), (float) q.get2(), (float) q.get3(), (float) q.get0());
+        return true;
+    }
+
+    private static void writeZero(BodyStateBuffer out, int i) {
+        out.setPosition(i, 0f, 0f, 0f);
+        out.setOrientation(i, 0f, 0f, 0f, 1f);
+        out.setLinearVelocity(i, 0f, 0f, 0f);
+        out.setAngularVelocity(i, 0f, 0f, 0f);
+        out.setSleeping(i, false);
+    }
+
     private static void applyWorldTransform(DBody body, DGeom geom, Matrix4f m) {
         Vector3f pos = new Vector3f();
         m.getTranslation(pos);
@@ -1,52 +1,129 @@
 package org.dynamisengine.physics.ode4j.body;
 
-import org.ode4j.math.DVector3;
 import org.ode4j.ode.DBody;
 import org.dynamisengine.vectrix.core.Vector3f;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.dynamisengine.physics.ode4j.world.Ode4jConversions.toOde;
+import java.util.Arrays;
 
+/**
+ * Buffers force commands until the next {@link #flush()}. Each kind of command is stored as a struct of arrays
+ * (target bodies plus packed float components) that grows on demand and is reused across steps, so queuing a
+ * command does not allocate. Flush applies impulses, then forces, then torques, then velocities, each in
+ * submission order.
+ */
 public final class Ode4jForceAccumulator {
-    private record ImpulseEntry(DBody body, DVector3 impulse, DVector3 point) {}
-    private record ForceEntry(DBody body, DVector3 force, DVector3 point) {}
-    private record TorqueEntry(DBody body, DVector3 torque) {}
-    private record VelEntry(DBody body, DVector3 linear, DVector3 angular) {}
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** One command kind: {@code stride} float components per entry. */
+    private static final class Section {
+        private final int stride;
+        private DBody[] bodies = new DBody[INITIAL_CAPACITY];
+        private float[] values;
+        private int count;
+
+        private Section(int stride) {
+            this.stride = stride;
+            this.values = new float[INITIAL_CAPACITY * stride];
+        }
+
+        /** Reserves the next entry and returns the offset of its first component. */
+        private int add(DBody body) {
+            if (count == bodies.length) {
+                bodies = Arrays.copyOf(bodies, count * 2);
+                values = Arrays.copyOf(values, count * 2 * stride);
+            }
+            bodies[count] = body;
+            return count++ * stride;
+        }
+
+        private void clear() {
+            Arrays.fill(bodies, 0, count, null);
+            count = 0;
+        }
+    }
 
-    private final List<ImpulseEntry> impulses = new ArrayList<>();
-    private final List<ForceEntry> forces = new ArrayList<>();
-    private final List<TorqueEntry> torques = new ArrayList<>();
-    private final List<VelEntry> vels = new ArrayList<>();
+    private final Section impulses = new Section(6);
+    private final Section forces = new Section(6);
+    private final Section torques = new Section(3);
+    private final Section vels = new Section(6);
 
     public void addImpulse(DBody body, Vector3f impulse, Vector3f point) {
-        impulses.add(new ImpulseEntry(body, toOde(impulse), toOde(point)));
+        addImpulse(body, impulse.x(), impulse.y(), impulse.z(), point.x(), point.y(), point.z());
+    }
+
+    public void addImpulse(DBody body, float ix, float iy, float iz, float px, float py, float pz) {
+        put6(impulses, body, ix, iy, iz, px, py, pz);
     }
 
     public void addForce(DBody body, Vector3f force, Vector3f point) {
-        forces.add(new ForceEntry(body, toOde(force), toOde(point)));
+        addForce(body, force.x(), force.y(), force.z(), point.x(), point.y(), point.z());
+    }
+
+    public void addForce(DBody body, float fx, float fy, float fz, float px, float py, float pz) {
+        put6(forces, body, fx, fy, fz, px, py, pz);
     }
 
     public void addTorque(DBody body, Vector3f torque) {
-        torques.add(new TorqueEntry(body, toOde(torque)));
+        addTorque(body, torque.x(), torque.y(), torque.z());
+    }
+
+    public void addTorque(DBody body, float tx, float ty, float tz) {
+        int o = torques.add(body);
+        float[] v = torques.values;
+        v[o] = tx;
+        v[o + 1] = ty;
+        v[o + 2] = tz;
     }
 
     public void setVelocity(DBody body, Vector3f linear, Vector3f angular) {
-        vels.add(new VelEntry(body, toOde(linear), toOde(angular)));
+        setVelocity(body, linear.x(), linear.y(), linear.z(), angular.x(), angular.y(), angular.z());
+    }
+
+    public void setVelocity(DBody body, float lx, float ly, float lz, float ax, float ay, float az) {
+        put6(vels, body, lx, ly, lz, ax, ay, az);
+    }
+
+    /** Number of buffered commands across all kinds. */
+    public int pendingCount() {
+        return impulses.count + forces.count + torques.count + vels.count;
     }
 
     public void flush() {
-        impulses.forEach(e -> e.body().addForceAtPos(e.impulse(), e.point()));
-        forces.forEach(e -> e.body().addForceAtPos(e.force(), e.point()));
-        torques.forEach(e -> e.body().addTorque(e.torque()));
-        vels.forEach(e -> {
-            e.body().setLinearVel(e.linear());
-            e.body().setAngularVel(e.angular());
-        });
+        applyAtPos(impulses);
+        applyAtPos(forces);
+        DBody[] b = torques.bodies;
+        float[] v = torques.values;
+        for (int i = 0, o = 0; i < torques.count; i++, o += 3) {
+            b[i].addTorque(v[o], v[o + 1], v[o + 2]);
+        }
+        b = vels.bodies;
+        v = vels.values;
+        for (int i = 0, o = 0; i < vels.count; i++, o += 6) {
+            b[i].setLinearVel(v[o], v[o + 1], v[o + 2]);
+            b[i].setAngularVel(v[o + 3], v[o + 4], v[o + 5]);
+        }
         impulses.clear();
         forces.clear();
         torques.clear();
         vels.clear();
     }
+
+    private static void applyAtPos(Section section) {
+        DBody[] b = section.bodies;
+        float[] v = section.values;
+        for (int i = 0, o = 0; i < section.count; i++, o += 6) {
+            b[i].addForceAtPos(v[o], v[o + 1], v[o + 2], v[o + 3], v[o + 4], v[o + 5]);
+        }
+    }
+
+    private static void put6(Section section, DBody body, float a, float b, float c, float d, float e, float f) {
+        int o = section.add(body);
+        float[] v = section.values;
+        v[o] = a;
+        v[o + 1] = b;
+        v[o + 2] = c;
+        v[o + 3] = d;
+        v[o + 4] = e;
+        v[o + 5] = f;
+    }
 }
@@ -0,0 +1,141 @@
+package org.dynamisengine.physics.ode4j.body;
+
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Change set behind {@code drainMovedBodies} and the transform stream.
+ *
+ * <p>Bodies are keyed by stable body id. A body is pending when it was explicitly marked
+ * (spawn, teleport, state write) or reported active by the post-step scan, including the
+ * step in which it went to sleep. Drains are ordered by body id and never allocate.
+ */
+final class Ode4jMovedBodySet {
+    @FunctionalInterface
+    interface TransformWriter {
+        /** Writes the transform of {@code bodyId} at {@code index}; returns false if the body no longer exists. */
+        boolean write(int bodyId, MovedBodyBuffer out, int index);
+    }
+
+    private boolean[] pending = new boolean[64];
+    private int[] pendingIds = new int[64];
+    private int pendingCount;
+    private boolean pendingSorted = true;
+
+    private int[] activeStamp = new int[64];
+    private int[] lastActive = new int[64];
+    private int lastActiveCount;
+    private int[] currentActive = new int[64];
+    private int currentActiveCount;
+    private int scan;
+
+    void mark(int bodyId) {
+        if (bodyId < 0) {
+            throw new IllegalArgumentException("bodyId must be >= 0, got " + bodyId);
+        }
+        ensureIdCapacity(bodyId);
+        if (pending[bodyId]) {
+            return;
+        }
+        pending[bodyId] = true;
+        if (pendingCount == pendingIds.length) {
+            pendingIds = Arrays.copyOf(pendingIds, pendingCount * 2);
+        }
+        if (pendingCount > 0 && pendingIds[pendingCount - 1] > bodyId) {
+            pendingSorted = false;
+        }
+        pendingIds[pendingCount++] = bodyId;
+    }
+
+    void beginActiveScan() {
+        scan++;
+        currentActiveCount = 0;
+    }
+
+    void markActive(int bodyId) {
+        mark(bodyId);
+        activeStamp[bodyId] = scan;
+        if (currentActiveCount == currentActive.length) {
+            currentActive = Arrays.copyOf(currentActive, currentActiveCount * 2);
+        }
+        currentActive[currentActiveCount++] = bodyId;
+    }
+
+    /** Marks bodies that were active after the previous scan but not this one, so their resting pose is reported once. */
+    void endActiveScan() {
+        for (int i = 0; i < lastActiveCount; i++) {
+            int id = lastActive[i];
+            if (activeStamp[id] != scan) {
+                mark(id);
+            }
+        }
+        int[] swap = lastActive;
+        lastActive = currentActive;
+        lastActiveCount = currentActiveCount;
+        currentActive = swap;
+        currentActiveCount = 0;
+    }
+
+    int pendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Writes up to {@code out.capacity()} pending bodies in body-id order. Bodies that no longer
+     * exist are dropped; entries that do not fit stay pending for the next drain.
+     */
+    int drain(MovedBodyBuffer out, TransformWriter writer) {
+        if (!pendingSorted) {
+            Arrays.sort(pendingIds, 0, pendingCount);
+            pendingSorted = true;
+        }
+        int written = 0;
+        int consumed = 0;
+        while (consumed < pendingCount && written < out.capacity()) {
+            int id = pendingIds[consumed++];
+            pending[id] = false;
+            if (writer.write(id, out, written)) {
+                written++;
+            }
+        }
+        System.arraycopy(pendingIds, consumed, pendingIds, 0, pendingCount - consumed);
+        pendingCount -= consumed;
+        out.setCount(written);
+        return written;
+    }
+
+    /** Hands every pending body id to {@code sink} in body-id order and empties the set. */
+    void drainAll(IntConsumer sink) {
+        if (!pendingSorted) {
+            Arrays.sort(pendingIds, 0, pendingCount);
+            pendingSorted = true;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int id = pendingIds[i];
+            pending[id] = false;
+            sink.accept(id);
+        }
+        pendingCount = 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < pendingCount; i++) {
+            pending[pendingIds[i]] = false;
+        }
+        pendingCount = 0;
+        pendingSorted = true;
+        lastActiveCount = 0;
+        currentActiveCount = 0;
+    }
+
+    private void ensureIdCapacity(int bodyId) {
+        if (bodyId < pending.length) {
+            return;
+        }
+        int size = Math.max(pending.length * 2, bodyId + 1);
+        pending = Arrays.copyOf(pending, size);
+        activeStamp = Arrays.copyOf(activeStamp, size);
+    }
+}
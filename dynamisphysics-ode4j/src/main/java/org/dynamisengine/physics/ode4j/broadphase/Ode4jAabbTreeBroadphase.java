@@ -0,0 +1,296 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.ode4j.ode.DAABBC;
+import org.ode4j.ode.DBody;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSpace;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Broadphase backed by {@link Ode4jDynamicAabbTree}. Geoms live in a plain ODE space that is never
+ * collided directly; each {@link #collide} syncs the tree against the space (leaves are only
+ * reinserted when a geom leaves its fat box) and reports pairs with the same filters ODE applies:
+ * enabled geoms, different bodies, category/collide bits and overlapping AABBs.
+ * Geoms with unbounded AABBs (planes) are kept out of the tree and tested against everything.
+ */
+public final class Ode4jAabbTreeBroadphase implements Ode4jBroadphase {
+    private static final double FAT_MARGIN = 0.1;
+
+    private static final class Proxy {
+        final DGeom geom;
+        final long order;
+        int treeId = Ode4jDynamicAabbTree.NULL;
+        long stamp;
+        double minX, minY, minZ, maxX, maxY, maxZ;
+
+        Proxy(DGeom geom, long order) {
+            this.geom = geom;
+            this.order = order;
+        }
+
+        boolean unbounded() {
+            return treeId == Ode4jDynamicAabbTree.NULL;
+        }
+    }
+
+    private final DSpace space;
+    private final Ode4jDynamicAabbTree tree = new Ode4jDynamicAabbTree();
+    private final Map<DGeom, Proxy> proxiesByGeom = new IdentityHashMap<>();
+    private final List<Proxy> proxies = new ArrayList<>();
+    private final List<Proxy> unbounded = new ArrayList<>();
+    private final IntConsumer selfPairVisitor = this::visitSelfPair;
+    private final IntConsumer queryVisitor = this::visitQuery;
+    private long nextOrder;
+    private long stamp;
+    private boolean dirty = true;
+
+    private Proxy current;
+    private DGeom queryGeom;
+    private Object currentData;
+    private DGeom.DNearCallback currentCallback;
+
+    public Ode4jAabbTreeBroadphase(DSpace space) {
+        this.space = space;
+    }
+
+    @Override
+    public DSpace space() {
+        return space;
+    }
+
+    @Override
+    public void collide(Object data, DGeom.DNearCallback callback) {
+        sync();
+        currentData = data;
+        currentCallback = callback;
+        try {
+            for (int i = 0; i < proxies.size(); i++) {
+                Proxy p = proxies.get(i);
+                if (p.unbounded() || !p.geom.isEnabled()) {
+                    continue;
+                }
+                current = p;
+                tree.query(p.minX, p.minY, p.minZ, p.maxX, p.maxY, p.maxZ, selfPairVisitor);
+            }
+            for (int i = 0; i < unbounded.size(); i++) {
+                Proxy u = unbounded.get(i);
+                for (int j = 0; j < proxies.size(); j++) {
+                    Proxy other = proxies.get(j);
+                    if (other == u || (other.unbounded() && other.order < u.order)) {
+                        continue;
+                    }
+                    report(u, other);
+                }
+            }
+        } finally {
+            current = null;
+            currentData = null;
+            currentCallback = null;
+        }
+    }
+
+    @Override
+    public void collide2(DGeom geom, Object data, DGeom.DNearCallback callback) {
+        if (dirty) {
+            sync();
+        }
+        DAABBC box = geom.getAABB();
+        currentData = data;
+        currentCallback = callback;
+        queryGeom = geom;
+        try {
+            if (isUnbounded(box)) {
+                for (int i = 0; i < proxies.size(); i++) {
+                    reportWithGeom(geom, proxies.get(i));
+                }
+                return;
+            }
+            tree.query(box.getMin0(), box.getMin1(), box.getMin2(), box.getMax0(), box.getMax1(), box.getMax2(),
+                queryVisitor);
+            for (int i = 0; i < unbounded.size(); i++) {
+                reportWithGeom(geom, unbounded.get(i));
+            }
+        } finally {
+            queryGeom = null;
+            currentData = null;
+            currentCallback = null;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        dirty = true;
+    }
+
+    @Override
+    public boolean prepareConcurrentQueries() {
+        if (dirty) {
+            sync();
+        }
+        return true;
+    }
+
+    @Override
+    public void collectCandidates(
+        double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ,
+        Ode4jQueryScratch scratch
+    ) {
+        scratch.leafCount = 0;
+        scratch.stack = tree.query(minX, minY, minZ, maxX, maxY, maxZ, scratch.stack, scratch.leafVisitor);
+        for (int i = 0; i < scratch.leafCount; i++) {
+            Proxy p = (Proxy) tree.payload(scratch.leaves[i]);
+            if (p.geom.isEnabled()
+                && p.maxX >= minX && p.minX <= maxX
+                && p.maxY >= minY && p.minY <= maxY
+                && p.maxZ >= minZ && p.minZ <= maxZ) {
+                scratch.geoms.add(p.geom);
+            }
+        }
+        for (int i = 0; i < unbounded.size(); i++) {
+            Proxy u = unbounded.get(i);
+            if (u.geom.isEnabled()) {
+                scratch.geoms.add(u.geom);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        proxiesByGeom.clear();
+        proxies.clear();
+        unbounded.clear();
+        space.destroy();
+    }
+
+    public int proxyCount() {
+        return proxies.size();
+    }
+
+    private void sync() {
+        stamp++;
+        int n = space.getNumGeoms();
+        for (int i = 0; i < n; i++) {
+            DGeom geom = space.getGeom(i);
+            Proxy p = proxiesByGeom.get(geom);
+            if (p == null) {
+                p = new Proxy(geom, nextOrder++);
+                proxiesByGeom.put(geom, p);
+                proxies.add(p);
+            }
+            p.stamp = stamp;
+            refresh(p);
+        }
+        for (int i = 0; i < proxies.size(); ) {
+            Proxy p = proxies.get(i);
+            if (p.stamp == stamp) {
+                i++;
+                continue;
+            }
+            proxiesByGeom.remove(p.geom);
+            if (p.unbounded()) {
+                unbounded.remove(p);
+            } else {
+                tree.destroyProxy(p.treeId);
+            }
+            int last = proxies.size() - 1;
+            proxies.set(i, proxies.get(last));
+            proxies.remove(last);
+        }
+        dirty = false;
+    }
+
+    private void refresh(Proxy p) {
+        DAABBC box = p.geom.getAABB();
+        if (isUnbounded(box)) {
+            if (!p.unbounded()) {
+                tree.destroyProxy(p.treeId);
+                p.treeId = Ode4jDynamicAabbTree.NULL;
+            }
+            if (!unbounded.contains(p)) {
+                unbounded.add(p);
+            }
+            return;
+        }
+        p.minX = box.getMin0();
+        p.minY = box.getMin1();
+        p.minZ = box.getMin2();
+        p.maxX = box.getMax0();
+        p.maxY = box.getMax1();
+        p.maxZ = box.getMax2();
+        if (p.unbounded()) {
+            unbounded.remove(p);
+            p.treeId = tree.createProxy(
+                p.minX - FAT_MARGIN, p.minY - FAT_MARGIN, p.minZ - FAT_MARGIN,
+                p.maxX + FAT_MARGIN, p.maxY + FAT_MARGIN, p.maxZ + FAT_MARGIN,
+                p);
+        } else if (!tree.contains(p.treeId, p.minX, p.minY, p.minZ, p.maxX, p.maxY, p.maxZ)) {
+            tree.moveProxy(p.treeId,
+                p.minX - FAT_MARGIN, p.minY - FAT_MARGIN, p.minZ - FAT_MARGIN,
+                p.maxX + FAT_MARGIN, p.maxY + FAT_MARGIN, p.maxZ + FAT_MARGIN);
+        }
+    }
+
+    private void visitSelfPair(int treeId) {
+        Proxy other = (Proxy) tree.payload(treeId);
+        if (other.order > current.order) {
+            report(current, other);
+        }
+    }
+
+    private void visitQuery(int treeId) {
+        reportWithGeom(queryGeom, (Proxy) tree.payload(treeId));
+    }
+
+    private void report(Proxy a, Proxy b) {
+        DGeom g1 = a.geom;
+        DGeom g2 = b.geom;
+        if (!g1.isEnabled() || !g2.isEnabled() || !passesFilters(g1, g2)) {
+            return;
+        }
+        if (!a.unbounded() && !b.unbounded()
+            && (a.maxX < b.minX || a.minX > b.maxX
+                || a.maxY < b.minY || a.minY > b.maxY
+                || a.maxZ < b.minZ || a.minZ > b.maxZ)) {
+            return;
+        }
+        currentCallback.call(currentData, g1, g2);
+    }
+
+    private void reportWithGeom(DGeom geom, Proxy other) {
+        DGeom target = other.geom;
+        if (target == geom || !target.isEnabled() || !passesFilters(geom, target)) {
+            return;
+        }
+        if (!other.unbounded()) {
+            DAABBC box = geom.getAABB();
+            if (!isUnbounded(box)
+                && (box.getMax0() < other.minX || box.getMin0() > other.maxX
+                    || box.getMax1() < other.minY || box.getMin1() > other.maxY
+                    || box.getMax2() < other.minZ || box.getMin2() > other.maxZ)) {
+                return;
+            }
+        }
+        currentCallback.call(currentData, geom, target);
+    }
+
+    private static boolean passesFilters(DGeom g1, DGeom g2) {
+        DBody b1 = g1.getBody();
+        if (b1 != null && b1 == g2.getBody()) {
+            return false;
+        }
+        return (g1.getCategoryBits() & g2.getCollideBits()) != 0
+            || (g2.getCategoryBits() & g1.getCollideBits()) != 0;
+    }
+
+    private static boolean isUnbounded(DAABBC box) {
+        return Double.isInfinite(box.getMin0()) || Double.isInfinite(box.getMax0())
+            || Double.isInfinite(box.getMin1()) || Double.isInfinite(box.getMax1())
+            || Double.isInfinite(box.getMin2()) || Double.isInfinite(box.getMax2());
+    }
+}
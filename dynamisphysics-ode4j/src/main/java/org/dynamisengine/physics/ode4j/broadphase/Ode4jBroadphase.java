@@ -0,0 +1,76 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.dynamisengine.physics.api.config.BroadphaseType;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSapSpace;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.OdeHelper;
+
+/**
+ * Pair-finding strategy for the ODE4J backend. Body geoms are created in {@link #space()}
+ * (static bodies in {@link #staticSpace()}); pair generation goes through {@link #collide} /
+ * {@link #collide2} so it can bypass the spaces.
+ */
+public interface Ode4jBroadphase {
+    DSpace space();
+
+    default DSpace staticSpace() {
+        return space();
+    }
+
+    /** Reports every potentially overlapping geom pair in this broadphase. */
+    void collide(Object data, DGeom.DNearCallback callback);
+
+    /** Reports {@code geom} paired with every potentially overlapping geom in this broadphase. */
+    void collide2(DGeom geom, Object data, DGeom.DNearCallback callback);
+
+    /** Signals that geoms were added, removed or moved outside of {@link #collide}. */
+    void invalidate();
+
+    /** Same as {@link #invalidate()} for geoms in {@link #staticSpace()}. */
+    default void invalidateStatic() {
+        invalidate();
+    }
+
+    void destroy();
+
+    /**
+     * Brings the broadphase up to date so {@link #collectCandidates} can run from several threads until
+     * the next step or body change. Returns {@code false} if this broadphase cannot answer concurrently.
+     */
+    default boolean prepareConcurrentQueries() {
+        return false;
+    }
+
+    /**
+     * Appends every enabled geom whose AABB may overlap the box to {@code scratch} without invoking ODE's
+     * space code. Only valid after {@link #prepareConcurrentQueries()} returned {@code true}.
+     */
+    default void collectCandidates(
+        double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ,
+        Ode4jQueryScratch scratch
+    ) {
+        throw new UnsupportedOperationException("Concurrent queries not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * {@code type} selects the dynamic side: {@code BVH} (the config default) and {@code null} keep ODE's hash
+     * space, so existing scenes see the same pairs; the AABB tree is opt-in through {@code AABB_TREE}. Statics
+     * always go in an AABB tree: ODE spaces answer single-geom queries by brute force.
+     */
+    static Ode4jBroadphase create(BroadphaseType type) {
+        Ode4jBroadphase dynamic = type == null
+            ? wrap(OdeHelper.createHashSpace(null))
+            : switch (type) {
+                case SAP -> new Ode4jSpaceBroadphase(OdeHelper.createSapSpace(null, DSapSpace.AXES.XZY));
+                case BVH -> wrap(OdeHelper.createHashSpace(null));
+                case AABB_TREE -> new Ode4jAabbTreeBroadphase(OdeHelper.createSimpleSpace(null));
+            };
+        return new Ode4jSplitBroadphase(dynamic, new Ode4jAabbTreeBroadphase(OdeHelper.createSimpleSpace(null)));
+    }
+
+    static Ode4jBroadphase wrap(DSpace space) {
+        return new Ode4jSpaceBroadphase(space);
+    }
+}
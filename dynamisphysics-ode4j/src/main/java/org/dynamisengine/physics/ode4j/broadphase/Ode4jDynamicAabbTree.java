@@ -0,0 +1,347 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Array-backed dynamic AABB tree (surface-area insertion heuristic, AVL-style rotations).
+ * Leaves hold fattened boxes so small motions do not require a reinsert.
+ */
+final class Ode4jDynamicAabbTree {
+    static final int NULL = -1;
+
+    private double[] minX;
+    private double[] minY;
+    private double[] minZ;
+    private double[] maxX;
+    private double[] maxY;
+    private double[] maxZ;
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    private int[] height;
+    private Object[] payload;
+    private int root = NULL;
+    private int freeList;
+    private int nodeCount;
+    private int[] stack = new int[64];
+
+    Ode4jDynamicAabbTree() {
+        allocate(16);
+    }
+
+    int root() {
+        return root;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    Object payload(int proxy) {
+        return payload[proxy];
+    }
+
+    int createProxy(double x0, double y0, double z0, double x1, double y1, double z1, Object data) {
+        int leaf = allocateNode();
+        setBox(leaf, x0, y0, z0, x1, y1, z1);
+        payload[leaf] = data;
+        height[leaf] = 0;
+        insertLeaf(leaf);
+        return leaf;
+    }
+
+    void destroyProxy(int proxy) {
+        removeLeaf(proxy);
+        freeNode(proxy);
+    }
+
+    void moveProxy(int proxy, double x0, double y0, double z0, double x1, double y1, double z1) {
+        removeLeaf(proxy);
+        setBox(proxy, x0, y0, z0, x1, y1, z1);
+        insertLeaf(proxy);
+    }
+
+    boolean contains(int proxy, double x0, double y0, double z0, double x1, double y1, double z1) {
+        return minX[proxy] <= x0 && minY[proxy] <= y0 && minZ[proxy] <= z0
+            && maxX[proxy] >= x1 && maxY[proxy] >= y1 && maxZ[proxy] >= z1;
+    }
+
+    /** Visits every leaf whose fat box overlaps the query box. The visitor must not modify the tree. */
+    void query(double x0, double y0, double z0, double x1, double y1, double z1, IntConsumer visitor) {
+        stack = query(x0, y0, z0, x1, y1, z1, stack, visitor);
+    }
+
+    /**
+     * Same as {@link #query(double, double, double, double, double, double, IntConsumer)} with a caller-owned
+     * traversal stack, so several threads can query while the tree is not being modified.
+     * Returns the stack, grown if needed.
+     */
+    int[] query(double x0, double y0, double z0, double x1, double y1, double z1, int[] stack, IntConsumer visitor) {
+        if (root == NULL) {
+            return stack;
+        }
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (maxX[node] < x0 || minX[node] > x1
+                || maxY[node] < y0 || minY[node] > y1
+                || maxZ[node] < z0 || minZ[node] > z1) {
+                continue;
+            }
+            if (child1[node] == NULL) {
+                visitor.accept(node);
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = child1[node];
+            stack[top++] = child2[node];
+        }
+        return stack;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        int index = root;
+        while (child1[index] != NULL) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+            double area = area(index);
+            double combinedArea = unionArea(index, leaf);
+            double cost = 2.0 * combinedArea;
+            double inheritanceCost = 2.0 * (combinedArea - area);
+            double cost1 = descendCost(c1, leaf) + inheritanceCost;
+            double cost2 = descendCost(c2, leaf) + inheritanceCost;
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            index = cost1 < cost2 ? c1 : c2;
+        }
+
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        payload[newParent] = null;
+        setUnion(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+
+        if (oldParent != NULL) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitUpwards(parent[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+
+        if (grandParent != NULL) {
+            if (child1[grandParent] == p) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refitUpwards(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+    }
+
+    private void refitUpwards(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    private int balance(int a) {
+        if (child1[a] == NULL || height[a] < 2) {
+            return a;
+        }
+        int b = child1[a];
+        int c = child2[a];
+        int diff = height[c] - height[b];
+
+        if (diff > 1) {
+            int f = child1[c];
+            int g = child2[c];
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (diff < -1) {
+            int d = child1[b];
+            int e = child2[b];
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NULL) {
+            root = newChild;
+        } else if (child1[p] == oldChild) {
+            child1[p] = newChild;
+        } else {
+            child2[p] = newChild;
+        }
+    }
+
+    private double descendCost(int child, int leaf) {
+        double union = unionArea(child, leaf);
+        return child1[child] == NULL ? union : union - area(child);
+    }
+
+    private double area(int n) {
+        double dx = maxX[n] - minX[n];
+        double dy = maxY[n] - minY[n];
+        double dz = maxZ[n] - minZ[n];
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    private double unionArea(int a, int b) {
+        double dx = Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b]);
+        double dy = Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]);
+        double dz = Math.max(maxZ[a], maxZ[b]) - Math.min(minZ[a], minZ[b]);
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    private void setUnion(int target, int a, int b) {
+        setBox(target,
+            Math.min(minX[a], minX[b]), Math.min(minY[a], minY[b]), Math.min(minZ[a], minZ[b]),
+            Math.max(maxX[a], maxX[b]), Math.max(maxY[a], maxY[b]), Math.max(maxZ[a], maxZ[b]));
+    }
+
+    private void setBox(int n, double x0, double y0, double z0, double x1, double y1, double z1) {
+        minX[n] = x0;
+        minY[n] = y0;
+        minZ[n] = z0;
+        maxX[n] = x1;
+        maxY[n] = y1;
+        maxZ[n] = z1;
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            allocate(parent.length * 2);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        nodeCount++;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = -1;
+        payload[node] = null;
+        freeList = node;
+        nodeCount--;
+    }
+
+    private void allocate(int capacity) {
+        int old = parent == null ? 0 : parent.length;
+        minX = grow(minX, capacity);
+        minY = grow(minY, capacity);
+        minZ = grow(minZ, capacity);
+        maxX = grow(maxX, capacity);
+        maxY = grow(maxY, capacity);
+        maxZ = grow(maxZ, capacity);
+        parent = parent == null ? new int[capacity] : Arrays.copyOf(parent, capacity);
+        child1 = child1 == null ? new int[capacity] : Arrays.copyOf(child1, capacity);
+        child2 = child2 == null ? new int[capacity] : Arrays.copyOf(child2, capacity);
+        height = height == null ? new int[capacity] : Arrays.copyOf(height, capacity);
+        payload = payload == null ? new Object[capacity] : Arrays.copyOf(payload, capacity);
+        for (int i = old; i < capacity - 1; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        parent[capacity - 1] = NULL;
+        height[capacity - 1] = -1;
+        freeList = old;
+    }
+
+    private static double[] grow(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+}
@@ -0,0 +1,40 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.ode4j.ode.DGeom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-thread working memory for {@link Ode4jBroadphase#collectCandidates}. Reuse one instance per worker;
+ * an instance must not be shared between threads.
+ */
+public final class Ode4jQueryScratch {
+    final List<DGeom> geoms = new ArrayList<>();
+    final IntConsumer leafVisitor = this::addLeaf;
+    int[] stack = new int[64];
+    int[] leaves = new int[64];
+    int leafCount;
+
+    public int size() {
+        return geoms.size();
+    }
+
+    public DGeom get(int index) {
+        return geoms.get(index);
+    }
+
+    public void clear() {
+        geoms.clear();
+        leafCount = 0;
+    }
+
+    private void addLeaf(int leaf) {
+        if (leafCount == leaves.length) {
+            leaves = Arrays.copyOf(leaves, leaves.length * 2);
+        }
+        leaves[leafCount++] = leaf;
+    }
+}
@@ -0,0 +1,39 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.OdeHelper;
+
+/** Delegates pair finding to a native ODE space (hash, SAP, ...). */
+public final class Ode4jSpaceBroadphase implements Ode4jBroadphase {
+    private final DSpace space;
+
+    public Ode4jSpaceBroadphase(DSpace space) {
+        this.space = space;
+    }
+
+    @Override
+    public DSpace space() {
+        return space;
+    }
+
+    @Override
+    public void collide(Object data, DGeom.DNearCallback callback) {
+        OdeHelper.spaceCollide(space, data, callback);
+    }
+
+    @Override
+    public void collide2(DGeom geom, Object data, DGeom.DNearCallback callback) {
+        OdeHelper.spaceCollide2(geom, space, data, callback);
+    }
+
+    @Override
+    public void invalidate() {
+        // ODE spaces track geom movement themselves.
+    }
+
+    @Override
+    public void destroy() {
+        space.destroy();
+    }
+}
@@ -0,0 +1,81 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSpace;
+
+/**
+ * Keeps static geoms in their own broadphase. {@link #collide} runs dynamic-vs-dynamic on the
+ * dynamic side and then queries each enabled dynamic geom against the static side, so
+ * static-vs-static pairs are never generated and the static structure is only rebuilt after
+ * {@link #invalidateStatic()}.
+ */
+public final class Ode4jSplitBroadphase implements Ode4jBroadphase {
+    private final Ode4jBroadphase dynamic;
+    private final Ode4jBroadphase statics;
+
+    public Ode4jSplitBroadphase(Ode4jBroadphase dynamic, Ode4jBroadphase statics) {
+        this.dynamic = dynamic;
+        this.statics = statics;
+    }
+
+    @Override
+    public DSpace space() {
+        return dynamic.space();
+    }
+
+    @Override
+    public DSpace staticSpace() {
+        return statics.space();
+    }
+
+    @Override
+    public void collide(Object data, DGeom.DNearCallback callback) {
+        dynamic.collide(data, callback);
+        DSpace space = dynamic.space();
+        int n = space.getNumGeoms();
+        for (int i = 0; i < n; i++) {
+            DGeom geom = space.getGeom(i);
+            if (geom.isEnabled()) {
+                statics.collide2(geom, data, callback);
+            }
+        }
+    }
+
+    @Override
+    public void collide2(DGeom geom, Object data, DGeom.DNearCallback callback) {
+        dynamic.collide2(geom, data, callback);
+        statics.collide2(geom, data, callback);
+    }
+
+    @Override
+    public void invalidate() {
+        dynamic.invalidate();
+    }
+
+    @Override
+    public void invalidateStatic() {
+        statics.invalidate();
+    }
+
+    @Override
+    public boolean prepareConcurrentQueries() {
+        boolean dynamicReady = dynamic.prepareConcurrentQueries();
+        return statics.prepareConcurrentQueries() && dynamicReady;
+    }
+
+    @Override
+    public void collectCandidates(
+        double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ,
+        Ode4jQueryScratch scratch
+    ) {
+        dynamic.collectCandidates(minX, minY, minZ, maxX, maxY, maxZ, scratch);
+        statics.collectCandidates(minX, minY, minZ, maxX, maxY, maxZ, scratch);
+    }
+
+    @Override
+    public void destroy() {
+        dynamic.destroy();
+        statics.destroy();
+    }
+}
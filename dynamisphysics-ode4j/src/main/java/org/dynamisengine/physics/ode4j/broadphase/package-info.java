@@ -0,0 +1 @@
+package org.dynamisengine.physics.ode4j.broadphase;
@@ -32,9 +32,11 @@ public final class Ode4jDebugRenderer {
         this.staging = staging;
     }
 
+    /** Rebuilds the wireframe from {@code world}; also switches contact capture on or off for the following steps. */
     public void update(Ode4jPhysicsWorld world, PhysicsDebugConfig cfg) {
         wireframe.reset();
         lastVertexCount = 0;
+        world.setDebugConfig(cfg);
 
         if (!anyEnabled(cfg)) {
             uploadIfAvailable();
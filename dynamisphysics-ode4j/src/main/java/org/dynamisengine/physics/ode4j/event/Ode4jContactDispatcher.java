@@ -1,8 +1,12 @@
 package org.dynamisengine.physics.ode4j.event;
 
+import org.dynamisengine.physics.api.body.CollisionLayers;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.ContactPairCache;
 import org.dynamisengine.physics.api.event.ContactPoint;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
+import org.dynamisengine.physics.api.event.SeparationEvent;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
 import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
 import org.ode4j.ode.DBody;
@@ -18,27 +22,44 @@ import org.ode4j.ode.OdeHelper;
 import org.dynamisengine.vectrix.core.Vector3f;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.dynamisengine.physics.ode4j.world.Ode4jConversions.toVec3f;
 
 public final class Ode4jContactDispatcher {
     private static final int MAX_CONTACTS = 8;
-    private record PendingPair(DGeom o1, DGeom o2, int bodyIdA, int bodyIdB, int geomIdA, int geomIdB) {}
+    private static final int MANIFOLD_KEYS = 7;
+    private static final long SIGN_FLIP = 0x8000_0000L;
+    public static final int DEFAULT_DEBUG_CONTACT_CAPACITY = 4096;
     public record DebugContact(Vector3f position, Vector3f normal, float depth) {}
     private record TraceEntry(int order, int bodyIdA, int bodyIdB, int geomIdA, int geomIdB, int contactCount, String pointSig) {}
-    private record ManifoldPoint(int index, int px, int py, int pz, int nx, int ny, int nz, int depth) {}
 
     private final DWorld world;
     private final DJointGroup contactGroup;
     private final Ode4jEventBuffer eventBuffer;
-    private final List<PendingPair> pendingPairs = new ArrayList<>(256);
-    private final List<DebugContact> debugContacts = new ArrayList<>(256);
+    // Pending broadphase pairs as parallel arrays; keys pack (bodyIdA, bodyIdB) and (geomIdA, geomIdB).
+    private DGeom[] pairGeomA = new DGeom[256];
+    private DGeom[] pairGeomB = new DGeom[256];
+    private long[] pairBodyKey = new long[256];
+    private long[] pairGeomKey = new long[256];
+    private int[] pairOrder = new int[256];
+    private int[] pairScratch = new int[256];
+    private int pairCount;
+    private final int[] manifoldOrder = new int[MAX_CONTACTS];
+    private final int[] manifoldKeys = new int[MAX_CONTACTS * MANIFOLD_KEYS];
+    private final Ode4jDebugContactRing debugContacts = new Ode4jDebugContactRing(DEFAULT_DEBUG_CONTACT_CAPACITY);
+    private boolean debugContactCapture;
     private final DContactBuffer contactBuffer = new DContactBuffer(MAX_CONTACTS);
     private final List<TraceEntry> traceEntries = new ArrayList<>(256);
     private long traceStep = -1L;
     private int traceOrder = 0;
+    private long queuedPairCount;
+    private long layerRejectedPairCount;
+    private ContactReportingLevel reportingLevel = ContactReportingLevel.ALL;
+    private final ContactPairCache touchingPairs = new ContactPairCache();
+    private final ContactPairCache.Dormancy dormancy = (a, b) -> asleep(a) && asleep(b);
+    private final ContactPairCache.EndSink separations = this::separated;
 
     public final DGeom.DNearCallback callback;
 
@@ -75,19 +96,42 @@ public final class Ode4jContactDispatcher {
         if (bodyA == null && bodyB == null) {
             return;
         }
-        pendingPairs.add(new PendingPair(o1, o2, bodyId1, bodyId2, geomId1, geomId2));
+        if (!layersCollide(h1, h2)) {
+            layerRejectedPairCount++;
+            return;
+        }
+        queuedPairCount++;
+        if (pairCount == pairGeomA.length) {
+            growPairs();
+        }
+        pairGeomA[pairCount] = o1;
+        pairGeomB[pairCount] = o2;
+        pairBodyKey[pairCount] = packKey(bodyId1, bodyId2);
+        pairGeomKey[pairCount] = packKey(geomId1, geomId2);
+        pairCount++;
+    }
+
+    /** Broadphase pairs that passed layer filtering and went to narrowphase, since creation. */
+    public long queuedPairCount() {
+        return queuedPairCount;
     }
 
+    /** Broadphase pairs dropped by layer/collidesWith filtering, since creation. */
+    public long layerRejectedPairCount() {
+        return layerRejectedPairCount;
+    }
+
+    /**
+     * Narrowphases the queued pairs ordered by (bodyIdA, bodyIdB, geomIdA, geomIdB), ties in queue order, and
+     * creates their contact joints.
+     */
     public void resolveQueuedContacts() {
-        pendingPairs.sort(Comparator
-            .comparingInt(PendingPair::bodyIdA)
-            .thenComparingInt(PendingPair::bodyIdB)
-            .thenComparingInt(PendingPair::geomIdA)
-            .thenComparingInt(PendingPair::geomIdB));
-
-        for (PendingPair pair : pendingPairs) {
-            DGeom o1 = pair.o1();
-            DGeom o2 = pair.o2();
+        sortPairs();
+
+        for (int k = 0; k < pairCount; k++) {
+            int pair = pairOrder[k];
+            DGeom o1 = pairGeomA[pair];
+            DGeom o2 = pairGeomB[pair];
             int n = OdeHelper.collide(o1, o2, MAX_CONTACTS, contactBuffer.getGeomBuffer());
             if (n == 0) {
                 continue;
@@ -102,33 +146,78 @@ public final class Ode4jContactDispatcher {
             maybeTrace(pair, n);
         }
         maybePrintTrace();
-        pendingPairs.clear();
+        clearQueuedContacts();
     }
 
     public void clearQueuedContacts() {
-        pendingPairs.clear();
+        Arrays.fill(pairGeomA, 0, pairCount, null);
+        Arrays.fill(pairGeomB, 0, pairCount, null);
+        pairCount = 0;
+    }
+
+    /** World-wide reporting level, used for pairs where neither body has an override. */
+    public void setReportingLevel(ContactReportingLevel level) {
+        this.reportingLevel = level;
+    }
+
+    public ContactReportingLevel reportingLevel() {
+        return reportingLevel;
+    }
+
+    /** Closes the step for begin/end tracking: pairs not touched in any substep are reported as separated. */
+    public void endStep() {
+        touchingPairs.endStep(dormancy, separations);
+    }
+
+    /** Forgets all touching pairs without reporting them, e.g. after the bodies were rebuilt by a restore. */
+    public void resetTouchingPairs() {
+        touchingPairs.clear();
+    }
+
+    /**
+     * Starts or stops recording contact points for the debug renderer. Off by default; while on, the newest
+     * {@link #DEFAULT_DEBUG_CONTACT_CAPACITY} points are kept and older ones are overwritten.
+     */
+    public void setDebugContactCapture(boolean enabled) {
+        this.debugContactCapture = enabled;
+        if (!enabled) {
+            debugContacts.clear();
+        }
+    }
+
+    public boolean debugContactCapture() {
+        return debugContactCapture;
+    }
+
+    public Ode4jDebugContactRing debugContacts() {
+        return debugContacts;
     }
 
     public List<DebugContact> drainDebugContacts() {
-        var copy = List.copyOf(debugContacts);
-        debugContacts.clear();
-        return copy;
+        List<DebugContact> out = new ArrayList<>(debugContacts.size());
+        debugContacts.drain((px, py, pz, nx, ny, nz, depth) ->
+            out.add(new DebugContact(new Vector3f(px, py, pz), new Vector3f(nx, ny, nz), depth)));
+        return out;
     }
 
     private void emitContacts(DGeom o1, DGeom o2, DBody bodyA, DBody bodyB, int n) {
-        List<ContactPoint> points = new ArrayList<>(n);
         float totalImpulse = 0f;
         Ode4jBodyHandle hA = handleFor(o1);
         Ode4jBodyHandle hB = handleFor(o2);
         int bodyIdA = hA != null ? hA.bodyId() : Integer.MAX_VALUE;
         int bodyIdB = hB != null ? hB.bodyId() : Integer.MAX_VALUE;
-
-        List<ManifoldPoint> manifoldOrder = sortedManifoldOrder(n);
-        maybePrintManifold(bodyIdA, bodyIdB, n, manifoldOrder);
-
-        for (ManifoldPoint ordered : manifoldOrder) {
-            DContactGeom cg = contactBuffer.getGeomBuffer().get(ordered.index());
-            DContact contact = contactBuffer.get(ordered.index());
+        ContactReportingLevel level = levelFor(hA, hB);
+        boolean report = level.reportsBegin()
+            && (touchingPairs.touch(ContactPairCache.key(bodyIdA, bodyIdB), hA, hB, level) || level.reportsPersist());
+        List<ContactPoint> points = report ? new ArrayList<>(n) : null;
+
+        sortManifold(n);
+        maybePrintManifold(bodyIdA, bodyIdB, n);
+
+        for (int k = 0; k < n; k++) {
+            int index = manifoldOrder[k];
+            DContactGeom cg = contactBuffer.getGeomBuffer().get(index);
+            DContact contact = contactBuffer.get(index);
             contact.geom.set(cg);
             contact.surface.mode = OdeConstants.dContactBounce | OdeConstants.dContactSoftCFM;
             contact.surface.mu = combinedFriction(o1, o2);
@@ -136,8 +225,19 @@ public final class Ode4jContactDispatcher {
             contact.surface.soft_cfm = 1e-5;
             DJoint cj = OdeHelper.createContactJoint(world, contactGroup, contact);
             cj.attach(bodyA, bodyB);
-            points.add(new ContactPoint(toVec3f(cg.pos), toVec3f(cg.normal), (float) cg.depth, 0f));
-            debugContacts.add(new DebugContact(toVec3f(cg.pos), toVec3f(cg.normal), (float) cg.depth));
+            if (report) {
+                points.add(new ContactPoint(toVec3f(cg.pos), toVec3f(cg.normal), (float) cg.depth, 0f));
+            }
+            if (debugContactCapture) {
+                debugContacts.add(
+                    (float) cg.pos.get0(), (float) cg.pos.get1(), (float) cg.pos.get2(),
+                    (float) cg.normal.get0(), (float) cg.normal.get1(), (float) cg.normal.get2(),
+                    (float) cg.depth
+                );
+            }
+        }
+        if (!report) {
+            return;
         }
 
         RigidBodyHandle handleA = bodyA != null ? (RigidBodyHandle) bodyA.getData() : null;
@@ -154,34 +254,129 @@ public final class Ode4jContactDispatcher {
         ));
     }
 
-    private List<ManifoldPoint> sortedManifoldOrder(int n) {
-        ArrayList<ManifoldPoint> out = new ArrayList<>(n);
+    private ContactReportingLevel levelFor(Ode4jBodyHandle a, Ode4jBodyHandle b) {
+        return ContactReportingLevel.resolve(
+            reportingLevel,
+            a != null ? a.contactReporting() : null,
+            b != null ? b.contactReporting() : null
+        );
+    }
+
+    private void separated(RigidBodyHandle a, RigidBodyHandle b, ContactReportingLevel level) {
+        if (level.reportsEnd()) {
+            eventBuffer.add(new SeparationEvent(eventHandle(a), eventHandle(b)));
+        }
+    }
+
+    /** Pairs resting against each other stop colliding once disabled; keep them touching until one wakes or dies. */
+    private static boolean asleep(RigidBodyHandle h) {
+        if (!(h instanceof Ode4jBodyHandle oh)) {
+            return true;
+        }
+        return oh.isAlive() && (oh.body() == null || !oh.body().isEnabled());
+    }
+
+    /** Same convention as {@link ContactEvent}: static bodies have no DBody and are reported as {@code null}. */
+    private static RigidBodyHandle eventHandle(RigidBodyHandle h) {
+        return h instanceof Ode4jBodyHandle oh && oh.body() != null ? oh : null;
+    }
+
+    /**
+     * Orders the first {@code n} contacts into {@link #manifoldOrder} by quantized position, normal and depth,
+     * ties by index. Insertion sort over at most {@link #MAX_CONTACTS} entries.
+     */
+    private void sortManifold(int n) {
+        int[] keys = manifoldKeys;
         for (int i = 0; i < n; i++) {
             DContactGeom cg = contactBuffer.getGeomBuffer().get(i);
-            out.add(new ManifoldPoint(
-                i,
-                qf((float) cg.pos.get0()),
-                qf((float) cg.pos.get1()),
-                qf((float) cg.pos.get2()),
-                qf((float) cg.normal.get0()),
-                qf((float) cg.normal.get1()),
-                qf((float) cg.normal.get2()),
-                qd((float) cg.depth)
-            ));
-        }
-        out.sort(Comparator
-            .comparingInt(ManifoldPoint::px)
-            .thenComparingInt(ManifoldPoint::py)
-            .thenComparingInt(ManifoldPoint::pz)
-            .thenComparingInt(ManifoldPoint::nx)
-            .thenComparingInt(ManifoldPoint::ny)
-            .thenComparingInt(ManifoldPoint::nz)
-            .thenComparingInt(ManifoldPoint::depth)
-            .thenComparingInt(ManifoldPoint::index));
-        return out;
+            int o = i * MANIFOLD_KEYS;
+            keys[o] = qf((float) cg.pos.get0());
+            keys[o + 1] = qf((float) cg.pos.get1());
+            keys[o + 2] = qf((float) cg.pos.get2());
+            keys[o + 3] = qf((float) cg.normal.get0());
+            keys[o + 4] = qf((float) cg.normal.get1());
+            keys[o + 5] = qf((float) cg.normal.get2());
+            keys[o + 6] = qd((float) cg.depth);
+        }
+        int[] order = manifoldOrder;
+        for (int i = 0; i < n; i++) {
+            int current = order[i] = i;
+            int j = i - 1;
+            while (j >= 0 && compareManifold(keys, order[j], current) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static int compareManifold(int[] keys, int a, int b) {
+        int oa = a * MANIFOLD_KEYS;
+        int ob = b * MANIFOLD_KEYS;
+        for (int k = 0; k < MANIFOLD_KEYS; k++) {
+            int c = Integer.compare(keys[oa + k], keys[ob + k]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(a, b);
     }
 
-    private void maybePrintManifold(int bodyIdA, int bodyIdB, int n, List<ManifoldPoint> sorted) {
+    /** Stable merge sort of the queued pair indices into {@link #pairOrder} by body key, then geom key. */
+    private void sortPairs() {
+        int[] order = pairOrder;
+        for (int i = 0; i < pairCount; i++) {
+            order[i] = i;
+        }
+        int[] src = order;
+        int[] dst = pairScratch;
+        for (int width = 1; width < pairCount; width <<= 1) {
+            for (int lo = 0; lo < pairCount; lo += width << 1) {
+                int mid = Math.min(lo + width, pairCount);
+                int hi = Math.min(lo + (width << 1), pairCount);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = comparePairs(src[j], src[i]) < 0 ? src[j++] : src[i++];
+                }
+                while (i < mid) {
+                    dst[k++] = src[i++];
+                }
+                while (j < hi) {
+                    dst[k++] = src[j++];
+                }
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != pairOrder) {
+            System.arraycopy(src, 0, pairOrder, 0, pairCount);
+        }
+    }
+
+    private int comparePairs(int a, int b) {
+        int c = Long.compare(pairBodyKey[a], pairBodyKey[b]);
+        return c != 0 ? c : Long.compare(pairGeomKey[a], pairGeomKey[b]);
+    }
+
+    /** Packs two ints so that signed long order equals lexicographic signed int order. */
+    private static long packKey(int hi, int lo) {
+        return ((long) hi << 32) | ((lo ^ SIGN_FLIP) & 0xFFFF_FFFFL);
+    }
+
+    private void growPairs() {
+        int capacity = pairGeomA.length * 2;
+        pairGeomA = Arrays.copyOf(pairGeomA, capacity);
+        pairGeomB = Arrays.copyOf(pairGeomB, capacity);
+        pairBodyKey = Arrays.copyOf(pairBodyKey, capacity);
+        pairGeomKey = Arrays.copyOf(pairGeomKey, capacity);
+        pairOrder = new int[capacity];
+        pairScratch = new int[capacity];
+    }
+
+    private void maybePrintManifold(int bodyIdA, int bodyIdB, int n) {
         if (!traceEnabledForStep(traceStep) || !Boolean.getBoolean("physics.ode4j.trace.manifold")) {
             return;
         }
@@ -197,9 +392,9 @@ public final class Ode4jContactDispatcher {
             before.append(sig(cg));
         }
         StringBuilder after = new StringBuilder();
-        for (int i = 0; i < sorted.size(); i++) {
+        for (int i = 0; i < n; i++) {
             if (i > 0) after.append(";");
-            DContactGeom cg = contactBuffer.getGeomBuffer().get(sorted.get(i).index());
+            DContactGeom cg = contactBuffer.getGeomBuffer().get(manifoldOrder[i]);
             after.append(sig(cg));
         }
         System.out.println("TRACE_MANIFOLD runTag=" + runTag
@@ -211,7 +406,7 @@ public final class Ode4jContactDispatcher {
             + " after=" + after);
     }
 
-    private void maybeTrace(PendingPair pair, int n) {
+    private void maybeTrace(int pair, int n) {
         if (!traceEnabledForStep(traceStep)) {
             return;
         }
@@ -230,10 +425,10 @@ public final class Ode4jContactDispatcher {
         }
         traceEntries.add(new TraceEntry(
             ++traceOrder,
-            pair.bodyIdA(),
-            pair.bodyIdB(),
-            pair.geomIdA(),
-            pair.geomIdB(),
+            (int) (pairBodyKey[pair] >> 32),
+            (int) pairBodyKey[pair] ^ Integer.MIN_VALUE,
+            (int) (pairGeomKey[pair] >> 32),
+            (int) pairGeomKey[pair] ^ Integer.MIN_VALUE,
             n,
             points.toString()
         ));
@@ -323,6 +518,13 @@ public final class Ode4jContactDispatcher {
         return null;
     }
 
+    private static boolean layersCollide(Ode4jBodyHandle a, Ode4jBodyHandle b) {
+        if (a == null || b == null) {
+            return true;
+        }
+        return CollisionLayers.collides(a.layer(), a.config().collidesWith(), b.layer(), b.config().collidesWith());
+    }
+
     private static int geomIdFor(DGeom g, Ode4jBodyHandle fallback) {
         Object data = g.getData();
         if (data instanceof Ode4jBodyHandle.GeomRef ref) {
@@ -0,0 +1,75 @@
+package org.dynamisengine.physics.ode4j.event;
+
+/**
+ * Fixed-capacity ring of debug contact points stored as packed floats (position, normal, depth). When full, new
+ * points overwrite the oldest ones, so memory stays bounded when nobody drains it.
+ */
+public final class Ode4jDebugContactRing {
+    public static final int STRIDE = 7;
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(float px, float py, float pz, float nx, float ny, float nz, float depth);
+    }
+
+    private final float[] data;
+    private final int capacity;
+    private int head;
+    private int size;
+    private long overwritten;
+
+    public Ode4jDebugContactRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.data = new float[capacity * STRIDE];
+    }
+
+    public void add(float px, float py, float pz, float nx, float ny, float nz, float depth) {
+        int slot = (head + size) % capacity;
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+            overwritten++;
+        } else {
+            size++;
+        }
+        int o = slot * STRIDE;
+        data[o] = px;
+        data[o + 1] = py;
+        data[o + 2] = pz;
+        data[o + 3] = nx;
+        data[o + 4] = ny;
+        data[o + 5] = nz;
+        data[o + 6] = depth;
+    }
+
+    /** Visits the buffered points oldest first, then empties the ring. Returns the number visited. */
+    public int drain(Visitor visitor) {
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            int o = ((head + i) % capacity) * STRIDE;
+            visitor.accept(data[o], data[o + 1], data[o + 2], data[o + 3], data[o + 4], data[o + 5], data[o + 6]);
+        }
+        clear();
+        return n;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Points dropped because the ring was full, since creation. */
+    public long overwritten() {
+        return overwritten;
+    }
+}
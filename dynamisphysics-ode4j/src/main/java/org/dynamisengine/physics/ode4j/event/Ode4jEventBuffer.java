@@ -1,19 +1,28 @@
 package org.dynamisengine.physics.ode4j.event;
 
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/** Publishes events straight into typed channels; the ODE step is single-threaded, so order is emission order. */
 public final class Ode4jEventBuffer {
-    private final List<PhysicsEvent> buffer = new ArrayList<>(256);
+    private final PhysicsEventChannels channels = new PhysicsEventChannels();
+    private long pending;
 
-    public void add(PhysicsEvent event) { buffer.add(event); }
+    public void add(PhysicsEvent event) {
+        channels.publish(event);
+        pending++;
+    }
     public List<PhysicsEvent> drain() {
-        var copy = List.copyOf(buffer);
-        buffer.clear();
-        return copy;
+        pending = 0;
+        return channels.drainAll();
+    }
+    public void clear() {
+        channels.clear();
+        pending = 0;
     }
-    public void clear() { buffer.clear(); }
-    public int size() { return buffer.size(); }
+    /** Events added since the last drain or clear. */
+    public int size() { return (int) pending; }
+    public PhysicsEventChannels channels() { return channels; }
 }
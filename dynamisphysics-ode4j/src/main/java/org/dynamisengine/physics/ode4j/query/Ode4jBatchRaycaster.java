@@ -0,0 +1,229 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.query.QueryFanOut;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jQueryScratch;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DCapsule;
+import org.ode4j.ode.DContactGeom;
+import org.ode4j.ode.DContactGeomBuffer;
+import org.ode4j.ode.DCylinder;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DPlane;
+import org.ode4j.ode.DRay;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.DSphere;
+import org.ode4j.ode.OdeHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Closest-hit raycasts over a {@link RaycastBatch}. Each worker borrows a {@link Context} (ray geom,
+ * contact buffer, candidate scratch) from a pool, so steady-state batches allocate nothing.
+ * Rays fan out over the configured executor only when the broadphase can collect candidates concurrently;
+ * otherwise the whole batch runs on the calling thread through {@code collide2}.
+ * Call between steps, never concurrently with {@code step}.
+ *
+ * <p>Every worker casts its own {@link DRay}. ODE colliders are only safe to share across threads for stateless
+ * primitives (sphere, box, capsule, cylinder, plane). Trimesh, heightfield and convex colliders keep per-geom
+ * scratch state, so concurrent rays collide against one of those geoms one at a time, under one of a fixed set of
+ * private lock stripes chosen by the geom's identity hash.
+ */
+public final class Ode4jBatchRaycaster {
+    static final int CHUNK_SIZE = 64;
+    private static final int LOCK_STRIPES = 16;
+
+    private final Ode4jBroadphase broadphase;
+    private final ConcurrentLinkedQueue<Context> idle = new ConcurrentLinkedQueue<>();
+    private final List<Context> created = new ArrayList<>();
+    private final Object[] geomLocks = new Object[LOCK_STRIPES];
+    private Executor executor;
+
+    public Ode4jBatchRaycaster(Ode4jBroadphase broadphase) {
+        this.broadphase = broadphase;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            geomLocks[i] = new Object();
+        }
+    }
+
+    /** {@code null} runs every batch on the calling thread. */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public int raycast(RaycastBatch rays, RaycastHitBuffer out) {
+        rays.checkTarget(out);
+        int count = rays.count();
+        out.setCount(count);
+        if (count > CHUNK_SIZE && executor != null && broadphase.prepareConcurrentQueries()) {
+            QueryFanOut.run(executor, count, CHUNK_SIZE, (from, to) -> castRange(rays, out, from, to, true));
+        } else {
+            castRange(rays, out, 0, count, false);
+        }
+        int hits = 0;
+        boolean[] hitFlags = out.hits();
+        for (int i = 0; i < count; i++) {
+            if (hitFlags[i]) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    public void destroy() {
+        synchronized (created) {
+            for (Context context : created) {
+                context.ray.destroy();
+            }
+            created.clear();
+        }
+        idle.clear();
+    }
+
+    private void castRange(RaycastBatch rays, RaycastHitBuffer out, int from, int to, boolean concurrent) {
+        Context context = idle.poll();
+        if (context == null) {
+            context = new Context();
+            synchronized (created) {
+                created.add(context);
+            }
+        }
+        try {
+            for (int i = from; i < to; i++) {
+                context.cast(rays, out, i, concurrent);
+            }
+        } finally {
+            idle.offer(context);
+        }
+    }
+
+    private final class Context {
+        final DRay ray = OdeHelper.createRay((DSpace) null, 1.0);
+        final DContactGeomBuffer contact = new DContactGeomBuffer(1);
+        final Ode4jQueryScratch scratch = new Ode4jQueryScratch();
+        final DGeom.DNearCallback callback = this::visit;
+
+        int layerMask;
+        double maxDist;
+        double ox, oy, oz;
+        boolean concurrent;
+        Ode4jBodyHandle best;
+        double bestDistance;
+        double px, py, pz, nx, ny, nz;
+
+        void cast(RaycastBatch rays, RaycastHitBuffer out, int index, boolean concurrent) {
+            int base = index * RaycastBatch.VECTOR_STRIDE;
+            float[] origins = rays.origins();
+            float[] directions = rays.directions();
+            double dx = directions[base];
+            double dy = directions[base + 1];
+            double dz = directions[base + 2];
+            double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            maxDist = rays.maxDistances()[index];
+            if (length < 1e-6 || !(maxDist > 0.0)) {
+                out.clear(index);
+                return;
+            }
+            dx /= length;
+            dy /= length;
+            dz /= length;
+            ox = origins[base];
+            oy = origins[base + 1];
+            oz = origins[base + 2];
+            layerMask = rays.layerMask();
+            this.concurrent = concurrent;
+            best = null;
+            bestDistance = Double.POSITIVE_INFINITY;
+            ray.setLength(maxDist);
+            ray.set(ox, oy, oz, dx, dy, dz);
+            ray.setCategoryBits(0L);
+            ray.setCollideBits(layerMask & 0xFFFFFFFFL);
+
+            if (concurrent) {
+                double ex = ox + dx * maxDist;
+                double ey = oy + dy * maxDist;
+                double ez = oz + dz * maxDist;
+                scratch.clear();
+                broadphase.collectCandidates(
+                    Math.min(ox, ex), Math.min(oy, ey), Math.min(oz, ez),
+                    Math.max(ox, ex), Math.max(oy, ey), Math.max(oz, ez),
+                    scratch);
+                for (int i = 0; i < scratch.size(); i++) {
+                    test(scratch.get(i));
+                }
+                scratch.clear();
+            } else {
+                broadphase.collide2(ray, null, callback);
+            }
+
+            if (best == null) {
+                out.clear(index);
+            } else {
+                out.set(index, best, (float) (bestDistance / maxDist), best.layer(),
+                    (float) px, (float) py, (float) pz, (float) nx, (float) ny, (float) nz);
+                best = null;
+            }
+        }
+
+        private void visit(Object data, DGeom o1, DGeom o2) {
+            test(o1 == ray ? o2 : o1);
+        }
+
+        private void test(DGeom target) {
+            Ode4jBodyHandle handle = handleOf(target);
+            if (handle == null || !handle.isAlive() || !CollisionLayers.matches(handle.layer(), layerMask)) {
+                return;
+            }
+            int hits;
+            if (concurrent && !isStatelessPrimitive(target)) {
+                synchronized (geomLocks[System.identityHashCode(target) & (LOCK_STRIPES - 1)]) {
+                    hits = OdeHelper.collide(ray, target, 1, contact);
+                }
+            } else {
+                hits = OdeHelper.collide(ray, target, 1, contact);
+            }
+            if (hits == 0) {
+                return;
+            }
+            DContactGeom cg = contact.get(0);
+            double hx = cg.pos.get0() - ox;
+            double hy = cg.pos.get1() - oy;
+            double hz = cg.pos.get2() - oz;
+            double distance = Math.sqrt(hx * hx + hy * hy + hz * hz);
+            if (distance >= bestDistance) {
+                return;
+            }
+            best = handle;
+            bestDistance = distance;
+            px = cg.pos.get0();
+            py = cg.pos.get1();
+            pz = cg.pos.get2();
+            nx = cg.normal.get0();
+            ny = cg.normal.get1();
+            nz = cg.normal.get2();
+        }
+    }
+
+    private static boolean isStatelessPrimitive(DGeom geom) {
+        return geom instanceof DSphere || geom instanceof DBox || geom instanceof DCapsule
+            || geom instanceof DCylinder || geom instanceof DPlane;
+    }
+
+    private static Ode4jBodyHandle handleOf(DGeom geom) {
+        Object data = geom.getData();
+        if (data instanceof Ode4jBodyHandle h) {
+            return h;
+        }
+        if (data instanceof Ode4jBodyHandle.GeomRef ref) {
+            return ref.handle();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,292 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.ode4j.math.DQuaternion;
+import org.ode4j.math.DVector3C;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DCapsule;
+import org.ode4j.ode.DCylinder;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSphere;
+
+/**
+ * Separation distance between two convex primitive geoms (sphere, box, capsule, cylinder), by GJK over their support
+ * functions. ODE itself only reports penetration, which is not enough to advance a sweep conservatively.
+ *
+ * <p>The simplex is reduced by testing every face of it (at most 15 for a tetrahedron) and keeping the closest
+ * projection of the origin that lies inside its face. Scratch state is reused; one instance per thread.
+ */
+final class Ode4jConvexDistance {
+    private static final int MAX_ITERATIONS = 64;
+    private static final double REL_TOLERANCE = 1e-9;
+    private static final double EPSILON = 1e-12;
+
+    private final double[] px = new double[4];
+    private final double[] py = new double[4];
+    private final double[] pz = new double[4];
+    private final double[] point = new double[3];
+    private final double[] supportA = new double[3];
+    private final double[] supportB = new double[3];
+    private final DQuaternion rotation = new DQuaternion();
+    private int count;
+    private double vx;
+    private double vy;
+    private double vz;
+
+    static boolean supports(DGeom geom) {
+        return geom instanceof DSphere || geom instanceof DBox || geom instanceof DCapsule || geom instanceof DCylinder;
+    }
+
+    /** Radius of the smallest sphere around the geom's position that contains it. */
+    static double boundingRadius(DGeom geom) {
+        return switch (geom) {
+            case DSphere s -> s.getRadius();
+            case DBox b -> {
+                DVector3C l = b.getLengths();
+                yield 0.5 * Math.sqrt(l.get0() * l.get0() + l.get1() * l.get1() + l.get2() * l.get2());
+            }
+            case DCapsule c -> c.getRadius() + c.getLength() * 0.5;
+            case DCylinder c -> Math.sqrt(c.getRadius() * c.getRadius() + c.getLength() * c.getLength() * 0.25);
+            default -> throw new IllegalArgumentException("not a convex primitive: " + geom.getClass().getSimpleName());
+        };
+    }
+
+    /**
+     * Distance between {@code a} and {@code b} as currently placed, {@code 0} when they touch or overlap. When GJK
+     * stops early this is its lower bound, so the result never overestimates the gap.
+     */
+    double distance(DGeom a, DGeom b) {
+        DVector3C ca = a.getPosition();
+        DVector3C cb = b.getPosition();
+        vx = ca.get0() - cb.get0();
+        vy = ca.get1() - cb.get1();
+        vz = ca.get2() - cb.get2();
+        if (vx * vx + vy * vy + vz * vz < EPSILON) {
+            vx = 1.0;
+        }
+        count = 0;
+        double lower = 0.0;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            support(a, -vx, -vy, -vz, supportA);
+            support(b, vx, vy, vz, supportB);
+            double wx = supportA[0] - supportB[0];
+            double wy = supportA[1] - supportB[1];
+            double wz = supportA[2] - supportB[2];
+            double vv = vx * vx + vy * vy + vz * vz;
+            double vw = vx * wx + vy * wy + vz * wz;
+            if (vw > 0.0) {
+                lower = Math.max(lower, vw / Math.sqrt(vv));
+            }
+            if (vv - vw <= REL_TOLERANCE * vv + EPSILON || contains(wx, wy, wz)) {
+                return lower;
+            }
+            px[count] = wx;
+            py[count] = wy;
+            pz[count] = wz;
+            count++;
+            if (!reduce()) {
+                return lower;
+            }
+            if (count == 4 || vx * vx + vy * vy + vz * vz < EPSILON) {
+                return 0.0;
+            }
+        }
+        return lower;
+    }
+
+    /** Signed distance from the plane {@code n . p = d} to the lowest point of {@code geom} along {@code -n}. */
+    double planeDistance(DGeom geom, double nx, double ny, double nz, double d) {
+        support(geom, -nx, -ny, -nz, supportA);
+        return nx * supportA[0] + ny * supportA[1] + nz * supportA[2] - d;
+    }
+
+    private boolean contains(double x, double y, double z) {
+        for (int i = 0; i < count; i++) {
+            if (px[i] == x && py[i] == y && pz[i] == z) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Replaces the simplex by the face holding the point closest to the origin and moves {@code v} there. */
+    private boolean reduce() {
+        int bestMask = 0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        double bx = 0.0;
+        double by = 0.0;
+        double bz = 0.0;
+        for (int mask = 1; mask < (1 << count); mask++) {
+            if (!project(mask)) {
+                continue;
+            }
+            double d = point[0] * point[0] + point[1] * point[1] + point[2] * point[2];
+            if (d < bestDistance) {
+                bestDistance = d;
+                bestMask = mask;
+                bx = point[0];
+                by = point[1];
+                bz = point[2];
+            }
+        }
+        if (bestMask == 0) {
+            return false;
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if ((bestMask & (1 << i)) != 0) {
+                px[kept] = px[i];
+                py[kept] = py[i];
+                pz[kept] = pz[i];
+                kept++;
+            }
+        }
+        count = kept;
+        vx = bx;
+        vy = by;
+        vz = bz;
+        return true;
+    }
+
+    /**
+     * Projects the origin onto the affine hull of the simplex points in {@code mask}. Returns {@code false} when the
+     * projection lies outside that face or the face is degenerate.
+     */
+    private boolean project(int mask) {
+        int i0 = Integer.numberOfTrailingZeros(mask);
+        int rest = mask & ~(1 << i0);
+        int n = Integer.bitCount(rest);
+        double ox = px[i0];
+        double oy = py[i0];
+        double oz = pz[i0];
+        if (n == 0) {
+            point[0] = ox;
+            point[1] = oy;
+            point[2] = oz;
+            return true;
+        }
+        int i1 = Integer.numberOfTrailingZeros(rest);
+        double e1x = px[i1] - ox, e1y = py[i1] - oy, e1z = pz[i1] - oz;
+        double g11 = e1x * e1x + e1y * e1y + e1z * e1z;
+        double b1 = -(e1x * ox + e1y * oy + e1z * oz);
+        double l1;
+        double l2 = 0.0;
+        double l3 = 0.0;
+        double e2x = 0.0, e2y = 0.0, e2z = 0.0;
+        double e3x = 0.0, e3y = 0.0, e3z = 0.0;
+        if (n == 1) {
+            if (g11 < EPSILON) {
+                return false;
+            }
+            l1 = b1 / g11;
+        } else {
+            int i2 = Integer.numberOfTrailingZeros(rest & ~(1 << i1));
+            e2x = px[i2] - ox;
+            e2y = py[i2] - oy;
+            e2z = pz[i2] - oz;
+            double g12 = e1x * e2x + e1y * e2y + e1z * e2z;
+            double g22 = e2x * e2x + e2y * e2y + e2z * e2z;
+            double b2 = -(e2x * ox + e2y * oy + e2z * oz);
+            if (n == 2) {
+                double det = g11 * g22 - g12 * g12;
+                if (det < EPSILON * Math.max(1.0, g11 * g22)) {
+                    return false;
+                }
+                l1 = (b1 * g22 - b2 * g12) / det;
+                l2 = (g11 * b2 - g12 * b1) / det;
+            } else {
+                int i3 = 31 - Integer.numberOfLeadingZeros(rest);
+                e3x = px[i3] - ox;
+                e3y = py[i3] - oy;
+                e3z = pz[i3] - oz;
+                double g13 = e1x * e3x + e1y * e3y + e1z * e3z;
+                double g23 = e2x * e3x + e2y * e3y + e2z * e3z;
+                double g33 = e3x * e3x + e3y * e3y + e3z * e3z;
+                double b3 = -(e3x * ox + e3y * oy + e3z * oz);
+                double c11 = g22 * g33 - g23 * g23;
+                double c12 = g13 * g23 - g12 * g33;
+                double c13 = g12 * g23 - g13 * g22;
+                double det = g11 * c11 + g12 * c12 + g13 * c13;
+                if (Math.abs(det) < EPSILON * Math.max(1.0, g11 * g22 * g33)) {
+                    return false;
+                }
+                double c22 = g11 * g33 - g13 * g13;
+                double c23 = g12 * g13 - g11 * g23;
+                double c33 = g11 * g22 - g12 * g12;
+                l1 = (c11 * b1 + c12 * b2 + c13 * b3) / det;
+                l2 = (c12 * b1 + c22 * b2 + c23 * b3) / det;
+                l3 = (c13 * b1 + c23 * b2 + c33 * b3) / det;
+            }
+        }
+        double l0 = 1.0 - l1 - l2 - l3;
+        if (l0 < -EPSILON || l1 < -EPSILON || l2 < -EPSILON || l3 < -EPSILON) {
+            return false;
+        }
+        point[0] = ox + l1 * e1x + l2 * e2x + l3 * e3x;
+        point[1] = oy + l1 * e1y + l2 * e2y + l3 * e3y;
+        point[2] = oz + l1 * e1z + l2 * e2z + l3 * e3z;
+        return true;
+    }
+
+    /** Farthest point of {@code geom} along world direction {@code (dx, dy, dz)}. */
+    private void support(DGeom geom, double dx, double dy, double dz, double[] out) {
+        DVector3C c = geom.getPosition();
+        double len = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (geom instanceof DSphere sphere) {
+            double r = len > 0.0 ? sphere.getRadius() / len : 0.0;
+            out[0] = c.get0() + dx * r;
+            out[1] = c.get1() + dy * r;
+            out[2] = c.get2() + dz * r;
+            return;
+        }
+        geom.getQuaternion(rotation);
+        double qw = rotation.get0();
+        double qx = rotation.get1();
+        double qy = rotation.get2();
+        double qz = rotation.get3();
+        // Direction into the geom's local frame: rotate by the conjugate.
+        rotate(qw, -qx, -qy, -qz, dx, dy, dz, out);
+        double lx = out[0];
+        double ly = out[1];
+        double lz = out[2];
+        double sx;
+        double sy;
+        double sz;
+        double round = 0.0;
+        switch (geom) {
+            case DBox box -> {
+                DVector3C l = box.getLengths();
+                sx = Math.copySign(l.get0() * 0.5, lx);
+                sy = Math.copySign(l.get1() * 0.5, ly);
+                sz = Math.copySign(l.get2() * 0.5, lz);
+            }
+            case DCapsule capsule -> {
+                sx = 0.0;
+                sy = 0.0;
+                sz = Math.copySign(capsule.getLength() * 0.5, lz);
+                round = len > 0.0 ? capsule.getRadius() / len : 0.0;
+            }
+            case DCylinder cylinder -> {
+                double radial = Math.sqrt(lx * lx + ly * ly);
+                double r = radial > 0.0 ? cylinder.getRadius() / radial : 0.0;
+                sx = lx * r;
+                sy = ly * r;
+                sz = Math.copySign(cylinder.getLength() * 0.5, lz);
+            }
+            default -> throw new IllegalArgumentException("not a convex primitive: " + geom.getClass().getSimpleName());
+        }
+        rotate(qw, qx, qy, qz, sx, sy, sz, out);
+        out[0] += c.get0() + dx * round;
+        out[1] += c.get1() + dy * round;
+        out[2] += c.get2() + dz * round;
+    }
+
+    private static void rotate(double qw, double qx, double qy, double qz, double x, double y, double z, double[] out) {
+        // v + 2 * q.xyz x (q.xyz x v + w * v)
+        double tx = qy * z - qz * y + qw * x;
+        double ty = qz * x - qx * z + qw * y;
+        double tz = qx * y - qy * x + qw * z;
+        out[0] = x + 2.0 * (qy * tz - qz * ty);
+        out[1] = y + 2.0 * (qz * tx - qx * tz);
+        out[2] = z + 2.0 * (qx * ty - qy * tx);
+    }
+}
@@ -0,0 +1,117 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DContactGeomBuffer;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.DSphere;
+import org.ode4j.ode.OdeHelper;
+
+import java.util.Collection;
+
+/**
+ * Sphere and AABB overlap queries. Candidates come from the broadphase and are confirmed with an exact
+ * ODE collide against a reusable query geom; each body is reported once, in broadphase order.
+ * Not thread-safe; call from the stepping thread.
+ */
+public final class Ode4jOverlapExecutor {
+    private final Ode4jBroadphase broadphase;
+    private final DContactGeomBuffer contact = new DContactGeomBuffer(1);
+    private final DGeom.DNearCallback callback = this::visit;
+    private DSphere sphere;
+    private DBox box;
+
+    private DGeom queryGeom;
+    private int layerMask;
+    private Collection<? super RigidBodyHandle> out;
+    private int found;
+    private int stamp;
+
+    public Ode4jOverlapExecutor(Ode4jBroadphase broadphase) {
+        this.broadphase = broadphase;
+    }
+
+    public int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        if (radius <= 0f) {
+            return 0;
+        }
+        if (sphere == null) {
+            sphere = OdeHelper.createSphere((DSpace) null, radius);
+        }
+        sphere.setRadius(radius);
+        sphere.setPosition(centre.x(), centre.y(), centre.z());
+        return query(sphere, layerMask, out);
+    }
+
+    public int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        float lx = max.x() - min.x();
+        float ly = max.y() - min.y();
+        float lz = max.z() - min.z();
+        if (lx <= 0f || ly <= 0f || lz <= 0f) {
+            return 0;
+        }
+        if (box == null) {
+            box = OdeHelper.createBox((DSpace) null, lx, ly, lz);
+        }
+        box.setLengths(lx, ly, lz);
+        box.setPosition((min.x() + max.x()) * 0.5, (min.y() + max.y()) * 0.5, (min.z() + max.z()) * 0.5);
+        return query(box, layerMask, out);
+    }
+
+    public void destroy() {
+        if (sphere != null) {
+            sphere.destroy();
+            sphere = null;
+        }
+        if (box != null) {
+            box.destroy();
+            box = null;
+        }
+    }
+
+    private int query(DGeom geom, int layerMask, Collection<? super RigidBodyHandle> out) {
+        queryGeom = geom;
+        this.layerMask = layerMask;
+        this.out = out;
+        found = 0;
+        stamp++;
+        try {
+            broadphase.collide2(geom, null, callback);
+            return found;
+        } finally {
+            queryGeom = null;
+            this.out = null;
+        }
+    }
+
+    private void visit(Object data, DGeom o1, DGeom o2) {
+        DGeom target = o1 == queryGeom ? o2 : o1;
+        Ode4jBodyHandle handle = handleOf(target);
+        if (handle == null || !handle.isAlive() || !CollisionLayers.matches(handle.layer(), layerMask)) {
+            return;
+        }
+        if (OdeHelper.collide(queryGeom, target, 1, contact) == 0) {
+            return;
+        }
+        if (handle.visitQuery(stamp)) {
+            out.add(handle);
+            found++;
+        }
+    }
+
+    private static Ode4jBodyHandle handleOf(DGeom geom) {
+        Object data = geom.getData();
+        if (data instanceof Ode4jBodyHandle h) {
+            return h;
+        }
+        if (data instanceof Ode4jBodyHandle.GeomRef ref) {
+            return ref.handle();
+        }
+        return null;
+    }
+}
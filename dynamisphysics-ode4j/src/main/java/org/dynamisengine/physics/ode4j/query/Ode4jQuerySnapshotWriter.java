@@ -0,0 +1,145 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.collision.shapes.CompoundCollisionShape;
+import org.dynamisengine.collision.shapes.ConvexHullCollisionShape;
+import org.dynamisengine.collision.shapes.HeightfieldCollisionShape;
+import org.dynamisengine.collision.shapes.PlaneCollisionShape;
+import org.dynamisengine.collision.shapes.ShapeType;
+import org.dynamisengine.collision.shapes.TriangleMeshCollisionShape;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.QueryTriangles;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
+import org.ode4j.math.DQuaternion;
+import org.ode4j.math.DVector3C;
+import org.ode4j.ode.DAABBC;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DCapsule;
+import org.ode4j.ode.DCylinder;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DHeightfield;
+import org.ode4j.ode.DPlane;
+import org.ode4j.ode.DSphere;
+import org.ode4j.ode.DTriMesh;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Copies every enabled body geom into a {@link QuerySnapshot}, one entry per geom. ODE capsules and cylinders run
+ * along their local Z axis, so their orientation gets a +90 degree turn about X to match the snapshot's Y axis.
+ * Trimesh, convex hull and heightfield geoms become {@link QueryTriangles} built once per shape and reused by later
+ * snapshots. Call from the stepping thread.
+ */
+public final class Ode4jQuerySnapshotWriter {
+    private static final double HALF_SQRT2 = Math.sqrt(0.5);
+
+    private final Ode4jBodyRegistry bodyRegistry;
+    private final QuerySnapshot.Builder builder = QuerySnapshot.builder();
+    private final DQuaternion rotation = new DQuaternion();
+    private final Map<CollisionShape, QueryTriangles> trianglesByShape = new WeakHashMap<>();
+
+    public Ode4jQuerySnapshotWriter(Ode4jBodyRegistry bodyRegistry) {
+        this.bodyRegistry = bodyRegistry;
+    }
+
+    public QuerySnapshot write(long sequence) {
+        builder.reset();
+        for (Ode4jBodyHandle handle : bodyRegistry.allHandles()) {
+            if (!handle.isAlive()) {
+                continue;
+            }
+            List<DGeom> geoms = handle.ownedGeoms();
+            for (int i = 0; i < geoms.size(); i++) {
+                DGeom geom = geoms.get(i);
+                if (geom.isEnabled()) {
+                    add(handle, geom, shapeOf(handle, i));
+                }
+            }
+        }
+        return builder.build(sequence);
+    }
+
+    /** Shape behind owned geom {@code index}: the body's shape, or the matching child of a compound. */
+    private static CollisionShape shapeOf(Ode4jBodyHandle handle, int index) {
+        CollisionShape shape = handle.config().shape();
+        if (shape instanceof CompoundCollisionShape compound) {
+            return index < compound.childCount() ? compound.children().get(index) : null;
+        }
+        return shape;
+    }
+
+    private QueryTriangles trianglesOf(CollisionShape shape) {
+        if (shape == null) {
+            return null;
+        }
+        return switch (shape.shapeType()) {
+            case TRIANGLE_MESH, CONVEX_HULL, HEIGHTFIELD -> trianglesByShape.computeIfAbsent(shape, Ode4jQuerySnapshotWriter::toTriangles);
+            default -> null;
+        };
+    }
+
+    private static QueryTriangles toTriangles(CollisionShape shape) {
+        return switch (shape) {
+            case TriangleMeshCollisionShape mesh -> QueryTriangles.of(mesh.vertices(), mesh.indices());
+            case ConvexHullCollisionShape hull -> QueryTriangles.of(hull.vertices(), hull.indices());
+            case HeightfieldCollisionShape hf -> QueryTriangles.heightfield(
+                hf.heights(), hf.widthSamples(), hf.depthSamples(), hf.worldWidth(), hf.worldDepth());
+            default -> null;
+        };
+    }
+
+    private void add(Ode4jBodyHandle handle, DGeom geom, CollisionShape shape) {
+        int layer = handle.layer();
+        PhysicsMaterial material = handle.config().material();
+        if (geom instanceof DPlane && handle.config().shape().shapeType() == ShapeType.PLANE) {
+            PlaneCollisionShape plane = (PlaneCollisionShape) handle.config().shape();
+            builder.addPlane(handle, layer, material, plane.normalX(), plane.normalY(), plane.normalZ(), plane.distance());
+            return;
+        }
+        DVector3C p = geom.getPosition();
+        float x = (float) p.get0();
+        float y = (float) p.get1();
+        float z = (float) p.get2();
+        if (geom instanceof DSphere sphere) {
+            builder.addSphere(handle, layer, material, x, y, z, (float) sphere.getRadius());
+            return;
+        }
+        geom.getQuaternion(rotation);
+        double qw = rotation.get0();
+        double qx = rotation.get1();
+        double qy = rotation.get2();
+        double qz = rotation.get3();
+        if (geom instanceof DBox box) {
+            DVector3C lengths = box.getLengths();
+            builder.addBox(handle, layer, material, x, y, z, (float) qx, (float) qy, (float) qz, (float) qw,
+                (float) (lengths.get0() * 0.5), (float) (lengths.get1() * 0.5), (float) (lengths.get2() * 0.5));
+        } else if (geom instanceof DCapsule capsule) {
+            // q * rotX(90deg): the snapshot's local Y maps onto ODE's local Z.
+            builder.addCapsule(handle, layer, material, x, y, z,
+                (float) ((qw + qx) * HALF_SQRT2),
+                (float) ((qy + qz) * HALF_SQRT2),
+                (float) ((qz - qy) * HALF_SQRT2),
+                (float) ((qw - qx) * HALF_SQRT2),
+                (float) capsule.getRadius(), (float) (capsule.getLength() * 0.5));
+        } else if (geom instanceof DCylinder cylinder) {
+            builder.addCylinder(handle, layer, material, x, y, z,
+                (float) ((qw + qx) * HALF_SQRT2),
+                (float) ((qy + qz) * HALF_SQRT2),
+                (float) ((qz - qy) * HALF_SQRT2),
+                (float) ((qw - qx) * HALF_SQRT2),
+                (float) cylinder.getRadius(), (float) (cylinder.getLength() * 0.5));
+        } else if ((geom instanceof DTriMesh || geom instanceof DHeightfield) && trianglesOf(shape) != null) {
+            builder.addTriangles(handle, layer, material, x, y, z, (float) qx, (float) qy, (float) qz, (float) qw,
+                trianglesOf(shape));
+        } else {
+            DAABBC box = geom.getAABB();
+            builder.addBounds(handle, layer, material,
+                (float) box.getMin0(), (float) box.getMin1(), (float) box.getMin2(),
+                (float) box.getMax0(), (float) box.getMax1(), (float) box.getMax2());
+        }
+    }
+}
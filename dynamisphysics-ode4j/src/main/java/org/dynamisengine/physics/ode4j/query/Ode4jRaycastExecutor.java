@@ -1,9 +1,10 @@
 package org.dynamisengine.physics.ode4j.query;
 
-import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.CollisionLayers;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
 import org.ode4j.ode.DContactGeom;
 import org.ode4j.ode.DContactGeomBuffer;
 import org.ode4j.ode.DGeom;
@@ -15,100 +16,123 @@ import org.dynamisengine.vectrix.core.Vector3f;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Ray queries against the ODE4J broadphase. The layer mask is carried in the ray's collide bits (with no
+ * category bits), so the broadphase's category/collide test drops masked geoms before the ray-vs-geom
+ * narrow test. The ray geom and contact buffer are reused; call from the stepping thread.
+ */
 public final class Ode4jRaycastExecutor {
-    private final DSpace space;
+    private final Ode4jBroadphase broadphase;
+    private final DContactGeomBuffer contact = new DContactGeomBuffer(1);
+    private final DGeom.DNearCallback closestCallback = this::visitClosest;
+    private final DGeom.DNearCallback allCallback = this::visitAll;
+    private DRay ray;
+
+    private Vector3f origin;
+    private float maxDist;
+    private int layerMask;
+    private RaycastResult closest;
+    private List<RaycastResult> hits;
 
     public Ode4jRaycastExecutor(DSpace space) {
-        this.space = space;
+        this(Ode4jBroadphase.wrap(space));
     }
 
-    public Optional<RaycastResult> raycastClosest(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
-        DRay ray = OdeHelper.createRay((DSpace) null, maxDist);
-        ray.set(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z());
+    public Ode4jRaycastExecutor(Ode4jBroadphase broadphase) {
+        this.broadphase = broadphase;
+    }
 
-        AtomicReference<RaycastResult> closest = new AtomicReference<>();
+    public Optional<RaycastResult> raycastClosest(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        prepare(origin, dir, maxDist, layerMask);
+        try {
+            broadphase.collide2(ray, null, closestCallback);
+            return Optional.ofNullable(closest);
+        } finally {
+            closest = null;
+            this.origin = null;
+        }
+    }
 
-        OdeHelper.spaceCollide2(ray, space, null, (data, o1, o2) -> {
-            DGeom target = o1 == ray ? o2 : o1;
-            DContactGeomBuffer buf = new DContactGeomBuffer(1);
-            int n = OdeHelper.collide(ray, target, 1, buf);
-            if (n == 0) {
-                return;
-            }
-            DContactGeom cg = buf.get(0);
-            float dx = (float) cg.pos.get0() - origin.x();
-            float dy = (float) cg.pos.get1() - origin.y();
-            float dz = (float) cg.pos.get2() - origin.z();
-            float fraction = (float) (Math.sqrt(dx * dx + dy * dy + dz * dz) / maxDist);
-            PhysicsMaterial mat = PhysicsMaterial.DEFAULT;
-            RigidBodyHandle handle = null;
-            Object data2 = target.getData();
-            if (data2 instanceof Ode4jBodyHandle h) {
-                mat = h.config().material();
-                handle = h;
-            } else if (data2 instanceof Ode4jBodyHandle.GeomRef ref) {
-                mat = ref.handle().config().material();
-                handle = ref.handle();
-            }
-            RaycastResult result = new RaycastResult(
-                handle,
-                new Vector3f((float) cg.pos.get0(), (float) cg.pos.get1(), (float) cg.pos.get2()),
-                new Vector3f((float) cg.normal.get0(), (float) cg.normal.get1(), (float) cg.normal.get2()),
-                fraction,
-                mat,
-                0
-            );
-            RaycastResult prev = closest.get();
-            if (prev == null || fraction < prev.fraction()) {
-                closest.set(result);
-            }
-        });
+    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        prepare(origin, dir, maxDist, layerMask);
+        List<RaycastResult> results = new ArrayList<>();
+        hits = results;
+        try {
+            broadphase.collide2(ray, null, allCallback);
+        } finally {
+            hits = null;
+            this.origin = null;
+        }
+        results.sort((a, b) -> Float.compare(a.fraction(), b.fraction()));
+        return results;
+    }
 
-        ray.destroy();
-        return Optional.ofNullable(closest.get());
+    public void destroy() {
+        if (ray != null) {
+            ray.destroy();
+            ray = null;
+        }
     }
 
-    public List<RaycastResult> raycastAll(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
-        DRay ray = OdeHelper.createRay((DSpace) null, maxDist);
+    private void prepare(Vector3f origin, Vector3f dir, float maxDist, int layerMask) {
+        if (ray == null) {
+            ray = OdeHelper.createRay((DSpace) null, maxDist);
+            ray.setCategoryBits(0L);
+        }
+        ray.setLength(maxDist);
         ray.set(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z());
-        List<RaycastResult> hits = new ArrayList<>();
+        ray.setCollideBits(layerMask & 0xFFFFFFFFL);
+        this.origin = origin;
+        this.maxDist = maxDist;
+        this.layerMask = layerMask;
+    }
+
+    private void visitClosest(Object data, DGeom o1, DGeom o2) {
+        RaycastResult result = test(o1 == ray ? o2 : o1);
+        if (result != null && (closest == null || result.fraction() < closest.fraction())) {
+            closest = result;
+        }
+    }
 
-        OdeHelper.spaceCollide2(ray, space, null, (data, o1, o2) -> {
-            DGeom target = o1 == ray ? o2 : o1;
-            DContactGeomBuffer buf = new DContactGeomBuffer(1);
-            int n = OdeHelper.collide(ray, target, 1, buf);
-            if (n == 0) {
-                return;
-            }
-            DContactGeom cg = buf.get(0);
-            float dx = (float) cg.pos.get0() - origin.x();
-            float dy = (float) cg.pos.get1() - origin.y();
-            float dz = (float) cg.pos.get2() - origin.z();
-            float fraction = (float) (Math.sqrt(dx * dx + dy * dy + dz * dz) / maxDist);
-            PhysicsMaterial mat = PhysicsMaterial.DEFAULT;
-            RigidBodyHandle handle = null;
-            Object data2 = target.getData();
-            if (data2 instanceof Ode4jBodyHandle h) {
-                mat = h.config().material();
-                handle = h;
-            } else if (data2 instanceof Ode4jBodyHandle.GeomRef ref) {
-                mat = ref.handle().config().material();
-                handle = ref.handle();
-            }
-            hits.add(new RaycastResult(
-                handle,
-                new Vector3f((float) cg.pos.get0(), (float) cg.pos.get1(), (float) cg.pos.get2()),
-                new Vector3f((float) cg.normal.get0(), (float) cg.normal.get1(), (float) cg.normal.get2()),
-                fraction,
-                mat,
-                0
-            ));
-        });
+    private void visitAll(Object data, DGeom o1, DGeom o2) {
+        RaycastResult result = test(o1 == ray ? o2 : o1);
+        if (result != null) {
+            hits.add(result);
+        }
+    }
+
+    private RaycastResult test(DGeom target) {
+        Ode4jBodyHandle handle = handleOf(target);
+        if (handle != null && !CollisionLayers.matches(handle.layer(), layerMask)) {
+            return null;
+        }
+        if (OdeHelper.collide(ray, target, 1, contact) == 0) {
+            return null;
+        }
+        DContactGeom cg = contact.get(0);
+        float dx = (float) cg.pos.get0() - origin.x();
+        float dy = (float) cg.pos.get1() - origin.y();
+        float dz = (float) cg.pos.get2() - origin.z();
+        float fraction = (float) (Math.sqrt(dx * dx + dy * dy + dz * dz) / maxDist);
+        return new RaycastResult(
+            handle,
+            new Vector3f((float) cg.pos.get0(), (float) cg.pos.get1(), (float) cg.pos.get2()),
+            new Vector3f((float) cg.normal.get0(), (float) cg.normal.get1(), (float) cg.normal.get2()),
+            fraction,
+            handle != null ? handle.config().material() : PhysicsMaterial.DEFAULT,
+            handle != null ? handle.layer() : 0
+        );
+    }
 
-        ray.destroy();
-        hits.sort((a, b) -> Float.compare(a.fraction(), b.fraction()));
-        return hits;
+    private static Ode4jBodyHandle handleOf(DGeom geom) {
+        Object data = geom.getData();
+        if (data instanceof Ode4jBodyHandle h) {
+            return h;
+        }
+        if (data instanceof Ode4jBodyHandle.GeomRef ref) {
+            return ref.handle();
+        }
+        return null;
     }
 }
@@ -0,0 +1,287 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.collision.shapes.BoxCollisionShape;
+import org.dynamisengine.collision.shapes.CapsuleCollisionShape;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.collision.shapes.CylinderCollisionShape;
+import org.dynamisengine.collision.shapes.PlaneCollisionShape;
+import org.dynamisengine.collision.shapes.SphereCollisionShape;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.query.ShapecastResult;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
+import org.dynamisengine.physics.ode4j.shape.Ode4jShapeAdapter;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.ode4j.math.DMatrix3;
+import org.ode4j.ode.DAABBC;
+import org.ode4j.ode.DBox;
+import org.ode4j.ode.DCapsule;
+import org.ode4j.ode.DContactGeom;
+import org.ode4j.ode.DContactGeomBuffer;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DPlane;
+import org.ode4j.ode.DRotation;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.OdeHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Swept-shape queries for convex primitives (sphere, box, capsule, cylinder), by conservative advancement.
+ *
+ * <p>Candidates are the bodies whose geoms overlap the swept AABB. From each pose the shape advances by the
+ * smallest clearance to any candidate, which it cannot cover without touching that candidate since it only
+ * translates along the path. Clearance is the exact GJK distance for convex primitive targets and the plane
+ * distance for planes. Meshes, heightfields and convex hulls have no distance query: far from their AABB the
+ * AABB distance is used; closer in, the longest advance whose bounding capsule (the cast shape's bounding sphere
+ * swept along the step) misses the target, halved until clear. Advances are never shorter than a tolerance, so
+ * only contacts shallower than that can be missed. The first overlapping pose is refined by bisection to the time
+ * of impact.
+ *
+ * <p>Sliding within the tolerance of a surface without touching it costs one step per tolerance of path.
+ */
+public final class Ode4jShapecastExecutor {
+    private static final int REFINE_ITERATIONS = 16;
+    private static final float TOLERANCE_FRACTION = 0.01f;
+    private static final float MIN_TOLERANCE = 1e-4f;
+
+    private final Ode4jBroadphase broadphase;
+    private final DContactGeomBuffer contact = new DContactGeomBuffer(1);
+    private final List<DGeom> candidates = new ArrayList<>();
+    private final Ode4jConvexDistance convexDistance = new Ode4jConvexDistance();
+    private final DMatrix3 capsuleRotation = new DMatrix3();
+    private DBox sweepBox;
+    private DCapsule sweepCapsule;
+
+    private int layerMask;
+    private DGeom castGeom;
+
+    public Ode4jShapecastExecutor(Ode4jBroadphase broadphase) {
+        this.broadphase = broadphase;
+    }
+
+    public Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask) {
+        float innerRadius = Math.max(innerRadius(shape), 1e-4f);
+        DGeom geom = Ode4jShapeAdapter.toGeom(shape, (DSpace) null);
+        try {
+            castGeom = geom;
+            this.layerMask = layerMask;
+            collectCandidates(geom, from, to);
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+
+            float dx = to.x() - from.x();
+            float dy = to.y() - from.y();
+            float dz = to.z() - from.z();
+            float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            DGeom hit = firstHit(from, dx, dy, dz, 0f);
+            if (hit != null) {
+                return Optional.of(result(hit, 0f));
+            }
+            if (length <= 0f) {
+                return Optional.empty();
+            }
+            float tolerance = Math.max(MIN_TOLERANCE, innerRadius * TOLERANCE_FRACTION);
+            double boundingRadius = Ode4jConvexDistance.boundingRadius(geom);
+            float t = 0f;
+            while (t < 1f) {
+                double clearance = clearance(from, dx, dy, dz, length, t, boundingRadius);
+                float next = (float) Math.min(1.0, t + Math.max(clearance, tolerance) / length);
+                hit = firstHit(from, dx, dy, dz, next);
+                if (hit != null) {
+                    float lo = t;
+                    float hi = next;
+                    for (int k = 0; k < REFINE_ITERATIONS; k++) {
+                        float mid = (lo + hi) * 0.5f;
+                        DGeom midHit = firstHit(from, dx, dy, dz, mid);
+                        if (midHit != null) {
+                            hi = mid;
+                            hit = midHit;
+                        } else {
+                            lo = mid;
+                        }
+                    }
+                    place(from, dx, dy, dz, hi);
+                    return Optional.of(result(hit, hi));
+                }
+                t = next;
+            }
+            return Optional.empty();
+        } finally {
+            candidates.clear();
+            castGeom = null;
+            geom.destroy();
+        }
+    }
+
+    public void destroy() {
+        if (sweepBox != null) {
+            sweepBox.destroy();
+            sweepBox = null;
+        }
+        if (sweepCapsule != null) {
+            sweepCapsule.destroy();
+            sweepCapsule = null;
+        }
+    }
+
+    private void collectCandidates(DGeom geom, Vector3f from, Vector3f to) {
+        geom.setPosition(from.x(), from.y(), from.z());
+        DAABBC a = geom.getAABB();
+        double minX = a.getMin0(), minY = a.getMin1(), minZ = a.getMin2();
+        double maxX = a.getMax0(), maxY = a.getMax1(), maxZ = a.getMax2();
+        geom.setPosition(to.x(), to.y(), to.z());
+        DAABBC b = geom.getAABB();
+        minX = Math.min(minX, b.getMin0());
+        minY = Math.min(minY, b.getMin1());
+        minZ = Math.min(minZ, b.getMin2());
+        maxX = Math.max(maxX, b.getMax0());
+        maxY = Math.max(maxY, b.getMax1());
+        maxZ = Math.max(maxZ, b.getMax2());
+
+        if (sweepBox == null) {
+            sweepBox = OdeHelper.createBox((DSpace) null, 1, 1, 1);
+        }
+        sweepBox.setLengths(maxX - minX, maxY - minY, maxZ - minZ);
+        sweepBox.setPosition((minX + maxX) * 0.5, (minY + maxY) * 0.5, (minZ + maxZ) * 0.5);
+        broadphase.collide2(sweepBox, null, (data, o1, o2) -> {
+            DGeom target = o1 == sweepBox ? o2 : o1;
+            Ode4jBodyHandle handle = handleOf(target);
+            if (handle != null && handle.isAlive() && CollisionLayers.matches(handle.layer(), layerMask)) {
+                candidates.add(target);
+            }
+        });
+    }
+
+    /**
+     * Distance the cast shape, placed at {@code t}, can move along the path without touching any candidate. The
+     * result is capped at the remaining path length.
+     */
+    private double clearance(Vector3f from, float dx, float dy, float dz, float length, float t, double boundingRadius) {
+        double remaining = (1.0 - t) * length;
+        double clearance = remaining;
+        for (int i = 0; i < candidates.size() && clearance > 0.0; i++) {
+            DGeom target = candidates.get(i);
+            double d;
+            if (Ode4jConvexDistance.supports(target)) {
+                d = convexDistance.distance(castGeom, target);
+            } else if (target instanceof DPlane) {
+                d = planeDistance(target);
+            } else {
+                d = aabbDistance(target);
+                if (d <= 0.0) {
+                    d = capsuleClearance(target, from, dx, dy, dz, length, t, boundingRadius, clearance);
+                }
+            }
+            clearance = Math.min(clearance, d);
+        }
+        return Math.max(clearance, 0.0);
+    }
+
+    private double planeDistance(DGeom plane) {
+        Ode4jBodyHandle handle = handleOf(plane);
+        if (handle == null || !(handle.config().shape() instanceof PlaneCollisionShape shape)) {
+            return 0.0;
+        }
+        return convexDistance.planeDistance(castGeom, shape.normalX(), shape.normalY(), shape.normalZ(), shape.distance());
+    }
+
+    /** Gap between the cast shape's AABB and {@code target}'s, a lower bound on their distance. */
+    private double aabbDistance(DGeom target) {
+        DAABBC a = castGeom.getAABB();
+        DAABBC b = target.getAABB();
+        double gx = Math.max(0.0, Math.max(a.getMin0() - b.getMax0(), b.getMin0() - a.getMax0()));
+        double gy = Math.max(0.0, Math.max(a.getMin1() - b.getMax1(), b.getMin1() - a.getMax1()));
+        double gz = Math.max(0.0, Math.max(a.getMin2() - b.getMax2(), b.getMin2() - a.getMax2()));
+        return Math.sqrt(gx * gx + gy * gy + gz * gz);
+    }
+
+    /**
+     * Longest advance, halving from {@code limit}, whose swept bounding sphere misses {@code target}; {@code 0}
+     * once that is shorter than the search resolution. The capsule contains everything the cast shape sweeps.
+     */
+    private double capsuleClearance(DGeom target, Vector3f from, float dx, float dy, float dz, float length, float t,
+        double boundingRadius, double limit) {
+        double ux = dx / length;
+        double uy = dy / length;
+        double uz = dz / length;
+        if (sweepCapsule == null) {
+            sweepCapsule = OdeHelper.createCapsule((DSpace) null, boundingRadius, 0.0);
+        }
+        DRotation.dRFromZAxis(capsuleRotation, ux, uy, uz);
+        sweepCapsule.setRotation(capsuleRotation);
+        double sx = from.x() + dx * t;
+        double sy = from.y() + dy * t;
+        double sz = from.z() + dz * t;
+        double minStep = limit / (1 << REFINE_ITERATIONS);
+        for (double step = limit; step > minStep; step *= 0.5) {
+            sweepCapsule.setParams(boundingRadius, step);
+            double half = step * 0.5;
+            sweepCapsule.setPosition(sx + ux * half, sy + uy * half, sz + uz * half);
+            if (OdeHelper.collide(sweepCapsule, target, 1, contact) == 0) {
+                return step;
+            }
+        }
+        return 0.0;
+    }
+
+    /** Places the cast shape at {@code t} and returns the overlapping candidate with the deepest contact. */
+    private DGeom firstHit(Vector3f from, float dx, float dy, float dz, float t) {
+        place(from, dx, dy, dz, t);
+        DGeom best = null;
+        double bestDepth = -1.0;
+        for (int i = 0; i < candidates.size(); i++) {
+            DGeom target = candidates.get(i);
+            if (OdeHelper.collide(castGeom, target, 1, contact) > 0 && contact.get(0).depth > bestDepth) {
+                bestDepth = contact.get(0).depth;
+                best = target;
+            }
+        }
+        return best;
+    }
+
+    private void place(Vector3f from, float dx, float dy, float dz, float t) {
+        castGeom.setPosition(from.x() + dx * t, from.y() + dy * t, from.z() + dz * t);
+    }
+
+    private ShapecastResult result(DGeom target, float fraction) {
+        OdeHelper.collide(castGeom, target, 1, contact);
+        DContactGeom cg = contact.get(0);
+        return new ShapecastResult(
+            handleOf(target),
+            fraction,
+            new Vector3f((float) cg.normal.get0(), (float) cg.normal.get1(), (float) cg.normal.get2()),
+            (float) cg.depth
+        );
+    }
+
+    private static float innerRadius(CollisionShape shape) {
+        return switch (shape.shapeType()) {
+            case SPHERE -> ((SphereCollisionShape) shape).radius();
+            case BOX -> {
+                var b = (BoxCollisionShape) shape;
+                yield Math.min(b.halfExtentX(), Math.min(b.halfExtentY(), b.halfExtentZ()));
+            }
+            case CAPSULE -> ((CapsuleCollisionShape) shape).radius();
+            case CYLINDER -> {
+                var c = (CylinderCollisionShape) shape;
+                yield Math.min(c.radius(), c.height() * 0.5f);
+            }
+            default -> throw new IllegalArgumentException("shapecast supports convex primitives only, got " + shape.shapeType());
+        };
+    }
+
+    private static Ode4jBodyHandle handleOf(DGeom geom) {
+        Object data = geom.getData();
+        if (data instanceof Ode4jBodyHandle h) {
+            return h;
+        }
+        if (data instanceof Ode4jBodyHandle.GeomRef ref) {
+            return ref.handle();
+        }
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import org.dynamisengine.physics.api.WheelConfig;
 import org.dynamisengine.physics.api.body.BodyState;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
 import org.dynamisengine.physics.api.event.VehicleAirborneEvent;
 import org.dynamisengine.physics.api.event.WheelSlipEvent;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
@@ -78,6 +79,16 @@ public final class Ode4jVehicleSystem {
     public void applySteering(VehicleHandle h, float v) { vh(h).steeringAngle = v; }
     public void applyHandbrake(VehicleHandle h, boolean e) { vh(h).handbrakeEngaged = e; }
 
+    /** Vehicle whose chassis has stable body id {@code chassisBodyId}, or {@code null}. */
+    public VehicleHandle byChassisBodyId(int chassisBodyId) {
+        for (Ode4jVehicleHandle vehicle : vehicles.values()) {
+            if (vehicle.chassisBody() instanceof StableRigidBodyId id && id.bodyId() == chassisBodyId) {
+                return vehicle;
+            }
+        }
+        return null;
+    }
+
     public VehicleState getVehicleState(VehicleHandle h) {
         Ode4jVehicleHandle oh = vh(h);
         BodyState chassisState = bodyRegistry.getState(oh.chassisBody());
@@ -0,0 +1,39 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
+import org.ode4j.math.DVector3C;
+import org.ode4j.ode.DBody;
+
+/**
+ * Picks a per-frame substep count so that no awake dynamic body travels more than {@link #MAX_TRAVEL_FRACTION}
+ * of its smallest half-extent in one substep. A CCD-flagged body over that limit forces the maximum.
+ */
+public final class Ode4jAdaptiveSubsteps {
+    static final float MAX_TRAVEL_FRACTION = 0.5f;
+
+    private final Ode4jBodyRegistry bodyRegistry;
+
+    public Ode4jAdaptiveSubsteps(Ode4jBodyRegistry bodyRegistry) {
+        this.bodyRegistry = bodyRegistry;
+    }
+
+    public int choose(float deltaSeconds, int maxSubSteps) {
+        double worst = 0.0;
+        for (Ode4jBodyHandle handle : bodyRegistry.allHandles()) {
+            DBody body = handle.body();
+            if (body == null || handle.mode() != BodyMode.DYNAMIC || !body.isEnabled()) {
+                continue;
+            }
+            DVector3C v = body.getLinearVel();
+            double travel = v.length() * deltaSeconds / handle.minExtent();
+            if (travel > MAX_TRAVEL_FRACTION && handle.config().ccd()) {
+                return maxSubSteps;
+            }
+            worst = Math.max(worst, travel);
+        }
+        int n = (int) Math.ceil(worst / MAX_TRAVEL_FRACTION);
+        return Math.max(1, Math.min(n, maxSubSteps));
+    }
+}
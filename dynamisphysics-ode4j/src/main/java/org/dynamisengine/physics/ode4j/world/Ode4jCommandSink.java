@@ -0,0 +1,95 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.VehicleHandle;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
+import org.dynamisengine.physics.ode4j.body.Ode4jForceAccumulator;
+import org.dynamisengine.physics.ode4j.vehicle.Ode4jVehicleSystem;
+import org.ode4j.ode.DBody;
+
+/** Applies drained {@link PhysicsCommandQueue} commands through the force accumulator and vehicle system. */
+public final class Ode4jCommandSink implements PhysicsCommandQueue.Sink {
+    private final Ode4jBodyRegistry bodyRegistry;
+    private final Ode4jForceAccumulator forceAccumulator;
+    private final Ode4jVehicleSystem vehicleSystem;
+
+    public Ode4jCommandSink(
+        Ode4jBodyRegistry bodyRegistry,
+        Ode4jForceAccumulator forceAccumulator,
+        Ode4jVehicleSystem vehicleSystem
+    ) {
+        this.bodyRegistry = bodyRegistry;
+        this.forceAccumulator = forceAccumulator;
+        this.vehicleSystem = vehicleSystem;
+    }
+
+    @Override
+    public void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+        DBody body = body(bodyId);
+        if (body != null) {
+            forceAccumulator.addImpulse(body, ix, iy, iz, px, py, pz);
+        }
+    }
+
+    @Override
+    public void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) {
+        DBody body = body(bodyId);
+        if (body != null) {
+            forceAccumulator.addForce(body, fx, fy, fz, px, py, pz);
+        }
+    }
+
+    @Override
+    public void applyTorque(int bodyId, float tx, float ty, float tz) {
+        DBody body = body(bodyId);
+        if (body != null) {
+            forceAccumulator.addTorque(body, tx, ty, tz);
+        }
+    }
+
+    @Override
+    public void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) {
+        DBody body = body(bodyId);
+        if (body != null) {
+            forceAccumulator.setVelocity(body, lx, ly, lz, ax, ay, az);
+        }
+    }
+
+    @Override
+    public void applyThrottle(int chassisBodyId, float throttle) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyThrottle(vehicle, throttle);
+        }
+    }
+
+    @Override
+    public void applyBrake(int chassisBodyId, float brake) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyBrake(vehicle, brake);
+        }
+    }
+
+    @Override
+    public void applySteering(int chassisBodyId, float steeringAngle) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applySteering(vehicle, steeringAngle);
+        }
+    }
+
+    @Override
+    public void applyHandbrake(int chassisBodyId, boolean engaged) {
+        VehicleHandle vehicle = vehicleSystem.byChassisBodyId(chassisBodyId);
+        if (vehicle != null) {
+            vehicleSystem.applyHandbrake(vehicle, engaged);
+        }
+    }
+
+    private DBody body(int bodyId) {
+        Ode4jBodyHandle handle = bodyRegistry.getHandleById(bodyId);
+        return handle != null && handle.isAlive() ? handle.body() : null;
+    }
+}
@@ -0,0 +1,128 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
+import org.ode4j.ode.DBody;
+import org.ode4j.ode.DJoint;
+
+import java.util.Arrays;
+
+/**
+ * Groups awake dynamic bodies into islands: sets connected through contact or constraint joints. Static geoms
+ * and non-dynamic bodies do not join islands. Run after contact generation so this step's contacts count.
+ *
+ * <p>Union-find over reused arrays. Islands are numbered in body registration order, so the numbering is
+ * stable for identical worlds.
+ */
+public final class Ode4jIslandBuilder {
+    private final Ode4jBodyRegistry bodyRegistry;
+    private Ode4jBodyHandle[] members = new Ode4jBodyHandle[64];
+    private int[] parent = new int[64];
+    private int[] islandOf = new int[64];
+    private int memberCount;
+    private int islandCount;
+
+    public Ode4jIslandBuilder(Ode4jBodyRegistry bodyRegistry) {
+        this.bodyRegistry = bodyRegistry;
+    }
+
+    /** Rebuilds the islands and returns how many there are. */
+    public int build() {
+        clearSlots();
+        for (Ode4jBodyHandle handle : bodyRegistry.allHandles()) {
+            if (isMember(handle)) {
+                if (memberCount == members.length) {
+                    grow();
+                }
+                handle.setIslandSlot(memberCount);
+                members[memberCount] = handle;
+                parent[memberCount] = memberCount;
+                memberCount++;
+            }
+        }
+        for (int i = 0; i < memberCount; i++) {
+            DBody body = members[i].body();
+            for (int j = 0, n = body.getNumJoints(); j < n; j++) {
+                DJoint joint = body.getJoint(j);
+                if (joint == null || !joint.isEnabled()) {
+                    continue;
+                }
+                int a = slotOf(joint.getBody(0));
+                int b = slotOf(joint.getBody(1));
+                if (a >= 0 && b >= 0) {
+                    union(a, b);
+                }
+            }
+        }
+        islandCount = 0;
+        Arrays.fill(islandOf, 0, memberCount, -1);
+        for (int i = 0; i < memberCount; i++) {
+            int root = find(i);
+            if (islandOf[root] < 0) {
+                islandOf[root] = islandCount++;
+            }
+            islandOf[i] = islandOf[root];
+        }
+        return islandCount;
+    }
+
+    public int islandCount() {
+        return islandCount;
+    }
+
+    /** Island of {@code handle} after the last {@link #build()}, or {@code -1} if it is not in one. */
+    public int islandOf(Ode4jBodyHandle handle) {
+        int slot = handle.islandSlot();
+        return slot >= 0 && slot < memberCount && members[slot] == handle ? islandOf[slot] : -1;
+    }
+
+    private static boolean isMember(Ode4jBodyHandle handle) {
+        DBody body = handle.body();
+        return handle.isAlive() && body != null && handle.mode() == BodyMode.DYNAMIC && body.isEnabled();
+    }
+
+    private int slotOf(DBody body) {
+        if (body == null || !(body.getData() instanceof Ode4jBodyHandle handle)) {
+            return -1;
+        }
+        int slot = handle.islandSlot();
+        return slot >= 0 && slot < memberCount && members[slot] == handle ? slot : -1;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            // Lower slot wins so roots follow registration order.
+            if (ra < rb) {
+                parent[rb] = ra;
+            } else {
+                parent[ra] = rb;
+            }
+        }
+    }
+
+    private void clearSlots() {
+        for (int i = 0; i < memberCount; i++) {
+            members[i].setIslandSlot(-1);
+            members[i] = null;
+        }
+        memberCount = 0;
+    }
+
+    private void grow() {
+        int capacity = members.length * 2;
+        members = Arrays.copyOf(members, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        islandOf = Arrays.copyOf(islandOf, capacity);
+    }
+}
@@ -0,0 +1,52 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.ode4j.ode.DWorld;
+import org.ode4j.ode.OdeConstants;
+import org.ode4j.ode.OdeHelper;
+import org.ode4j.ode.threading.DThreadingImplementation;
+import org.ode4j.ode.threading.DThreadingThreadPool;
+
+/**
+ * Lets {@code quickStep} solve disjoint islands concurrently, using ode4j's multi-threaded stepping implementation
+ * served by its own worker pool. Contact generation, contact dispatch and event publication stay on the stepping
+ * thread; only the per-island solve fans out. ODE builds the island list on the stepping thread in body order and
+ * each island's solve writes only its own bodies, so the merged world state does not depend on which worker ran
+ * which island.
+ */
+public final class Ode4jIslandThreading {
+    private final DWorld world;
+    private final int threads;
+    private final DThreadingImplementation threading;
+    private final DThreadingThreadPool pool;
+
+    private Ode4jIslandThreading(DWorld world, int threads) {
+        this.world = world;
+        this.threads = threads;
+        this.threading = OdeHelper.allocateMultiThreaded();
+        this.pool = OdeHelper.allocateThreadPool(threads, 0, OdeConstants.dAllocateFlagBasicData, null);
+        pool.serveMultiThreadedImplementation(threading);
+        world.setStepIslandsProcessingMaxThreadCount(threads);
+        world.setStepThreadingImplementation(threading.dThreadingImplementationGetFunctions(), threading);
+    }
+
+    /** Attaches a pool of {@code threads} workers to {@code world}'s island stepping. */
+    public static Ode4jIslandThreading attach(DWorld world, int threads) {
+        if (threads < 2) {
+            throw new IllegalArgumentException("island threading needs >= 2 threads, got " + threads);
+        }
+        return new Ode4jIslandThreading(world, threads);
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    /** Returns {@code world} to single-threaded stepping and releases the workers. */
+    public void detach() {
+        threading.shutdownProcessing();
+        pool.freeThreadPool();
+        world.setStepThreadingImplementation(null, null);
+        world.setStepIslandsProcessingMaxThreadCount(1);
+        threading.free();
+    }
+}
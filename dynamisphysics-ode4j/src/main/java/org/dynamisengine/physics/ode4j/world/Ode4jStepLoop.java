@@ -1,6 +1,8 @@
 package org.dynamisengine.physics.ode4j.world;
 
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
 import org.dynamisengine.physics.ode4j.body.Ode4jForceAccumulator;
+import org.dynamisengine.physics.ode4j.broadphase.Ode4jBroadphase;
 import org.dynamisengine.physics.ode4j.character.Ode4jCharacterController;
 import org.dynamisengine.physics.ode4j.constraint.Ode4jConstraintRegistry;
 import org.dynamisengine.physics.ode4j.constraint.Ode4jMechanicalConstraintController;
@@ -8,10 +10,9 @@ import org.dynamisengine.physics.ode4j.constraint.Ode4jSpringController;
 import org.dynamisengine.physics.ode4j.event.Ode4jContactDispatcher;
 import org.dynamisengine.physics.ode4j.ragdoll.Ode4jRagdollSystem;
 import org.dynamisengine.physics.ode4j.vehicle.Ode4jVehicleSystem;
-import org.ode4j.ode.DHashSpace;
 import org.ode4j.ode.DJointGroup;
+import org.ode4j.ode.DSpace;
 import org.ode4j.ode.DWorld;
-import org.ode4j.ode.OdeHelper;
 import org.ode4j.math.DVector3;
 
 public final class Ode4jStepLoop {
@@ -21,7 +22,7 @@ public final class Ode4jStepLoop {
     }
 
     private final DWorld world;
-    private final DHashSpace space;
+    private final Ode4jBroadphase broadphase;
     private final DJointGroup contactGroup;
     private final Ode4jForceAccumulator forceAccumulator;
     private final Ode4jContactDispatcher dispatcher;
@@ -33,12 +34,20 @@ public final class Ode4jStepLoop {
     private final Ode4jRagdollSystem ragdollSystem;
     private final StepOrderObserver stepOrderObserver;
 
+    private PhysicsCommandQueue commandQueue;
+    private PhysicsCommandQueue.Sink commandSink;
+    private Ode4jAdaptiveSubsteps adaptiveSubsteps;
+    private int adaptiveMaxSubSteps;
+    private int lastSubSteps;
+    private Ode4jIslandBuilder islandBuilder;
+    private int lastIslandCount;
+
     private int stepCount = 0;
     private float lastStepMs = 0f;
 
     public Ode4jStepLoop(
         DWorld world,
-        DHashSpace space,
+        Ode4jBroadphase broadphase,
         DJointGroup contactGroup,
         Ode4jForceAccumulator forceAccumulator,
         Ode4jContactDispatcher dispatcher,
@@ -51,7 +60,7 @@ public final class Ode4jStepLoop {
     ) {
         this(
             world,
-            space,
+            broadphase,
             contactGroup,
             forceAccumulator,
             dispatcher,
@@ -67,7 +76,37 @@ public final class Ode4jStepLoop {
 
     Ode4jStepLoop(
         DWorld world,
-        DHashSpace space,
+        DSpace space,
+        DJointGroup contactGroup,
+        Ode4jForceAccumulator forceAccumulator,
+        Ode4jContactDispatcher dispatcher,
+        Ode4jConstraintRegistry constraintRegistry,
+        Ode4jSpringController springController,
+        Ode4jMechanicalConstraintController mechanicalController,
+        Ode4jVehicleSystem vehicleSystem,
+        Ode4jCharacterController characterController,
+        Ode4jRagdollSystem ragdollSystem,
+        StepOrderObserver stepOrderObserver
+    ) {
+        this(
+            world,
+            Ode4jBroadphase.wrap(space),
+            contactGroup,
+            forceAccumulator,
+            dispatcher,
+            constraintRegistry,
+            springController,
+            mechanicalController,
+            vehicleSystem,
+            characterController,
+            ragdollSystem,
+            stepOrderObserver
+        );
+    }
+
+    Ode4jStepLoop(
+        DWorld world,
+        Ode4jBroadphase broadphase,
         DJointGroup contactGroup,
         Ode4jForceAccumulator forceAccumulator,
         Ode4jContactDispatcher dispatcher,
@@ -80,7 +119,7 @@ public final class Ode4jStepLoop {
         StepOrderObserver stepOrderObserver
     ) {
         this.world = world;
-        this.space = space;
+        this.broadphase = broadphase;
         this.contactGroup = contactGroup;
         this.forceAccumulator = forceAccumulator;
         this.dispatcher = dispatcher;
@@ -100,6 +139,10 @@ public final class Ode4jStepLoop {
 
     public void step(float deltaSeconds, int subSteps) {
         // See ARCHITECTURE_NOTES.md: ODE4J loop variant (collide-before-solve, no quickStep(0)).
+        if (adaptiveSubsteps != null) {
+            subSteps = adaptiveSubsteps.choose(deltaSeconds, adaptiveMaxSubSteps);
+        }
+        lastSubSteps = subSteps;
         float dt = deltaSeconds / subSteps;
         long start = System.nanoTime();
         long broadPhaseNs = 0, solverNs = 0, integrationNs = 0;
@@ -112,6 +155,9 @@ public final class Ode4jStepLoop {
             // --- Integration phase: controllers + forces ---
             phaseStart = System.nanoTime();
             stepOrderObserver.onPhase("forceAccumulator.flush");
+            if (commandQueue != null) {
+                commandQueue.drain(commandSink);
+            }
             forceAccumulator.flush();
             stepOrderObserver.onPhase("vehicleSystem.stepAll");
             vehicleSystem.stepAll(dt);
@@ -131,14 +177,18 @@ public final class Ode4jStepLoop {
             // --- Broadphase: collision detection + contact generation ---
             phaseStart = System.nanoTime();
             stepOrderObserver.onPhase("spaceCollide");
-            OdeHelper.spaceCollide(space, null, dispatcher.callback);
+            broadphase.collide(null, dispatcher.callback);
             dispatcher.resolveQueuedContacts();
             broadPhaseNs += System.nanoTime() - phaseStart;
+            if (islandBuilder != null && i == subSteps - 1) {
+                lastIslandCount = islandBuilder.build();
+            }
 
             // --- Solver: constraint solving + integration step ---
             phaseStart = System.nanoTime();
             stepOrderObserver.onPhase("quickStep");
             world.quickStep(dt);
+            broadphase.invalidate();
             solverNs += System.nanoTime() - phaseStart;
 
             // --- Post-solve integration ---
@@ -154,6 +204,7 @@ public final class Ode4jStepLoop {
             ragdollSystem.stepAll(dt);
             integrationNs += System.nanoTime() - phaseStart;
         }
+        dispatcher.endStep();
 
         lastStepMs = (System.nanoTime() - start) / 1_000_000f;
         lastBroadPhaseMs = broadPhaseNs / 1_000_000f;
@@ -162,6 +213,33 @@ public final class Ode4jStepLoop {
         stepCount++;
     }
 
+    /** Drains {@code queue} into {@code sink} at the start of every substep, just before forces are flushed. */
+    public void bindCommandQueue(PhysicsCommandQueue queue, PhysicsCommandQueue.Sink sink) {
+        this.commandQueue = queue;
+        this.commandSink = sink;
+    }
+
+    /**
+     * When {@code chooser} is non-null, every step ignores the requested substep count and lets {@code chooser}
+     * pick one in {@code [1, maxSubSteps]}.
+     */
+    public void setAdaptiveSubsteps(Ode4jAdaptiveSubsteps chooser, int maxSubSteps) {
+        this.adaptiveSubsteps = chooser;
+        this.adaptiveMaxSubSteps = maxSubSteps;
+    }
+
+    /**
+     * Rebuilds islands after contact generation in the last substep of every step, for {@link #lastIslandCount()};
+     * {@code null} turns it off. The world always installs one. Island solving itself is up to ODE, see
+     * {@code Ode4jIslandThreading}.
+     */
+    public void setIslandBuilder(Ode4jIslandBuilder builder) {
+        this.islandBuilder = builder;
+        this.lastIslandCount = 0;
+    }
+
+    public int lastSubSteps() { return lastSubSteps; }
+    public int lastIslandCount() { return lastIslandCount; }
     public float lastBroadPhaseMs() { return lastBroadPhaseMs; }
     public float lastSolverMs() { return lastSolverMs; }
     public float lastIntegrationMs() { return lastIntegrationMs; }
@@ -169,6 +247,7 @@ public final class Ode4jStepLoop {
     public int stepCount() { return stepCount; }
     public float lastStepMs() { return lastStepMs; }
     public DWorld world() { return world; }
-    public DHashSpace space() { return space; }
+    public DSpace space() { return broadphase.space(); }
+    public Ode4jBroadphase broadphase() { return broadphase; }
     public void setStepCount(int stepCount) { this.stepCount = org.dynamisengine.vectrix.core.Math.max(stepCount, 0); }
 }
@@ -1,13 +1,24 @@
 package org.dynamisengine.physics.ode4j;
 
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.config.BroadphaseType;
 import org.dynamisengine.physics.api.config.PhysicsBackend;
 import org.dynamisengine.physics.api.config.PhysicsTuning;
 import org.dynamisengine.physics.api.config.PhysicsTuningProfile;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.collision.shapes.CollisionShape;
 import org.junit.jupiter.api.Test;
+import org.dynamisengine.vectrix.core.Matrix4f;
 import org.dynamisengine.vectrix.core.Vector3f;
+import org.ode4j.ode.DMisc;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -37,6 +48,48 @@ class Ode4jProfileAppliedTest {
         }
     }
 
+    @Test
+    void perfProfileWithThreadsSolvesIslandsOnWorkers() {
+        PhysicsWorldConfig cfg = new PhysicsWorldConfig(
+            PhysicsBackend.ODE4J,
+            new Vector3f(0f, -9.81f, 0f),
+            1f / 60f,
+            4,
+            10,
+            65_536,
+            16_384,
+            BroadphaseType.BVH,
+            false,
+            new PhysicsTuning(PhysicsTuningProfile.PERF, null, 4, null, null, null)
+        );
+
+        Ode4jPhysicsWorld world = Ode4jPhysicsWorld.create(cfg);
+        try {
+            assertEquals(4, world.resolvedTuningForTesting().threads());
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(40f, 0.5f, 40f), 0f)
+                .mode(BodyMode.STATIC)
+                .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+                .build());
+            List<RigidBodyHandle> spheres = new ArrayList<>();
+            for (int pile = 0; pile < 8; pile++) {
+                for (int level = 0; level < 3; level++) {
+                    spheres.add(world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                        .worldTransform(new Matrix4f().translation(pile * 4f - 14f, 0.5f + level * 1.01f, 0f))
+                        .build()));
+                }
+            }
+            for (int i = 0; i < 120; i++) {
+                world.step(1f / 60f, 1);
+            }
+            for (RigidBodyHandle sphere : spheres) {
+                float y = world.getBodyState(sphere).position().y();
+                assertTrue(Float.isFinite(y) && y > 0.3f, "sphere fell through or exploded: y=" + y);
+            }
+        } finally {
+            world.destroy();
+        }
+    }
+
     @Test
     void deterministicProfileAppliesDeterministicMode() {
         PhysicsWorldConfig cfg = new PhysicsWorldConfig(
@@ -59,4 +112,70 @@ class Ode4jProfileAppliedTest {
             world.destroy();
         }
     }
+
+    @Test
+    void islandThreadsMatchSingleThreadedSteppingBitForBit() {
+        BodyStateBuffer single = stepPiles(perfConfig(false, 1), 120);
+        BodyStateBuffer threaded = stepPiles(perfConfig(false, 4), 120);
+        assertEquals(single.count(), threaded.count());
+        assertArrayEquals(single.positions(), threaded.positions());
+        assertArrayEquals(single.orientations(), threaded.orientations());
+        assertArrayEquals(single.linearVelocities(), threaded.linearVelocities());
+        assertArrayEquals(single.angularVelocities(), threaded.angularVelocities());
+    }
+
+    @Test
+    void deterministicModeForcesSingleThreadedIslands() {
+        Ode4jPhysicsWorld world = Ode4jPhysicsWorld.create(perfConfig(true, 4));
+        try {
+            assertTrue(world.resolvedTuningForTesting().deterministic());
+            assertEquals(1, world.resolvedTuningForTesting().threads());
+        } finally {
+            world.destroy();
+        }
+    }
+
+    /** Eight separate piles of three spheres, so every step has eight islands to spread over workers. */
+    private static BodyStateBuffer stepPiles(PhysicsWorldConfig cfg, int steps) {
+        // Both runs start from the same solver random state.
+        DMisc.dRandSetSeed(0L);
+        Ode4jPhysicsWorld world = Ode4jPhysicsWorld.create(cfg);
+        try {
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(40f, 0.5f, 40f), 0f)
+                .mode(BodyMode.STATIC)
+                .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+                .build());
+            List<RigidBodyHandle> spheres = new ArrayList<>();
+            for (int pile = 0; pile < 8; pile++) {
+                for (int level = 0; level < 3; level++) {
+                    spheres.add(world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                        .worldTransform(new Matrix4f().translation(pile * 4f - 14f, 0.5f + level * 1.01f, 0f))
+                        .build()));
+                }
+            }
+            for (int i = 0; i < steps; i++) {
+                world.step(1f / 60f, 1);
+            }
+            BodyStateBuffer out = new BodyStateBuffer(spheres.size());
+            world.readBodyStates(spheres.toArray(new RigidBodyHandle[0]), 0, spheres.size(), out);
+            return out;
+        } finally {
+            world.destroy();
+        }
+    }
+
+    private static PhysicsWorldConfig perfConfig(boolean deterministic, int threads) {
+        return new PhysicsWorldConfig(
+            PhysicsBackend.ODE4J,
+            new Vector3f(0f, -9.81f, 0f),
+            1f / 60f,
+            4,
+            10,
+            65_536,
+            16_384,
+            BroadphaseType.BVH,
+            deterministic,
+            new PhysicsTuning(PhysicsTuningProfile.PERF, null, threads, null, null, null)
+        );
+    }
 }
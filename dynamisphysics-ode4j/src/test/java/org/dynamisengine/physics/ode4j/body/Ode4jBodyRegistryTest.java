@@ -0,0 +1,119 @@
+package org.dynamisengine.physics.ode4j.body;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.api.world.TransformStream;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Ode4jBodyRegistryTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void bulkReadMatchesPerBodyState() {
+        var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 5f, 0f))
+            .build());
+        var b = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(1f, 0.1f, 1f), 0f)
+            .mode(BodyMode.STATIC)
+            .build());
+        var gone = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        world.destroyRigidBody(gone);
+        for (int i = 0; i < 10; i++) world.step(1f / 60f, 1);
+
+        RigidBodyHandle[] handles = {a, b, gone};
+        BodyStateBuffer buffer = new BodyStateBuffer(4);
+        assertEquals(3, world.readBodyStates(handles, 0, handles.length, buffer));
+        assertEquals(3, buffer.count());
+        for (int i = 0; i < handles.length; i++) {
+            BodyState expected = world.getBodyState(handles[i]);
+            BodyState actual = buffer.toBodyState(i);
+            assertEquals(expected.position().y(), actual.position().y(), 1e-6f);
+            assertEquals(expected.orientation().w(), actual.orientation().w(), 1e-6f);
+            assertEquals(expected.linearVelocity().y(), actual.linearVelocity().y(), 1e-6f);
+            assertEquals(expected.sleeping(), actual.sleeping());
+        }
+    }
+
+    @Test
+    void movedBodyFeedReportsOnlyChangedBodies() {
+        var ground = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.1f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .build());
+        var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 5f, 0f))
+            .build());
+        int groundId = ((StableRigidBodyId) ground).bodyId();
+        int ballId = ((StableRigidBodyId) ball).bodyId();
+        MovedBodyBuffer moved = new MovedBodyBuffer(8);
+
+        assertEquals(2, world.drainMovedBodies(moved));
+        assertEquals(groundId, moved.bodyIds()[0]);
+        assertEquals(ballId, moved.bodyIds()[1]);
+        assertEquals(0, world.drainMovedBodies(moved));
+
+        world.step(1f / 60f, 1);
+        assertEquals(1, world.drainMovedBodies(moved));
+        assertEquals(ballId, moved.bodyIds()[0]);
+        assertEquals(world.getBodyState(ball).position().y(), moved.transforms()[1], 1e-6f);
+    }
+
+    @Test
+    void transformStreamPublishesSlotsByStableId() {
+        var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 5f, 0f))
+            .build());
+        int ballId = ((StableRigidBodyId) ball).bodyId();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment stream = arena.allocate(16L * TransformStream.STRIDE_BYTES, Float.BYTES);
+            world.setTransformStream(stream);
+            long slot = TransformStream.slotOffset(ballId);
+            assertEquals(5f, stream.get(ValueLayout.JAVA_FLOAT, slot + TransformStream.POSITION_Y_OFFSET), 1e-6f);
+
+            for (int i = 0; i < 10; i++) world.step(1f / 60f, 1);
+            assertEquals(world.getBodyState(ball).position().y(),
+                stream.get(ValueLayout.JAVA_FLOAT, slot + TransformStream.POSITION_Y_OFFSET), 1e-6f);
+            assertEquals(TransformStream.FLAG_PRESENT, stream.get(ValueLayout.JAVA_INT, slot + TransformStream.FLAGS_OFFSET));
+
+            world.destroyRigidBody(ball);
+            world.step(1f / 60f, 1);
+            assertEquals(0, stream.get(ValueLayout.JAVA_INT, slot + TransformStream.FLAGS_OFFSET));
+            world.setTransformStream(null);
+        }
+    }
+}
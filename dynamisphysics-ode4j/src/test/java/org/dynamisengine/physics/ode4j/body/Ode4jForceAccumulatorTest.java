@@ -0,0 +1,54 @@
+package org.dynamisengine.physics.ode4j.body;
+
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ode4j.ode.DBody;
+import org.ode4j.ode.DWorld;
+import org.ode4j.ode.OdeHelper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Ode4jForceAccumulatorTest {
+    private DWorld world;
+
+    @BeforeEach
+    void setUp() {
+        OdeHelper.initODE2(0);
+        world = OdeHelper.createWorld();
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+        OdeHelper.closeODE();
+    }
+
+    @Test
+    void flushKeepsOrderingAndReusesBuffersAcrossGrowth() {
+        DBody body = OdeHelper.createBody(world);
+        Ode4jForceAccumulator accumulator = new Ode4jForceAccumulator();
+        for (int i = 0; i < 200; i++) {
+            accumulator.addForce(body, 1f, 0f, 0f, 0f, 0f, 0f);
+        }
+        accumulator.addImpulse(body, new Vector3f(0f, 2f, 0f), new Vector3f());
+        accumulator.addTorque(body, 0f, 0f, 3f);
+        accumulator.setVelocity(body, new Vector3f(1f, 0f, 0f), new Vector3f());
+        accumulator.setVelocity(body, 4f, 0f, 0f, 0f, 0f, 0f);
+        assertEquals(203, accumulator.pendingCount());
+
+        accumulator.flush();
+        assertEquals(0, accumulator.pendingCount());
+        assertEquals(200.0, body.getForce().get0(), 1e-6);
+        assertEquals(2.0, body.getForce().get1(), 1e-6);
+        assertEquals(3.0, body.getTorque().get2(), 1e-6);
+        assertEquals(4.0, body.getLinearVel().get0(), 1e-6);
+
+        body.setForce(0.0, 0.0, 0.0);
+        accumulator.addForce(body, 0f, 0f, 5f, 0f, 0f, 0f);
+        accumulator.flush();
+        assertEquals(5.0, body.getForce().get2(), 1e-6);
+        assertEquals(0.0, body.getForce().get0(), 1e-6);
+    }
+}
@@ -0,0 +1,104 @@
+package org.dynamisengine.physics.ode4j.broadphase;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.BroadphaseType;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jBroadphaseTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void allBroadphasesSettleStackIdentically() {
+        float[] sap = settleSpheres(BroadphaseType.SAP);
+        float[] bvh = settleSpheres(BroadphaseType.BVH);
+        float[] tree = settleSpheres(BroadphaseType.AABB_TREE);
+        for (int i = 0; i < sap.length; i++) {
+            assertEquals(sap[i], bvh[i], 1e-4f, "sphere " + i + " diverged between broadphases");
+            assertEquals(bvh[i], tree[i], 1e-4f, "sphere " + i + " diverged in the AABB tree");
+            assertTrue(tree[i] > 0f, "sphere " + i + " fell through the ground");
+        }
+    }
+
+    @Test
+    void dynamicBodiesCollideAndRaycastAgainstStaticSpace() {
+        var floor = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(2f, 0.5f, 2f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(-2f, -0.5f, 0f))
+            .build());
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(2f, 0.5f, 2f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(2f, -0.5f, 0f))
+            .build());
+        var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(-2f, 2f, 0f))
+            .build());
+        for (int i = 0; i < 120; i++) {
+            world.step(1f / 60f, 1);
+        }
+        assertTrue(world.getBodyState(ball).position().y() > 0.3f, "sphere fell through static floor");
+        var hit = world.raycastClosest(new Vector3f(-2f, 5f, 0.8f), new Vector3f(0f, -1f, 0f), 10f, -1);
+        assertTrue(hit.isPresent());
+        assertEquals(floor, hit.get().body());
+    }
+
+    private static float[] settleSpheres(BroadphaseType broadphase) {
+        PhysicsWorldConfig defaults = PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J);
+        PhysicsWorld w = PhysicsWorldFactory.create(new PhysicsWorldConfig(
+            defaults.backend(), defaults.gravity(), defaults.fixedTimeStep(), defaults.maxSubSteps(),
+            defaults.solverIterations(), defaults.maxBodies(), defaults.maxConstraints(), broadphase,
+            true, defaults.tuning()));
+        try {
+            w.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f).mode(BodyMode.STATIC).build());
+            List<RigidBodyHandle> spheres = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                spheres.add(w.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                    .worldTransform(new Matrix4f().translation((i % 4) * 1.2f, 1f + (i / 4) * 1.5f, 0f))
+                    .build()));
+            }
+            for (int i = 0; i < 120; i++) {
+                w.step(1f / 60f, 1);
+            }
+            float[] heights = new float[spheres.size()];
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = w.getBodyState(spheres.get(i)).position().y();
+            }
+            return heights;
+        } finally {
+            w.destroy();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.dynamisengine.physics.api.config.PhysicsBackend;
 import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
 import org.dynamisengine.physics.api.world.PhysicsDebugConfig;
 import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.physics.ode4j.event.Ode4jContactDispatcher;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +66,8 @@ class Ode4jDebugRendererTest {
 
     @Test
     void updateAddsContactPointsWhenConfigured() {
+        PhysicsDebugConfig contactsOnly = new PhysicsDebugConfig(false, true, false, false, false, false, false, false);
+        world.setDebugConfig(contactsOnly);
         world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f)
             .mode(BodyMode.STATIC)
             .build());
@@ -74,10 +77,27 @@ class Ode4jDebugRendererTest {
         world.step(1f / 60f);
 
         Ode4jDebugRenderer renderer = new Ode4jDebugRenderer(2048);
-        renderer.update(world, new PhysicsDebugConfig(false, true, false, false, false, false, false, false));
+        renderer.update(world, contactsOnly);
         assertTrue(renderer.lastVertexCount() > 0);
     }
 
+    @Test
+    void contactCaptureIsOffByDefault() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f)
+            .mode(BodyMode.STATIC)
+            .build());
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 0.4f, 0f))
+            .build());
+        world.step(1f / 60f);
+        assertTrue(world.debugDrainContacts().isEmpty());
+
+        world.setDebugConfig(PhysicsDebugConfig.all());
+        world.step(1f / 60f);
+        int drained = world.debugDrainContacts().size();
+        assertTrue(drained > 0 && drained <= Ode4jContactDispatcher.DEFAULT_DEBUG_CONTACT_CAPACITY);
+    }
+
     @Test
     void updateAddsVelocityVectorsWhenConfigured() {
         world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
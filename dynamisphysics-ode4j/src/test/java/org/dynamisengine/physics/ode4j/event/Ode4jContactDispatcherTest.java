@@ -0,0 +1,114 @@
+package org.dynamisengine.physics.ode4j.event;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
+import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.SeparationEvent;
+import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jContactDispatcherTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void layerMaskedBodiesPassThroughEachOther() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f)
+            .mode(BodyMode.STATIC)
+            .layer(0)
+            .build());
+        var debrisA = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .layer(2)
+            .collidesWith(CollisionLayers.bit(0))
+            .worldTransform(new Matrix4f().translation(0f, 0.45f, 0f))
+            .build());
+        var debrisB = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .layer(2)
+            .collidesWith(CollisionLayers.bit(0))
+            .worldTransform(new Matrix4f().translation(0.2f, 0.45f, 0f))
+            .build());
+        List<PhysicsEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            world.step(1f / 60f, 1);
+            events.addAll(world.drainEvents());
+        }
+        for (PhysicsEvent e : events) {
+            if (e instanceof ContactEvent c) {
+                assertTrue(!(c.bodyA() == debrisA && c.bodyB() == debrisB) && !(c.bodyA() == debrisB && c.bodyB() == debrisA),
+                    "Masked debris pair reached narrowphase");
+            }
+        }
+        assertTrue(((Ode4jPhysicsWorld) world).debugLayerRejectedPairCount() > 0);
+    }
+
+    @Test
+    void beginAndEndReportingEmitsOneContactAndOneSeparationPerPair() {
+        PhysicsMaterial inert = new PhysicsMaterial(0.5f, 0f, 0.05f, 0.02f, "inert");
+        world.setContactReportingLevel(ContactReportingLevel.BEGIN_AND_END);
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f)
+            .mode(BodyMode.STATIC)
+            .material(inert)
+            .build());
+        RigidBodyHandle sphere = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 0.5f, 0f))
+            .material(inert)
+            .build());
+        List<PhysicsEvent> events = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            world.step(1f / 60f);
+            events.addAll(world.drainEvents());
+        }
+        assertEquals(1, events.stream().filter(ContactEvent.class::isInstance).count());
+        assertEquals(0, events.stream().filter(SeparationEvent.class::isInstance).count());
+
+        world.destroyRigidBody(sphere);
+        world.step(1f / 60f);
+        List<PhysicsEvent> after = world.drainEvents();
+        assertEquals(1, after.size());
+        SeparationEvent separation = (SeparationEvent) after.get(0);
+        assertTrue(separation.bodyA() == sphere || separation.bodyB() == sphere);
+
+        RigidBodyHandle quiet = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(2f, 0.5f, 0f))
+            .build());
+        world.setContactReportingLevel(quiet, ContactReportingLevel.NONE);
+        for (int i = 0; i < 30; i++) {
+            world.step(1f / 60f);
+            assertTrue(world.drainEvents().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.dynamisengine.physics.ode4j.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Ode4jDebugContactRingTest {
+    @Test
+    void overwritesOldestPointsWhenFull() {
+        Ode4jDebugContactRing ring = new Ode4jDebugContactRing(4);
+        for (int i = 0; i < 10; i++) {
+            ring.add(i, 0f, 0f, 0f, 1f, 0f, 0.01f * i);
+        }
+        assertEquals(4, ring.size());
+        assertEquals(6, ring.overwritten());
+
+        List<Float> xs = new ArrayList<>();
+        assertEquals(4, ring.drain((px, py, pz, nx, ny, nz, depth) -> xs.add(px)));
+        assertEquals(List.of(6f, 7f, 8f, 9f), xs);
+        assertEquals(0, ring.size());
+
+        ring.add(42f, 0f, 0f, 0f, 1f, 0f, 0f);
+        xs.clear();
+        ring.drain((px, py, pz, nx, ny, nz, depth) -> xs.add(px));
+        assertEquals(List.of(42f), xs);
+    }
+}
@@ -0,0 +1,69 @@
+package org.dynamisengine.physics.ode4j.event;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jEventBufferTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void contactChannelSubscribersAndCursorsSeeTheSameEventsAsDrain() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.planeY(), 0f).mode(BodyMode.STATIC).build());
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 0.4f, 0f))
+            .build());
+        List<ContactEvent> subscribed = new ArrayList<>();
+        world.eventChannels().contacts().subscribe(subscribed::add);
+        var cursor = world.eventChannels().contacts().cursor();
+        List<ContactEvent> drained = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            world.step(1f / 60f);
+            for (PhysicsEvent e : world.drainEvents()) {
+                if (e instanceof ContactEvent c) {
+                    drained.add(c);
+                }
+            }
+        }
+        List<ContactEvent> read = new ArrayList<>();
+        cursor.forEach(read::add);
+        cursor.close();
+
+        assertTrue(!drained.isEmpty());
+        assertEquals(drained, subscribed);
+        assertEquals(drained, read);
+    }
+}
@@ -0,0 +1,96 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jBatchRaycasterTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void raycastBatchMatchesSingleRaycastsSequentialAndParallel() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+            .build());
+        for (int i = 0; i < 8; i++) {
+            world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                .layer(1)
+                .worldTransform(new Matrix4f().translation(i * 2f - 7f, 2f, 0f))
+                .build());
+        }
+        world.step(1f / 60f, 1);
+
+        int n = 200;
+        RaycastBatch rays = new RaycastBatch(n);
+        for (int i = 0; i < n; i++) {
+            rays.set(i, (i % 20) * 0.8f - 8f, 10f, (i / 20) * 0.4f - 2f, 0f, -1f, 0f, 20f);
+        }
+        rays.setCount(n);
+        RaycastHitBuffer sequential = new RaycastHitBuffer(n);
+        RaycastHitBuffer parallel = new RaycastHitBuffer(n);
+        int sequentialHits = world.raycastBatch(rays, sequential);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            world.setQueryExecutor(pool);
+            assertEquals(sequentialHits, world.raycastBatch(rays, parallel));
+        } finally {
+            world.setQueryExecutor(null);
+            pool.shutdownNow();
+        }
+
+        assertEquals(n, sequentialHits);
+        for (int i = 0; i < n; i++) {
+            var single = world.raycastClosest(new Vector3f(rays.origins()[i * 3], 10f, rays.origins()[i * 3 + 2]),
+                new Vector3f(0f, -1f, 0f), 20f, CollisionLayers.ALL);
+            assertTrue(single.isPresent());
+            assertEquals(single.get().body(), sequential.bodies()[i]);
+            assertEquals(single.get().fraction(), sequential.fractions()[i], 1e-5f);
+            assertEquals(sequential.bodies()[i], parallel.bodies()[i]);
+            assertEquals(sequential.positions()[i * 3 + 1], parallel.positions()[i * 3 + 1], 1e-6f);
+        }
+
+        rays.setLayerMask(CollisionLayers.bit(1));
+        int sphereHits = world.raycastBatch(rays, sequential);
+        assertTrue(sphereHits > 0 && sphereHits < n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(!sequential.hits()[i] || sequential.layers()[i] == 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jOverlapExecutorTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void overlapQueriesFindBodiesInsideVolumeAndRespectLayerMask() {
+        var near = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .layer(1)
+            .worldTransform(new Matrix4f().translation(0f, 5f, 0f))
+            .build());
+        var other = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 0.5f, 0.5f), 0f)
+            .mode(BodyMode.STATIC)
+            .layer(2)
+            .worldTransform(new Matrix4f().translation(1.2f, 5f, 0f))
+            .build());
+        var far = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .layer(1)
+            .worldTransform(new Matrix4f().translation(20f, 5f, 0f))
+            .build());
+
+        List<RigidBodyHandle> all = world.overlapSphere(new Vector3f(0.5f, 5f, 0f), 1f, CollisionLayers.ALL);
+        assertEquals(2, all.size());
+        assertTrue(all.contains(near) && all.contains(other) && !all.contains(far));
+
+        List<RigidBodyHandle> reused = new ArrayList<>();
+        assertEquals(1, world.overlapSphere(new Vector3f(0.5f, 5f, 0f), 1f, CollisionLayers.bit(2), reused));
+        assertEquals(List.of(other), reused);
+
+        List<RigidBodyHandle> boxed = world.overlapAabb(new Vector3f(19f, 4f, -1f), new Vector3f(21f, 6f, 1f), CollisionLayers.ALL);
+        assertEquals(List.of(far), boxed);
+    }
+}
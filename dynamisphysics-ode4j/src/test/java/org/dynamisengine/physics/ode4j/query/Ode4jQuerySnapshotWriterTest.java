@@ -0,0 +1,93 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jQuerySnapshotWriterTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void querySnapshotMatchesLiveQueriesAndIsReadableWhileStepping() throws Exception {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+            .build());
+        var capsule = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.capsule(0.4f, 2f), 0f)
+            .mode(BodyMode.STATIC)
+            .layer(3)
+            .worldTransform(new Matrix4f().translation(3f, 1f, 0f))
+            .build());
+        assertEquals(QuerySnapshot.EMPTY, world.querySnapshot());
+        world.setQuerySnapshotEnabled(true);
+        world.step(1f / 60f, 1);
+
+        QuerySnapshot snapshot = world.querySnapshot();
+        assertEquals(2, snapshot.bodyCount());
+        for (Vector3f origin : List.of(new Vector3f(3f, 5f, 0f), new Vector3f(3f, 5f, 1.1f), new Vector3f(-4f, 5f, 2f))) {
+            var live = world.raycastClosest(origin, new Vector3f(0f, -1f, 0f), 10f, CollisionLayers.ALL).orElseThrow();
+            var copy = snapshot.raycastClosest(origin, new Vector3f(0f, -1f, 0f), 10f, CollisionLayers.ALL).orElseThrow();
+            assertEquals(live.body(), copy.body());
+            assertEquals(live.position().y(), copy.position().y(), 1e-3f);
+        }
+        List<RigidBodyHandle> near = new ArrayList<>();
+        assertEquals(1, snapshot.overlapSphere(new Vector3f(3f, 1f, 1.6f), 0.3f, CollisionLayers.bit(3), near));
+        assertEquals(List.of(capsule), near);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (world.querySnapshot().raycastClosest(new Vector3f(-4f, 5f, 2f), new Vector3f(0f, -1f, 0f), 10f,
+                    CollisionLayers.ALL).isEmpty()) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 30; i++) {
+            world.step(1f / 60f, 1);
+        }
+        running.set(false);
+        reader.join();
+        assertEquals(0, misses.get());
+        assertTrue(world.querySnapshot().sequence() > snapshot.sequence());
+    }
+}
@@ -1,13 +1,22 @@
 package org.dynamisengine.physics.ode4j.query;
 
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.query.RaycastResult;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyHandle;
+import org.dynamisengine.physics.ode4j.body.Ode4jBodyRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.ode4j.ode.DHashSpace;
+import org.ode4j.ode.DWorld;
 import org.ode4j.ode.OdeHelper;
+import org.dynamisengine.vectrix.core.Matrix4f;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,4 +53,42 @@ class Ode4jRaycastExecutorTest {
         assertEquals(0.5f, hit.get().fraction(), 1e-3f);
         assertEquals(0f, hit.get().position().y(), 1e-3f);
     }
+
+    @Test
+    void raycastsSkipMaskedLayersAndReportBodyLayer() {
+        DWorld world = OdeHelper.createWorld();
+        Ode4jRaycastExecutor executor = new Ode4jRaycastExecutor(space);
+        try {
+            Ode4jBodyRegistry bodies = new Ode4jBodyRegistry(world, space);
+            Ode4jBodyHandle trigger = bodies.spawn(RigidBodyConfig.builder(CollisionShape.box(1f, 0.1f, 1f), 0f)
+                .mode(BodyMode.STATIC)
+                .layer(4)
+                .worldTransform(new Matrix4f().translation(0f, 3f, 0f))
+                .build());
+            Ode4jBodyHandle floor = bodies.spawn(RigidBodyConfig.builder(CollisionShape.box(1f, 0.1f, 1f), 0f)
+                .mode(BodyMode.STATIC)
+                .layer(2)
+                .build());
+            Vector3f origin = new Vector3f(0f, 10f, 0f);
+            Vector3f down = new Vector3f(0f, -1f, 0f);
+
+            Optional<RaycastResult> first = executor.raycastClosest(origin, down, 20f, CollisionLayers.ALL);
+            assertTrue(first.isPresent());
+            assertEquals(trigger, first.get().body());
+            assertEquals(4, first.get().layer());
+
+            Optional<RaycastResult> masked = executor.raycastClosest(origin, down, 20f,
+                CollisionLayers.ALL & ~CollisionLayers.bit(4));
+            assertTrue(masked.isPresent());
+            assertEquals(floor, masked.get().body());
+            assertEquals(2, masked.get().layer());
+
+            assertEquals(List.of(floor), executor.raycastAll(origin, down, 20f, CollisionLayers.bit(2)).stream()
+                .map(RaycastResult::body).toList());
+            assertTrue(executor.raycastAll(origin, down, 20f, CollisionLayers.bit(7)).isEmpty());
+        } finally {
+            executor.destroy();
+            world.destroy();
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package org.dynamisengine.physics.ode4j.query;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jShapecastExecutorTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void sphereShapecastStopsAtGroundWithUpwardNormal() {
+        var ground = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+            .build());
+        var hit = world.shapecast(CollisionShape.sphere(0.5f), new Vector3f(0f, 5f, 0f), new Vector3f(0f, -5f, 0f), -1);
+        assertTrue(hit.isPresent());
+        assertEquals(ground, hit.get().body());
+        assertEquals(0.45f, hit.get().hitFraction(), 1e-3f);
+        assertEquals(1f, hit.get().normal().y(), 1e-3f);
+
+        assertTrue(world.shapecast(CollisionShape.sphere(0.5f), new Vector3f(0f, 5f, 0f), new Vector3f(0f, -5f, 0f),
+            CollisionLayers.bit(3)).isEmpty());
+    }
+
+    @Test
+    void longShapecastWithSmallSphereDoesNotTunnelThroughThinWall() {
+        var wall = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.01f, 1f, 1f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(37.3f, 0f, 0f))
+            .build());
+        var hit = world.shapecast(CollisionShape.sphere(0.05f), new Vector3f(-100f, 0f, 0f), new Vector3f(100f, 0f, 0f), -1);
+        assertTrue(hit.isPresent());
+        assertEquals(wall, hit.get().body());
+        assertEquals((137.3f - 0.01f - 0.05f) / 200f, hit.get().hitFraction(), 1e-5f);
+        assertEquals(-1f, hit.get().normal().x(), 1e-3f);
+    }
+
+    @Test
+    void shapecastGrazingABoxEdgeHitsAndNearMissDoesNot() {
+        var box = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 0.5f, 0.5f), 0f)
+            .mode(BodyMode.STATIC)
+            .build());
+        // Diagonal path past the vertical edge at x = z = 0.5; the overlap chord is only about 0.2 of 600 m.
+        float half = 300f / (float) Math.sqrt(2.0);
+        float graze = 0.5f + 0.49f / (float) Math.sqrt(2.0);
+        var hit = world.shapecast(CollisionShape.sphere(0.5f),
+            new Vector3f(graze - half, 0f, graze + half), new Vector3f(graze + half, 0f, graze - half), -1);
+        assertTrue(hit.isPresent());
+        assertEquals(box, hit.get().body());
+        assertTrue(hit.get().hitFraction() < 0.5f && hit.get().hitFraction() > 0.4995f, "fraction " + hit.get().hitFraction());
+
+        float miss = 0.5f + 0.51f / (float) Math.sqrt(2.0);
+        assertTrue(world.shapecast(CollisionShape.sphere(0.5f),
+            new Vector3f(miss - half, 0f, miss + half), new Vector3f(miss + half, 0f, miss - half), -1).isEmpty());
+    }
+}
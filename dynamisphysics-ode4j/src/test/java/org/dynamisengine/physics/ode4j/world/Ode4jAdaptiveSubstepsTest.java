@@ -0,0 +1,69 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Ode4jAdaptiveSubstepsTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void adaptiveSubstepsFollowFastestBodyAndCcdOverride() {
+        world.setGravity(new Vector3f());
+        var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        world.setAdaptiveSubSteps(8);
+        world.step(1f / 60f, 4);
+        assertEquals(1, world.getStats().subSteps());
+
+        world.setVelocity(ball, new Vector3f(42f, 0f, 0f), new Vector3f());
+        world.step(1f / 60f, 4);
+        world.step(1f / 60f, 4);
+        assertEquals(3, world.getStats().subSteps());
+
+        world.setVelocity(ball, new Vector3f(400f, 0f, 0f), new Vector3f());
+        world.step(1f / 60f, 4);
+        world.step(1f / 60f, 4);
+        assertEquals(8, world.getStats().subSteps());
+
+        world.setVelocity(ball, new Vector3f(), new Vector3f());
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .ccd(true)
+            .worldTransform(new Matrix4f().translation(0f, 50f, 0f))
+            .linearVelocity(new Vector3f(0f, 0f, 20f))
+            .build());
+        world.step(1f / 60f, 4);
+        world.step(1f / 60f, 4);
+        assertEquals(8, world.getStats().subSteps());
+
+        world.setAdaptiveSubSteps(0);
+        world.step(1f / 60f, 2);
+        assertEquals(2, world.getStats().subSteps());
+    }
+}
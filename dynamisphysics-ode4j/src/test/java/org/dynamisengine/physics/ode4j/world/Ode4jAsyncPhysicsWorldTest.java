@@ -0,0 +1,213 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyMode;
+import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.CollisionLayers;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.world.AsyncPhysicsWorld;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Quaternionf;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jAsyncPhysicsWorldTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void asyncWorldServesFrontBufferWhileStepping() {
+        AsyncPhysicsWorld async = AsyncPhysicsWorld.wrap(world);
+        world = async;
+        async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+            .build());
+        var ball = async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 5f, 0f))
+            .build());
+        assertEquals(5f, async.getBodyState(ball).position().y(), 1e-4f);
+
+        CompletableFuture<Void> step = async.stepAsync(1f / 60f, 1);
+        step.join();
+        float afterFirst = async.getBodyState(ball).position().y();
+        assertTrue(afterFirst < 5f);
+
+        async.setVelocity(ball, new Vector3f(0f, 20f, 0f), new Vector3f());
+        assertEquals(afterFirst, async.getBodyState(ball).position().y(), 0f);
+        for (int i = 0; i < 5; i++) {
+            async.stepAsync(1f / 60f, 1);
+        }
+        async.awaitIdle();
+        assertTrue(async.getBodyState(ball).position().y() > afterFirst);
+        assertEquals(ball, async.raycastClosest(new Vector3f(0f, 20f, 0f), new Vector3f(0f, -1f, 0f), 30f,
+            CollisionLayers.ALL).orElseThrow().body());
+    }
+
+    @Test
+    void asyncFrontBuffersStayConsistentWhileBodiesComeAndGo() throws Exception {
+        AsyncPhysicsWorld async = AsyncPhysicsWorld.wrap(world);
+        world = async;
+        var spare = async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 0.5f, 0.5f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(-20f, 0f, 0f))
+            .build());
+        RigidBodyHandle[] fixed = new RigidBodyHandle[8];
+        for (int i = 0; i < fixed.length; i++) {
+            fixed[i] = async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(0.5f, 0.5f, 0.5f), 0f)
+                .mode(BodyMode.STATIC)
+                .worldTransform(new Matrix4f().translation(i * 2f, i, 0f))
+                .build());
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger wrong = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            BodyStateBuffer out = new BodyStateBuffer(fixed.length);
+            while (running.get()) {
+                async.readBodyStates(fixed, 0, fixed.length, out);
+                for (int i = 0; i < fixed.length; i++) {
+                    if (out.positions()[i * BodyStateBuffer.POSITION_STRIDE + 1] != i
+                        || async.getBodyState(fixed[i]).position().y() != i) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+        List<RigidBodyHandle> transients = new ArrayList<>();
+        for (int step = 0; step < 60; step++) {
+            if (step % 3 == 0) {
+                transients.add(async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                    .worldTransform(new Matrix4f().translation(40f + step * 2f, 5f, 0f))
+                    .build()));
+            }
+            if (step % 5 == 4 && !transients.isEmpty()) {
+                async.destroyRigidBody(transients.removeFirst());
+            }
+            if (step == 30) {
+                async.destroyRigidBody(spare);
+            }
+            async.stepAsync(1f / 60f, 1);
+        }
+        async.awaitIdle();
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, wrong.get());
+        assertEquals(BodyState.ZERO, async.getBodyState(spare));
+        for (RigidBodyHandle t : transients) {
+            assertTrue(async.getBodyState(t).position().y() < 5f);
+        }
+    }
+
+    @Test
+    void restoredBodiesAreTrackedAndServedFromTheFrontBuffer() {
+        AsyncPhysicsWorld async = AsyncPhysicsWorld.wrap(world);
+        world = async;
+        var ball = async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 10f, 0f))
+            .build());
+        int id = ((StableRigidBodyId) ball).bodyId();
+        for (int i = 0; i < 10; i++) {
+            async.stepAsync(1f / 60f, 1);
+        }
+        byte[] snapshot = async.snapshot();
+        float savedY = async.getBodyState(ball).position().y();
+        for (int i = 0; i < 30; i++) {
+            async.stepAsync(1f / 60f, 1);
+        }
+        async.awaitIdle();
+        assertTrue(async.getBodyState(ball).position().y() < savedY);
+
+        async.restore(snapshot);
+        assertEquals(BodyState.ZERO, async.getBodyState(ball));
+        RigidBodyHandle restored = async.rigidBodies().stream()
+            .filter(h -> ((StableRigidBodyId) h).bodyId() == id)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(savedY, async.getBodyState(restored).position().y(), 1e-5f);
+
+        async.stepAsync(1f / 60f, 1).join();
+        assertTrue(async.getBodyState(restored).position().y() < savedY);
+    }
+
+    @Test
+    void blockingCallsLeaveQueuedCommandsForTheNextStep() {
+        AsyncPhysicsWorld async = AsyncPhysicsWorld.wrap(world);
+        world = async;
+        async.setGravity(new Vector3f());
+        var ball = async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        async.stepAsync(1f / 60f, 1).join();
+
+        async.teleport(ball, new Vector3f(30f, 0f, 0f), new Quaternionf());
+        var before = async.shapecast(CollisionShape.sphere(0.1f), new Vector3f(0f, 5f, 0f), new Vector3f(0f, -5f, 0f),
+            CollisionLayers.ALL);
+        assertEquals(ball, before.orElseThrow().body());
+
+        async.stepAsync(1f / 60f, 1).join();
+        assertTrue(async.shapecast(CollisionShape.sphere(0.1f), new Vector3f(0f, 5f, 0f), new Vector3f(0f, -5f, 0f),
+            CollisionLayers.ALL).isEmpty());
+        assertEquals(30f, async.getBodyState(ball).position().x(), 1e-4f);
+    }
+
+    @Test
+    void eventChannelsAreOnlyHandedOutOnThePhysicsThread() {
+        AsyncPhysicsWorld async = AsyncPhysicsWorld.wrap(world);
+        world = async;
+        assertThrows(IllegalStateException.class, async::eventChannels);
+
+        async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.box(10f, 0.5f, 10f), 0f)
+            .mode(BodyMode.STATIC)
+            .worldTransform(new Matrix4f().translation(0f, -0.5f, 0f))
+            .build());
+        async.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 0.5f, 0f))
+            .build());
+        AtomicReference<PhysicsEventChannels> seen = new AtomicReference<>();
+        async.addContactListener(event -> seen.compareAndSet(null, async.eventChannels()));
+        for (int i = 0; i < 5; i++) {
+            async.stepAsync(1f / 60f, 1);
+        }
+        async.awaitIdle();
+        assertNotNull(seen.get());
+    }
+}
@@ -0,0 +1,54 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jCommandSinkTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void queuedCommandsFromOtherThreadsApplyOnNextStep() throws Exception {
+        world.setGravity(new Vector3f());
+        var ball = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        int id = ((StableRigidBodyId) ball).bodyId();
+        Thread producer = new Thread(() -> world.commandQueue().setVelocity(id, 3f, 0f, 0f, 0f, 0f, 0f));
+        producer.start();
+        producer.join();
+        assertEquals(0f, world.getBodyState(ball).linearVelocity().x(), 1e-6f);
+
+        world.step(1f / 60f, 1);
+        assertEquals(3f, world.getBodyState(ball).linearVelocity().x(), 1e-3f);
+        assertTrue(world.commandQueue().setVelocity(9999, 1f, 0f, 0f, 0f, 0f, 0f));
+        assertDoesNotThrow(() -> world.step(1f / 60f, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.FixedStepDriver;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.dynamisengine.vectrix.core.Matrix4f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jFixedStepDriverTest {
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void fixedStepDriverIsIndependentOfFrameSplitAndInterpolates() {
+        PhysicsWorld other = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+        try {
+            var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                .worldTransform(new Matrix4f().translation(0f, 10f, 0f)).build());
+            var b = other.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f)
+                .worldTransform(new Matrix4f().translation(0f, 10f, 0f)).build());
+            float tick = 1f / 60f;
+            FixedStepDriver coarse = new FixedStepDriver(world, tick, 8);
+            FixedStepDriver fine = new FixedStepDriver(other, tick, 8);
+            coarse.track(new RigidBodyHandle[] {a}, 1);
+            fine.track(new RigidBodyHandle[] {b}, 1);
+
+            assertEquals(4, coarse.advance(4.5f * tick));
+            for (int i = 0; i < 9; i++) {
+                fine.advance(0.5f * tick);
+            }
+            assertEquals(coarse.totalTicks(), fine.totalTicks());
+            assertEquals(world.getBodyState(a).position().y(), other.getBodyState(b).position().y(), 0f);
+            assertEquals(0.5f, coarse.alpha(), 1e-3f);
+
+            BodyStateBuffer blended = new BodyStateBuffer(1);
+            assertEquals(1, coarse.interpolate(blended));
+            float prevY = coarse.previous().positions()[1];
+            float currY = coarse.current().positions()[1];
+            assertTrue(currY < prevY);
+            assertEquals((prevY + currY) * 0.5f, blended.positions()[1], 1e-4f);
+
+            assertEquals(8, coarse.advance(1f));
+            assertTrue(coarse.droppedSeconds() > 0.8f);
+            assertTrue(coarse.alpha() < 1f);
+        } finally {
+            other.destroy();
+        }
+    }
+}
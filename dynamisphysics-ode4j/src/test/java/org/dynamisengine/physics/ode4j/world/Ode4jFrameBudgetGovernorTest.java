@@ -0,0 +1,87 @@
+package org.dynamisengine.physics.ode4j.world;
+
+import org.dynamisengine.physics.api.PhysicsWorldFactory;
+import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.config.FrameBudgetConfig;
+import org.dynamisengine.physics.api.config.PhysicsBackend;
+import org.dynamisengine.physics.api.config.PhysicsTuning;
+import org.dynamisengine.physics.api.config.PhysicsTuningProfile;
+import org.dynamisengine.physics.api.config.PhysicsWorldConfig;
+import org.dynamisengine.physics.api.world.FrameBudgetGovernor;
+import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.ode4j.Ode4jPhysicsWorld;
+import org.dynamisengine.collision.shapes.CollisionShape;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ode4jFrameBudgetGovernorTest {
+    private static final FrameBudgetConfig IMPOSSIBLE = new FrameBudgetConfig(1e-6f, 4, 12, 1, 4, 0.5f, 1, 1);
+
+    private PhysicsWorld world;
+
+    @BeforeAll
+    static void registerBackend() {
+        PhysicsWorldFactory.register(PhysicsBackend.ODE4J, Ode4jPhysicsWorld::create);
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = PhysicsWorldFactory.create(PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J));
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.destroy();
+    }
+
+    @Test
+    void frameBudgetGovernorDegradesWithinBoundsAndStaysOffWhenDeterministic() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        PhysicsWorldConfig config = config(false, PhysicsTuningProfile.DEFAULT);
+        FrameBudgetGovernor governor = new FrameBudgetGovernor(world, config, IMPOSSIBLE);
+        assertTrue(governor.enabled());
+        for (int i = 0; i < 20; i++) {
+            governor.step(1f / 60f);
+        }
+        assertEquals(4, governor.solverIterations());
+        assertEquals(1, governor.subSteps());
+        assertEquals(6, governor.adjustments());
+
+        PhysicsWorldConfig deterministicProfile = config(false, PhysicsTuningProfile.DETERMINISTIC);
+        FrameBudgetGovernor off = new FrameBudgetGovernor(world, deterministicProfile, IMPOSSIBLE);
+        assertFalse(off.enabled());
+        for (int i = 0; i < 5; i++) {
+            off.step(1f / 60f);
+        }
+        assertEquals(0, off.adjustments());
+        assertEquals(config.maxSubSteps(), off.subSteps());
+    }
+
+    @Test
+    void frameBudgetGovernorStaysOffWhenTheDeterministicFlagIsSetUnderAnotherProfile() {
+        world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(0.5f), 1f).build());
+        PhysicsWorldConfig config = config(true, PhysicsTuningProfile.PERF);
+        FrameBudgetGovernor off = new FrameBudgetGovernor(world, config, IMPOSSIBLE);
+        assertFalse(off.enabled());
+        for (int i = 0; i < 5; i++) {
+            off.step(1f / 60f);
+        }
+        assertEquals(0, off.adjustments());
+        assertEquals(config.maxSubSteps(), off.subSteps());
+        assertFalse(new FrameBudgetGovernor(world, PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J), IMPOSSIBLE).enabled());
+    }
+
+    private static PhysicsWorldConfig config(boolean deterministic, PhysicsTuningProfile profile) {
+        PhysicsWorldConfig defaults = PhysicsWorldConfig.defaults(PhysicsBackend.ODE4J);
+        return new PhysicsWorldConfig(
+            defaults.backend(), defaults.gravity(), defaults.fixedTimeStep(), defaults.maxSubSteps(),
+            defaults.solverIterations(), defaults.maxBodies(), defaults.maxConstraints(), defaults.broadphase(),
+            deterministic, new PhysicsTuning(profile, null, null, null, null, null));
+    }
+}
@@ -9,6 +9,7 @@ import org.dynamisengine.physics.api.RagdollHandle;
 import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.VehicleHandle;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.constraint.ConstraintDesc;
@@ -16,22 +17,31 @@ import org.dynamisengine.physics.api.constraint.ConstraintHandle;
 import org.dynamisengine.physics.api.event.ContactEvent;
 import org.dynamisengine.physics.api.event.ContactListener;
 import org.dynamisengine.physics.api.event.ContactPoint;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
 import org.dynamisengine.physics.api.material.PhysicsMaterial;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.query.ShapecastResult;
 import org.dynamisengine.physics.api.world.CharacterState;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
 import org.dynamisengine.physics.api.world.PhysicsStats;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
+import org.dynamisengine.physics.api.world.TransformStream;
 import org.dynamisengine.physics.api.world.VehicleState;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
 
 public final class MockPhysicsWorld implements PhysicsWorld {
     private int stepCount = 0;
@@ -41,21 +51,39 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     private int spawnRagdollCount = 0;
     private int raycastCount = 0;
     private int applyImpulseCount = 0;
+    private int nextBodyId = 1;
+    private int solverIterations;
+    private int adaptiveMaxSubSteps;
+    private int lastSubSteps;
 
     private final Map<RigidBodyHandle, RigidBodyConfig> bodies = new LinkedHashMap<>();
     private final Map<RigidBodyHandle, BodyState> bodyStates = new LinkedHashMap<>();
     private final Map<ConstraintHandle, ConstraintDesc> constraints = new LinkedHashMap<>();
-    private final List<PhysicsEvent> eventQueue = new ArrayList<>();
+    private final PhysicsEventChannels eventChannels = new PhysicsEventChannels();
     private final List<ContactListener> listeners = new ArrayList<>();
-
+    private final Map<Integer, MockRigidBodyHandle> bodiesById = new LinkedHashMap<>();
+    private final TreeSet<Integer> movedBodyIds = new TreeSet<>();
+    private final Map<RigidBodyHandle, ContactReportingLevel> contactReportingOverrides = new LinkedHashMap<>();
+    private final PhysicsCommandQueue commandQueue = new PhysicsCommandQueue();
+    private final PhysicsCommandQueue.Sink commandSink = new CommandSink();
+
+    private MemorySegment transformStream;
+    private Executor queryExecutor;
+    private boolean querySnapshotEnabled;
+    private volatile QuerySnapshot querySnapshot = QuerySnapshot.EMPTY;
+    private ContactReportingLevel contactReportingLevel = ContactReportingLevel.ALL;
     private boolean paused = false;
 
     public void injectEvent(PhysicsEvent event) {
-        eventQueue.add(event);
+        eventChannels.publish(event);
     }
 
+    /** Queues a contact between {@code a} and {@code b}, unless the pair's reporting level is {@code NONE}. */
     public void injectContact(RigidBodyHandle a, RigidBodyHandle b, Vector3f pos, float impulse) {
-        eventQueue.add(new ContactEvent(
+        if (!contactReportingLevel(a, b).reportsBegin()) {
+            return;
+        }
+        eventChannels.publish(new ContactEvent(
             a,
             b,
             List.of(new ContactPoint(pos, new Vector3f(0f, 1f, 0f), 0.01f, impulse)),
@@ -71,9 +99,18 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     public int spawnedVehicleCount() { return spawnVehicleCount; }
     public int spawnedCharCount() { return spawnCharCount; }
     public int raycastCount() { return raycastCount; }
+    public Executor queryExecutor() { return queryExecutor; }
     public int applyImpulseCount() { return applyImpulseCount; }
+    /** Last value passed to {@link #setSolverIterations}; {@code 0} until then. */
+    public int solverIterations() { return solverIterations; }
     public boolean isPaused() { return paused; }
 
+    /** Level for the pair {@code a}, {@code b}, resolved from the world level and both bodies' overrides. */
+    public ContactReportingLevel contactReportingLevel(RigidBodyHandle a, RigidBodyHandle b) {
+        return ContactReportingLevel.resolve(contactReportingLevel,
+            contactReportingOverrides.get(a), contactReportingOverrides.get(b));
+    }
+
     public List<RigidBodyConfig> spawnedConfigs() {
         return List.copyOf(bodies.values());
     }
@@ -82,8 +119,24 @@ public final class MockPhysicsWorld implements PhysicsWorld {
         return bodies.containsKey(h);
     }
 
-    @Override public void step(float dt) { if (!paused) stepCount++; }
-    @Override public void step(float dt, int subSteps) { if (!paused) stepCount += subSteps; }
+    @Override public void step(float dt) { step(dt, 1); }
+
+    @Override
+    public void step(float dt, int subSteps) {
+        if (paused) {
+            return;
+        }
+        if (adaptiveMaxSubSteps > 0) {
+            subSteps = 1;
+        }
+        commandQueue.drain(commandSink);
+        stepCount += subSteps;
+        lastSubSteps = subSteps;
+        if (querySnapshotEnabled) {
+            querySnapshot = QuerySnapshot.builder().build(stepCount);
+        }
+        eventChannels.dispatch();
+    }
     @Override public void pause() { paused = true; }
     @Override public void resume() { paused = false; }
 
@@ -91,15 +144,22 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     public void destroy() {
         bodies.clear();
         bodyStates.clear();
+        bodiesById.clear();
+        movedBodyIds.clear();
         constraints.clear();
+        contactReportingOverrides.clear();
+        eventChannels.clear();
     }
 
     @Override
     public RigidBodyHandle spawnRigidBody(RigidBodyConfig config) {
         spawnBodyCount++;
-        var handle = new MockRigidBodyHandle(config);
+        var handle = new MockRigidBodyHandle(config, nextBodyId++);
         bodies.put(handle, config);
         bodyStates.put(handle, defaultBodyState(config));
+        bodiesById.put(handle.bodyId(), handle);
+        movedBodyIds.add(handle.bodyId());
+        writeStreamSlot(handle);
         return handle;
     }
 
@@ -107,7 +167,12 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     public void destroyRigidBody(RigidBodyHandle h) {
         bodies.remove(h);
         bodyStates.remove(h);
+        contactReportingOverrides.remove(h);
         if (h instanceof MockRigidBodyHandle mock) {
+            bodiesById.remove(mock.bodyId());
+            if (transformStream != null) {
+                TransformStream.clear(transformStream, mock.bodyId());
+            }
             mock.kill();
         }
     }
@@ -120,6 +185,44 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     @Override
     public void setBodyState(RigidBodyHandle h, BodyState s) {
         bodyStates.put(h, s);
+        markMoved(h);
+    }
+
+    @Override
+    public List<RigidBodyHandle> rigidBodies() {
+        return List.copyOf(bodiesById.values());
+    }
+
+    /** Bodies spawned, teleported or given a new state since the last drain; mock bodies never move on their own. */
+    @Override
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        int written = 0;
+        var it = movedBodyIds.iterator();
+        while (it.hasNext() && written < out.capacity()) {
+            MockRigidBodyHandle h = bodiesById.get(it.next());
+            it.remove();
+            if (h == null) {
+                continue;
+            }
+            BodyState s = bodyStates.get(h);
+            out.set(written++, h.bodyId(), s.position().x(), s.position().y(), s.position().z(),
+                s.orientation().x(), s.orientation().y(), s.orientation().z(), s.orientation().w());
+        }
+        out.setCount(written);
+        return written;
+    }
+
+    /** Mock bodies only move when teleported or given a state, so slots are rewritten right away rather than per step. */
+    @Override
+    public void setTransformStream(MemorySegment segment) {
+        if (segment != null) {
+            TransformStream.checkWritable(segment);
+            segment.fill((byte) 0);
+        }
+        transformStream = segment;
+        for (MockRigidBodyHandle h : bodiesById.values()) {
+            writeStreamSlot(h);
+        }
     }
 
     @Override public void applyImpulse(RigidBodyHandle h, Vector3f i, Vector3f p) { applyImpulseCount++; }
@@ -131,8 +234,12 @@ public final class MockPhysicsWorld implements PhysicsWorld {
     public void teleport(RigidBodyHandle h, Vector3f p, Quaternionf o) {
         BodyState current = bodyStates.getOrDefault(h, BodyState.ZERO);
         bodyStates.put(h, new BodyState(p, o, current.linearVelocity(), current.angularVelocity(), current.sleeping()));
+        markMoved(h);
     }
 
+    /** Drained once at the start of every unpaused step; see {@link CommandSink}. */
+    @Override public PhysicsCommandQueue commandQueue() { return commandQueue; }
+
     @Override
     public ConstraintHandle addConstraint(ConstraintDesc d) {
         var h = new MockConstraintHandle(d);
@@ -216,6 +323,13 @@ public final class MockPhysicsWorld implements PhysicsWorld {
         return List.of();
     }
 
+    /** Recorded only: mock raycasts never hit, so batches always run on the calling thread. */
+    @Override public void setQueryExecutor(Executor executor) { queryExecutor = executor; }
+
+    /** Mock queries never hit, so each step publishes an empty snapshot whose sequence is the step count. */
+    @Override public void setQuerySnapshotEnabled(boolean enabled) { querySnapshotEnabled = enabled; }
+    @Override public QuerySnapshot querySnapshot() { return querySnapshot; }
+
     @Override public List<RigidBodyHandle> overlapSphere(Vector3f c, float r, int l) { return List.of(); }
     @Override public List<RigidBodyHandle> overlapAabb(Vector3f min, Vector3f max, int l) { return List.of(); }
 
@@ -229,19 +343,60 @@ public final class MockPhysicsWorld implements PhysicsWorld {
 
     @Override
     public List<PhysicsEvent> drainEvents() {
-        var copy = List.copyOf(eventQueue);
-        eventQueue.clear();
-        return copy;
+        return eventChannels.drainAll();
+    }
+
+    /** Injected events are published straight away; subscribers run at the end of every unpaused step. */
+    @Override public PhysicsEventChannels eventChannels() { return eventChannels; }
+
+    @Override
+    public void setContactReportingLevel(ContactReportingLevel level) {
+        contactReportingLevel = Objects.requireNonNull(level, "level");
+    }
+
+    @Override
+    public void setContactReportingLevel(RigidBodyHandle body, ContactReportingLevel level) {
+        if (level == null) {
+            contactReportingOverrides.remove(body);
+        } else {
+            contactReportingOverrides.put(body, level);
+        }
     }
 
     @Override public byte[] snapshot() { return new byte[0]; }
     @Override public void restore(byte[] snap) {}
     @Override public void setGravity(Vector3f g) {}
     @Override public void setTimeScale(float s) {}
+    @Override public void setSolverIterations(int iterations) { solverIterations = iterations; }
+
+    /** Mock bodies never move on their own, so adaptive steps always take a single substep. */
+    @Override
+    public void setAdaptiveSubSteps(int maxSubSteps) {
+        if (maxSubSteps < 0) {
+            throw new IllegalArgumentException("maxSubSteps must be >= 0, got " + maxSubSteps);
+        }
+        adaptiveMaxSubSteps = maxSubSteps;
+    }
 
     @Override
     public PhysicsStats getStats() {
-        return new PhysicsStats(0f, bodies.size(), bodies.size(), 0, constraints.size(), 1, 0f, 0f, 0f, 0f);
+        return new PhysicsStats(0f, bodies.size(), bodies.size(), 0, constraints.size(), 1, 0f, 0f, 0f, 0f, lastSubSteps);
+    }
+
+    private void markMoved(RigidBodyHandle h) {
+        if (h instanceof MockRigidBodyHandle mock && bodiesById.containsKey(mock.bodyId())) {
+            movedBodyIds.add(mock.bodyId());
+            writeStreamSlot(mock);
+        }
+    }
+
+    private void writeStreamSlot(MockRigidBodyHandle h) {
+        if (transformStream == null) {
+            return;
+        }
+        BodyState s = bodyStates.get(h);
+        TransformStream.write(transformStream, h.bodyId(), s.position().x(), s.position().y(), s.position().z(),
+            s.orientation().x(), s.orientation().y(), s.orientation().z(), s.orientation().w(), s.sleeping());
     }
 
     private static BodyState defaultBodyState(RigidBodyConfig config) {
@@ -251,4 +406,22 @@ public final class MockPhysicsWorld implements PhysicsWorld {
         config.worldTransform().getUnnormalizedRotation(ori);
         return new BodyState(pos, ori, config.linearVelocity(), config.angularVelocity(), false);
     }
+
+    /** Mirrors the handle methods: impulses on live bodies are counted, everything else is dropped. */
+    private final class CommandSink implements PhysicsCommandQueue.Sink {
+        @Override
+        public void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+            if (bodiesById.containsKey(bodyId)) {
+                applyImpulseCount++;
+            }
+        }
+
+        @Override public void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) {}
+        @Override public void applyTorque(int bodyId, float tx, float ty, float tz) {}
+        @Override public void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) {}
+        @Override public void applyThrottle(int chassisBodyId, float throttle) {}
+        @Override public void applyBrake(int chassisBodyId, float brake) {}
+        @Override public void applySteering(int chassisBodyId, float steeringAngle) {}
+        @Override public void applyHandbrake(int chassisBodyId, boolean engaged) {}
+    }
 }
@@ -3,19 +3,27 @@ package org.dynamisengine.physics.test.mock;
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
 
-public final class MockRigidBodyHandle implements RigidBodyHandle {
+public final class MockRigidBodyHandle implements RigidBodyHandle, StableRigidBodyId {
     private final RigidBodyConfig config;
+    private final int bodyId;
     private boolean alive = true;
 
     public MockRigidBodyHandle(RigidBodyConfig config) {
+        this(config, 0);
+    }
+
+    public MockRigidBodyHandle(RigidBodyConfig config, int bodyId) {
         this.config = config;
+        this.bodyId = bodyId;
     }
 
     public void kill() {
         alive = false;
     }
 
+    @Override public int bodyId() { return bodyId; }
     @Override public boolean isAlive() { return alive; }
     @Override public int layer() { return config.layer(); }
     @Override public Object userData() { return config.userData(); }
@@ -9,6 +9,8 @@ import org.dynamisengine.physics.api.RagdollHandle;
 import org.dynamisengine.physics.api.VehicleDescriptor;
 import org.dynamisengine.physics.api.VehicleHandle;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.BodyStateBuffer;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
 import org.dynamisengine.physics.api.body.RigidBodyHandle;
 import org.dynamisengine.physics.api.body.StableRigidBodyId;
@@ -17,24 +19,34 @@ import org.dynamisengine.physics.api.config.ResolvedTuning;
 import org.dynamisengine.physics.api.constraint.ConstraintDesc;
 import org.dynamisengine.physics.api.constraint.ConstraintHandle;
 import org.dynamisengine.physics.api.event.ContactListener;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.PhysicsEvent;
+import org.dynamisengine.physics.api.event.PhysicsEventChannels;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.query.RaycastBatch;
+import org.dynamisengine.physics.api.query.RaycastHitBuffer;
 import org.dynamisengine.physics.api.query.RaycastResult;
 import org.dynamisengine.physics.api.query.ShapecastResult;
 import org.dynamisengine.physics.api.world.CharacterState;
+import org.dynamisengine.physics.api.world.PhysicsCommandQueue;
 import org.dynamisengine.physics.api.world.PhysicsStats;
 import org.dynamisengine.physics.api.world.PhysicsWorld;
 import org.dynamisengine.physics.api.world.VehicleState;
 import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public final class PhysicsReplayRecorder implements PhysicsWorld {
     private final PhysicsWorld delegate;
@@ -53,6 +65,9 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
     private final IdentityHashMap<VehicleHandle, Integer> vehicleIds = new IdentityHashMap<>();
     private final IdentityHashMap<CharacterHandle, Integer> characterIds = new IdentityHashMap<>();
     private final IdentityHashMap<RagdollHandle, Integer> ragdollIds = new IdentityHashMap<>();
+    private final Map<Integer, Integer> vehicleIdsByChassis = new HashMap<>();
+    private final RecordingSink recordingSink = new RecordingSink();
+    private PhysicsCommandQueue commandQueue;
     private int nextRigidBodyId = 1;
     private int nextConstraintId = 1;
     private int nextVehicleId = 1;
@@ -155,6 +170,16 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         throw new IllegalArgumentException("Handle not registered in recorder: " + handle);
     }
 
+    /**
+     * Drains the recorder's queue in submission order, recording each command and resubmitting it to the
+     * delegate's queue, so the delegate still applies it at the start of the step being recorded.
+     */
+    private void forwardQueuedCommands() {
+        if (commandQueue != null) {
+            commandQueue.drain(recordingSink);
+        }
+    }
+
     private int requireVehicleId(VehicleHandle handle) {
         Integer id = vehicleIds.get(handle);
         if (id == null) {
@@ -181,6 +206,7 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
 
     @Override
     public void step(float deltaSeconds) {
+        forwardQueuedCommands();
         delegate.step(deltaSeconds);
         currentStep++;
         maybeCheckpoint();
@@ -188,6 +214,7 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
 
     @Override
     public void step(float deltaSeconds, int subSteps) {
+        forwardQueuedCommands();
         delegate.step(deltaSeconds, subSteps);
         currentStep++;
         maybeCheckpoint();
@@ -231,6 +258,26 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         delegate.setBodyState(handle, state);
     }
 
+    @Override
+    public List<RigidBodyHandle> rigidBodies() {
+        return delegate.rigidBodies();
+    }
+
+    @Override
+    public int readBodyStates(RigidBodyHandle[] handles, int offset, int count, BodyStateBuffer out) {
+        return delegate.readBodyStates(handles, offset, count, out);
+    }
+
+    @Override
+    public int drainMovedBodies(MovedBodyBuffer out) {
+        return delegate.drainMovedBodies(out);
+    }
+
+    @Override
+    public void setTransformStream(MemorySegment segment) {
+        delegate.setTransformStream(segment);
+    }
+
     @Override
     public void applyImpulse(RigidBodyHandle h, Vector3f impulse, Vector3f worldPoint) {
         delegate.applyImpulse(h, impulse, worldPoint);
@@ -261,6 +308,18 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         record(new ReplayOp.TeleportOp(requireRigidBodyId(h), ReplayOp.Vec3.of(position), ReplayOp.Quat.of(orientation)));
     }
 
+    /**
+     * Queue of the same capacity as the delegate's. Commands are recorded when the next {@code step} forwards
+     * them to the delegate; commands the delegate's queue rejects are dropped unrecorded.
+     */
+    @Override
+    public PhysicsCommandQueue commandQueue() {
+        if (commandQueue == null) {
+            commandQueue = new PhysicsCommandQueue(delegate.commandQueue().capacity());
+        }
+        return commandQueue;
+    }
+
     @Override
     public ConstraintHandle addConstraint(ConstraintDesc desc) {
         ConstraintHandle handle = delegate.addConstraint(desc);
@@ -286,13 +345,20 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
     @Override
     public VehicleHandle spawnVehicle(VehicleDescriptor desc) {
         VehicleHandle handle = delegate.spawnVehicle(desc);
-        vehicleIds.put(handle, nextVehicleId++);
+        int id = nextVehicleId++;
+        vehicleIds.put(handle, id);
+        if (handle.chassisBody() instanceof StableRigidBodyId chassis) {
+            vehicleIdsByChassis.put(chassis.bodyId(), id);
+        }
         return handle;
     }
 
     @Override
     public void destroyVehicle(VehicleHandle handle) {
         delegate.destroyVehicle(handle);
+        if (handle.chassisBody() instanceof StableRigidBodyId chassis) {
+            vehicleIdsByChassis.remove(chassis.bodyId());
+        }
     }
 
     @Override
@@ -404,6 +470,36 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         return delegate.overlapAabb(min, max, layerMask);
     }
 
+    @Override
+    public int overlapSphere(Vector3f centre, float radius, int layerMask, Collection<? super RigidBodyHandle> out) {
+        return delegate.overlapSphere(centre, radius, layerMask, out);
+    }
+
+    @Override
+    public int overlapAabb(Vector3f min, Vector3f max, int layerMask, Collection<? super RigidBodyHandle> out) {
+        return delegate.overlapAabb(min, max, layerMask, out);
+    }
+
+    @Override
+    public int raycastBatch(RaycastBatch rays, RaycastHitBuffer out) {
+        return delegate.raycastBatch(rays, out);
+    }
+
+    @Override
+    public void setQueryExecutor(Executor executor) {
+        delegate.setQueryExecutor(executor);
+    }
+
+    @Override
+    public void setQuerySnapshotEnabled(boolean enabled) {
+        delegate.setQuerySnapshotEnabled(enabled);
+    }
+
+    @Override
+    public QuerySnapshot querySnapshot() {
+        return delegate.querySnapshot();
+    }
+
     @Override
     public Optional<ShapecastResult> shapecast(CollisionShape shape, Vector3f from, Vector3f to, int layerMask) {
         return delegate.shapecast(shape, from, to, layerMask);
@@ -424,6 +520,11 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         return delegate.drainEvents();
     }
 
+    @Override
+    public PhysicsEventChannels eventChannels() {
+        return delegate.eventChannels();
+    }
+
     @Override
     public byte[] snapshot() {
         return delegate.snapshot();
@@ -444,9 +545,94 @@ public final class PhysicsReplayRecorder implements PhysicsWorld {
         delegate.setTimeScale(scale);
     }
 
+    @Override
+    public void setSolverIterations(int iterations) {
+        delegate.setSolverIterations(iterations);
+    }
+
+    @Override
+    public void setAdaptiveSubSteps(int maxSubSteps) {
+        delegate.setAdaptiveSubSteps(maxSubSteps);
+    }
+
+    @Override
+    public void setContactReportingLevel(ContactReportingLevel level) {
+        delegate.setContactReportingLevel(level);
+    }
+
+    @Override
+    public void setContactReportingLevel(RigidBodyHandle body, ContactReportingLevel level) {
+        delegate.setContactReportingLevel(body, level);
+    }
+
     @Override
     public PhysicsStats getStats() {
         return delegate.getStats();
     }
 
+    /**
+     * Records each drained command against the recorder's ids and resubmits it to the delegate. Vehicle
+     * commands for chassis the recorder did not spawn are forwarded but not recorded.
+     */
+    private final class RecordingSink implements PhysicsCommandQueue.Sink {
+        @Override
+        public void applyImpulse(int bodyId, float ix, float iy, float iz, float px, float py, float pz) {
+            if (delegate.commandQueue().applyImpulse(bodyId, ix, iy, iz, px, py, pz)) {
+                record(new ReplayOp.ApplyImpulseOp(bodyId, new ReplayOp.Vec3(ix, iy, iz), new ReplayOp.Vec3(px, py, pz)));
+            }
+        }
+
+        @Override
+        public void applyForce(int bodyId, float fx, float fy, float fz, float px, float py, float pz) {
+            if (delegate.commandQueue().applyForce(bodyId, fx, fy, fz, px, py, pz)) {
+                record(new ReplayOp.ApplyForceOp(bodyId, new ReplayOp.Vec3(fx, fy, fz), new ReplayOp.Vec3(px, py, pz)));
+            }
+        }
+
+        @Override
+        public void applyTorque(int bodyId, float tx, float ty, float tz) {
+            if (delegate.commandQueue().applyTorque(bodyId, tx, ty, tz)) {
+                record(new ReplayOp.ApplyTorqueOp(bodyId, new ReplayOp.Vec3(tx, ty, tz)));
+            }
+        }
+
+        @Override
+        public void setVelocity(int bodyId, float lx, float ly, float lz, float ax, float ay, float az) {
+            if (delegate.commandQueue().setVelocity(bodyId, lx, ly, lz, ax, ay, az)) {
+                record(new ReplayOp.SetVelocityOp(bodyId, new ReplayOp.Vec3(lx, ly, lz), new ReplayOp.Vec3(ax, ay, az)));
+            }
+        }
+
+        @Override
+        public void applyThrottle(int chassisBodyId, float throttle) {
+            Integer vehicleId = vehicleIdsByChassis.get(chassisBodyId);
+            if (delegate.commandQueue().applyThrottle(chassisBodyId, throttle) && vehicleId != null) {
+                record(new ReplayOp.ApplyThrottleOp(vehicleId, throttle));
+            }
+        }
+
+        @Override
+        public void applyBrake(int chassisBodyId, float brake) {
+            Integer vehicleId = vehicleIdsByChassis.get(chassisBodyId);
+            if (delegate.commandQueue().applyBrake(chassisBodyId, brake) && vehicleId != null) {
+                record(new ReplayOp.ApplyBrakeOp(vehicleId, brake));
+            }
+        }
+
+        @Override
+        public void applySteering(int chassisBodyId, float steeringAngle) {
+            Integer vehicleId = vehicleIdsByChassis.get(chassisBodyId);
+            if (delegate.commandQueue().applySteering(chassisBodyId, steeringAngle) && vehicleId != null) {
+                record(new ReplayOp.ApplySteeringOp(vehicleId, steeringAngle));
+            }
+        }
+
+        @Override
+        public void applyHandbrake(int chassisBodyId, boolean engaged) {
+            Integer vehicleId = vehicleIdsByChassis.get(chassisBodyId);
+            if (delegate.commandQueue().applyHandbrake(chassisBodyId, engaged) && vehicleId != null) {
+                record(new ReplayOp.ApplyHandbrakeOp(vehicleId, engaged));
+            }
+        }
+    }
 }
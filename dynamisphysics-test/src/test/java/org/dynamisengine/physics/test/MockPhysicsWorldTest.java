@@ -2,25 +2,39 @@ package org.dynamisengine.physics.test;
 
 import org.dynamisengine.physics.api.body.BodyMode;
 import org.dynamisengine.physics.api.body.BodyState;
+import org.dynamisengine.physics.api.body.MovedBodyBuffer;
 import org.dynamisengine.physics.api.body.RigidBodyConfig;
+import org.dynamisengine.physics.api.body.StableRigidBodyId;
 import org.dynamisengine.physics.api.constraint.ConstraintDesc;
 import org.dynamisengine.physics.api.constraint.ConstraintLimits;
 import org.dynamisengine.physics.api.constraint.ConstraintMotor;
 import org.dynamisengine.physics.api.constraint.ConstraintType;
+import org.dynamisengine.physics.api.event.ContactEvent;
+import org.dynamisengine.physics.api.event.ContactReportingLevel;
 import org.dynamisengine.physics.api.event.SleepEvent;
+import org.dynamisengine.physics.api.query.QuerySnapshot;
+import org.dynamisengine.physics.api.world.TransformStream;
 import org.dynamisengine.physics.test.mock.MockPhysicsWorld;
 import org.dynamisengine.collision.shapes.CollisionShape;
 import org.dynamisengine.vectrix.core.Matrix4f;
+import org.dynamisengine.vectrix.core.Quaternionf;
 import org.dynamisengine.vectrix.core.Vector3f;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.dynamisengine.physics.test.assertions.PhysicsAssertions.assertContactFired;
 import static org.dynamisengine.physics.test.assertions.PhysicsAssertions.assertEventFired;
 import static org.dynamisengine.physics.test.assertions.PhysicsAssertions.assertPositionNear;
 import static org.dynamisengine.physics.test.assertions.PhysicsAssertions.assertStatsBodyCount;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MockPhysicsWorldTest {
@@ -133,4 +147,116 @@ class MockPhysicsWorldTest {
         world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
         assertStatsBodyCount(world.getStats(), 2);
     }
+
+    @Test
+    void drainMovedBodiesReportsSpawnsAndTeleportsOnce() {
+        var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        var b = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        MovedBodyBuffer out = new MovedBodyBuffer(4);
+        assertEquals(2, world.drainMovedBodies(out));
+        assertEquals(0, world.drainMovedBodies(out));
+
+        world.teleport(b, new Vector3f(0f, 9f, 0f), new Quaternionf());
+        world.destroyRigidBody(a);
+        assertEquals(1, world.drainMovedBodies(out));
+        assertEquals(9f, out.transforms()[1], 0f);
+    }
+
+    @Test
+    void transformStreamTracksTeleportsAndDestroys() {
+        var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f)
+            .worldTransform(new Matrix4f().translation(0f, 2f, 0f))
+            .build());
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment stream = arena.allocate(TransformStream.STRIDE_BYTES * 4L, Float.BYTES);
+            world.setTransformStream(stream);
+            long slot = TransformStream.slotOffset(1);
+            assertEquals(2f, stream.get(ValueLayout.JAVA_FLOAT, slot + TransformStream.POSITION_Y_OFFSET), 0f);
+
+            world.teleport(a, new Vector3f(0f, 6f, 0f), new Quaternionf());
+            assertEquals(6f, stream.get(ValueLayout.JAVA_FLOAT, slot + TransformStream.POSITION_Y_OFFSET), 0f);
+            world.destroyRigidBody(a);
+            assertEquals(0, stream.get(ValueLayout.JAVA_INT, slot + TransformStream.FLAGS_OFFSET));
+            world.setTransformStream(null);
+        }
+    }
+
+    @Test
+    void querySnapshotIsPublishedOnlyWhileEnabled() {
+        world.step(1f / 60f);
+        assertEquals(QuerySnapshot.EMPTY, world.querySnapshot());
+        world.setQuerySnapshotEnabled(true);
+        world.step(1f / 60f, 2);
+        assertEquals(3L, world.querySnapshot().sequence());
+        world.setQuerySnapshotEnabled(false);
+        world.step(1f / 60f);
+        assertEquals(3L, world.querySnapshot().sequence());
+    }
+
+    @Test
+    void queuedImpulsesCountOnTheNextStepAndUnknownBodiesAreDropped() {
+        var h = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        int id = ((StableRigidBodyId) h).bodyId();
+        assertTrue(world.commandQueue().applyImpulse(id, 0f, 1f, 0f, 0f, 0f, 0f));
+        assertTrue(world.commandQueue().applyImpulse(id + 1, 0f, 1f, 0f, 0f, 0f, 0f));
+        assertEquals(0, world.applyImpulseCount());
+        world.step(1f / 60f);
+        assertEquals(1, world.applyImpulseCount());
+        assertEquals(0, world.commandQueue().size());
+    }
+
+    @Test
+    void solverIterationsAreRecorded() {
+        assertEquals(0, world.solverIterations());
+        world.setSolverIterations(6);
+        assertEquals(6, world.solverIterations());
+    }
+
+    @Test
+    void adaptiveSubstepsTakeOneSubstepUntilDisabled() {
+        world.setAdaptiveSubSteps(8);
+        world.step(1f / 60f, 4);
+        assertEquals(1, world.getStats().subSteps());
+        assertEquals(1, world.stepCount());
+        world.setAdaptiveSubSteps(0);
+        world.step(1f / 60f, 2);
+        assertEquals(2, world.getStats().subSteps());
+        assertThrows(IllegalArgumentException.class, () -> world.setAdaptiveSubSteps(-1));
+    }
+
+    @Test
+    void contactReportingLevelsFilterInjectedContacts() {
+        var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        var b = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        world.setContactReportingLevel(ContactReportingLevel.NONE);
+        world.injectContact(a, b, new Vector3f(), 1f);
+        assertTrue(world.drainEvents().isEmpty());
+
+        world.setContactReportingLevel(a, ContactReportingLevel.BEGIN_ONLY);
+        assertEquals(ContactReportingLevel.BEGIN_ONLY, world.contactReportingLevel(a, b));
+        world.injectContact(a, b, new Vector3f(), 1f);
+        assertEquals(1, world.drainEvents().size());
+
+        world.setContactReportingLevel(a, null);
+        assertEquals(ContactReportingLevel.NONE, world.contactReportingLevel(a, b));
+    }
+
+    @Test
+    void injectedContactsReachSubscribersOnStepAndCursorsAndDrain() {
+        var a = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        var b = world.spawnRigidBody(RigidBodyConfig.builder(CollisionShape.sphere(1f), 1f).build());
+        List<ContactEvent> subscribed = new ArrayList<>();
+        world.eventChannels().contacts().subscribe(subscribed::add);
+        var cursor = world.eventChannels().contacts().cursor();
+        world.injectContact(a, b, new Vector3f(), 2f);
+        assertTrue(subscribed.isEmpty());
+        world.step(1f / 60f);
+
+        List<ContactEvent> read = new ArrayList<>();
+        cursor.forEach(read::add);
+        cursor.close();
+        assertEquals(1, subscribed.size());
+        assertEquals(subscribed, read);
+        assertEquals(subscribed, world.drainEvents());
+    }
 }
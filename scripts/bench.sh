@@ -5,7 +5,7 @@ NATIVE_ACCESS="${NATIVE_ACCESS:---enable-native-access=ALL-UNNAMED}"
 BENCH_SUITE="${BENCH_SUITE:-core}"
 
 CORE_PATTERN='org.dynamisphysics.bench.(RigidBodyStepBenchmark|RaycastBenchmark|VehicleBenchmark).*'
-EXPANDED_PATTERN='org.dynamisphysics.bench.(ConstraintSolveBenchmark|CompoundPileBenchmark|MixedSceneBenchmark).*'
+EXPANDED_PATTERN='org.dynamisphysics.bench.(ConstraintSolveBenchmark|CompoundPileBenchmark|MixedSceneBenchmark|BodyStateReadbackBenchmark|LayeredDebrisBenchmark|StaticLevelBenchmark|OverlapQueryBenchmark|ShapecastBenchmark).*'
 
 case "${BENCH_SUITE}" in
   core) PATTERN="${CORE_PATTERN}" ;;